@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitObserver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * Pooled HTTP client of the calls to the other servers (filter server, report server...), used by all the rest
+ * templates built from the {@link org.springframework.boot.web.client.RestTemplateBuilder}: the connections are kept
+ * alive between the calls, and limited per server so that the concurrent calls of the runs do not exhaust a server.
+ */
+@Configuration
+public class HttpClientConfig {
+    private static final String METRICS_POOL_NAME = "shortcircuit";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(@Value("${shortcircuit-analysis.http-client.max-connections:100}") int maxConnections,
+                                                                          @Value("${shortcircuit-analysis.http-client.max-connections-per-server:20}") int maxConnectionsPerServer,
+                                                                          @Value("${shortcircuit-analysis.http-client.connect-timeout:PT5S}") Duration connectTimeout,
+                                                                          @Value("${shortcircuit-analysis.http-client.read-timeout:PT5M}") Duration readTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerServer)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                // a connection closed by the server while idle in the pool is replaced before its reuse
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpClientConnectionManager,
+                                          ShortCircuitObserver shortCircuitObserver,
+                                          @Value("${shortcircuit-analysis.http-client.keep-alive:PT1M}") Duration keepAlive,
+                                          @Value("${shortcircuit-analysis.http-client.pool-timeout:PT30S}") Duration poolTimeout,
+                                          @Value("${shortcircuit-analysis.http-client.read-timeout:PT5M}") Duration readTimeout) {
+        return HttpClients.custom()
+            .setConnectionManager(httpClientConnectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                // unless the server gives its own keep-alive duration
+                .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(keepAlive))
+            .addExecInterceptorFirst("observation", observeCalls(shortCircuitObserver))
+            .build();
+    }
+
+    /**
+     * Observe the calls around the retries and the redirects, like the callers see them.
+     */
+    private static ExecChainHandler observeCalls(ShortCircuitObserver shortCircuitObserver) {
+        return (request, scope, chain) -> {
+            long start = System.nanoTime();
+            String status = "IO_ERROR";
+            try {
+                ClassicHttpResponse response = chain.proceed(request, scope);
+                status = Integer.toString(response.getCode());
+                return response;
+            } finally {
+                shortCircuitObserver.observeHttpClientCall(scope.route.getTargetHost().getHostName(), request.getMethod(), status,
+                    Duration.ofNanos(System.nanoTime() - start));
+            }
+        };
+    }
+
+    @Bean
+    public RestTemplateCustomizer pooledHttpClientCustomizer(CloseableHttpClient httpClient) {
+        return restTemplate -> restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    @Bean
+    public MeterBinder httpClientConnectionPoolMetrics(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, METRICS_POOL_NAME);
+    }
+}
@@ -17,15 +17,20 @@ import lombok.AllArgsConstructor;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.UuidGeneratorService;
 import org.gridsuite.shortcircuit.server.dto.*;
+import org.gridsuite.shortcircuit.server.service.ExportCompressionCodec;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.VariantRun;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitService;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -55,11 +60,17 @@ public class ShortCircuitController {
                                            @Parameter(description = "reporterId") @RequestParam(name = "reporterId", required = false) String reporterId,
                                            @Parameter(description = "The type name for the report") @RequestParam(name = "reportType", required = false) String reportType,
                                            @Parameter(description = "Bus Id - Used for analysis targeting one bus") @RequestParam(name = "busId", required = false) String busId,
+                                           @Parameter(description = "Bus Ids - Used for analysis targeting several buses") @RequestParam(name = "busIds", required = false) List<String> busIds,
                                            @Parameter(description = "Debug") @RequestParam(name = "debug", required = false, defaultValue = "false") boolean debug,
                                            @Parameter(description = "ID of parameters to use, fallback on default ones if none") @RequestParam(name = "parametersUuid", required = false) UUID
                                                    parametersUuid,
                                            @Parameter(description = "resultUuid") @RequestParam(name = "resultUuid", required = false) UUID resultUuid,
+                                           @Parameter(description = "Version of the content of the variant, changed by each modification of the variant - needed to reuse the result of an identical analysis")
+                                           @RequestParam(name = "variantVersion", required = false) String variantVersion,
                                            @RequestHeader(HEADER_USER_ID) String userId) {
+        if (busId != null && busIds != null) {
+            return ResponseEntity.badRequest().build();
+        }
         UUID resultUuidToRun = resultUuid != null ? resultUuid : uuidGeneratorService.generate();
         ShortCircuitRunContext shortCircuitRunContext = ShortCircuitRunContext.builder()
                 .resultUuid(resultUuidToRun)
@@ -72,9 +83,52 @@ public class ShortCircuitController {
                 .busId(busId)
                 .debug(debug)
                 .build();
+        if (busIds != null) {
+            shortCircuitRunContext.setBusIds(busIds);
+        }
+        shortCircuitRunContext.setVariantVersion(variantVersion);
         return ResponseEntity.ok().contentType(APPLICATION_JSON).body(shortCircuitService.runAndSaveResult(shortCircuitRunContext));
     }
 
+    @PostMapping(value = "/networks/{networkUuid}/run-and-save-variants", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Run a short circuit analysis on several variants of a network, loading the network once")
+    @ApiResponse(responseCode = "200", description = "The short circuit analyses have been performed, the result uuid of each variant is returned")
+    public ResponseEntity<Map<String, UUID>> runAndSaveVariants(@Parameter(description = "Network UUID") @PathVariable("networkUuid") UUID networkUuid,
+                                                                @Parameter(description = "Variant Ids") @RequestParam(name = "variantIds") List<String> variantIds,
+                                                                @Parameter(description = "Result receiver") @RequestParam(name = "receiver", required = false) String receiver,
+                                                                @Parameter(description = "ID of parameters to use, fallback on default ones if none") @RequestParam(name = "parametersUuid", required = false) UUID
+                                                                        parametersUuid,
+                                                                @Parameter(description = "Report UUID of each variant, in the order of the variants") @RequestParam(name = "reportUuids", required = false) List<UUID> reportUuids,
+                                                                @Parameter(description = "Reporter ID") @RequestParam(name = "reporterId", required = false) String reporterId,
+                                                                @Parameter(description = "The type name for the reports") @RequestParam(name = "reportType", required = false) String reportType,
+                                                                @Parameter(description = "Version of the content of each variant, in the order of the variants - needed to reuse the result of an identical analysis")
+                                                                @RequestParam(name = "variantVersions", required = false) List<String> variantVersions,
+                                                                @RequestHeader(HEADER_USER_ID) String userId) {
+        if (variantIds.isEmpty() || reportUuids != null && reportUuids.size() != variantIds.size()
+                || variantVersions != null && variantVersions.size() != variantIds.size()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, VariantRun> variantRuns = new LinkedHashMap<>();
+        for (int i = 0; i < variantIds.size(); i++) {
+            UUID reportUuid = reportUuids != null ? reportUuids.get(i) : null;
+            String variantVersion = variantVersions != null ? variantVersions.get(i) : null;
+            variantRuns.computeIfAbsent(variantIds.get(i), id -> new VariantRun(uuidGeneratorService.generate(), reportUuid, variantVersion, null));
+        }
+        String firstVariantId = variantIds.getFirst();
+        ShortCircuitRunContext shortCircuitRunContext = ShortCircuitRunContext.builder()
+                .resultUuid(variantRuns.get(firstVariantId).resultUuid())
+                .networkUuid(networkUuid)
+                .variantId(firstVariantId)
+                .receiver(receiver)
+                // the report uuid of each variant is given with its run
+                .reportInfos(ReportInfos.builder().reporterId(reporterId).computationType(reportType).build())
+                .userId(userId)
+                .parametersUuid(parametersUuid)
+                .debug(false)
+                .build();
+        return ResponseEntity.ok().contentType(APPLICATION_JSON).body(shortCircuitService.runAndSaveVariantsResult(shortCircuitRunContext, variantRuns));
+    }
+
     @GetMapping(value = "/results/{resultUuid}", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get a short circuit analysis result from the database")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The short circuit analysis result"),
@@ -89,6 +143,17 @@ public class ShortCircuitController {
                 : ResponseEntity.notFound().build();
     }
 
+    @GetMapping(value = "/results/{resultUuid}/buses/{busId}/fault_result", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the fault result of a bus of a multi-bus short circuit analysis")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The fault result of the bus"),
+        @ApiResponse(responseCode = "404", description = "Short circuit analysis result or bus has not been found")})
+    public ResponseEntity<FaultResult> getBusFaultResult(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                         @Parameter(description = "Bus Id") @PathVariable("busId") String busId) {
+        FaultResult faultResult = shortCircuitService.getBusFaultResult(resultUuid, busId);
+        return faultResult != null ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(faultResult)
+                : ResponseEntity.notFound().build();
+    }
+
     @GetMapping(value = "/results/{resultUuid}/fault_results/icc", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get a map from fault results for a given short circuit analysis result and a specific voltage level")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The map busId -> ICC is returned")})
@@ -97,8 +162,8 @@ public class ShortCircuitController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(shortCircuitService.getBasicResultForSpecificEquipment(resultUuid, voltageLevelId));
     }
 
-    @PostMapping(value = "/results/{resultUuid}/csv", produces = APPLICATION_OCTET_STREAM_VALUE)
-    @Operation(summary = "Get a short circuit analysis csv result from the database")
+    @PostMapping(value = "/results/{resultUuid}/csv")
+    @Operation(summary = "Get a short circuit analysis csv result from the database, zipped unless another compression is asked")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The short circuit analysis csv export"),
         @ApiResponse(responseCode = "404", description = "Short circuit analysis result has not been found")})
     public ResponseEntity<byte[]> getZippedCsvExportFaultResult(
@@ -108,6 +173,8 @@ public class ShortCircuitController {
             @Parameter(description = "Filters") @RequestParam(name = "filters", required = false) String filters,
             @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
             @Parameter(description = "Sort parameters") Sort sort,
+            @Parameter(description = "Compression of the csv: DEFLATE (zip, application/octet-stream), ZSTD (application/zstd) or NONE (text/csv)")
+            @RequestParam(name = "compression", required = false, defaultValue = "DEFLATE") ExportCompressionCodec compression,
             @Parameter(description = "Csv headers and translations payload") @RequestBody CsvExportParams csvExportParams) {
         List<FaultResult> faultResults;
         if (csvExportParams.oneBusCase()) {
@@ -117,8 +184,10 @@ public class ShortCircuitController {
             faultResults = resultPage.getContent();
         }
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(APPLICATION_OCTET_STREAM_VALUE))
-                .body(shortCircuitService.getZippedCsvExportResult(faultResults, csvExportParams));
+                .contentType(compression.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(ShortCircuitService.getCsvExportFileName(compression)).build().toString())
+                .body(shortCircuitService.getCsvExportResult(faultResults, csvExportParams, compression));
     }
 
     @GetMapping(value = "/results/{resultUuid}/fault_results/paged", produces = APPLICATION_JSON_VALUE)
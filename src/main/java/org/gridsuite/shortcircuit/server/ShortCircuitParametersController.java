@@ -60,7 +60,7 @@ public class ShortCircuitParametersController {
     public ResponseEntity<Map<String, List<com.powsybl.commons.parameters.Parameter>>> getSpecificShortCircuitParameters(
             @Parameter(description = "The model provider") @RequestParam(name = "provider", required = false) String provider) {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(ShortCircuitParametersService.getSpecificShortCircuitParameters(provider));
+                .body(shortCircuitParametersService.getSpecificShortCircuitParameters(provider));
     }
 
     @PostMapping(consumes = APPLICATION_JSON_VALUE)
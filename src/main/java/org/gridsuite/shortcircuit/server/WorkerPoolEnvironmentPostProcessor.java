@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+
+/**
+ * Resolve the number of run consumer threads of the pod, used as the concurrency of the run binding.
+ * <p>
+ * It is {@code shortcircuit-analysis.worker-pool.concurrency}, 2 by default. If it is set to 0, it is derived from the
+ * available processors, shared by the fault batches of each run, and from the max heap, divided by the heap needed by
+ * a run.
+ */
+public class WorkerPoolEnvironmentPostProcessor implements EnvironmentPostProcessor {
+    static final String CONCURRENCY_PROPERTY = "shortcircuit-analysis.worker-pool.concurrency";
+    static final String HEAP_PER_RUN_PROPERTY = "shortcircuit-analysis.worker-pool.heap-per-run";
+    static final String FAULT_BATCHING_PARALLELISM_PROPERTY = "shortcircuit-analysis.fault-batching.parallelism";
+    static final String RESOLVED_CONCURRENCY_PROPERTY = "shortcircuit-analysis.worker-pool.resolved-concurrency";
+    static final int DEFAULT_CONCURRENCY = 2;
+    private static final String PROPERTY_SOURCE_NAME = "shortcircuitWorkerPool";
+
+    private final Log log;
+
+    public WorkerPoolEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(WorkerPoolEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        int concurrency = resolveConcurrency(environment.getProperty(CONCURRENCY_PROPERTY, Integer.class, DEFAULT_CONCURRENCY),
+            DataSize.parse(environment.getProperty(HEAP_PER_RUN_PROPERTY, "1GB")),
+            environment.getProperty(FAULT_BATCHING_PARALLELISM_PROPERTY, Integer.class, 1),
+            Runtime.getRuntime().availableProcessors(),
+            Runtime.getRuntime().maxMemory());
+        log.info(LogMessage.format("Worker pool concurrency: %d", concurrency));
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(RESOLVED_CONCURRENCY_PROPERTY, concurrency)));
+    }
+
+    /**
+     * @param concurrency the configured concurrency, 0 to derive it from the resources of the pod
+     */
+    static int resolveConcurrency(int concurrency, DataSize heapPerRun, int faultBatchingParallelism, int availableProcessors, long maxHeap) {
+        if (concurrency < 0) {
+            throw new IllegalArgumentException("Worker pool concurrency must be positive: " + concurrency);
+        }
+        if (concurrency > 0) {
+            return concurrency;
+        }
+        if (heapPerRun.toBytes() <= 0) {
+            throw new IllegalArgumentException("Worker pool heap per run must be strictly positive: " + heapPerRun);
+        }
+        long processorsBound = availableProcessors / Math.max(faultBatchingParallelism, 1);
+        long heapBound = maxHeap / heapPerRun.toBytes();
+        return (int) Math.max(1, Math.min(processorsBound, heapBound));
+    }
+}
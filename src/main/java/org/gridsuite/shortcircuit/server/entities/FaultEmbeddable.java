@@ -14,11 +14,13 @@ import jakarta.persistence.Enumerated;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.experimental.FieldNameConstants;
 
 /**
  * @author Nicolas Noir <nicolas.noir at rte-france.com>
  */
 @Getter
+@FieldNameConstants
 @AllArgsConstructor
 @NoArgsConstructor
 @Embeddable
@@ -36,4 +38,21 @@ public class FaultEmbeddable {
     @Column
     @Enumerated(EnumType.STRING)
     private Fault.FaultType faultType;
+
+    /**
+     * nominal voltage of the voltage level, captured from the network when the result is saved, so that the global
+     * filters are evaluated on the faults without resolving their voltage levels
+     */
+    @Column
+    private Double nominalV;
+
+    /**
+     * country of the substation, as its ISO code
+     */
+    @Column
+    private String country;
+
+    public FaultEmbeddable(String id, String elementId, String voltageLevelId, Fault.FaultType faultType) {
+        this(id, elementId, voltageLevelId, faultType, null, null);
+    }
 }
@@ -25,7 +25,9 @@ import java.util.UUID;
 @Entity
 @Table(indexes = {
     @Index(name = "result_uuid_nbLimitViolations_idx", columnList = "result_result_uuid, nbLimitViolations"),
-    @Index(name = "result_uuid_idx", columnList = "result_result_uuid")
+    @Index(name = "result_uuid_idx", columnList = "result_result_uuid"),
+    @Index(name = "result_uuid_nominal_v_idx", columnList = "result_result_uuid, nominal_v"),
+    @Index(name = "result_uuid_country_idx", columnList = "result_result_uuid, country")
 })
 public class FaultResultEntity {
 
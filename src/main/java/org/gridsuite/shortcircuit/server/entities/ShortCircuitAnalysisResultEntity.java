@@ -23,7 +23,7 @@ import java.util.UUID;
 @FieldNameConstants
 @NoArgsConstructor
 @Entity
-@Table(name = "shortcircuit_result")
+@Table(name = "shortcircuit_result", indexes = @Index(name = "shortcircuit_result_fingerprint_idx", columnList = "fingerprint"))
 public class ShortCircuitAnalysisResultEntity {
 
     @Id
@@ -46,6 +46,22 @@ public class ShortCircuitAnalysisResultEntity {
     @Column(name = "debug_file_location")
     private String debugFileLocation;
 
+    /**
+     * Digest of the inputs of the analysis, used to reuse this result for an identical run
+     * @see org.gridsuite.shortcircuit.server.service.ResultFingerprint
+     */
+    @Setter
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
+    /**
+     * Whether the nominal voltage, substation and country of the voltage level of the faults are saved with them,
+     * false for the results saved before they were
+     */
+    @Setter
+    @Column(name = "with_voltage_level_attributes", nullable = false)
+    private boolean withVoltageLevelAttributes;
+
     public ShortCircuitAnalysisResultEntity(UUID resultUuid, Instant writeTimeStamp, Set<FaultResultEntity> faultResults, String debugFileLocation) {
         this.resultUuid = resultUuid;
         this.writeTimeStamp = writeTimeStamp;
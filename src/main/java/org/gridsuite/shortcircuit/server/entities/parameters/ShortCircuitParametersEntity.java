@@ -90,7 +90,7 @@ public class ShortCircuitParametersEntity {
     @JoinColumn(name = "short_circuit_parameters_id", foreignKey = @ForeignKey(name = "shortCircuitParametersEntity_specificParameters_fk"))
     private List<ShortCircuitSpecificParameterEntity> specificParameters = new ArrayList<>();
 
-    public ShortCircuitParametersEntity(ShortCircuitParametersInfos shortCircuitParametersInfos) {
+    public ShortCircuitParametersEntity(@NonNull ShortCircuitParametersInfos shortCircuitParametersInfos) {
         assignAttributes(shortCircuitParametersInfos);
     }
 
@@ -99,32 +99,26 @@ public class ShortCircuitParametersEntity {
     }
 
     private void assignAttributes(ShortCircuitParametersInfos shortCircuitParametersInfos) {
-        ShortCircuitParameters allCommonValues;
         List<ShortCircuitSpecificParameterEntity> allSpecificValuesEntities = new ArrayList<>(List.of());
-        if (shortCircuitParametersInfos == null) {
-            allCommonValues = ShortCircuitParameters.load();
-        } else {
-            predefinedParameters = shortCircuitParametersInfos.predefinedParameters();
-            allCommonValues = shortCircuitParametersInfos.commonParameters();
-            Map<String, Map<String, String>> specificParametersPerProvider = shortCircuitParametersInfos.specificParametersPerProvider();
-            if (specificParametersPerProvider != null) {
-                specificParametersPerProvider.forEach((p, paramsMap) -> {
-                    if (paramsMap != null) {
-                        paramsMap.forEach((paramName, paramValue) -> {
-                            if (paramValue != null) {
-                                allSpecificValuesEntities.add(new ShortCircuitSpecificParameterEntity(
-                                        null,
-                                        p,
-                                        paramName,
-                                        paramValue));
-                            }
-                        });
-                    }
-                });
-            }
-            provider = shortCircuitParametersInfos.provider();
+        predefinedParameters = shortCircuitParametersInfos.predefinedParameters();
+        Map<String, Map<String, String>> specificParametersPerProvider = shortCircuitParametersInfos.specificParametersPerProvider();
+        if (specificParametersPerProvider != null) {
+            specificParametersPerProvider.forEach((p, paramsMap) -> {
+                if (paramsMap != null) {
+                    paramsMap.forEach((paramName, paramValue) -> {
+                        if (paramValue != null) {
+                            allSpecificValuesEntities.add(new ShortCircuitSpecificParameterEntity(
+                                    null,
+                                    p,
+                                    paramName,
+                                    paramValue));
+                        }
+                    });
+                }
+            });
         }
-        assignCommonValues(allCommonValues);
+        provider = shortCircuitParametersInfos.provider();
+        assignCommonValues(shortCircuitParametersInfos.commonParameters());
         assignSpecificValues(allSpecificValuesEntities);
     }
 
@@ -152,8 +146,11 @@ public class ShortCircuitParametersEntity {
         }
     }
 
-    public ShortCircuitParameters toShortCircuitParameters() {
-        return ShortCircuitParameters.load()
+    /**
+     * @param defaultParameters the default parameters, updated with the values of this entity
+     */
+    public ShortCircuitParameters toShortCircuitParameters(ShortCircuitParameters defaultParameters) {
+        return defaultParameters
                 .setWithLimitViolations(withLimitViolations)
                 .setWithVoltageResult(withVoltageResult)
                 .setWithFeederResult(withFeederResult)
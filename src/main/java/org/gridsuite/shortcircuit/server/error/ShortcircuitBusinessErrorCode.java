@@ -16,7 +16,9 @@ public enum ShortcircuitBusinessErrorCode implements BusinessErrorCode {
     BUS_OUT_OF_VOLTAGE("shortcircuit.busOutOfVoltage"),
     MISSING_EXTENSION_DATA("shortcircuit.missingExtensionData"),
     INCONSISTENT_VOLTAGE_LEVELS("shortcircuit.inconsistentVoltageLevels"),
-    BUS_OUT_OF_NODE_CLUSTER("shortcircuit.busOutOfNodeCluster");
+    BUS_OUT_OF_NODE_CLUSTER("shortcircuit.busOutOfNodeCluster"),
+    SHARD_FAILED("shortcircuit.shardFailed"),
+    RUN_NOT_ADMITTED("shortcircuit.runNotAdmitted");
 
     private final String code;
 
@@ -34,7 +34,7 @@ public class ShortcircuitExceptionHandler extends AbstractBusinessExceptionHandl
     @Override
     protected HttpStatus mapStatus(ShortcircuitBusinessErrorCode businessErrorCode) {
         return switch (businessErrorCode) {
-            case BUS_OUT_OF_VOLTAGE, INCONSISTENT_VOLTAGE_LEVELS, MISSING_EXTENSION_DATA, BUS_OUT_OF_NODE_CLUSTER -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case BUS_OUT_OF_VOLTAGE, INCONSISTENT_VOLTAGE_LEVELS, MISSING_EXTENSION_DATA, BUS_OUT_OF_NODE_CLUSTER, SHARD_FAILED, RUN_NOT_ADMITTED -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
 
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.report;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Cap of the number of low severity logs of each node of a report, like the ADN conversion logs of each generator or
+ * line of big networks, most of them never being read.
+ * <p>
+ * Above {@code max-children} logs of {@link TypedValue#TRACE_SEVERITY TRACE}, {@link TypedValue#DEBUG_SEVERITY DEBUG}
+ * or {@link TypedValue#INFO_SEVERITY INFO} severity under a node, the next ones are folded into a summary log per
+ * message key, counting them. The logs with children and the warnings and errors are always kept.
+ * <p>
+ * As {@link ReportNode} does not support the removal of nodes, the folded logs are only recorded in
+ * {@link ShortCircuitRunContext#getTrimmedReportNodes()}, and left out of the report when it is uploaded.
+ */
+@Slf4j
+@Component
+public class ReportBudget {
+    private static final String SEVERITY_KEY = "reportSeverity";
+    private static final String SUMMARY_MESSAGE_KEY = "shortcircuit.server.trimmedLogsSummary";
+    private static final Set<String> FOLDABLE_SEVERITIES = Set.of(
+        TypedValue.TRACE_SEVERITY.getValue().toString(),
+        TypedValue.DEBUG_SEVERITY.getValue().toString(),
+        TypedValue.INFO_SEVERITY.getValue().toString());
+
+    public static final ReportBudget UNLIMITED = new ReportBudget(0);
+
+    private final int maxChildren;
+
+    public ReportBudget(@Value("${shortcircuit-analysis.report-budget.max-children:0}") int maxChildren) {
+        this.maxChildren = maxChildren;
+    }
+
+    public boolean isEnabled() {
+        return maxChildren > 0;
+    }
+
+    /**
+     * Fold the logs over the budget of each node of the tree.
+     */
+    public void apply(@NonNull final ReportNode rootReportNode, @NonNull final ShortCircuitRunContext runContext) {
+        if (!isEnabled()) {
+            return;
+        }
+        final Deque<ReportNode> toVisit = new ArrayDeque<>();
+        toVisit.push(rootReportNode);
+        while (!toVisit.isEmpty()) {
+            final ReportNode reportNode = toVisit.pop();
+            final List<ReportNode> children = reportNode.getChildren();
+            if (children.size() > maxChildren) {
+                fold(reportNode, runContext.getTrimmedReportNodes());
+            }
+            for (final ReportNode child : children) {
+                if (!child.getChildren().isEmpty()) {
+                    toVisit.push(child);
+                }
+            }
+        }
+    }
+
+    private void fold(final ReportNode reportNode, final Set<ReportNode> trimmedReportNodes) {
+        int kept = 0;
+        /* first folded log and count of folded logs per message key */
+        final Map<String, ReportNode> examples = new LinkedHashMap<>();
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final ReportNode child : reportNode.getChildren()) {
+            if (!isFoldable(child)) {
+                continue;
+            }
+            if (kept < maxChildren) {
+                kept++;
+            } else {
+                trimmedReportNodes.add(child);
+                examples.putIfAbsent(child.getMessageKey(), child);
+                counts.merge(child.getMessageKey(), 1, Integer::sum);
+            }
+        }
+        if (!examples.isEmpty()) {
+            log.debug("{} logs of the node {} folded", counts.values().stream().mapToInt(Integer::intValue).sum(), reportNode.getMessageKey());
+        }
+        examples.forEach((messageKey, example) -> reportNode.newReportNode()
+            .withResourceBundles(ShortcircuitServerReportResourceBundle.BASE_NAME)
+            .withMessageTemplate(SUMMARY_MESSAGE_KEY)
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .withUntypedValue("nb", counts.get(messageKey))
+            .withUntypedValue("example", example.getMessage())
+            .add());
+    }
+
+    private static boolean isFoldable(final ReportNode reportNode) {
+        return reportNode.getChildren().isEmpty()
+            && reportNode.getValue(SEVERITY_KEY)
+                .map(severity -> FOLDABLE_SEVERITIES.contains(String.valueOf(severity.getValue())))
+                .orElse(false);
+    }
+}
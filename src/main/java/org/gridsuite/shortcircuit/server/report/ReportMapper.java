@@ -4,7 +4,18 @@ import com.powsybl.commons.report.ReportNode;
 import lombok.NonNull;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
 
+import java.util.Set;
+
 public interface ReportMapper {
+    /**
+     * The message keys of the nodes given to {@link #transformNode}.
+     *
+     * @return the message keys, or an empty set to be given all the nodes
+     */
+    default Set<String> getMessageKeys() {
+        return Set.of();
+    }
+
     /**
      * Look into the node and perform action on it if wanted.
      *
@@ -4,19 +4,29 @@ import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.ReportNodeImpl;
 import com.powsybl.commons.report.ReportNodeNoOp;
 import jakarta.annotation.Nullable;
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 @Slf4j
-@AllArgsConstructor
 public class ReportMapperService {
     @NonNull private final List<ReportMapper> mappers;
+    @NonNull private final ReportBudget reportBudget;
+
+    @Autowired
+    public ReportMapperService(@NonNull final List<ReportMapper> mappers, @NonNull final ReportBudget reportBudget) {
+        this.mappers = mappers;
+        this.reportBudget = reportBudget;
+    }
+
+    public ReportMapperService(@NonNull final List<ReportMapper> mappers) {
+        this(mappers, ReportBudget.UNLIMITED);
+    }
 
     /**
      * Do actions on a tree of {@link ReportMapper}s.
@@ -24,7 +34,9 @@ public class ReportMapperService {
      * @param rootReportNode The tree to transform.
      * @param runContext The run context used
      * @return The transformed tree (same instance).
-     * @implNote We don't support a tree with a big depth because we use a recursive walker internally.
+     * @implNote The tree is walked iteratively in a single pass, each node being only given to the mappers of its
+     *     message key and to the mappers without message keys, in their order. The nodes added by a mapper are walked too.
+     *     The {@link ReportBudget} is then applied on the mapped tree, the mappers needing all the nodes.
      * @apiNote Because {@link ReportNode} doesn't define setters, and known {@link ReportNodeImpl} & {@link ReportNodeNoOp} return
      *     either {@code Collections.unmodifiable*()} or {@code Collections.empty*()}, no modification of {@code messageKey} and
      *     deletion of node is supported.
@@ -35,22 +47,46 @@ public class ReportMapperService {
             log.debug("No logs report, nothing to do.");
         } else if (!"ws.commons.rootReporterId".equals(rootReportNode.getMessageKey())) {
             log.debug("Unrecognized ReportNode: {}", rootReportNode);
-        } else if (mappers.isEmpty()) {
-            log.debug("No mapper to apply, nothing to do.");
         } else {
-            log.info("ShortCircuitAnalysis root node: will modify it!");
-            this.recursiveMap(rootReportNode, runContext);
+            if (mappers.isEmpty()) {
+                log.debug("No mapper to apply, nothing to do.");
+            } else {
+                log.info("ShortCircuitAnalysis root node: will modify it!");
+                this.walk(rootReportNode, runContext);
+            }
+            reportBudget.apply(rootReportNode, runContext);
         }
         return rootReportNode;
     }
 
-    //TODO redo the function in non-recursive one to avoid possibly StackOverflowError
-    private void recursiveMap(@NonNull final ReportNode reportNode, @NonNull final ShortCircuitRunContext runContext) {
+    private void walk(@NonNull final ReportNode rootReportNode, @NonNull final ShortCircuitRunContext runContext) {
+        // index of the mappers per message key, built for each tree as there are only a few mappers
+        final List<ReportMapper> allNodesMappers = new ArrayList<>();
+        final Map<String, List<ReportMapper>> mappersByMessageKey = new HashMap<>();
         for (final ReportMapper mapper : mappers) {
-            mapper.transformNode(reportNode, runContext);
+            final Set<String> messageKeys = mapper.getMessageKeys();
+            if (messageKeys.isEmpty()) {
+                allNodesMappers.add(mapper);
+                mappersByMessageKey.values().forEach(keyMappers -> keyMappers.add(mapper));
+            } else {
+                for (final String messageKey : messageKeys) {
+                    mappersByMessageKey.computeIfAbsent(messageKey, key -> new ArrayList<>(allNodesMappers)).add(mapper);
+                }
+            }
         }
-        for (final ReportNode childNode : reportNode.getChildren()) {
-            recursiveMap(childNode, runContext);
+
+        // depth-first, in the order of the children, like the recursive walk
+        final Deque<ReportNode> toVisit = new ArrayDeque<>();
+        toVisit.push(rootReportNode);
+        while (!toVisit.isEmpty()) {
+            final ReportNode reportNode = toVisit.pop();
+            for (final ReportMapper mapper : mappersByMessageKey.getOrDefault(reportNode.getMessageKey(), allNodesMappers)) {
+                mapper.transformNode(reportNode, runContext);
+            }
+            final List<ReportNode> children = reportNode.getChildren();
+            for (final ListIterator<ReportNode> child = children.listIterator(children.size()); child.hasPrevious();) {
+                toVisit.push(child.previous());
+            }
         }
     }
 }
@@ -10,6 +10,7 @@ import org.gridsuite.shortcircuit.server.report.ReportMapper;
 import org.gridsuite.shortcircuit.server.report.ShortcircuitServerReportResourceBundle;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
 
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -27,6 +28,12 @@ public class AdnSummarizeMapper implements ReportMapper {
     @NonNull private final String summaryMessageKey;
     @NonNull private final Function<ShortCircuitRunContext, MutableLong> logsToSummarizeCountGetter; // =0L
 
+    /** {@inheritDoc}  */
+    @Override
+    public Set<String> getMessageKeys() {
+        return Set.of(this.parentMessageKey);
+    }
+
     /** {@inheritDoc}  */
     @Override
     public void transformNode(final @NonNull ReportNode node, @NonNull final ShortCircuitRunContext context) {
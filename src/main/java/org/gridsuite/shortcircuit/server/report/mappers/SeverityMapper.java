@@ -10,6 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.gridsuite.shortcircuit.server.report.ReportMapper;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
 
+import java.util.Set;
+
 /**
  * Pass some of the verbose logs to {@link TypedValue#TRACE_SEVERITY TRACE} severity for example.
  */
@@ -26,6 +28,12 @@ public class SeverityMapper implements ReportMapper {
         this(null, messageKey, severity);
     }
 
+    /** {@inheritDoc}  */
+    @Override
+    public Set<String> getMessageKeys() {
+        return Set.of(parentMessageKey != null ? parentMessageKey : messageKey);
+    }
+
     /** {@inheritDoc}  */
     @Override
     public void transformNode(final @NonNull ReportNode node, @Nullable final ShortCircuitRunContext unused) {
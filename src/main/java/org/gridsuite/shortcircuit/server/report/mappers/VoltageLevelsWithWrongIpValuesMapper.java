@@ -9,13 +9,23 @@ import org.gridsuite.shortcircuit.server.report.ShortcircuitServerReportResource
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class VoltageLevelsWithWrongIpValuesMapper implements ReportMapper {
+    private static final String REPORT_TYPE_MESSAGE_KEY = "ws.commons.reportType";
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> getMessageKeys() {
+        return Set.of(REPORT_TYPE_MESSAGE_KEY);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void transformNode(@NonNull final ReportNode node, @NonNull final ShortCircuitRunContext runContext) {
         // only add a log line at the (true) root node
-        if ("ws.commons.reportType".equals(node.getMessageKey())
+        if (REPORT_TYPE_MESSAGE_KEY.equals(node.getMessageKey())
                 && node.getValue("reportType").map(str -> ((String) str.getValue()).endsWith("ShortCircuitAnalysis")).orElse(Boolean.FALSE)
                 && !runContext.getVoltageLevelsWithWrongIsc().isEmpty()) {
             node.newReportNode()
@@ -15,6 +15,7 @@ import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -37,6 +38,9 @@ public interface FaultResultRepository extends JpaRepository<FaultResultEntity,
 
     List<FaultResultEntity> findAllByResultResultUuidAndFaultVoltageLevelId(UUID resultUuid, String voltageLevelId);
 
+    @EntityGraph(attributePaths = {"feederResults"}, type = EntityGraphType.LOAD)
+    Optional<FaultResultEntity> findByResultResultUuidAndFaultId(UUID resultUuid, String faultId);
+
     // From: https://www.baeldung.com/spring-data-jpa-deleteby
     // "The @Query method creates a single SQL query against the database. By comparison, the deleteBy methods execute a read query, then delete each of the items one by one."
     // As we need here to delete thousands of fault results, using native SQL query was required for having decent performance.
@@ -55,6 +59,52 @@ public interface FaultResultRepository extends JpaRepository<FaultResultEntity,
 
     List<FaultResultEntity> findAllByFaultResultUuidIn(List<UUID> uuids);
 
+    // Merge the fault results of the shards of an analysis without loading them
+    @Modifying
+    @Query(value = "UPDATE fault_result_entity SET result_result_uuid = ?2 WHERE result_result_uuid IN ?1", nativeQuery = true)
+    void moveFaultResults(List<UUID> fromResultUuids, UUID toResultUuid);
+
+    String FORTESCUE_CURRENT_COLUMNS = "fortescue_current_positive_magnitude, fortescue_current_zero_magnitude, fortescue_current_negative_magnitude, " +
+            "fortescue_current_positive_angle, fortescue_current_zero_angle, fortescue_current_negative_angle, " +
+            "fortescue_current_magnitude_a, fortescue_current_magnitude_b, fortescue_current_magnitude_c, " +
+            "fortescue_current_angle_a, fortescue_current_angle_b, fortescue_current_angle_c";
+    String FORTESCUE_VOLTAGE_COLUMNS = "fortescue_voltage_positive_magnitude, fortescue_voltage_zero_magnitude, fortescue_voltage_negative_magnitude, " +
+            "fortescue_voltage_positive_angle, fortescue_voltage_zero_angle, fortescue_voltage_negative_angle, " +
+            "fortescue_voltage_magnitude_a, fortescue_voltage_magnitude_b, fortescue_voltage_magnitude_c, " +
+            "fortescue_voltage_angle_a, fortescue_voltage_angle_b, fortescue_voltage_angle_c";
+    String FAULT_RESULT_COLUMNS = "id, element_id, voltage_level_id, fault_type, nominal_v, country, current, short_circuit_power, " +
+            "nb_limit_violations, subject_id, limit_type, limit_value, limit_name, actual_value, ip_max, ip_min, " +
+            "delta_current_ip_min, delta_current_ip_max, " + FORTESCUE_CURRENT_COLUMNS + ", " + FORTESCUE_VOLTAGE_COLUMNS;
+
+    // Copy the fault results of a result without loading them, the faults of a result having distinct ids.
+    // The copied columns are checked against the entity by FaultResultRepositoryTest.
+    // random_uuid() is built in H2, and created by the changelog in PostgreSQL.
+    @Modifying
+    @Query(value = "INSERT INTO fault_result_entity (fault_result_uuid, result_result_uuid, " + FAULT_RESULT_COLUMNS + ") " +
+            "SELECT random_uuid(), ?2, " + FAULT_RESULT_COLUMNS + " FROM fault_result_entity WHERE result_result_uuid = ?1", nativeQuery = true)
+    void copyFaultResults(UUID fromResultUuid, UUID toResultUuid);
+
+    @Modifying
+    @Query(value = "INSERT INTO limit_violations (fault_result_entity_fault_result_uuid, subject_id, limit_type, limit_value, limit_name, actual_value) " +
+            "SELECT dst.fault_result_uuid, lv.subject_id, lv.limit_type, lv.limit_value, lv.limit_name, lv.actual_value FROM limit_violations lv " +
+            "JOIN fault_result_entity src ON src.fault_result_uuid = lv.fault_result_entity_fault_result_uuid " +
+            "JOIN fault_result_entity dst ON dst.id = src.id AND dst.result_result_uuid = ?2 " +
+            "WHERE src.result_result_uuid = ?1", nativeQuery = true)
+    void copyLimitViolations(UUID fromResultUuid, UUID toResultUuid);
+
+    // We keep this method in this repository instead of FeederResultRepository as it is executed with the two queries above.
+    @Modifying
+    @Query(value = "INSERT INTO feeder_results (feeder_result_uuid, fault_result_entity_fault_result_uuid, connectable_id, current, side, " + FORTESCUE_CURRENT_COLUMNS + ") " +
+            "SELECT random_uuid(), dst.fault_result_uuid, fr.connectable_id, fr.current, fr.side, " +
+            "fr.fortescue_current_positive_magnitude, fr.fortescue_current_zero_magnitude, fr.fortescue_current_negative_magnitude, " +
+            "fr.fortescue_current_positive_angle, fr.fortescue_current_zero_angle, fr.fortescue_current_negative_angle, " +
+            "fr.fortescue_current_magnitude_a, fr.fortescue_current_magnitude_b, fr.fortescue_current_magnitude_c, " +
+            "fr.fortescue_current_angle_a, fr.fortescue_current_angle_b, fr.fortescue_current_angle_c FROM feeder_results fr " +
+            "JOIN fault_result_entity src ON src.fault_result_uuid = fr.fault_result_entity_fault_result_uuid " +
+            "JOIN fault_result_entity dst ON dst.id = src.id AND dst.result_result_uuid = ?2 " +
+            "WHERE src.result_result_uuid = ?1", nativeQuery = true)
+    void copyFeederResults(UUID fromResultUuid, UUID toResultUuid);
+
     interface EntityId {
         UUID getFaultResultUuid();
     }
@@ -7,11 +7,15 @@
 package org.gridsuite.shortcircuit.server.repositories;
 
 import org.gridsuite.shortcircuit.server.entities.parameters.ShortCircuitParametersEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ParametersRepository extends JpaRepository<ShortCircuitParametersEntity, UUID> {
+    @EntityGraph(attributePaths = {"specificParameters"}, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<ShortCircuitParametersEntity> findWithSpecificParametersById(UUID id);
 }
@@ -10,8 +10,10 @@ import org.gridsuite.shortcircuit.server.entities.ShortCircuitAnalysisResultEnti
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,4 +34,8 @@ public interface ResultRepository extends JpaRepository<ShortCircuitAnalysisResu
     Optional<ShortCircuitAnalysisResultEntity> findWithFaultResultsAndFeederResultsByResultUuid(UUID resultUuid);
 
     void deleteByResultUuid(UUID resultUuid);
+
+    @Query(value = "SELECT r.resultUuid FROM ShortCircuitAnalysisResultEntity r, GlobalStatusEntity s " +
+            "WHERE s.resultUuid = r.resultUuid AND r.fingerprint = ?1 AND s.status = ?2 ORDER BY r.writeTimeStamp DESC")
+    List<UUID> findResultUuidsByFingerprintAndStatus(String fingerprint, String status);
 }
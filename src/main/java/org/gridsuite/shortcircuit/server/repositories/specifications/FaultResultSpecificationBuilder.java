@@ -8,16 +8,24 @@
 package org.gridsuite.shortcircuit.server.repositories.specifications;
 
 import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.specification.AbstractCommonSpecificationBuilder;
 import org.gridsuite.computation.utils.SpecificationUtils;
+import org.gridsuite.shortcircuit.server.entities.FaultEmbeddable;
 import org.gridsuite.shortcircuit.server.entities.FaultResultEntity;
 import org.gridsuite.shortcircuit.server.entities.FeederResultEntity;
 import org.gridsuite.shortcircuit.server.entities.ShortCircuitAnalysisResultEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +35,19 @@ import java.util.UUID;
 @Service
 public final class FaultResultSpecificationBuilder extends AbstractCommonSpecificationBuilder<FaultResultEntity> {
 
+    private static final String NOMINAL_V_COLUMN = FaultResultEntity.Fields.fault + "." + FaultEmbeddable.Fields.nominalV;
+
+    private static final String COUNTRY_COLUMN = FaultResultEntity.Fields.fault + "." + FaultEmbeddable.Fields.country;
+
+    /**
+     * minimum number of values of a global filter bound as a single array parameter instead of an IN list
+     */
+    private final int globalFilterArrayMinSize;
+
+    public FaultResultSpecificationBuilder(@Value("${shortcircuit-analysis.global-filter-pushdown.array-min-size:100}") int globalFilterArrayMinSize) {
+        this.globalFilterArrayMinSize = globalFilterArrayMinSize;
+    }
+
     @Override
     public boolean isNotParentFilter(ResourceFilterDTO filter) {
         return filter.column().contains(FeederResultEntity.Fields.connectableId);
@@ -61,4 +82,94 @@ public final class FaultResultSpecificationBuilder extends AbstractCommonSpecifi
 
         return SpecificationUtils.appendFiltersToSpecification(specification, childrenResourceFilter);
     }
+
+    /**
+     * Append the global filters, resolved into the voltage levels of the faults, to the specification.
+     * <p>
+     * A global filter can match thousands of voltage levels: from {@code array-min-size} values, they are bound as a
+     * single array parameter ({@code voltage_level_id = any(?)}) instead of an IN list with one parameter per value,
+     * which is slow to parse and plan and can exceed the number of parameters allowed by the JDBC driver.
+     */
+    public Specification<FaultResultEntity> appendGlobalFiltersToSpecification(Specification<FaultResultEntity> specification, List<ResourceFilterDTO> globalFilters) {
+        if (globalFilters == null || globalFilters.isEmpty()) {
+            return specification;
+        }
+        List<ResourceFilterDTO> inListFilters = new ArrayList<>();
+        for (ResourceFilterDTO filter : globalFilters) {
+            if (NOMINAL_V_COLUMN.equals(filter.column()) && filter.value() instanceof List<?> voltageRanges) {
+                specification = specification.and(nominalVInRanges(voltageRanges));
+            } else if (isArrayPushdown(filter)) {
+                specification = specification.and(valueInArray(filter.column(), (Collection<?>) filter.value()));
+            } else {
+                inListFilters.add(filter);
+            }
+        }
+        return SpecificationUtils.appendFiltersToSpecification(specification, inListFilters);
+    }
+
+    /**
+     * @return whether the global filter only has criteria on the attributes of the voltage levels saved with the faults
+     */
+    public static boolean isEvaluableOnFaults(GlobalFilter globalFilter) {
+        return CollectionUtils.isEmpty(globalFilter.getGenericFilter())
+            && CollectionUtils.isEmpty(globalFilter.getSubstationOrVoltageLevelFilter())
+            && CollectionUtils.isEmpty(globalFilter.getSubstationProperty());
+    }
+
+    /**
+     * Global filters evaluated on the attributes of the voltage levels saved with the faults, without resolving their
+     * voltage levels: the countries as an IN list, the nominal voltage ranges (bounds included) as their union.
+     *
+     * @see #isEvaluableOnFaults(GlobalFilter)
+     */
+    public static List<ResourceFilterDTO> toFaultGlobalFilters(GlobalFilter globalFilter) {
+        List<ResourceFilterDTO> filters = new ArrayList<>();
+        if (!CollectionUtils.isEmpty(globalFilter.getCountryCode())) {
+            filters.add(new ResourceFilterDTO(ResourceFilterDTO.DataType.TEXT, ResourceFilterDTO.Type.IN,
+                globalFilter.getCountryCode().stream().map(Enum::name).toList(), COUNTRY_COLUMN));
+        }
+        if (!CollectionUtils.isEmpty(globalFilter.getVoltageRanges())) {
+            filters.add(new ResourceFilterDTO(ResourceFilterDTO.DataType.NUMBER, ResourceFilterDTO.Type.IN,
+                globalFilter.getVoltageRanges(), NOMINAL_V_COLUMN));
+        }
+        return filters;
+    }
+
+    private static Specification<FaultResultEntity> nominalVInRanges(List<?> voltageRanges) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Double> nominalV = root.get(FaultResultEntity.Fields.fault).get(FaultEmbeddable.Fields.nominalV);
+            return criteriaBuilder.or(voltageRanges.stream()
+                .map(range -> {
+                    double bound1 = ((Number) ((List<?>) range).get(0)).doubleValue();
+                    double bound2 = ((Number) ((List<?>) range).get(1)).doubleValue();
+                    return criteriaBuilder.between(nominalV, Math.min(bound1, bound2), Math.max(bound1, bound2));
+                })
+                .toArray(Predicate[]::new));
+        };
+    }
+
+    private boolean isArrayPushdown(ResourceFilterDTO filter) {
+        return globalFilterArrayMinSize > 0
+            && filter.type() == ResourceFilterDTO.Type.IN
+            && filter.dataType() == ResourceFilterDTO.DataType.TEXT
+            && filter.value() instanceof Collection<?> values
+            && values.size() >= globalFilterArrayMinSize;
+    }
+
+    /**
+     * @param column field of the fault result or of one of its embeddables, such as {@code fault.voltageLevelId}
+     */
+    private static Specification<FaultResultEntity> valueInArray(String column, Collection<?> values) {
+        String[] array = values.stream().map(String::valueOf).toArray(String[]::new);
+        return (root, query, criteriaBuilder) -> {
+            String[] fields = column.split("\\.");
+            Path<String> path = root.get(fields[0]);
+            for (int i = 1; i < fields.length; i++) {
+                path = path.get(fields[i]);
+            }
+            // a single parameter bound with the whole array, whatever its size
+            return criteriaBuilder.isTrue(criteriaBuilder.function(ShortCircuitFunctionContributor.EQUALS_ANY, Boolean.class,
+                path, ((HibernateCriteriaBuilder) criteriaBuilder).value(array)));
+        };
+    }
 }
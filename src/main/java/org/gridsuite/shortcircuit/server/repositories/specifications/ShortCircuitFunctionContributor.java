@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.repositories.specifications;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * SQL functions used by the specifications of the results, registered by Hibernate through the service loader.
+ */
+public class ShortCircuitFunctionContributor implements FunctionContributor {
+    /**
+     * {@code equals_any(value, array)}: whether the value is one of the elements of the array, rendered as
+     * {@code value = any(array)} which both PostgreSQL and H2 support
+     */
+    public static final String EQUALS_ANY = "equals_any";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(EQUALS_ANY, "(?1 = any(?2))",
+            functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
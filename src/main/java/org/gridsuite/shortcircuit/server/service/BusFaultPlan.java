@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.shortcircuit.Fault;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bus faults to compute with the short-circuit limits of their voltage level, and the voltage levels having
+ * inconsistent short-circuit limits.
+ *
+ * @see BusFaultPlanBuilder
+ */
+public record BusFaultPlan(List<Fault> faults,
+                           Map<String, ShortCircuitLimits> shortCircuitLimits,
+                           List<String> inconsistentVoltageLevels) {
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.extensions.IdentifiableShortCircuit;
+import com.powsybl.shortcircuit.BusFault;
+import com.powsybl.shortcircuit.Fault;
+import lombok.NonNull;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
+
+import java.util.*;
+
+/**
+ * Build a {@link BusFaultPlan} with a single pass over the voltage levels of the network: the short-circuit extension
+ * of each voltage level is read once, and its {@link ShortCircuitLimits} is shared by all the buses of the voltage level.
+ */
+public final class BusFaultPlanBuilder {
+    private final Set<String> nodeClusters;
+    private final boolean withBusFaults;
+
+    private final List<Fault> faults = new ArrayList<>();
+    private final Map<String, ShortCircuitLimits> shortCircuitLimits = new HashMap<>();
+    private final List<String> inconsistentVoltageLevels = new ArrayList<>();
+
+    private BusFaultPlanBuilder(Set<String> nodeClusters, boolean withBusFaults) {
+        this.nodeClusters = nodeClusters;
+        this.withBusFaults = withBusFaults;
+    }
+
+    /**
+     * @param network the network, with its working variant already set
+     * @param nodeClusters the bus ids to keep, all the buses of the network are kept if empty
+     * @param withBusFaults {@code false} to only look for voltage levels with inconsistent limits
+     */
+    public static BusFaultPlan build(@NonNull Network network, @NonNull Set<String> nodeClusters, boolean withBusFaults) {
+        BusFaultPlanBuilder builder = new BusFaultPlanBuilder(nodeClusters, withBusFaults);
+        network.getVoltageLevelStream().forEach(builder::addVoltageLevel);
+        return new BusFaultPlan(builder.faults, builder.shortCircuitLimits, builder.inconsistentVoltageLevels);
+    }
+
+    private void addVoltageLevel(VoltageLevel voltageLevel) {
+        IdentifiableShortCircuit<VoltageLevel> shortCircuitExtension = voltageLevel.getExtension(IdentifiableShortCircuit.class);
+        if (shortCircuitExtension != null && shortCircuitExtension.getIpMin() > shortCircuitExtension.getIpMax()) {
+            inconsistentVoltageLevels.add(voltageLevel.getId());
+        }
+        if (!withBusFaults) {
+            return;
+        }
+        ShortCircuitLimits voltageLevelLimits = null;
+        for (Bus bus : voltageLevel.getBusView().getBuses()) {
+            // If there is a configured ZI, then only BusFault for this ZI are returned, it returns all the network otherwise
+            if (!nodeClusters.isEmpty() && !nodeClusters.contains(bus.getId())) {
+                continue;
+            }
+            if (voltageLevelLimits == null) {
+                voltageLevelLimits = shortCircuitExtension != null
+                    ? new ShortCircuitLimits(voltageLevel.getId(), shortCircuitExtension.getIpMin(), shortCircuitExtension.getIpMax())
+                    : new ShortCircuitLimits(voltageLevel.getId(), Double.NaN, Double.NaN);
+            }
+            shortCircuitLimits.put(bus.getId(), voltageLevelLimits);
+            faults.add(new BusFault(bus.getId(), bus.getId()));
+        }
+    }
+}
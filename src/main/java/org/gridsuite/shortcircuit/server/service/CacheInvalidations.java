@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.gridsuite.computation.utils.MessageUtils.getNonNullHeader;
+
+/**
+ * Invalidations of the caches of all the pods, applied to the caches of this pod and broadcast to the other pods once
+ * the current transaction, if any, is committed.
+ * <p>
+ * The modified or deleted parameters are invalidated after the commit, for them not to be cached again before their
+ * modification is visible.
+ * <p>
+ * The network variants of the new runs, usually requested after a modification of their variant, are dropped from the
+ * caches of this pod right away, for the run not to use the cached values. They are only broadcast if this pod had
+ * cached values of the variant: the runs of the variants not in use on this pod do not notify all the pods, whose
+ * values of the variant are then dropped after their {@code max-age}.
+ */
+@Component
+public class CacheInvalidations {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidations.class);
+
+    static final String PUBLISH_PARAMETERS_INVALIDATION_BINDING = "publishParametersInvalidation-out-0";
+    static final String HEADER_PARAMETERS_UUID = "parametersUuid";
+    static final String PUBLISH_VARIANT_INVALIDATION_BINDING = "publishVariantInvalidation-out-0";
+    static final String HEADER_NETWORK_UUID = "networkUuid";
+    static final String HEADER_VARIANT_ID = "variantId";
+
+    private final StreamBridge streamBridge;
+    private final ParametersValuesCache parametersValuesCache;
+    private final FilterEquipmentsCache filterEquipmentsCache;
+    private final GlobalFilterCache globalFilterCache;
+    private final VoltageLevelIndexCache voltageLevelIndexCache;
+
+    public CacheInvalidations(StreamBridge streamBridge,
+                              ParametersValuesCache parametersValuesCache,
+                              FilterEquipmentsCache filterEquipmentsCache,
+                              GlobalFilterCache globalFilterCache,
+                              VoltageLevelIndexCache voltageLevelIndexCache) {
+        this.streamBridge = streamBridge;
+        this.parametersValuesCache = parametersValuesCache;
+        this.filterEquipmentsCache = filterEquipmentsCache;
+        this.globalFilterCache = globalFilterCache;
+        this.voltageLevelIndexCache = voltageLevelIndexCache;
+    }
+
+    public void invalidateParameters(UUID parametersUuid) {
+        if (!parametersValuesCache.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> {
+            parametersValuesCache.invalidate(parametersUuid);
+            streamBridge.send(PUBLISH_PARAMETERS_INVALIDATION_BINDING, MessageBuilder.withPayload("")
+                .setHeader(HEADER_PARAMETERS_UUID, parametersUuid.toString())
+                .build());
+        });
+    }
+
+    public void invalidateVariant(UUID networkUuid, String variantId) {
+        if (!evictVariant(networkUuid, variantId)) {
+            return;
+        }
+        afterCommit(() -> streamBridge.send(PUBLISH_VARIANT_INVALIDATION_BINDING, MessageBuilder.withPayload("")
+            .setHeader(HEADER_NETWORK_UUID, networkUuid.toString())
+            .setHeader(HEADER_VARIANT_ID, variantId)
+            .build()));
+    }
+
+    /**
+     * @return whether values of the variant were cached by this pod
+     */
+    private boolean evictVariant(UUID networkUuid, String variantId) {
+        // all the caches are invalidated, whichever has values of the variant
+        boolean filterEquipmentsCached = filterEquipmentsCache.invalidate(networkUuid, variantId);
+        boolean globalFiltersCached = globalFilterCache.invalidate(networkUuid, variantId);
+        boolean voltageLevelIndexCached = voltageLevelIndexCache.invalidate(networkUuid, variantId);
+        return filterEquipmentsCached || globalFiltersCached || voltageLevelIndexCached;
+    }
+
+    private static void afterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeParametersInvalidation() {
+        return message -> {
+            UUID parametersUuid = UUID.fromString(getNonNullHeader(message.getHeaders(), HEADER_PARAMETERS_UUID));
+            LOGGER.debug("Parameters {} invalidated", parametersUuid);
+            parametersValuesCache.invalidate(parametersUuid);
+        };
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeVariantInvalidation() {
+        return message -> {
+            UUID networkUuid = UUID.fromString(getNonNullHeader(message.getHeaders(), HEADER_NETWORK_UUID));
+            // absent for the initial variant
+            String variantId = message.getHeaders().get(HEADER_VARIANT_ID, String.class);
+            LOGGER.debug("Variant {} of network {} invalidated", variantId, networkUuid);
+            evictVariant(networkUuid, variantId);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cancellation of the runs of this pod whose result is being converted and saved.
+ * <p>
+ * Once the provider has returned, cancelling the computation future has no effect: the result is then converted and
+ * saved by chunks of fault results, with a checkpoint between two chunks which stops the saving of a cancelled run.
+ */
+@Component
+public class CancellationCheckpoints {
+    /** number of fault results converted and saved between two checkpoints */
+    @Getter
+    private final int chunkSize;
+
+    /** runs whose result is being saved, with their cancellation flag */
+    private final Map<UUID, AtomicBoolean> savingRuns = new ConcurrentHashMap<>();
+
+    public CancellationCheckpoints(@Value("${shortcircuit-analysis.persistence.checkpoint-chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Cancellation checkpoint chunk size must be strictly positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public void begin(UUID resultUuid) {
+        savingRuns.put(resultUuid, new AtomicBoolean());
+    }
+
+    public void end(UUID resultUuid) {
+        savingRuns.remove(resultUuid);
+    }
+
+    /**
+     * @return true if the result of the run is being saved, the saving then stops at its next checkpoint
+     */
+    public boolean requestCancel(UUID resultUuid) {
+        AtomicBoolean cancelled = savingRuns.get(resultUuid);
+        if (cancelled == null) {
+            return false;
+        }
+        cancelled.set(true);
+        return true;
+    }
+
+    /**
+     * @throws CancellationException if the run has been cancelled
+     */
+    public void check(UUID resultUuid) {
+        AtomicBoolean cancelled = savingRuns.get(resultUuid);
+        if (cancelled != null && cancelled.get()) {
+            throw new CancellationException("Saving of the result " + resultUuid + " cancelled");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codec used to compress result exports, chosen by the client of the export.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportCompressionCodec {
+    /**
+     * Zip archive with one deflated entry, compressed block by block in parallel (readable by any zip tool)
+     */
+    DEFLATE(MediaType.APPLICATION_OCTET_STREAM, ".zip"),
+    /**
+     * Raw zstd frame of the exported file
+     */
+    ZSTD(MediaType.parseMediaType("application/zstd"), ".zst"),
+    /**
+     * Exported file as is
+     */
+    NONE(new MediaType("text", "csv", StandardCharsets.UTF_8), "");
+
+    /** content type of the response of the export */
+    private final MediaType mediaType;
+    /** appended to the name of the exported file */
+    private final String fileExtension;
+}
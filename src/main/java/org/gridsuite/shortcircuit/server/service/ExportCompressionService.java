@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compress result exports with the {@link ExportCompressionCodec codec} asked by the client, while they are written.
+ * <p>
+ * All the exports of the pod share the same bounded pool of compression threads, so that big exports can't starve
+ * the computation workers running on the same pod, and each export has at most {@code parallelism + 1} blocks being
+ * compressed at a time.
+ */
+@Service
+public class ExportCompressionService {
+    /** deflate back-references can't go further than 32KiB */
+    private static final int DEFLATE_WINDOW_SIZE = 32 * 1024;
+    private static final int ZSTD_DEFAULT_LEVEL = 3;
+
+    private static final int ZIP_LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int ZIP_DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int ZIP_CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int ZIP_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final int ZIP_VERSION = 20;
+    private static final int ZIP64_VERSION = 45;
+    /** UTF-8 file name, crc and sizes written in a data descriptor after the entry */
+    private static final int ZIP_FLAGS = 0x0800 | 0x0008;
+    private static final int ZIP_DEFLATED_METHOD = 8;
+    /** sizes and offsets from this value on are written in the zip64 extensions */
+    private static final long ZIP_MAX_SIZE = 0xFFFFFFFFL;
+
+    private final int level;
+    private final int parallelism;
+    private final int blockSize;
+    private final ExecutorService compressionExecutor;
+
+    public ExportCompressionService(@Value("${shortcircuit-analysis.export.compression.level:-1}") int level,
+                                    @Value("${shortcircuit-analysis.export.compression.parallelism:2}") int parallelism,
+                                    @Value("${shortcircuit-analysis.export.compression.block-size:1048576}") int blockSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Export compression parallelism must be strictly positive: " + parallelism);
+        }
+        if (blockSize < DEFLATE_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Export compression block size must be at least " + DEFLATE_WINDOW_SIZE + " bytes: " + blockSize);
+        }
+        this.level = level;
+        this.parallelism = parallelism;
+        this.blockSize = blockSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.compressionExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "export-compression-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compressionExecutor.shutdownNow();
+    }
+
+    /**
+     * Open a stream compressing an exported file onto {@code out}. The compression is over, and {@code out} closed,
+     * once the returned stream is closed.
+     *
+     * @param fileName the name of the file in the archive, only used by {@link ExportCompressionCodec#DEFLATE}
+     */
+    public OutputStream compress(ExportCompressionCodec codec, String fileName, OutputStream out) throws IOException {
+        Objects.requireNonNull(fileName);
+        Objects.requireNonNull(out);
+        return switch (codec) {
+            case DEFLATE -> new ParallelZipOutputStream(fileName, out);
+            // single threaded, the zstd workers being native threads out of the bounded pool
+            case ZSTD -> new ZstdOutputStream(out, level == Deflater.DEFAULT_COMPRESSION ? ZSTD_DEFAULT_LEVEL : level);
+            case NONE -> out;
+        };
+    }
+
+    /**
+     * Deflate one block of the content as a raw deflate stream that can be concatenated to the previous block one:
+     * the end of the previous block is used as dictionary, and all the blocks except the last one end with a sync flush.
+     */
+    private byte[] deflateBlock(byte[] previousBlock, byte[] block, int length, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (previousBlock != null) {
+                deflater.setDictionary(previousBlock, previousBlock.length - DEFLATE_WINDOW_SIZE, DEFLATE_WINDOW_SIZE);
+            }
+            deflater.setInput(block, 0, length);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(length / 4 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    outputStream.write(buffer, 0, count);
+                }
+            } else {
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    outputStream.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Zip archive of a single entry, whose blocks are deflated in parallel while the next ones are written. The crc and
+     * the sizes of the entry are only known at the end, so they are written in a data descriptor after it.
+     */
+    private final class ParallelZipOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final byte[] name;
+        private final long dosDateTime = toDosDateTime(LocalDateTime.now());
+        private final CRC32 crc = new CRC32();
+        private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+        private byte[] previousBlock;
+        private byte[] block = new byte[blockSize];
+        private int blockLength;
+        private long uncompressedSize;
+        private long compressedSize;
+        private long written;
+        private boolean closed;
+
+        private ParallelZipOutputStream(String fileName, OutputStream out) throws IOException {
+            this.out = out;
+            this.name = fileName.getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream header = new ByteArrayOutputStream(name.length + 30);
+            writeInt(header, ZIP_LOCAL_FILE_HEADER_SIGNATURE);
+            writeShort(header, ZIP_VERSION);
+            writeShort(header, ZIP_FLAGS);
+            writeShort(header, ZIP_DEFLATED_METHOD);
+            writeInt(header, dosDateTime);
+            writeInt(header, 0); // crc, in the data descriptor
+            writeInt(header, 0); // compressed size, in the data descriptor
+            writeInt(header, 0); // uncompressed size, in the data descriptor
+            writeShort(header, name.length);
+            writeShort(header, 0); // extra field length
+            header.write(name);
+            writeRaw(header.toByteArray());
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            crc.update(b, off, len);
+            uncompressedSize += len;
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                // a full block is only submitted once more content comes, the last block being finished on close
+                if (blockLength == blockSize) {
+                    submitBlock(false);
+                }
+                int count = Math.min(remaining, blockSize - blockLength);
+                System.arraycopy(b, offset, block, blockLength, count);
+                blockLength += count;
+                offset += count;
+                remaining -= count;
+            }
+        }
+
+        private void submitBlock(boolean last) throws IOException {
+            byte[] dictionary = previousBlock;
+            byte[] content = block;
+            int length = blockLength;
+            pendingBlocks.add(compressionExecutor.submit(() -> deflateBlock(dictionary, content, length, last)));
+            previousBlock = block;
+            block = last ? null : new byte[blockSize];
+            blockLength = 0;
+            while (pendingBlocks.size() > parallelism) {
+                writeBlock(pendingBlocks.poll());
+            }
+        }
+
+        private void writeBlock(Future<byte[]> pendingBlock) throws IOException {
+            byte[] deflated;
+            try {
+                deflated = pendingBlock.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Export compression has been interrupted");
+            } catch (ExecutionException e) {
+                throw new IOException("Error occurred while compressing export", e.getCause());
+            }
+            writeRaw(deflated);
+            compressedSize += deflated.length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                submitBlock(true);
+                while (!pendingBlocks.isEmpty()) {
+                    writeBlock(pendingBlocks.poll());
+                }
+                writeRaw(endOfArchive());
+            } finally {
+                pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(true));
+                out.close();
+            }
+        }
+
+        /**
+         * Data descriptor of the entry, then the central directory with its unique entry.
+         * <p>
+         * The sizes of an entry of 4GiB or more are written in zip64 extensions, like {@link java.util.zip.ZipOutputStream}
+         * does: on 8 bytes in the data descriptor, and in a zip64 extra field of the central directory. The central
+         * directory starting after 4GiB is located by a zip64 end of central directory record.
+         */
+        private byte[] endOfArchive() throws IOException {
+            boolean zip64Sizes = compressedSize >= ZIP_MAX_SIZE || uncompressedSize >= ZIP_MAX_SIZE;
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(2 * name.length + 192);
+            writeInt(outputStream, ZIP_DATA_DESCRIPTOR_SIGNATURE);
+            writeInt(outputStream, crc.getValue());
+            if (zip64Sizes) {
+                writeLong(outputStream, compressedSize);
+                writeLong(outputStream, uncompressedSize);
+            } else {
+                writeInt(outputStream, compressedSize);
+                writeInt(outputStream, uncompressedSize);
+            }
+
+            long centralDirectoryOffset = written + outputStream.size();
+            writeInt(outputStream, ZIP_CENTRAL_DIRECTORY_SIGNATURE);
+            writeShort(outputStream, zip64Sizes ? ZIP64_VERSION : ZIP_VERSION);
+            writeShort(outputStream, zip64Sizes ? ZIP64_VERSION : ZIP_VERSION);
+            writeShort(outputStream, ZIP_FLAGS);
+            writeShort(outputStream, ZIP_DEFLATED_METHOD);
+            writeInt(outputStream, dosDateTime);
+            writeInt(outputStream, crc.getValue());
+            writeInt(outputStream, zip64Sizes ? ZIP_MAX_SIZE : compressedSize);
+            writeInt(outputStream, zip64Sizes ? ZIP_MAX_SIZE : uncompressedSize);
+            writeShort(outputStream, name.length);
+            writeShort(outputStream, zip64Sizes ? 20 : 0); // extra field length
+            writeShort(outputStream, 0); // comment length
+            writeShort(outputStream, 0); // disk number
+            writeShort(outputStream, 0); // internal attributes
+            writeInt(outputStream, 0); // external attributes
+            writeInt(outputStream, 0); // local file header offset
+            outputStream.write(name);
+            if (zip64Sizes) {
+                // uncompressed then compressed size, the local file header offset being 0
+                writeShort(outputStream, ZIP64_EXTRA_FIELD_ID);
+                writeShort(outputStream, 16);
+                writeLong(outputStream, uncompressedSize);
+                writeLong(outputStream, compressedSize);
+            }
+            long centralDirectorySize = written + outputStream.size() - centralDirectoryOffset;
+
+            boolean zip64Offset = centralDirectoryOffset >= ZIP_MAX_SIZE;
+            if (zip64Offset) {
+                long zip64EndOffset = written + outputStream.size();
+                writeInt(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+                writeLong(outputStream, 44); // size of the record after this field
+                writeShort(outputStream, ZIP64_VERSION);
+                writeShort(outputStream, ZIP64_VERSION);
+                writeInt(outputStream, 0); // disk number
+                writeInt(outputStream, 0); // disk with central directory
+                writeLong(outputStream, 1); // entries on this disk
+                writeLong(outputStream, 1); // total entries
+                writeLong(outputStream, centralDirectorySize);
+                writeLong(outputStream, centralDirectoryOffset);
+
+                writeInt(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+                writeInt(outputStream, 0); // disk with the zip64 end of central directory
+                writeLong(outputStream, zip64EndOffset);
+                writeInt(outputStream, 1); // total disks
+            }
+            writeInt(outputStream, ZIP_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeShort(outputStream, 0); // disk number
+            writeShort(outputStream, 0); // disk with central directory
+            writeShort(outputStream, 1); // entries on this disk
+            writeShort(outputStream, 1); // total entries
+            writeInt(outputStream, centralDirectorySize);
+            writeInt(outputStream, zip64Offset ? ZIP_MAX_SIZE : centralDirectoryOffset);
+            writeShort(outputStream, 0); // comment length
+            return outputStream.toByteArray();
+        }
+
+        private void writeRaw(byte[] bytes) throws IOException {
+            out.write(bytes);
+            written += bytes.length;
+        }
+    }
+
+    private static long toDosDateTime(LocalDateTime dateTime) {
+        int year = Math.max(dateTime.getYear(), 1980);
+        return (long) (year - 1980) << 25
+            | (long) dateTime.getMonthValue() << 21
+            | (long) dateTime.getDayOfMonth() << 16
+            | (long) dateTime.getHour() << 11
+            | (long) dateTime.getMinute() << 5
+            | (long) dateTime.getSecond() >> 1;
+    }
+
+    private static void writeShort(ByteArrayOutputStream outputStream, int value) {
+        outputStream.write(value & 0xFF);
+        outputStream.write((value >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(ByteArrayOutputStream outputStream, long value) {
+        writeShort(outputStream, (int) (value & 0xFFFF));
+        writeShort(outputStream, (int) ((value >>> 16) & 0xFFFF));
+    }
+
+    private static void writeLong(ByteArrayOutputStream outputStream, long value) {
+        writeInt(outputStream, value & 0xFFFFFFFFL);
+        writeInt(outputStream, value >>> 32);
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.shortcircuit.Fault;
+import com.powsybl.shortcircuit.FaultResult;
+import com.powsybl.shortcircuit.ShortCircuitAnalysis;
+import com.powsybl.shortcircuit.ShortCircuitAnalysisResult;
+import com.powsybl.shortcircuit.ShortCircuitParameters;
+import lombok.Getter;
+import org.gridsuite.shortcircuit.server.report.ShortcircuitServerReportResourceBundle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Run a short-circuit analysis, optionally splitting its faults into batches computed concurrently and merging their
+ * results.
+ * <p>
+ * Batching is disabled with a parallelism of 1 (the default). Otherwise, the faults are split into batches of
+ * {@code batch-size} faults (or into {@code parallelism} batches of the same size if not set), and at most
+ * {@code parallelism} batches are computed at the same time. The merged result keeps the order of the faults.
+ * <p>
+ * The providers are not known to be thread-safe on a shared network nor on shared parameters, so each lane of batches
+ * computes on its own instance of the network, given by the caller, each batch with its own copy of the parameters, and
+ * the batches of a lane are computed one after the other. Each batch is converted by the provider, so with the default
+ * batch size the network is converted once per lane. When batching is enabled, the report of the analysis has one node
+ * per batch, with the logs of the provider for that batch.
+ */
+@Component
+public class FaultBatchRunner {
+    public static final String FAULT_BATCH_MESSAGE_KEY = "shortcircuit.server.faultBatch";
+
+    @Getter
+    private final int parallelism;
+    @Getter
+    private final int batchSize;
+
+    public FaultBatchRunner(@Value("${shortcircuit-analysis.fault-batching.parallelism:1}") int parallelism,
+                            @Value("${shortcircuit-analysis.fault-batching.batch-size:0}") int batchSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Fault batching parallelism must be strictly positive: " + parallelism);
+        }
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Fault batch size must be positive: " + batchSize);
+        }
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param network the network of the run, computed by the first lane
+     * @param laneNetworks another instance of the network, at the same variant, for each other lane given its index
+     *                     from 1, asked once per lane by the calling thread
+     */
+    public CompletableFuture<ShortCircuitAnalysisResult> runAsync(Network network, IntFunction<Network> laneNetworks, List<Fault> faults,
+                                                                  ShortCircuitParameters parameters, ComputationManager computationManager,
+                                                                  ReportNode reportNode) {
+        List<List<Fault>> batches = split(faults);
+        if (batches.size() <= 1) {
+            return ShortCircuitAnalysis.runAsync(network, faults, parameters, computationManager, List.of(), reportNode);
+        }
+        return new BatchedRun(ShortCircuitAnalysis.find(), network, laneNetworks, parameters, computationManager, batches, reportNode).start();
+    }
+
+    /**
+     * @return the number of lanes computing the faults, each lane but the first one needing its own network instance
+     */
+    public int lanes(int faultsCount) {
+        if (parallelism == 1 || faultsCount <= 1) {
+            return 1;
+        }
+        int size = batchSize > 0 ? batchSize : (faultsCount + parallelism - 1) / parallelism;
+        return Math.min(parallelism, (faultsCount + size - 1) / size);
+    }
+
+    List<List<Fault>> split(List<Fault> faults) {
+        if (parallelism == 1 || faults.size() <= 1) {
+            return List.of(faults);
+        }
+        int size = batchSize > 0 ? batchSize : (faults.size() + parallelism - 1) / parallelism;
+        List<List<Fault>> batches = new ArrayList<>();
+        for (int start = 0; start < faults.size(); start += size) {
+            batches.add(faults.subList(start, Math.min(start + size, faults.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * The batches are computed by {@code parallelism} lanes, each lane starting its next batch on its network when its
+     * current one is done. The first failure, or the cancellation of the merged future, cancels all the running batches.
+     */
+    private final class BatchedRun {
+        private final ShortCircuitAnalysis.Runner runner;
+        private final Network[] laneNetworks;
+        private final IntFunction<Network> laneNetworkSupplier;
+        private final ShortCircuitParameters parameters;
+        private final ComputationManager computationManager;
+        private final List<List<Fault>> batches;
+        private final List<ReportNode> batchReportNodes = new ArrayList<>();
+        private final ShortCircuitAnalysisResult[] batchResults;
+        private final AtomicInteger remainingBatches;
+        private final Set<CompletableFuture<ShortCircuitAnalysisResult>> runningBatches = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<ShortCircuitAnalysisResult> result = new CompletableFuture<>();
+        private final int lanes;
+
+        private BatchedRun(ShortCircuitAnalysis.Runner runner, Network network, IntFunction<Network> laneNetworkSupplier, ShortCircuitParameters parameters,
+                           ComputationManager computationManager, List<List<Fault>> batches, ReportNode reportNode) {
+            this.runner = runner;
+            this.laneNetworkSupplier = laneNetworkSupplier;
+            this.parameters = parameters;
+            this.computationManager = computationManager;
+            this.batches = batches;
+            this.batchResults = new ShortCircuitAnalysisResult[batches.size()];
+            this.remainingBatches = new AtomicInteger(batches.size());
+            this.lanes = Math.min(parallelism, batches.size());
+            this.laneNetworks = new Network[lanes];
+            this.laneNetworks[0] = network;
+            // each batch logs in its own node, so that concurrent batches never add children to the same node
+            for (int i = 0; i < batches.size(); i++) {
+                batchReportNodes.add(reportNode.newReportNode()
+                    .withResourceBundles(ShortcircuitServerReportResourceBundle.BASE_NAME)
+                    .withMessageTemplate(FAULT_BATCH_MESSAGE_KEY)
+                    .withUntypedValue("batch", i + 1)
+                    .withUntypedValue("batchCount", batches.size())
+                    .withUntypedValue("faultCount", batches.get(i).size())
+                    .add());
+            }
+        }
+
+        private CompletableFuture<ShortCircuitAnalysisResult> start() {
+            result.whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    runningBatches.forEach(batch -> batch.cancel(true));
+                }
+            });
+            for (int lane = 0; lane < lanes; lane++) {
+                runBatch(lane);
+            }
+            return result;
+        }
+
+        private void runBatch(int index) {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<ShortCircuitAnalysisResult> batch;
+            try {
+                int lane = index % lanes;
+                if (laneNetworks[lane] == null) {
+                    laneNetworks[lane] = laneNetworkSupplier.apply(lane);
+                }
+                batch = runner.runAsync(laneNetworks[lane], batches.get(index), ShortCircuitProviderRegistry.copyOf(parameters), computationManager,
+                    List.of(), batchReportNodes.get(index));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            runningBatches.add(batch);
+            if (result.isDone()) {
+                // cancelled while starting the batch
+                batch.cancel(true);
+                return;
+            }
+            batch.whenComplete((batchResult, throwable) -> {
+                runningBatches.remove(batch);
+                if (throwable != null) {
+                    result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                    return;
+                }
+                batchResults[index] = batchResult;
+                if (remainingBatches.decrementAndGet() == 0) {
+                    result.complete(merge());
+                } else if (index + lanes < batches.size()) {
+                    runBatch(index + lanes);
+                }
+            });
+        }
+
+        private ShortCircuitAnalysisResult merge() {
+            List<FaultResult> faultResults = new ArrayList<>();
+            for (ShortCircuitAnalysisResult batchResult : batchResults) {
+                faultResults.addAll(batchResult.getFaultResults());
+            }
+            return new ShortCircuitAnalysisResult(faultResults);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.shortcircuit.Fault;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Part of the faults of an all-buses analysis computed by one run.
+ * <p>
+ * The shard 0 is computed by the coordinator run, which result UUID is the one of the whole analysis. The other shards
+ * are sub-jobs published on the run destination, their results are merged into the coordinator one.
+ *
+ * @param coordinatorResultUuid result UUID of the coordinator run
+ * @param index index of the shard, 0 for the coordinator
+ * @param count number of shards of the analysis
+ * @see FaultShardCoordinator
+ */
+public record FaultShard(UUID coordinatorResultUuid, int index, int count) {
+
+    public boolean isCoordinator() {
+        return index == 0;
+    }
+
+    /**
+     * Select the faults of this shard. The faults are sorted by id first, so that each run selects the same faults
+     * whatever the order of the voltage levels of the network it loaded.
+     */
+    public List<Fault> select(List<Fault> faults) {
+        List<Fault> sortedFaults = faults.stream().sorted(Comparator.comparing(Fault::getId)).toList();
+        // shard sizes differ by one fault at most
+        int start = (int) ((long) index * sortedFaults.size() / count);
+        int end = (int) ((long) (index + 1) * sortedFaults.size() / count);
+        return sortedFaults.subList(start, end);
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.shortcircuit.ShortCircuitAnalysisResult;
+import org.gridsuite.computation.dto.ReportInfos;
+import org.gridsuite.computation.service.CancelContext;
+import org.gridsuite.computation.service.NotificationService;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
+import org.gridsuite.shortcircuit.server.error.ShortCircuitException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.gridsuite.computation.service.NotificationService.HEADER_RESULT_UUID;
+import static org.gridsuite.computation.utils.MessageUtils.getNonNullHeader;
+import static org.gridsuite.shortcircuit.server.error.ShortcircuitBusinessErrorCode.SHARD_FAILED;
+
+/**
+ * Distribute the faults of the biggest all-buses analyses over the workers of the pods.
+ * <p>
+ * The worker receiving the analysis becomes its coordinator: it publishes one sub-job per extra shard on the shard
+ * run destination, computes the first shard itself, then waits for the other shards results before saving the merged
+ * result under its own result UUID. The shard runs have their own consumer threads, so a coordinator waiting for its
+ * shards never holds the threads its shards need. Each shard worker saves its result under its own result UUID and
+ * publishes its outcome on the shard result destination, which is consumed by all the pods as only the coordinator pod
+ * knows the shard.
+ * <p>
+ * The failure of a shard, the timeout or the cancellation of the coordinator run cancel the other shards and delete
+ * the shard results already saved. The shards not done yet are marked {@link ShortCircuitAnalysisStatus#NOT_DONE}, so
+ * that their sub-job is skipped if it is still queued, and their result is deleted if it is saved anyway.
+ * <p>
+ * The coordinator run keeps its run consumer thread until all its shards are done, up to {@code sharding.timeout}:
+ * the shards of an analysis only run together if the shard threads of all the pods, pods x {@code sharding.concurrency},
+ * are at least {@code shard-count - 1}, and the shards of the coordinators running at the same time, up to pods x the
+ * run consumer concurrency, queue behind each other otherwise. The timeout must then cover the queueing of the shards
+ * in addition to their computation.
+ */
+@Service
+public class FaultShardCoordinator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FaultShardCoordinator.class);
+
+    public static final String HEADER_SHARD_STATUS = "shardStatus";
+    public static final String HEADER_SHARD_WITH_SHORT_CIRCUIT_DATA = "shardWithShortCircuitData";
+    public static final String HEADER_SHARD_ERROR = "shardError";
+    static final String PUBLISH_SHARD_RUN_BINDING = "publishShardRun-out-0";
+    static final String PUBLISH_SHARD_RESULT_BINDING = "publishShardResult-out-0";
+
+    private final NotificationService notificationService;
+    private final ShortCircuitAnalysisResultService resultService;
+    private final StreamBridge streamBridge;
+    private final ObjectMapper objectMapper;
+    private final int shardCount;
+    private final int minFaults;
+    private final Duration timeout;
+
+    /** shards dispatched by the coordinator runs of this pod, completed with their "with short-circuit data" flag */
+    private final Map<UUID, CompletableFuture<Boolean>> pendingShards = new ConcurrentHashMap<>();
+
+    /** shards cancelled by the coordinator runs of this pod before being done, with their cancellation time */
+    private final Map<UUID, Instant> cancelledShards = new ConcurrentHashMap<>();
+
+    public FaultShardCoordinator(NotificationService notificationService,
+                                 ShortCircuitAnalysisResultService resultService,
+                                 StreamBridge streamBridge,
+                                 ObjectMapper objectMapper,
+                                 @Value("${shortcircuit-analysis.sharding.shard-count:1}") int shardCount,
+                                 @Value("${shortcircuit-analysis.sharding.min-faults:10000}") int minFaults,
+                                 @Value("${shortcircuit-analysis.sharding.timeout:PT1H}") Duration timeout) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Fault shard count must be strictly positive: " + shardCount);
+        }
+        this.notificationService = notificationService;
+        this.resultService = resultService;
+        this.streamBridge = streamBridge;
+        this.objectMapper = objectMapper;
+        this.shardCount = shardCount;
+        this.minFaults = minFaults;
+        this.timeout = Objects.requireNonNull(timeout);
+    }
+
+    /**
+     * @return the coordinator shard of an all-buses analysis, empty if its faults are not sharded
+     */
+    public Optional<FaultShard> planShards(UUID resultUuid, int faultsCount) {
+        if (shardCount == 1 || faultsCount < Math.max(minFaults, 2)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FaultShard(resultUuid, 0, Math.min(shardCount, faultsCount)));
+    }
+
+    /**
+     * Publish the sub-jobs of the other shards, then run the coordinator shard. The caller thread waits for the result,
+     * so it is held until the other shards are done or the timeout is reached.
+     *
+     * @return the result of the coordinator shard, completed when all the other shards are saved
+     */
+    public CompletableFuture<ShortCircuitAnalysisResult> dispatch(ShortCircuitRunContext runContext,
+                                                                  Supplier<CompletableFuture<ShortCircuitAnalysisResult>> coordinatorShardRun) {
+        FaultShard coordinatorShard = runContext.getShard();
+        Map<UUID, CompletableFuture<Boolean>> shards = new LinkedHashMap<>();
+        for (int i = 1; i < coordinatorShard.count(); i++) {
+            shards.put(UUID.randomUUID(), new CompletableFuture<>());
+        }
+        runContext.setShardResultUuids(List.copyOf(shards.keySet()));
+        // all the shards are registered before publishing: a shard may complete before the next one is published
+        pendingShards.putAll(shards);
+
+        CompletableFuture<ShortCircuitAnalysisResult> result = new CompletableFuture<>();
+        result.whenComplete((ignored, throwable) -> {
+            shards.keySet().forEach(pendingShards::remove);
+            if (throwable != null) {
+                cancelShards(runContext, shards);
+            }
+        });
+        try {
+            int index = 1;
+            for (UUID shardResultUuid : shards.keySet()) {
+                streamBridge.send(PUBLISH_SHARD_RUN_BINDING, toShardRunMessage(runContext, shardResultUuid, new FaultShard(coordinatorShard.coordinatorResultUuid(), index++, coordinatorShard.count())));
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        LOGGER.info("Faults of analysis {} dispatched in {} shards: {}", coordinatorShard.coordinatorResultUuid(), coordinatorShard.count(), shards.keySet());
+        if (result.isDone()) {
+            // a shard already failed
+            return result;
+        }
+
+        CompletableFuture<ShortCircuitAnalysisResult> coordinatorShardResult = coordinatorShardRun.get();
+        result.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                coordinatorShardResult.cancel(true);
+            }
+        });
+        List<CompletableFuture<?>> allShards = new ArrayList<>(shards.values());
+        allShards.add(coordinatorShardResult);
+        // fail as soon as one shard fails, without waiting for the other ones
+        allShards.forEach(shard -> shard.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            }
+        }));
+        CompletableFuture.allOf(allShards.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            runContext.setShardsWithShortCircuitData(shards.values().stream().anyMatch(CompletableFuture::join));
+            result.complete(coordinatorShardResult.join());
+        });
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private Message<String> toShardRunMessage(ShortCircuitRunContext runContext, UUID shardResultUuid, FaultShard shard) {
+        // no receiver nor report: the shard is only notified to its coordinator
+        ShortCircuitRunContext shardRunContext = ShortCircuitRunContext.builder()
+            .networkUuid(runContext.getNetworkUuid())
+            .variantId(runContext.getVariantId())
+            .parameters(runContext.getParameters())
+            .parametersUuid(runContext.getParametersUuid())
+            .reportInfos(new ReportInfos(null, null, null))
+            .userId(runContext.getUserId())
+            .provider(runContext.getProvider())
+            .build();
+        shardRunContext.setShard(shard);
+        return new ShortCircuitResultContext(shardResultUuid, shardRunContext).toMessage(objectMapper);
+    }
+
+    private void cancelShards(ShortCircuitRunContext runContext, Map<UUID, CompletableFuture<Boolean>> shards) {
+        // the shards never notified to this pod are forgotten after the timeout
+        Instant now = Instant.now();
+        cancelledShards.values().removeIf(cancellation -> cancellation.plus(timeout).isBefore(now));
+        shards.forEach((shardResultUuid, shard) -> {
+            try {
+                if (shard.isDone()) {
+                    resultService.delete(shardResultUuid);
+                } else {
+                    // a queued shard has no status yet: the mark makes its run skip it
+                    cancelledShards.put(shardResultUuid, now);
+                    resultService.insertStatus(List.of(shardResultUuid), ShortCircuitAnalysisStatus.NOT_DONE);
+                    notificationService.sendCancelMessage(new CancelContext(shardResultUuid, null, runContext.getUserId()).toMessage());
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not cancel the fault shard {}", shardResultUuid, e);
+            }
+        });
+    }
+
+    /**
+     * @return true if the coordinator of the shard cancelled it before its run started
+     */
+    public boolean isCancelled(UUID shardResultUuid) {
+        return resultService.findStatus(shardResultUuid) == ShortCircuitAnalysisStatus.NOT_DONE;
+    }
+
+    /**
+     * Notify the coordinator of a shard that the shard is saved, or failed if {@code error} is not null.
+     */
+    public void publishShardResult(UUID shardResultUuid, FaultShard shard, boolean withShortCircuitData, String error) {
+        MessageBuilder<String> message = MessageBuilder.withPayload("")
+            .setHeader(HEADER_RESULT_UUID, shardResultUuid.toString())
+            .setHeader(ShortCircuitResultContext.HEADER_SHARD_COORDINATOR, shard.coordinatorResultUuid().toString())
+            .setHeader(HEADER_SHARD_STATUS, error == null ? ShardStatus.COMPLETED.name() : ShardStatus.FAILED.name())
+            .setHeader(HEADER_SHARD_WITH_SHORT_CIRCUIT_DATA, withShortCircuitData);
+        if (error != null) {
+            message.setHeader(HEADER_SHARD_ERROR, error);
+        }
+        streamBridge.send(PUBLISH_SHARD_RESULT_BINDING, message.build());
+    }
+
+    /**
+     * Complete the shard if it has been dispatched by this pod, ignore it otherwise. The result of a shard saved after
+     * its cancellation is deleted.
+     */
+    public void consumeShardResult(Message<String> message) {
+        MessageHeaders headers = message.getHeaders();
+        UUID shardResultUuid = UUID.fromString(getNonNullHeader(headers, HEADER_RESULT_UUID));
+        if (cancelledShards.remove(shardResultUuid) != null) {
+            if (ShardStatus.COMPLETED.name().equals(headers.get(HEADER_SHARD_STATUS))) {
+                LOGGER.info("Deleting the result of the fault shard {} saved after its cancellation", shardResultUuid);
+                resultService.delete(shardResultUuid);
+            }
+            return;
+        }
+        CompletableFuture<Boolean> shard = pendingShards.get(shardResultUuid);
+        if (shard == null) {
+            return;
+        }
+        if (ShardStatus.COMPLETED.name().equals(headers.get(HEADER_SHARD_STATUS))) {
+            shard.complete(Boolean.TRUE.equals(headers.get(HEADER_SHARD_WITH_SHORT_CIRCUIT_DATA)));
+        } else {
+            shard.completeExceptionally(new ShortCircuitException(SHARD_FAILED, "Fault shard " + shardResultUuid + " of analysis "
+                + headers.get(ShortCircuitResultContext.HEADER_SHARD_COORDINATOR) + " failed: " + headers.get(HEADER_SHARD_ERROR)));
+        }
+    }
+
+    private enum ShardStatus {
+        COMPLETED,
+        FAILED
+    }
+}
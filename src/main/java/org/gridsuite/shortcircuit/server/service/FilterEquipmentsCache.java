@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Cache of the equipments of the filters exported by the filter server, per filter and network variant, so that
+ * consecutive runs with the same filters (typically the clusters of the parameters of a study) do not export them again.
+ * <p>
+ * Only the filters missing from the cache are exported, in a single call. A filter being exported for a run is not
+ * exported again for the concurrent runs: they wait for the same export.
+ * <p>
+ * A new run of a variant drops the exports on this variant, through {@link CacheInvalidations}. The
+ * filters are modified in the filter server without notifying this server: a cached export ignores their
+ * modifications until {@code max-age}.
+ */
+@Component
+public class FilterEquipmentsCache {
+    private final int maxSize;
+    private final long maxAgeNanos;
+    private final ShortCircuitObserver shortCircuitObserver;
+
+    private final LocalCache<Key, FilterEquipments> cache;
+    /** exports in progress, completed with null if the filter server did not export the filter */
+    private final Map<Key, CompletableFuture<FilterEquipments>> loadings = new HashMap<>();
+
+    public FilterEquipmentsCache(@Value("${shortcircuit-analysis.filter-cache.max-size:10000}") int maxSize,
+                                 @Value("${shortcircuit-analysis.filter-cache.max-age:PT1M}") Duration maxAge,
+                                 ShortCircuitObserver shortCircuitObserver) {
+        this(maxSize, maxAge, shortCircuitObserver, System::nanoTime);
+    }
+
+    FilterEquipmentsCache(int maxSize, Duration maxAge, ShortCircuitObserver shortCircuitObserver, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.cache = LocalCache.ofMaxSize(Math.max(maxSize, 0), maxAge, nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && maxAgeNanos > 0;
+    }
+
+    /**
+     * @param exportPath the export of the filter server, the same filter being exported differently by each of them
+     */
+    private record Key(String exportPath, UUID filterUuid, UUID networkUuid, String variantId) {
+    }
+
+    /**
+     * @param loader export of the given filters by the filter server
+     * @return the equipments of the filters, in the order of the filters, without the filters not exported
+     */
+    public List<FilterEquipments> get(String exportPath, List<UUID> filterUuids, UUID networkUuid, String variantId,
+                                      Function<List<UUID>, List<FilterEquipments>> loader) {
+        if (!isEnabled()) {
+            return loader.apply(filterUuids);
+        }
+        Set<UUID> requestedFilterUuids = new LinkedHashSet<>(filterUuids);
+        Map<UUID, FilterEquipments> cached = new HashMap<>();
+        Map<UUID, CompletableFuture<FilterEquipments>> loading = new HashMap<>();
+        Map<UUID, CompletableFuture<FilterEquipments>> toLoad = new LinkedHashMap<>();
+        long stamp;
+        synchronized (this) {
+            stamp = cache.stamp();
+            for (UUID filterUuid : requestedFilterUuids) {
+                Key key = new Key(exportPath, filterUuid, networkUuid, variantId);
+                FilterEquipments equipments = cache.getIfPresent(key);
+                if (equipments != null) {
+                    cached.put(filterUuid, equipments);
+                } else if (loadings.containsKey(key)) {
+                    loading.put(filterUuid, loadings.get(key));
+                } else {
+                    CompletableFuture<FilterEquipments> future = new CompletableFuture<>();
+                    loadings.put(key, future);
+                    toLoad.put(filterUuid, future);
+                }
+            }
+        }
+        shortCircuitObserver.observeFilterCache(true, cached.size() + loading.size());
+        shortCircuitObserver.observeFilterCache(false, toLoad.size());
+
+        if (!toLoad.isEmpty()) {
+            load(exportPath, networkUuid, variantId, toLoad, loader, stamp);
+        }
+        List<FilterEquipments> filterEquipments = new ArrayList<>(requestedFilterUuids.size());
+        for (UUID filterUuid : requestedFilterUuids) {
+            FilterEquipments equipments = cached.containsKey(filterUuid) ? cached.get(filterUuid)
+                : join(loading.getOrDefault(filterUuid, toLoad.get(filterUuid)));
+            if (equipments != null) {
+                filterEquipments.add(equipments);
+            }
+        }
+        return filterEquipments;
+    }
+
+    private void load(String exportPath, UUID networkUuid, String variantId, Map<UUID, CompletableFuture<FilterEquipments>> toLoad,
+                      Function<List<UUID>, List<FilterEquipments>> loader, long stamp) {
+        Map<UUID, FilterEquipments> loaded = new HashMap<>();
+        try {
+            List<FilterEquipments> exported = loader.apply(List.copyOf(toLoad.keySet()));
+            if (exported != null) {
+                exported.forEach(equipments -> loaded.putIfAbsent(equipments.getFilterId(), equipments));
+            }
+        } catch (RuntimeException | Error e) {
+            // the runs waiting for this export fail with it, the next runs export the filters again
+            synchronized (this) {
+                toLoad.forEach((filterUuid, future) -> loadings.remove(new Key(exportPath, filterUuid, networkUuid, variantId), future));
+            }
+            toLoad.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        }
+        synchronized (this) {
+            toLoad.forEach((filterUuid, future) -> {
+                Key key = new Key(exportPath, filterUuid, networkUuid, variantId);
+                loadings.remove(key, future);
+                if (loaded.containsKey(filterUuid)) {
+                    cache.put(key, loaded.get(filterUuid), stamp);
+                }
+            });
+        }
+        toLoad.forEach((filterUuid, future) -> future.complete(loaded.get(filterUuid)));
+    }
+
+    private static FilterEquipments join(CompletableFuture<FilterEquipments> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop the exports on the variant from the cache of this pod: the next runs export the filters again, even those
+     * being exported.
+     *
+     * @return whether an export on the variant was cached or in progress
+     */
+    public synchronized boolean invalidate(UUID networkUuid, String variantId) {
+        Predicate<Key> onVariant = key -> key.networkUuid().equals(networkUuid) && Objects.equals(key.variantId(), variantId);
+        boolean loading = loadings.keySet().removeIf(onVariant);
+        boolean cached = cache.invalidateIf(onVariant);
+        return loading || cached;
+    }
+
+    long size() {
+        return cache.size();
+    }
+}
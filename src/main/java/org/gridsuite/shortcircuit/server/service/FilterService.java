@@ -30,18 +30,35 @@ public class FilterService extends AbstractFilterService {
     private static final String QUERY_PARAM_VARIANT_ID = "variantId";
     private static final String NETWORK_UUID = "networkUuid";
 
+    private static final String VOLTAGE_LEVEL_ID_COLUMN = "fault.voltageLevelId";
+
+    private final FilterEquipmentsCache filterEquipmentsCache;
+
+    private final VoltageLevelIndexCache voltageLevelIndexCache;
+
     public FilterService(RestTemplateBuilder restTemplateBuilder,
                          NetworkStoreService networkStoreService,
-                         @Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String filterServerBaseUri) {
+                         @Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String filterServerBaseUri,
+                         FilterEquipmentsCache filterEquipmentsCache,
+                         VoltageLevelIndexCache voltageLevelIndexCache) {
         super(restTemplateBuilder, networkStoreService, filterServerBaseUri);
+        this.filterEquipmentsCache = filterEquipmentsCache;
+        this.voltageLevelIndexCache = voltageLevelIndexCache;
     }
 
     public Optional<ResourceFilterDTO> getResourceFilter(@NonNull UUID networkUuid, @NonNull String variantId, @NonNull GlobalFilter globalFilter) {
+        if (voltageLevelIndexCache.isEnabled() && VoltageLevelIndex.supports(globalFilter)) {
+            // evaluated on the cached voltage levels of the variant, without loading the network
+            List<String> voltageLevelIds = voltageLevelIndexCache.get(networkUuid, variantId).filter(globalFilter);
+            return voltageLevelIds.isEmpty() ? Optional.empty()
+                : Optional.of(new ResourceFilterDTO(ResourceFilterDTO.DataType.TEXT, ResourceFilterDTO.Type.IN, voltageLevelIds, VOLTAGE_LEVEL_ID_COLUMN));
+        }
+
         // Get equipment types from violation types
         List<EquipmentType> equipmentTypes = List.of(EquipmentType.VOLTAGE_LEVEL);
 
         // Call the common implementation with specific parameters
-        return super.getResourceFilter(networkUuid, variantId, globalFilter, equipmentTypes, "fault.voltageLevelId");
+        return super.getResourceFilter(networkUuid, variantId, globalFilter, equipmentTypes, VOLTAGE_LEVEL_ID_COLUMN);
     }
 
     public List<FilterEquipments> getFilterBusIds(List<UUID> filterUuids, UUID networkUuid, String variantId) {
@@ -56,6 +73,11 @@ public class FilterService extends AbstractFilterService {
         Objects.requireNonNull(filterUuids);
         Objects.requireNonNull(networkUuid);
 
+        return filterEquipmentsCache.get(url, filterUuids, networkUuid, variantId,
+            missingFilterUuids -> exportFilterEquipments(url, missingFilterUuids, networkUuid, variantId));
+    }
+
+    private List<FilterEquipments> exportFilterEquipments(String url, List<UUID> filterUuids, UUID networkUuid, String variantId) {
         var uriComponentsBuilder = UriComponentsBuilder
                 .fromPath(DELIMITER + FILTER_API_VERSION + url)
                 .queryParam(IDS, filterUuids)
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.gridsuite.computation.dto.GlobalFilter;
+import org.gridsuite.computation.dto.ResourceFilterDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the global filters of the results resolved by the filter server, per network variant, so that the pages
+ * and the exports of the results filtered the same way do not resolve their global filter again.
+ * <p>
+ * A new run of a variant, usually requested after its modification, drops its resolved global filters through
+ * {@link CacheInvalidations}. The modifications of a variant without new run are only seen after {@code max-age}.
+ */
+@Component
+public class GlobalFilterCache {
+    private final int maxSize;
+    private final long maxAgeNanos;
+    private final ObjectMapper objectMapper;
+    private final ShortCircuitObserver shortCircuitObserver;
+    private final LongSupplier nanoTime;
+
+    private final LocalCache<Key, Entry> cache;
+
+    public GlobalFilterCache(@Value("${shortcircuit-analysis.global-filter-cache.max-size:1000}") int maxSize,
+                             @Value("${shortcircuit-analysis.global-filter-cache.max-age:PT5M}") Duration maxAge,
+                             ObjectMapper objectMapper,
+                             ShortCircuitObserver shortCircuitObserver) {
+        this(maxSize, maxAge, objectMapper, shortCircuitObserver, System::nanoTime);
+    }
+
+    GlobalFilterCache(int maxSize, Duration maxAge, ObjectMapper objectMapper, ShortCircuitObserver shortCircuitObserver, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.objectMapper = objectMapper;
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.nanoTime = nanoTime;
+        this.cache = LocalCache.ofMaxSize(Math.max(maxSize, 0), maxAge, nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && maxAgeNanos > 0;
+    }
+
+    /**
+     * @param globalFilter normalized global filter: its values are sorted, as their order does not change the filter
+     */
+    private record Key(UUID networkUuid, String variantId, String globalFilter) {
+    }
+
+    /**
+     * @param resourceFilter empty if no equipment matches the global filter
+     */
+    private record Entry(Optional<ResourceFilterDTO> resourceFilter, long resolutionNanos) {
+    }
+
+    /**
+     * @param resolver resolution of the global filter by the filter server
+     */
+    public Optional<ResourceFilterDTO> get(UUID networkUuid, String variantId, GlobalFilter globalFilter,
+                                           Supplier<Optional<ResourceFilterDTO>> resolver) {
+        if (!isEnabled()) {
+            return resolver.get();
+        }
+        Key key = new Key(networkUuid, variantId, normalize(objectMapper.valueToTree(globalFilter), true).toString());
+        long stamp = cache.stamp();
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            shortCircuitObserver.observeGlobalFilterCache(true, Duration.ofNanos(entry.resolutionNanos()));
+            return entry.resourceFilter();
+        }
+        long start = nanoTime.getAsLong();
+        Optional<ResourceFilterDTO> resourceFilter = resolver.get();
+        long end = nanoTime.getAsLong();
+        shortCircuitObserver.observeGlobalFilterCache(false, Duration.ZERO);
+        cache.put(key, new Entry(resourceFilter, end - start), stamp);
+        return resourceFilter;
+    }
+
+    /**
+     * Drop the global filters resolved on the variant from the cache of this pod.
+     *
+     * @return whether a global filter of the variant was cached
+     */
+    public boolean invalidate(UUID networkUuid, String variantId) {
+        return cache.invalidateIf(key -> key.networkUuid().equals(networkUuid) && Objects.equals(key.variantId(), variantId));
+    }
+
+    /**
+     * @param sortArray whether the order of the elements of the array does not matter: the lists of values of the
+     *                  global filter, unlike the arrays they contain (voltage ranges)
+     */
+    private static JsonNode normalize(JsonNode node, boolean sortArray) {
+        if (node.isObject()) {
+            ObjectNode sortedNode = JsonNodeFactory.instance.objectNode();
+            List<String> fieldNames = new ArrayList<>();
+            node.fieldNames().forEachRemaining(fieldNames::add);
+            Collections.sort(fieldNames);
+            fieldNames.forEach(fieldName -> sortedNode.set(fieldName, normalize(node.get(fieldName), true)));
+            return sortedNode;
+        }
+        if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            node.elements().forEachRemaining(element -> elements.add(normalize(element, false)));
+            if (sortArray) {
+                elements.sort(Comparator.comparing(JsonNode::toString));
+            }
+            ArrayNode arrayNode = JsonNodeFactory.instance.arrayNode();
+            arrayNode.addAll(elements);
+            return arrayNode;
+        }
+        return node;
+    }
+
+    long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * In-memory cache of this pod, bounded in size and in age, on which the caches of the server are built.
+ * <p>
+ * The values are loaded by the callers, outside of the cache: a value is only cached if the cache was not invalidated
+ * during its load, as it may have been loaded before the modification that caused the invalidation.
+ */
+final class LocalCache<K, V> {
+    private final Cache<K, V> cache;
+    /** incremented by each invalidation */
+    private long invalidations;
+
+    private LocalCache(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @param maxAge max duration a value is kept after it is cached, null to keep it until its eviction
+     */
+    static <K, V> LocalCache<K, V> ofMaxSize(long maxSize, Duration maxAge, LongSupplier nanoTime) {
+        return new LocalCache<>(builder(maxAge, nanoTime).maximumSize(maxSize).<K, V>build());
+    }
+
+    /**
+     * @param weigher weight of a value, in the unit of {@code maxWeight}
+     */
+    static <K, V> LocalCache<K, V> ofMaxWeight(long maxWeight, Weigher<K, V> weigher, Duration maxAge, LongSupplier nanoTime) {
+        return new LocalCache<>(builder(maxAge, nanoTime).maximumWeight(maxWeight).weigher(weigher).build());
+    }
+
+    private static Caffeine<Object, Object> builder(Duration maxAge, LongSupplier nanoTime) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .ticker(nanoTime::getAsLong)
+            // evictions done by the thread caching a value rather than by the common pool
+            .executor(Runnable::run);
+        return maxAge != null ? builder.expireAfterWrite(maxAge) : builder;
+    }
+
+    V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * @return the state of the cache before a load, to give to {@link #put}
+     */
+    synchronized long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Cache a value which cannot be made stale by an invalidation.
+     */
+    void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    /**
+     * Cache a value loaded after the given stamp, unless the cache has been invalidated since.
+     */
+    synchronized void put(K key, V value, long stamp) {
+        if (stamp == invalidations) {
+            cache.put(key, value);
+        }
+    }
+
+    /**
+     * Remove a value from the cache, without invalidating it.
+     *
+     * @return the value, null if it was not cached
+     */
+    V remove(K key) {
+        return cache.asMap().remove(key);
+    }
+
+    synchronized void invalidate(K key) {
+        invalidations++;
+        cache.invalidate(key);
+    }
+
+    /**
+     * @return whether a value was removed
+     */
+    synchronized boolean invalidateIf(Predicate<? super K> predicate) {
+        invalidations++;
+        return cache.asMap().keySet().removeIf(predicate);
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    long weight() {
+        cache.cleanUp();
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+}
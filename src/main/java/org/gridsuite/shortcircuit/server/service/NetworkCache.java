@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.commons.extensions.Extension;
+import com.powsybl.iidm.network.DefaultNetworkListener;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the networks loaded by the worker runs of this pod, so that consecutive runs on the same network variant
+ * (typically one-bus analyses) do not load it again from the network store.
+ * <p>
+ * A cached network is leased to a single run at a time: it leaves the cache when a run acquires it, and is only put back
+ * when the run completed without modifying it. The cache is bounded by an estimation of the heap used by its networks,
+ * and a network is dropped {@code max-age} after its last run.
+ * <p>
+ * A network is cached under the version of the content of its variant, given by the caller of the run as the network
+ * store does not version the variants: a modified variant is loaded again. The networks of the runs without variant
+ * version are never cached.
+ * <p>
+ * The lanes of fault batches of a run each lease their own instance of its network, cached under the index of their
+ * lane, so that the next batched runs on the variant reuse them too.
+ */
+@Component
+public class NetworkCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkCache.class);
+
+    /** in kilobytes, as the weights of the entries */
+    private final long maxWeight;
+    private final long bytesPerEquipment;
+    private final ShortCircuitObserver shortCircuitObserver;
+    private final LongSupplier nanoTime;
+
+    private final LocalCache<Key, Entry> cache;
+
+    /** networks leased by the runs of each thread, a stack as a run may consume a nested message */
+    private final ThreadLocal<Deque<Lease>> leases = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public NetworkCache(@Value("${shortcircuit-analysis.network-cache.max-size:0}") DataSize maxSize,
+                        @Value("${shortcircuit-analysis.network-cache.bytes-per-equipment:4096}") long bytesPerEquipment,
+                        @Value("${shortcircuit-analysis.network-cache.max-age:PT5M}") Duration maxAge,
+                        ShortCircuitObserver shortCircuitObserver) {
+        this(maxSize, bytesPerEquipment, maxAge, shortCircuitObserver, System::nanoTime);
+    }
+
+    NetworkCache(DataSize maxSize, long bytesPerEquipment, Duration maxAge, ShortCircuitObserver shortCircuitObserver, LongSupplier nanoTime) {
+        if (bytesPerEquipment <= 0) {
+            throw new IllegalArgumentException("Network cache bytes per equipment must be strictly positive: " + bytesPerEquipment);
+        }
+        this.maxWeight = maxSize.toKilobytes();
+        this.bytesPerEquipment = bytesPerEquipment;
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.nanoTime = nanoTime;
+        this.cache = LocalCache.ofMaxWeight(Math.max(maxWeight, 0), (key, entry) -> (int) Math.min(entry.weight(), Integer.MAX_VALUE),
+            maxAge, nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return maxWeight > 0;
+    }
+
+    /**
+     * @param instance index of the lane of fault batches using the network, 0 for the network of the run
+     */
+    private record Key(UUID networkUuid, String variantId, String variantVersion, int instance) {
+    }
+
+    /**
+     * @param weight estimation of the heap used by the network, in kilobytes
+     */
+    private record Entry(Network network, long weight, long loadNanos) {
+    }
+
+    /**
+     * Run of a network, which must not be cached again if it has been modified.
+     */
+    private static final class Lease extends DefaultNetworkListener {
+        private final Key key;
+        private final Entry entry;
+        private volatile boolean modified;
+        private boolean completed;
+
+        private Lease(Key key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+
+        @Override
+        public void onCreation(Identifiable<?> identifiable) {
+            modified = true;
+        }
+
+        @Override
+        public void afterRemoval(String id) {
+            modified = true;
+        }
+
+        @Override
+        public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onExtensionCreation(Extension<?> extension) {
+            modified = true;
+        }
+
+        @Override
+        public void onExtensionAfterRemoval(Identifiable<?> identifiable, String extensionName) {
+            modified = true;
+        }
+
+        @Override
+        public void onExtensionUpdate(Extension<?> extension, String attribute, String variantId, Object oldValue, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onPropertyAdded(Identifiable<?> identifiable, String key, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onPropertyReplaced(Identifiable<?> identifiable, String key, Object oldValue, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onPropertyRemoved(Identifiable<?> identifiable, String key, Object oldValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onVariantCreated(String sourceVariantId, String targetVariantId) {
+            modified = true;
+        }
+    }
+
+    /**
+     * Lease the network variant to the run of the current thread, loading it if it is not cached.
+     *
+     * @param variantVersion version of the content of the variant, null if unknown for the network not to be cached
+     */
+    public Network acquire(UUID networkUuid, String variantId, String variantVersion, Supplier<Network> loader) {
+        return acquire(networkUuid, variantId, variantVersion, 0, loader);
+    }
+
+    /**
+     * Lease another instance of the network variant to a lane of fault batches of the run of the current thread,
+     * released like the network of the run.
+     *
+     * @param instance index of the lane, from 1
+     */
+    public Network acquire(UUID networkUuid, String variantId, String variantVersion, int instance, Supplier<Network> loader) {
+        // a lease is pushed even if the network is not cached, for the release of the run to end its own lease
+        Key key = variantVersion != null ? new Key(networkUuid, variantId, variantVersion, instance) : null;
+        Entry entry = key != null ? cache.remove(key) : null;
+        if (entry != null) {
+            shortCircuitObserver.observeNetworkCache(true, Duration.ofNanos(entry.loadNanos()));
+            entry.network().getVariantManager().setWorkingVariant(variantId != null ? variantId : VariantManagerConstants.INITIAL_VARIANT_ID);
+        } else {
+            long start = nanoTime.getAsLong();
+            Network network = loader.get();
+            long end = nanoTime.getAsLong();
+            if (key != null) {
+                shortCircuitObserver.observeNetworkCache(false, Duration.ZERO);
+            }
+            entry = new Entry(network, estimateWeight(network), end - start);
+        }
+        Lease lease = new Lease(key, entry);
+        entry.network().addListener(lease);
+        leases.get().push(lease);
+        return entry.network();
+    }
+
+    /**
+     * Mark the network as reusable: its run has completed.
+     */
+    public void complete(Network network) {
+        if (!isEnabled()) {
+            return;
+        }
+        leases.get().stream()
+            .filter(lease -> lease.entry.network() == network)
+            .findFirst()
+            .ifPresent(lease -> lease.completed = true);
+    }
+
+    /**
+     * End the last lease of the current thread, caching its network again if its run completed without modifying it.
+     */
+    public void release() {
+        if (!isEnabled()) {
+            return;
+        }
+        Deque<Lease> threadLeases = leases.get();
+        Lease lease = threadLeases.poll();
+        if (threadLeases.isEmpty()) {
+            leases.remove();
+        }
+        if (lease == null) {
+            return;
+        }
+        lease.entry.network().removeListener(lease);
+        if (lease.key == null) {
+            return;
+        }
+        if (!lease.completed || lease.modified) {
+            LOGGER.debug("Network {} of variant {} not cached: {}", lease.key.networkUuid(), lease.key.variantId(),
+                lease.modified ? "modified by its run" : "run not completed");
+            return;
+        }
+        put(lease.key, lease.entry);
+    }
+
+    private void put(Key key, Entry entry) {
+        if (entry.weight() > maxWeight) {
+            return;
+        }
+        cache.put(key, entry);
+    }
+
+    private long estimateWeight(Network network) {
+        // the bus view collections are preloaded: counting them does not load anything else
+        long bytes = (network.getVoltageLevelCount() + (long) network.getConnectableCount()) * bytesPerEquipment;
+        return (bytes + 1023) / 1024;
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return in kilobytes
+     */
+    long weight() {
+        return cache.weight();
+    }
+}
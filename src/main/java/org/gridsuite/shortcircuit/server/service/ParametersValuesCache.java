@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the parameters values used by the runs, keyed by parameters uuid.
+ * <p>
+ * The parameters are never modified behind the back of the server: they are invalidated by {@link CacheInvalidations}
+ * when modified or deleted, so they are kept until their eviction. The runs modify their parameters values: the cache
+ * only hands out copies.
+ */
+@Component
+public class ParametersValuesCache {
+    private final int maxSize;
+    private final ShortCircuitObserver shortCircuitObserver;
+
+    private final LocalCache<UUID, ShortCircuitParametersValues> cache;
+
+    public ParametersValuesCache(@Value("${shortcircuit-analysis.parameters-cache.max-size:1000}") int maxSize,
+                                 ShortCircuitObserver shortCircuitObserver) {
+        this.maxSize = maxSize;
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.cache = LocalCache.ofMaxSize(Math.max(maxSize, 0), null, System::nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @return a copy of the cached parameters values, loaded if they are not cached
+     */
+    public ShortCircuitParametersValues get(UUID parametersUuid, Supplier<ShortCircuitParametersValues> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        long stamp = cache.stamp();
+        ShortCircuitParametersValues values = cache.getIfPresent(parametersUuid);
+        shortCircuitObserver.observeParametersCache(values != null);
+        if (values == null) {
+            values = loader.get();
+            cache.put(parametersUuid, values, stamp);
+        }
+        return copyOf(values);
+    }
+
+    /**
+     * Drop the parameters from the cache of this pod.
+     */
+    public void invalidate(UUID parametersUuid) {
+        cache.invalidate(parametersUuid);
+    }
+
+    private static ShortCircuitParametersValues copyOf(ShortCircuitParametersValues values) {
+        return ShortCircuitParametersValues.builder()
+            .provider(values.getProvider())
+            .predefinedParameters(values.getPredefinedParameters())
+            .commonParameters(ShortCircuitProviderRegistry.copyOf(values.getCommonParameters()))
+            .specificParameters(new HashMap<>(values.getSpecificParameters()))
+            .build();
+    }
+
+    long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.powsybl.commons.report.ReportNode;
+import org.gridsuite.computation.service.ReportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Upload of the reports of the runs to the report server of the {@link ReportService}.
+ * <p>
+ * The report is serialized once: in memory until {@code compression-threshold}, then gzipped on the fly for the
+ * bigger reports, typically with the ADN conversion logs of big networks, which are then sent gzip encoded. The logs
+ * folded by the {@link org.gridsuite.shortcircuit.server.report.ReportBudget} are left out of the serialized report.
+ * Without compression nor folded logs, the report is sent by the {@link ReportService}.
+ */
+@Service
+public class ReportUploader {
+    private static final String REPORT_API_VERSION = "v1";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ReportService reportService;
+    private final RestTemplate restTemplate;
+    private final ObjectWriter reportWriter;
+    private final long compressionThreshold;
+    private final ShortCircuitObserver shortCircuitObserver;
+
+    public ReportUploader(ReportService reportService,
+                          RestTemplateBuilder restTemplateBuilder,
+                          ObjectMapper objectMapper,
+                          @Value("${shortcircuit-analysis.report-upload.compression-threshold:0}") DataSize compressionThreshold,
+                          ShortCircuitObserver shortCircuitObserver) {
+        this.reportService = reportService;
+        this.restTemplate = restTemplateBuilder.build();
+        // the serialization stream is closed by the uploader, once the report is written
+        this.reportWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.compressionThreshold = compressionThreshold.toBytes();
+        this.shortCircuitObserver = shortCircuitObserver;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionThreshold > 0;
+    }
+
+    /**
+     * @param trimmedNodes logs left out of the report, see {@link org.gridsuite.shortcircuit.server.report.ReportBudget}
+     */
+    public void upload(UUID reportUuid, ReportNode report, Set<ReportNode> trimmedNodes) {
+        if (!isCompressionEnabled() && trimmedNodes.isEmpty()) {
+            reportService.sendReport(reportUuid, report);
+            return;
+        }
+        SwitchingGzipOutputStream body = new SwitchingGzipOutputStream(isCompressionEnabled() ? compressionThreshold : Long.MAX_VALUE);
+        try (body) {
+            write(report, trimmedNodes, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (body.isCompressed()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        // read on each upload, the base uri of the report service being settable
+        String uri = UriComponentsBuilder.fromUriString(reportService.getReportServerBaseUri())
+            .path("/" + REPORT_API_VERSION + "/reports/{reportUuid}")
+            .buildAndExpand(reportUuid)
+            .toUriString();
+        byte[] bytes = body.toByteArray();
+        restTemplate.exchange(uri, HttpMethod.PUT, new HttpEntity<>(bytes, headers), Void.class);
+        shortCircuitObserver.observeReportUpload(body.isCompressed(), bytes.length, body.getCount());
+    }
+
+    private void write(ReportNode report, Set<ReportNode> trimmedNodes, OutputStream out) throws IOException {
+        if (trimmedNodes.isEmpty()) {
+            reportWriter.writeValue(out, report);
+            return;
+        }
+        try (JsonGenerator generator = new FilteringGeneratorDelegate(reportWriter.createGenerator(out),
+            new TrimmedNodesFilter(report, trimmedNodes), TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true)) {
+            reportWriter.writeValue(generator, report);
+        }
+    }
+
+    /**
+     * Leave the trimmed nodes out of the serialized report, following its tree: {@code reportRoot} is the root node,
+     * and the elements of the {@code children} of a node are its children, in their order.
+     */
+    private static class TrimmedNodesFilter extends TokenFilter {
+        private final ReportNode root;
+        private final Set<ReportNode> trimmedNodes;
+
+        private TrimmedNodesFilter(ReportNode root, Set<ReportNode> trimmedNodes) {
+            this.root = root;
+            this.trimmedNodes = trimmedNodes;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return "reportRoot".equals(name) ? nodeFilter(root) : INCLUDE_ALL;
+        }
+
+        private TokenFilter nodeFilter(ReportNode node) {
+            return new TokenFilter() {
+                @Override
+                public TokenFilter includeProperty(String name) {
+                    return "children".equals(name) ? childrenFilter(node) : INCLUDE_ALL;
+                }
+            };
+        }
+
+        private TokenFilter childrenFilter(ReportNode node) {
+            return new TokenFilter() {
+                @Override
+                public TokenFilter includeElement(int index) {
+                    ReportNode child = node.getChildren().get(index);
+                    return trimmedNodes.contains(child) ? null : nodeFilter(child);
+                }
+
+                @Override
+                public boolean includeEmptyArray(boolean contentsFiltered) {
+                    return true;
+                }
+            };
+        }
+    }
+
+    /**
+     * Buffer the bytes written, gzipped from the first byte once more than {@code threshold} bytes are written.
+     */
+    private static final class SwitchingGzipOutputStream extends OutputStream {
+        private final long threshold;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private GZIPOutputStream gzip;
+        private long count;
+
+        private SwitchingGzipOutputStream(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count += len;
+            if (gzip == null && count > threshold) {
+                // the bytes written so far are compressed in place
+                byte[] written = buffer.toByteArray();
+                buffer.reset();
+                gzip = new GZIPOutputStream(buffer, GZIP_BUFFER_SIZE);
+                gzip.write(written);
+            }
+            (gzip != null ? gzip : buffer).write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (gzip != null) {
+                gzip.finish();
+            }
+        }
+
+        private boolean isCompressed() {
+            return gzip != null;
+        }
+
+        /**
+         * @return the bytes written, gzipped if compressed
+         */
+        private byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+
+        /**
+         * @return the number of bytes written, before their compression
+         */
+        private long getCount() {
+            return count;
+        }
+    }
+}
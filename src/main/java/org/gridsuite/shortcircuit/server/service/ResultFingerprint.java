@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SHA-256 digest of the inputs of an analysis: network, variant with the version of its content, resolved parameters,
+ * buses and provider.
+ * <p>
+ * The filters of the specific parameters are resolved by the worker, after the fingerprint: the analyses with such
+ * filters are not memoized. Neither are the analyses without variant version, as the network store does not version
+ * the content of the variants.
+ */
+public final class ResultFingerprint {
+
+    private ResultFingerprint() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String of(ShortCircuitRunContext runContext, ObjectMapper objectMapper) {
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("networkUuid", runContext.getNetworkUuid());
+        inputs.put("variantId", runContext.getVariantId());
+        inputs.put("variantVersion", runContext.getVariantVersion());
+        inputs.put("busId", runContext.getBusId());
+        inputs.put("busIds", runContext.getBusIds());
+        inputs.put("provider", runContext.getProvider());
+        inputs.put("parameters", runContext.getParameters());
+        try {
+            // specific parameters are maps: sort their keys for the digest not to depend on their iteration order
+            byte[] serializedInputs = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(inputs);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(serializedInputs));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Network;
+import org.gridsuite.shortcircuit.server.error.ShortCircuitException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+import static org.gridsuite.shortcircuit.server.error.ShortcircuitBusinessErrorCode.RUN_NOT_ADMITTED;
+
+/**
+ * Admission of the worker runs of this pod against a heap budget.
+ * <p>
+ * Before loading its network, a run reserves an estimation of the heap needed by the network, by its export to the
+ * provider (the ADN of the provider) and by its results. A run computing its faults in several lanes of batches loads
+ * and exports one instance of its network per lane. A run which does not fit in the budget waits for the other
+ * runs to release their reservation, and fails if it still does not fit after {@code max-wait}. A run estimated bigger
+ * than the whole budget only waits for the budget to be entirely free. A run cancelled while waiting stops waiting.
+ * <p>
+ * The network is not loaded yet when the run is admitted: its size is the one recorded by the last load of the same
+ * network by the pod. A run on a network whose size is unknown reserves {@code default-estimate}. The sizes of the
+ * last {@code max-networks} networks loaded are kept.
+ * <p>
+ * The reservation of a run is held by its consumer thread until its result is saved.
+ */
+@Component
+public class RunAdmissionController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunAdmissionController.class);
+
+    /** the semaphore permits are KB of heap */
+    private static final long PERMIT_BYTES = 1024;
+
+    private final int budgetPermits;
+    private final long bytesPerNetworkElement;
+    private final long bytesPerAdnElement;
+    private final long bytesPerFault;
+    private final long bytesPerFeederResult;
+    private final long defaultEstimate;
+    private final Duration maxWait;
+    private final ShortCircuitObserver shortCircuitObserver;
+    private final Semaphore budget;
+
+    /** size of the networks loaded by the pod */
+    private final LocalCache<UUID, NetworkSize> networkSizes;
+
+    /** runs waiting for their reservation */
+    private final Map<UUID, Waiter> waiters = new ConcurrentHashMap<>();
+
+    /** permits reserved by the run of each consumer thread */
+    private final ThreadLocal<Integer> reservations = new ThreadLocal<>();
+
+    /**
+     * Number of the elements of a network: its buses and its connectables, each held by the network and exported to
+     * the provider.
+     */
+    public record NetworkSize(long busCount, long connectableCount, long voltageLevelCount) {
+
+        public static NetworkSize of(Network network) {
+            return new NetworkSize(network.getBusView().getBusStream().count(), network.getConnectableCount(), network.getVoltageLevelCount());
+        }
+
+        long elementCount() {
+            return busCount + connectableCount;
+        }
+    }
+
+    private static final class Waiter {
+        private final Thread thread = Thread.currentThread();
+        private boolean cancelled;
+        private boolean done;
+    }
+
+    public RunAdmissionController(@Value("${shortcircuit-analysis.admission.heap-budget:0}") DataSize heapBudget,
+                                  @Value("${shortcircuit-analysis.admission.bytes-per-network-element:4096}") long bytesPerNetworkElement,
+                                  @Value("${shortcircuit-analysis.admission.bytes-per-adn-element:2048}") long bytesPerAdnElement,
+                                  @Value("${shortcircuit-analysis.admission.bytes-per-fault:16384}") long bytesPerFault,
+                                  @Value("${shortcircuit-analysis.admission.bytes-per-feeder-result:1024}") long bytesPerFeederResult,
+                                  @Value("${shortcircuit-analysis.admission.default-estimate:1GB}") DataSize defaultEstimate,
+                                  @Value("${shortcircuit-analysis.admission.max-networks:1000}") int maxNetworks,
+                                  @Value("${shortcircuit-analysis.admission.max-wait:PT10M}") Duration maxWait,
+                                  ShortCircuitObserver shortCircuitObserver) {
+        if (bytesPerFault <= 0 || bytesPerNetworkElement < 0 || bytesPerAdnElement < 0 || bytesPerFeederResult < 0) {
+            throw new IllegalArgumentException("Admission bytes per fault must be strictly positive and bytes per network element, ADN element and feeder result positive: "
+                + bytesPerFault + ", " + bytesPerNetworkElement + ", " + bytesPerAdnElement + ", " + bytesPerFeederResult);
+        }
+        this.budgetPermits = (int) Math.min(Integer.MAX_VALUE, heapBudget.toBytes() / PERMIT_BYTES);
+        this.bytesPerNetworkElement = bytesPerNetworkElement;
+        this.bytesPerAdnElement = bytesPerAdnElement;
+        this.bytesPerFault = bytesPerFault;
+        this.bytesPerFeederResult = bytesPerFeederResult;
+        this.defaultEstimate = defaultEstimate.toBytes();
+        this.networkSizes = LocalCache.ofMaxSize(Math.max(maxNetworks, 0), null, System::nanoTime);
+        this.maxWait = maxWait;
+        this.shortCircuitObserver = shortCircuitObserver;
+        // fair: a big run is not starved by the smaller ones
+        this.budget = new Semaphore(budgetPermits, true);
+        if (isEnabled()) {
+            shortCircuitObserver.registerAdmissionReservedHeap(() -> (budgetPermits - budget.availablePermits()) * PERMIT_BYTES);
+        }
+    }
+
+    public boolean isEnabled() {
+        return budgetPermits > 0;
+    }
+
+    /**
+     * Record the size of a network loaded by the pod, for the admission of its next runs.
+     */
+    public void recordNetworkSize(UUID networkUuid, Network network) {
+        if (isEnabled()) {
+            networkSizes.put(networkUuid, NetworkSize.of(network));
+        }
+    }
+
+    /**
+     * Estimate the heap needed by a run: its network instances, their export to the provider and the results of its
+     * faults, each bus fault result holding the feeder results of the bus, estimated from the average number of
+     * connectables per voltage level.
+     */
+    long estimate(NetworkSize networkSize, int faultsCount, int networkInstances, boolean withFeederResult) {
+        long feederResultsPerFault = 0;
+        if (withFeederResult) {
+            feederResultsPerFault = Math.max(1, networkSize.connectableCount() / Math.max(networkSize.voltageLevelCount(), 1));
+        }
+        return networkInstances * networkSize.elementCount() * (bytesPerNetworkElement + bytesPerAdnElement)
+            + faultsCount * (bytesPerFault + feederResultsPerFault * bytesPerFeederResult);
+    }
+
+    /**
+     * Reserve the estimated heap of the run of the current thread, waiting for the other runs if it does not fit.
+     *
+     * @param faultsCount number of faults of the run, from the size of its network
+     * @param networkInstances number of instances of the network loaded by the run, from its number of faults
+     * @throws ShortCircuitException if the run still does not fit after the max wait
+     * @throws CancellationException if the run is cancelled while waiting
+     */
+    public void admit(UUID resultUuid, UUID networkUuid, ToIntFunction<NetworkSize> faultsCount, IntUnaryOperator networkInstances,
+                      boolean withFeederResult) {
+        if (!isEnabled()) {
+            return;
+        }
+        release();
+        NetworkSize networkSize = networkSizes.getIfPresent(networkUuid);
+        long estimate = defaultEstimate;
+        if (networkSize != null) {
+            int faults = faultsCount.applyAsInt(networkSize);
+            estimate = estimate(networkSize, faults, networkInstances.applyAsInt(faults), withFeederResult);
+        }
+        int permits = (int) Math.clamp((estimate + PERMIT_BYTES - 1) / PERMIT_BYTES, 1, budgetPermits);
+        long start = System.nanoTime();
+        boolean admitted = acquire(resultUuid, permits);
+        Duration wait = Duration.ofNanos(System.nanoTime() - start);
+        shortCircuitObserver.observeAdmission(admitted, permits * PERMIT_BYTES, wait);
+        if (!admitted) {
+            throw new ShortCircuitException(RUN_NOT_ADMITTED, "Not enough memory to run the analysis: " + DataSize.ofBytes(estimate).toMegabytes()
+                + " MB needed, still not available after " + maxWait);
+        }
+        LOGGER.debug("Run {} admitted after {} ms, {} KB reserved", resultUuid, wait.toMillis(), permits);
+        reservations.set(permits);
+    }
+
+    private boolean acquire(UUID resultUuid, int permits) {
+        Waiter waiter = new Waiter();
+        waiters.put(resultUuid, waiter);
+        boolean admitted = false;
+        boolean interrupted = false;
+        try {
+            admitted = budget.tryAcquire(permits, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            synchronized (waiter) {
+                waiters.remove(resultUuid);
+                waiter.done = true;
+            }
+        }
+        if (waiter.cancelled) {
+            // the interruption of a cancellation is not left to the next steps of the thread
+            Thread.interrupted();
+            if (admitted) {
+                budget.release(permits);
+            }
+            throw new CancellationException("Run " + resultUuid + " cancelled while waiting for its admission");
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Run " + resultUuid + " interrupted while waiting for its admission");
+        }
+        return admitted;
+    }
+
+    /**
+     * Stop the wait of a run for its reservation, the run then fails with a {@link CancellationException}.
+     *
+     * @return true if the run was waiting for its reservation
+     */
+    public boolean cancel(UUID resultUuid) {
+        Waiter waiter = waiters.get(resultUuid);
+        if (waiter == null) {
+            return false;
+        }
+        synchronized (waiter) {
+            if (waiter.done) {
+                return false;
+            }
+            waiter.cancelled = true;
+            waiter.thread.interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * Release the reservation of the run of the current thread, if any.
+     */
+    public void release() {
+        Integer permits = reservations.get();
+        if (permits != null) {
+            reservations.remove();
+            budget.release(permits);
+        }
+    }
+}
@@ -7,12 +7,14 @@
 package org.gridsuite.shortcircuit.server.service;
 
 import com.powsybl.contingency.violations.LimitViolationType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
 import com.powsybl.iidm.network.ThreeSides;
+import com.powsybl.iidm.network.VoltageLevel;
 import com.powsybl.shortcircuit.*;
 import lombok.AllArgsConstructor;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.service.AbstractComputationResultService;
-import org.gridsuite.computation.utils.SpecificationUtils;
 import org.gridsuite.shortcircuit.server.dto.FaultResultsMode;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
@@ -57,6 +59,7 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
 
     private final FaultResultSpecificationBuilder faultResultSpecificationBuilder;
     private final FilterService filterService;
+    private final CancellationCheckpoints cancellationCheckpoints;
 
     private static List<LimitViolationEmbeddable> extractLimitViolations(FaultResult faultResult) {
         return faultResult.getLimitViolations().stream()
@@ -70,27 +73,79 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
         Set<FaultResultEntity> faultResults = result.getFaultResults()
                 .stream()
                 .filter(faultResult -> faultResult.getStatus() != FaultResult.Status.SOLVER_FAILURE)
-                .map(faultResult -> {
-                    switch (faultResult) {
-                        case FortescueFaultResult fortescueFaultResult -> {
-                            return toFortescueFaultResultEntity(fortescueFaultResult, allShortCircuitLimits.get(faultResult.getFault().getId()));
-                        }
-                        case MagnitudeFaultResult magnitudeFaultResult -> {
-                            return toMagnitudeFaultResultEntity(magnitudeFaultResult, allShortCircuitLimits.get(faultResult.getFault().getId()));
-                        }
-                        default -> {
-                            LOGGER.warn("Unknown FaultResult class: {}", faultResult.getClass());
-                            return toGenericFaultResultEntity(faultResult, allShortCircuitLimits.get(faultResult.getFault().getId()));
-                        }
-                    }
-                })
+                .map(faultResult -> toFaultResultEntity(faultResult, allShortCircuitLimits, null))
                 .collect(Collectors.toSet());
+        return new ShortCircuitAnalysisResultEntity(resultUuid, now(), faultResults, null);
+    }
+
+    private static Instant now() {
         //We need to limit the precision to avoid database precision storage limit issue (postgres has a precision of 6 digits while h2 can go to 9)
-        return new ShortCircuitAnalysisResultEntity(resultUuid, Instant.now().truncatedTo(ChronoUnit.MICROS), faultResults, null);
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * @param network network of the analysis, to capture the attributes of the voltage levels of the faults, null if
+     *                they are not captured
+     */
+    private static FaultResultEntity toFaultResultEntity(FaultResult faultResult, Map<String, ShortCircuitLimits> allShortCircuitLimits, Network network) {
+        ShortCircuitLimits shortCircuitLimits = allShortCircuitLimits.get(faultResult.getFault().getId());
+        FaultEmbeddable fault = toFaultEmbeddable(faultResult.getFault(), shortCircuitLimits, network);
+        switch (faultResult) {
+            case FortescueFaultResult fortescueFaultResult -> {
+                return toFortescueFaultResultEntity(fortescueFaultResult, fault, shortCircuitLimits);
+            }
+            case MagnitudeFaultResult magnitudeFaultResult -> {
+                return toMagnitudeFaultResultEntity(magnitudeFaultResult, fault, shortCircuitLimits);
+            }
+            default -> {
+                LOGGER.warn("Unknown FaultResult class: {}", faultResult.getClass());
+                return toGenericFaultResultEntity(faultResult, fault, shortCircuitLimits);
+            }
+        }
     }
 
-    private static FaultResultEntity toGenericFaultResultEntity(final FaultResult faultResult, final ShortCircuitLimits shortCircuitLimits) {
-        final Fault fault = faultResult.getFault();
+    private static FaultEmbeddable toFaultEmbeddable(Fault fault, ShortCircuitLimits shortCircuitLimits, Network network) {
+        String voltageLevelId = shortCircuitLimits == null ? null : shortCircuitLimits.getVoltageLevelId();
+        VoltageLevel voltageLevel = network != null && voltageLevelId != null ? network.getVoltageLevel(voltageLevelId) : null;
+        if (voltageLevel == null) {
+            return new FaultEmbeddable(fault.getId(), fault.getElementId(), voltageLevelId, fault.getFaultType());
+        }
+        Substation substation = voltageLevel.getSubstation().orElse(null);
+        return new FaultEmbeddable(fault.getId(), fault.getElementId(), voltageLevelId, fault.getFaultType(), voltageLevel.getNominalV(),
+            substation != null && substation.getNullableCountry() != null ? substation.getNullableCountry().name() : null);
+    }
+
+    /**
+     * Convert and save the fault results by chunks, with a cancellation checkpoint before each chunk and at the end.
+     * A cancelled run rolls back the transaction, and so the chunks already saved.
+     *
+     * @see CancellationCheckpoints
+     */
+    private ShortCircuitAnalysisResultEntity saveResultEntity(UUID resultUuid, ShortCircuitAnalysisResult result, ShortCircuitRunContext runContext) {
+        ShortCircuitAnalysisResultEntity resultEntity = new ShortCircuitAnalysisResultEntity(resultUuid, now(), new HashSet<>(), null);
+        resultEntity.setFingerprint(runContext.getFingerprint());
+        // the voltage levels of the faults are read from the network of the analysis, still loaded by the worker
+        Network network = runContext.getNetwork();
+        resultEntity.setWithVoltageLevelAttributes(network != null);
+        resultRepository.saveAndFlush(resultEntity);
+        List<FaultResult> faultResults = result.getFaultResults().stream()
+                .filter(faultResult -> faultResult.getStatus() != FaultResult.Status.SOLVER_FAILURE)
+                .toList();
+        int chunkSize = cancellationCheckpoints.getChunkSize();
+        for (int start = 0; start < faultResults.size(); start += chunkSize) {
+            cancellationCheckpoints.check(resultUuid);
+            List<FaultResultEntity> chunk = faultResults.subList(start, Math.min(start + chunkSize, faultResults.size())).stream()
+                    .map(faultResult -> toFaultResultEntity(faultResult, runContext.getShortCircuitLimits(), network))
+                    .toList();
+            chunk.forEach(faultResultEntity -> faultResultEntity.setResult(resultEntity));
+            faultResultRepository.saveAll(chunk);
+            faultResultRepository.flush();
+        }
+        cancellationCheckpoints.check(resultUuid);
+        return resultEntity;
+    }
+
+    private static FaultResultEntity toGenericFaultResultEntity(final FaultResult faultResult, final FaultEmbeddable fault, final ShortCircuitLimits shortCircuitLimits) {
         double ipMax = Double.NaN;
         double ipMin = Double.NaN;
         if (shortCircuitLimits != null) {
@@ -99,7 +154,7 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
         }
 
         return new FaultResultEntity(
-                new FaultEmbeddable(fault.getId(), fault.getElementId(), shortCircuitLimits == null ? null : shortCircuitLimits.getVoltageLevelId(), fault.getFaultType()),
+                fault,
                 Double.NaN,
                 faultResult.getShortCircuitPower(),
                 extractLimitViolations(faultResult),
@@ -110,8 +165,8 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
         );
     }
 
-    private static FaultResultEntity toMagnitudeFaultResultEntity(MagnitudeFaultResult faultResult, ShortCircuitLimits shortCircuitLimits) {
-        FaultResultEntity entity = toGenericFaultResultEntity(faultResult, shortCircuitLimits);
+    private static FaultResultEntity toMagnitudeFaultResultEntity(MagnitudeFaultResult faultResult, FaultEmbeddable fault, ShortCircuitLimits shortCircuitLimits) {
+        FaultResultEntity entity = toGenericFaultResultEntity(faultResult, fault, shortCircuitLimits);
         final double current = faultResult.getCurrent();
         entity.setCurrent(current);
         entity.setFeederResults(faultResult.getFeederResults().stream()
@@ -125,8 +180,8 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
         return entity;
     }
 
-    private static FaultResultEntity toFortescueFaultResultEntity(FortescueFaultResult faultResult, ShortCircuitLimits shortCircuitLimits) {
-        FaultResultEntity entity = toGenericFaultResultEntity(faultResult, shortCircuitLimits);
+    private static FaultResultEntity toFortescueFaultResultEntity(FortescueFaultResult faultResult, FaultEmbeddable fault, ShortCircuitLimits shortCircuitLimits) {
+        FaultResultEntity entity = toGenericFaultResultEntity(faultResult, fault, shortCircuitLimits);
         entity.setFeederResults(faultResult.getFeederResults().stream()
                 .map(feederResult -> {
                     final FortescueValue feederFortescueCurrent = ((FortescueFeederResult) feederResult).getCurrent();
@@ -188,14 +243,73 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
     @Transactional
     public void insert(UUID resultUuid, ShortCircuitAnalysisResult result, ShortCircuitRunContext runContext, String status) {
         Objects.requireNonNull(resultUuid);
-        if (result != null && (runContext.getBusId() != null ||
+        if (result != null && (runContext.getBusId() != null || !runContext.getBusIds().isEmpty() ||
                         !result.getFaultResults().stream().map(FaultResult::getStatus).allMatch(FaultResult.Status.NO_SHORT_CIRCUIT_DATA::equals))
         ) {
-            resultRepository.save(toResultEntity(resultUuid, result, runContext.getShortCircuitLimits()));
+            saveResultEntity(resultUuid, result, runContext);
         }
         globalStatusRepository.save(toStatusEntity(resultUuid, status));
     }
 
+    /**
+     * Insert the result of the coordinator shard of an analysis, and move into it the fault results of the other shards.
+     *
+     * @see FaultShardCoordinator
+     */
+    @Transactional
+    public void insertWithShards(UUID resultUuid, ShortCircuitAnalysisResult result, ShortCircuitRunContext runContext, String status) {
+        Objects.requireNonNull(resultUuid);
+        List<UUID> shardResultUuids = runContext.getShardResultUuids();
+        if (runContext.isShardsWithShortCircuitData() ||
+                !result.getFaultResults().stream().map(FaultResult::getStatus).allMatch(FaultResult.Status.NO_SHORT_CIRCUIT_DATA::equals)) {
+            // saved and flushed for the moved fault results to reference an existing result
+            saveResultEntity(resultUuid, result, runContext);
+            faultResultRepository.moveFaultResults(shardResultUuids, resultUuid);
+        }
+        shardResultUuids.forEach(shardResultUuid -> {
+            globalStatusRepository.deleteByResultUuid(shardResultUuid);
+            resultRepository.deleteByResultUuid(shardResultUuid);
+        });
+        globalStatusRepository.save(toStatusEntity(resultUuid, status));
+    }
+
+    /**
+     * @return the most recent completed result with this fingerprint
+     */
+    @Transactional(readOnly = true)
+    public Optional<UUID> findCompletedResultUuid(String fingerprint) {
+        Objects.requireNonNull(fingerprint);
+        return resultRepository.findResultUuidsByFingerprintAndStatus(fingerprint, ShortCircuitAnalysisStatus.COMPLETED.name())
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Save a copy of a completed result under another result UUID, with a completed status. The fault results are
+     * copied by the database, without loading them.
+     *
+     * @return false if the source result does not exist anymore
+     */
+    @Transactional
+    public boolean copyResult(UUID sourceResultUuid, UUID resultUuid) {
+        Objects.requireNonNull(sourceResultUuid);
+        Objects.requireNonNull(resultUuid);
+        Optional<ShortCircuitAnalysisResultEntity> source = resultRepository.findByResultUuid(sourceResultUuid);
+        if (source.isEmpty()) {
+            return false;
+        }
+        ShortCircuitAnalysisResultEntity copy = new ShortCircuitAnalysisResultEntity(resultUuid, Instant.now().truncatedTo(ChronoUnit.MICROS), null, null);
+        copy.setFingerprint(source.get().getFingerprint());
+        copy.setWithVoltageLevelAttributes(source.get().isWithVoltageLevelAttributes());
+        // flushed for the copied fault results to reference an existing result
+        resultRepository.saveAndFlush(copy);
+        faultResultRepository.copyFaultResults(sourceResultUuid, resultUuid);
+        faultResultRepository.copyLimitViolations(sourceResultUuid, resultUuid);
+        faultResultRepository.copyFeederResults(sourceResultUuid, resultUuid);
+        globalStatusRepository.save(toStatusEntity(resultUuid, ShortCircuitAnalysisStatus.COMPLETED.name()));
+        return true;
+    }
+
     @Override
     public void insertStatus(List<UUID> resultUuids, ShortCircuitAnalysisStatus status) {
         Objects.requireNonNull(resultUuids);
@@ -288,7 +402,7 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
         Pageable modifiedPageable = addDefaultSort(filterOutChildrenSort(pageable, childrenSort),
                 DEFAULT_FAULT_RESULT_SORT_COLUMN);
         Specification<FaultResultEntity> specification = faultResultSpecificationBuilder.buildSpecification(result.getResultUuid(), resourceFilters);
-        specification = SpecificationUtils.appendFiltersToSpecification(specification, resourceGlobalFilters);
+        specification = faultResultSpecificationBuilder.appendGlobalFiltersToSpecification(specification, resourceGlobalFilters);
         // WARN org.hibernate.hql.internal.ast.QueryTranslatorImpl -
         // HHH000104: firstResult/maxResults specified with collection fetch; applying in memory!
         // cf. https://vladmihalcea.com/fix-hibernate-hhh000104-entity-fetch-pagination-warning-message/
@@ -382,7 +496,7 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
                 DEFAULT_FAULT_RESULT_SORT_COLUMN);
         Specification<FaultResultEntity> specification = faultResultSpecificationBuilder.buildSpecification(result.getResultUuid(), resourceFilters);
         specification = faultResultSpecificationBuilder.appendWithLimitViolationsToSpecification(specification);
-        specification = SpecificationUtils.appendFiltersToSpecification(specification, resourceGlobalFilters);
+        specification = faultResultSpecificationBuilder.appendGlobalFiltersToSpecification(specification, resourceGlobalFilters);
         // WARN org.hibernate.hql.internal.ast.QueryTranslatorImpl -
         // HHH000104: firstResult/maxResults specified with collection fetch; applying in memory!
         // cf. https://vladmihalcea.com/fix-hibernate-hhh000104-entity-fetch-pagination-warning-message/
@@ -473,6 +587,16 @@ public class ShortCircuitAnalysisResultService extends AbstractComputationResult
         return pageable;
     }
 
+    /**
+     * @return the fault result of a bus of a multi-bus analysis, with its feeder results
+     */
+    @Transactional(readOnly = true)
+    public Optional<FaultResultEntity> findBusFaultResult(UUID resultUuid, String busId) {
+        Objects.requireNonNull(resultUuid);
+        Objects.requireNonNull(busId);
+        return faultResultRepository.findByResultResultUuidAndFaultId(resultUuid, busId);
+    }
+
     public List<FaultResultEntity> getFaultResultByVoltageLevelId(UUID resultUuid, String voltageLevelId) {
         return faultResultRepository.findAllByResultResultUuidAndFaultVoltageLevelId(resultUuid, voltageLevelId);
     }
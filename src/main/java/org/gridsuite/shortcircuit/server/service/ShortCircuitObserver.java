@@ -7,13 +7,20 @@
 package org.gridsuite.shortcircuit.server.service;
 
 import com.powsybl.shortcircuit.ShortCircuitAnalysisResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.NonNull;
 import org.gridsuite.computation.service.AbstractComputationObserver;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
 /**
  * @author Abdelsalem Hedhili <abdelsalem.hedhili at rte-france.com>
  */
@@ -21,9 +28,46 @@ import org.springframework.stereotype.Service;
 public class ShortCircuitObserver extends AbstractComputationObserver<ShortCircuitAnalysisResult, ShortCircuitParametersValues> {
 
     private static final String COMPUTATION_TYPE = "shortcircuitanalysis";
+    private static final String RESULT_MEMOIZATION_METER_NAME = "app.computation.result.memoization";
+    private static final String NETWORK_CACHE_METER_NAME = "app.computation.network.cache";
+    private static final String PARAMETERS_CACHE_METER_NAME = "app.computation.parameters.cache";
+    private static final String FILTER_CACHE_METER_NAME = "app.computation.filter.cache";
+    private static final String GLOBAL_FILTER_CACHE_METER_NAME = "app.computation.global.filter.cache";
+    private static final String GLOBAL_FILTER_CACHE_SAVED_RESOLUTION_METER_NAME = "app.computation.global.filter.cache.saved.resolution";
+    private static final String VOLTAGE_LEVEL_INDEX_CACHE_METER_NAME = "app.computation.voltage.level.index.cache";
+    private static final String NETWORK_CACHE_SAVED_LOAD_METER_NAME = "app.computation.network.cache.saved.load";
+    private static final String QUEUE_WAIT_METER_NAME = "app.computation.queue.wait";
+    private static final String ADMISSION_METER_NAME = "app.computation.admission";
+    private static final String ADMISSION_WAIT_METER_NAME = "app.computation.admission.wait";
+    private static final String ADMISSION_RESERVATION_METER_NAME = "app.computation.admission.reservation";
+    private static final String ADMISSION_RESERVED_HEAP_METER_NAME = "app.computation.admission.reserved.heap";
+    private static final String HTTP_CLIENT_CALL_METER_NAME = "app.computation.http.client.call";
+    private static final String REPORT_UPLOAD_TRANSFERRED_METER_NAME = "app.computation.report.upload.transferred";
+    private static final String REPORT_UPLOAD_UNCOMPRESSED_METER_NAME = "app.computation.report.upload.uncompressed";
+    private static final String TYPE_TAG_NAME = "type";
+    private static final String LANE_TAG_NAME = "lane";
+    private static final String OUTCOME_TAG_NAME = "outcome";
+    private static final String SERVER_TAG_NAME = "server";
+    private static final String METHOD_TAG_NAME = "method";
+    private static final String STATUS_TAG_NAME = "status";
+    private static final String ENCODING_TAG_NAME = "encoding";
+
+    private final MeterRegistry meterRegistry;
 
     public ShortCircuitObserver(@NonNull ObservationRegistry observationRegistry, @NonNull MeterRegistry meterRegistry) {
         super(observationRegistry, meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Count the runs served by a previous result (hit) or dispatched to the workers (miss).
+     */
+    public void observeResultMemoization(boolean hit) {
+        Counter.builder(RESULT_MEMOIZATION_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, hit ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
     }
 
     @Override
@@ -35,4 +79,151 @@ public class ShortCircuitObserver extends AbstractComputationObserver<ShortCircu
     protected String getComputationType() {
         return COMPUTATION_TYPE;
     }
+
+    /**
+     * Count the parameters values taken from the cache (hit) or loaded from the database (miss).
+     */
+    public void observeParametersCache(boolean hit) {
+        Counter.builder(PARAMETERS_CACHE_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, hit ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Count the filters whose equipments are taken from the cache or from an export in progress (hit), or exported by
+     * the filter server (miss).
+     */
+    public void observeFilterCache(boolean hit, int filterCount) {
+        Counter.builder(FILTER_CACHE_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, hit ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment(filterCount);
+    }
+
+    /**
+     * Count the global filters taken from the cache (hit) or resolved by the filter server (miss), and record the
+     * resolution duration saved by a hit.
+     */
+    public void observeGlobalFilterCache(boolean hit, Duration savedResolutionDuration) {
+        Counter.builder(GLOBAL_FILTER_CACHE_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, hit ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
+        if (hit) {
+            Timer.builder(GLOBAL_FILTER_CACHE_SAVED_RESOLUTION_METER_NAME)
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry)
+                .record(savedResolutionDuration);
+        }
+    }
+
+    /**
+     * Count the voltage level indexes taken from the cache (hit) or loaded from the network store (miss).
+     */
+    public void observeVoltageLevelIndexCache(boolean hit) {
+        Counter.builder(VOLTAGE_LEVEL_INDEX_CACHE_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, hit ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Count the networks taken from the cache (hit) or loaded from the network store (miss), and record the load
+     * duration saved by a hit.
+     */
+    public void observeNetworkCache(boolean hit, Duration savedLoadDuration) {
+        Counter.builder(NETWORK_CACHE_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, hit ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
+        if (hit) {
+            Timer.builder(NETWORK_CACHE_SAVED_LOAD_METER_NAME)
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry)
+                .record(savedLoadDuration);
+        }
+    }
+
+    /**
+     * Record the time spent by a run message in the queue of its lane.
+     */
+    public void observeQueueWait(String lane, Duration wait) {
+        Timer.builder(QUEUE_WAIT_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(LANE_TAG_NAME, lane)
+            .register(meterRegistry)
+            .record(wait);
+    }
+
+    /**
+     * Count the runs admitted or rejected by the heap budget, and record their wait and, if admitted, their reservation.
+     */
+    public void observeAdmission(boolean admitted, long reservedBytes, Duration wait) {
+        Counter.builder(ADMISSION_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(OUTCOME_TAG_NAME, admitted ? "admitted" : "rejected")
+            .register(meterRegistry)
+            .increment();
+        Timer.builder(ADMISSION_WAIT_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .register(meterRegistry)
+            .record(wait);
+        if (admitted) {
+            DistributionSummary.builder(ADMISSION_RESERVATION_METER_NAME)
+                .baseUnit("bytes")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry)
+                .record(reservedBytes);
+        }
+    }
+
+    /**
+     * Expose the heap currently reserved by the admitted runs.
+     */
+    public void registerAdmissionReservedHeap(Supplier<Number> reservedBytes) {
+        Gauge.builder(ADMISSION_RESERVED_HEAP_METER_NAME, reservedBytes)
+            .baseUnit("bytes")
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record the duration of a call to another server (filter server, report server...), until its response status.
+     *
+     * @param status the HTTP status of the response, or "IO_ERROR" if the call got no response
+     */
+    public void observeHttpClientCall(String server, String method, String status, Duration duration) {
+        Timer.builder(HTTP_CLIENT_CALL_METER_NAME)
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(SERVER_TAG_NAME, server)
+            .tag(METHOD_TAG_NAME, method)
+            .tag(STATUS_TAG_NAME, status)
+            .register(meterRegistry)
+            .record(duration);
+    }
+
+    /**
+     * Record the bytes of a report sent to the report server, and its bytes before compression.
+     */
+    public void observeReportUpload(boolean compressed, long transferredBytes, long uncompressedBytes) {
+        String encoding = compressed ? "gzip" : "identity";
+        DistributionSummary.builder(REPORT_UPLOAD_TRANSFERRED_METER_NAME)
+            .baseUnit("bytes")
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(ENCODING_TAG_NAME, encoding)
+            .register(meterRegistry)
+            .record(transferredBytes);
+        DistributionSummary.builder(REPORT_UPLOAD_UNCOMPRESSED_METER_NAME)
+            .baseUnit("bytes")
+            .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+            .tag(ENCODING_TAG_NAME, encoding)
+            .register(meterRegistry)
+            .record(uncompressedBytes);
+    }
 }
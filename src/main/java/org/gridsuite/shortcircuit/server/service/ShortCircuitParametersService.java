@@ -6,13 +6,9 @@
  */
 package org.gridsuite.shortcircuit.server.service;
 
-import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.parameters.Parameter;
-import com.powsybl.commons.parameters.ParameterScope;
-import com.powsybl.shortcircuit.ShortCircuitAnalysisProvider;
 import lombok.Getter;
 import lombok.NonNull;
-import org.apache.commons.lang3.tuple.Pair;
 import org.gridsuite.computation.error.ComputationException;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersInfos;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
@@ -36,12 +32,24 @@ public class ShortCircuitParametersService {
 
     private final ParametersRepository parametersRepository;
 
+    private final ParametersValuesCache parametersValuesCache;
+
+    private final CacheInvalidations cacheInvalidations;
+
+    private final ShortCircuitProviderRegistry providerRegistry;
+
     @Getter
     private final String defaultProvider;
 
     public ShortCircuitParametersService(@NonNull ParametersRepository shortCircuitParametersRepository,
+            @NonNull ParametersValuesCache parametersValuesCache,
+            @NonNull CacheInvalidations cacheInvalidations,
+            @NonNull ShortCircuitProviderRegistry providerRegistry,
             @Value("${shortcircuit-analysis.default-provider}") String defaultProvider) {
         this.parametersRepository = shortCircuitParametersRepository;
+        this.parametersValuesCache = parametersValuesCache;
+        this.cacheInvalidations = cacheInvalidations;
+        this.providerRegistry = providerRegistry;
         this.defaultProvider = defaultProvider;
     }
 
@@ -50,7 +58,7 @@ public class ShortCircuitParametersService {
         return ShortCircuitParametersInfos.builder()
             .provider(entity.getProvider())
             .predefinedParameters(entity.getPredefinedParameters())
-            .commonParameters(entity.toShortCircuitParameters())
+            .commonParameters(entity.toShortCircuitParameters(providerRegistry.newDefaultParameters()))
             .specificParametersPerProvider(entity.getSpecificParameters().stream()
                 .collect(Collectors.groupingBy(ShortCircuitSpecificParameterEntity::getProvider,
                     Collectors.toMap(ShortCircuitSpecificParameterEntity::getName,
@@ -62,7 +70,7 @@ public class ShortCircuitParametersService {
         return ShortCircuitParametersValues.builder()
                 .provider(provider)
                 .predefinedParameters(entity.getPredefinedParameters())
-                .commonParameters(entity.toShortCircuitParameters())
+                .commonParameters(entity.toShortCircuitParameters(providerRegistry.newDefaultParameters()))
                 .specificParameters(entity.getSpecificParameters().stream()
                         .filter(p -> p.getProvider().equalsIgnoreCase(provider))
                         .collect(Collectors.toMap(ShortCircuitSpecificParameterEntity::getName,
@@ -74,7 +82,7 @@ public class ShortCircuitParametersService {
         return ShortCircuitParametersValues.builder()
                 .provider(entity.getProvider())
                 .predefinedParameters(entity.getPredefinedParameters())
-                .commonParameters(entity.toShortCircuitParameters())
+                .commonParameters(entity.toShortCircuitParameters(providerRegistry.newDefaultParameters()))
                 .specificParameters(entity.getSpecificParameters().stream()
                         .filter(p -> p.getProvider().equalsIgnoreCase(entity.getProvider()))
                         .collect(Collectors.toMap(ShortCircuitSpecificParameterEntity::getName,
@@ -84,13 +92,16 @@ public class ShortCircuitParametersService {
 
     @Transactional(readOnly = true)
     public Optional<ShortCircuitParametersValues> getParametersValues(UUID parametersUuid, String provider) {
-        return parametersRepository.findById(parametersUuid).map(entity -> toShortCircuitParametersValues(provider, entity));
+        return parametersRepository.findWithSpecificParametersById(parametersUuid).map(entity -> toShortCircuitParametersValues(provider, entity));
     }
 
+    /**
+     * @return the parameters values of a run, from the cache
+     */
     public ShortCircuitParametersValues getParametersValues(UUID parametersUuid) {
-        return parametersRepository.findById(parametersUuid)
+        return parametersValuesCache.get(parametersUuid, () -> parametersRepository.findWithSpecificParametersById(parametersUuid)
                 .map(this::toShortCircuitParametersValues).orElseThrow(() -> new ComputationException(PARAMETERS_NOT_FOUND,
-                        "ShortCircuit parameters '" + parametersUuid + "' not found"));
+                        "ShortCircuit parameters '" + parametersUuid + "' not found")));
     }
 
     @Transactional(readOnly = true)
@@ -103,6 +114,7 @@ public class ShortCircuitParametersService {
         final boolean result = parametersRepository.existsById(parametersUuid);
         if (result) {
             parametersRepository.deleteById(parametersUuid);
+            cacheInvalidations.invalidateParameters(parametersUuid);
         }
         return result;
     }
@@ -144,16 +156,12 @@ public class ShortCircuitParametersService {
         } else {
             shortCircuitParametersEntity.update(parametersInfos);
         }
+        cacheInvalidations.invalidateParameters(parametersUuid);
     }
 
-    public static Map<String, List<Parameter>> getSpecificShortCircuitParameters(String providerName) {
-        return ShortCircuitAnalysisProvider.findAll().stream()
-                .filter(provider -> providerName == null || provider.getName().equals(providerName))
-                .map(provider -> {
-                    List<Parameter> params = provider.getSpecificParameters(PlatformConfig.defaultConfig()).stream()
-                            .filter(p -> p.getScope() == ParameterScope.FUNCTIONAL)
-                            .toList();
-                    return Pair.of(provider.getName(), params);
-                }).collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
+    public Map<String, List<Parameter>> getSpecificShortCircuitParameters(String providerName) {
+        return providerRegistry.getFunctionalSpecificParameters().entrySet().stream()
+                .filter(provider -> providerName == null || provider.getKey().equals(providerName))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 }
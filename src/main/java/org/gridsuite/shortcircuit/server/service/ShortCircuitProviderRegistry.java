@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.commons.config.PlatformConfig;
+import com.powsybl.commons.parameters.Parameter;
+import com.powsybl.commons.parameters.ParameterScope;
+import com.powsybl.shortcircuit.ShortCircuitAnalysisProvider;
+import com.powsybl.shortcircuit.ShortCircuitParameters;
+import com.powsybl.shortcircuit.json.JsonShortCircuitParameters;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short-circuit analysis providers of the classpath, their functional specific parameters and the default parameters,
+ * loaded once at startup instead of on each run and each parameters conversion.
+ * <p>
+ * The default parameters are a prototype copied on each use, as the parameters are modified by their users.
+ */
+@Component
+public class ShortCircuitProviderRegistry {
+    private final Map<String, ShortCircuitAnalysisProvider> providers;
+    private final Map<String, List<Parameter>> functionalSpecificParameters;
+    private final ShortCircuitParameters defaultParameters;
+
+    public ShortCircuitProviderRegistry() {
+        Map<String, ShortCircuitAnalysisProvider> allProviders = ShortCircuitAnalysisProvider.findAll().stream()
+            .collect(Collectors.toMap(ShortCircuitAnalysisProvider::getName, Function.identity(), (first, other) -> first, LinkedHashMap::new));
+        this.providers = Collections.unmodifiableMap(allProviders);
+        this.functionalSpecificParameters = allProviders.values().stream()
+            .collect(Collectors.toUnmodifiableMap(ShortCircuitAnalysisProvider::getName,
+                provider -> provider.getSpecificParameters(PlatformConfig.defaultConfig()).stream()
+                    .filter(p -> p.getScope() == ParameterScope.FUNCTIONAL)
+                    .toList()));
+        this.defaultParameters = ShortCircuitParameters.load();
+    }
+
+    public Optional<ShortCircuitAnalysisProvider> findProvider(String name) {
+        return Optional.ofNullable(providers.get(name));
+    }
+
+    /**
+     * @return the functional specific parameters of each provider
+     */
+    public Map<String, List<Parameter>> getFunctionalSpecificParameters() {
+        return functionalSpecificParameters;
+    }
+
+    /**
+     * @return a copy of the default parameters
+     */
+    public ShortCircuitParameters newDefaultParameters() {
+        return copyOf(defaultParameters);
+    }
+
+    /**
+     * Complete copy of parameters, their voltage ranges included. The parameters with extensions are copied through
+     * their JSON form, as only their provider knows how to copy them.
+     */
+    public static ShortCircuitParameters copyOf(ShortCircuitParameters parameters) {
+        if (!parameters.getExtensions().isEmpty()) {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            JsonShortCircuitParameters.write(parameters, json);
+            return JsonShortCircuitParameters.read(new ByteArrayInputStream(json.toByteArray()));
+        }
+        return new ShortCircuitParameters()
+            .setWithLimitViolations(parameters.isWithLimitViolations())
+            .setWithVoltageResult(parameters.isWithVoltageResult())
+            .setWithFeederResult(parameters.isWithFeederResult())
+            .setStudyType(parameters.getStudyType())
+            .setMinVoltageDropProportionalThreshold(parameters.getMinVoltageDropProportionalThreshold())
+            .setWithFortescueResult(parameters.isWithFortescueResult())
+            .setSubTransientCoefficient(parameters.getSubTransientCoefficient())
+            .setWithLoads(parameters.isWithLoads())
+            .setWithShuntCompensators(parameters.isWithShuntCompensators())
+            .setWithVSCConverterStations(parameters.isWithVSCConverterStations())
+            .setWithNeutralPosition(parameters.isWithNeutralPosition())
+            .setInitialVoltageProfileMode(parameters.getInitialVoltageProfileMode())
+            // the voltage ranges are immutable, only their list is copied
+            .setVoltageRanges(parameters.getVoltageRanges() != null ? new ArrayList<>(parameters.getVoltageRanges()) : null)
+            .setDetailedReport(parameters.isDetailedReport());
+    }
+}
@@ -7,6 +7,7 @@
 package org.gridsuite.shortcircuit.server.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import org.gridsuite.computation.dto.ReportInfos;
@@ -14,7 +15,11 @@ import org.gridsuite.computation.service.AbstractResultContext;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
 import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -28,6 +33,27 @@ import static org.gridsuite.computation.utils.MessageUtils.getNonNullHeader;
 public class ShortCircuitResultContext extends AbstractResultContext<ShortCircuitRunContext> {
 
     public static final String HEADER_BUS_ID = "busId";
+    /** buses of a multi-bus analysis, as a JSON array */
+    public static final String HEADER_BUS_IDS = "busIds";
+    public static final String HEADER_SHARD_COORDINATOR = "shardCoordinatorResultUuid";
+    public static final String HEADER_SHARD_INDEX = "shardIndex";
+    public static final String HEADER_SHARD_COUNT = "shardCount";
+    public static final String HEADER_FINGERPRINT = "resultFingerprint";
+    public static final String HEADER_VARIANT_VERSION = "variantVersion";
+    /** epoch millis at which the run message was built, to measure its wait in the run queue */
+    public static final String HEADER_PUBLISH_TIMESTAMP = "publishTimestamp";
+    /** variants of a multi-variant batch run with their {@link VariantRun}, as a JSON object */
+    public static final String HEADER_VARIANT_RESULT_UUIDS = "variantResultUuids";
+
+    /**
+     * Run of a variant of a multi-variant batch: its result, its report and the version of its variant, all optional
+     * but the result.
+     */
+    public record VariantRun(UUID resultUuid, UUID reportUuid, String variantVersion, String fingerprint) {
+        public VariantRun withFingerprint(String fingerprint) {
+            return new VariantRun(resultUuid, reportUuid, variantVersion, fingerprint);
+        }
+    }
 
     public ShortCircuitResultContext(UUID resultUuid, ShortCircuitRunContext runContext) {
         super(resultUuid, runContext);
@@ -65,15 +91,100 @@ public class ShortCircuitResultContext extends AbstractResultContext<ShortCircui
             .busId(busId)
             .debug(debug)
             .build();
+        if (headers.containsKey(HEADER_SHARD_COORDINATOR)) {
+            runContext.setShard(new FaultShard(UUID.fromString(getNonNullHeader(headers, HEADER_SHARD_COORDINATOR)),
+                Integer.parseInt(getNonNullHeader(headers, HEADER_SHARD_INDEX)),
+                Integer.parseInt(getNonNullHeader(headers, HEADER_SHARD_COUNT))));
+        }
+        runContext.setFingerprint((String) headers.get(HEADER_FINGERPRINT));
+        runContext.setVariantVersion((String) headers.get(HEADER_VARIANT_VERSION));
+        if (headers.containsKey(HEADER_BUS_IDS)) {
+            try {
+                runContext.setBusIds(objectMapper.readValue(getNonNullHeader(headers, HEADER_BUS_IDS), new TypeReference<List<String>>() { }));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
         return new ShortCircuitResultContext(resultUuid, runContext);
     }
 
+    /**
+     * @return the run message of a batch computing the same analysis on several variants, each under its own result
+     */
+    public static Message<String> toVariantBatchMessage(Message<String> message, Map<String, VariantRun> variantRuns, ObjectMapper objectMapper) {
+        try {
+            return MessageBuilder.fromMessage(message)
+                .setHeader(HEADER_VARIANT_RESULT_UUIDS, objectMapper.writeValueAsString(variantRuns))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean isVariantBatchMessage(Message<String> message) {
+        return message.getHeaders().containsKey(HEADER_VARIANT_RESULT_UUIDS);
+    }
+
+    /**
+     * @return the run messages of the variants of a batch, in the order of the batch
+     */
+    public static List<Message<String>> splitVariantBatchMessage(Message<String> message, ObjectMapper objectMapper) {
+        Map<String, VariantRun> variantRuns;
+        try {
+            variantRuns = objectMapper.readValue(getNonNullHeader(message.getHeaders(), HEADER_VARIANT_RESULT_UUIDS),
+                new TypeReference<LinkedHashMap<String, VariantRun>>() { });
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return variantRuns.entrySet().stream()
+            .map(variantRun -> {
+                MessageBuilder<String> variantMessage = MessageBuilder.fromMessage(message)
+                    .removeHeaders(HEADER_VARIANT_RESULT_UUIDS, HEADER_VARIANT_VERSION, HEADER_FINGERPRINT, REPORT_UUID_HEADER)
+                    .setHeader(HEADER_RESULT_UUID, variantRun.getValue().resultUuid().toString())
+                    .setHeader(VARIANT_ID_HEADER, variantRun.getKey());
+                if (variantRun.getValue().reportUuid() != null) {
+                    variantMessage.setHeader(REPORT_UUID_HEADER, variantRun.getValue().reportUuid().toString());
+                }
+                if (variantRun.getValue().variantVersion() != null) {
+                    variantMessage.setHeader(HEADER_VARIANT_VERSION, variantRun.getValue().variantVersion());
+                }
+                if (variantRun.getValue().fingerprint() != null) {
+                    variantMessage.setHeader(HEADER_FINGERPRINT, variantRun.getValue().fingerprint());
+                }
+                return variantMessage.build();
+            })
+            .toList();
+    }
+
     @Override
     protected Map<String, String> getSpecificMsgHeaders(ObjectMapper objectMapper) {
-        if (getRunContext().getBusId() != null) {
-            return Map.of(HEADER_BUS_ID, getRunContext().getBusId());
-        } else {
-            return super.getSpecificMsgHeaders(objectMapper);
+        ShortCircuitRunContext runContext = getRunContext();
+        Map<String, String> headers = new HashMap<>();
+        Map<String, String> defaultHeaders = super.getSpecificMsgHeaders(objectMapper);
+        if (defaultHeaders != null) {
+            headers.putAll(defaultHeaders);
+        }
+        if (runContext.getBusId() != null) {
+            headers.put(HEADER_BUS_ID, runContext.getBusId());
+        } else if (!runContext.getBusIds().isEmpty()) {
+            try {
+                headers.put(HEADER_BUS_IDS, objectMapper.writeValueAsString(runContext.getBusIds()));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (runContext.getShard() != null) {
+            FaultShard shard = runContext.getShard();
+            headers.put(HEADER_SHARD_COORDINATOR, shard.coordinatorResultUuid().toString());
+            headers.put(HEADER_SHARD_INDEX, String.valueOf(shard.index()));
+            headers.put(HEADER_SHARD_COUNT, String.valueOf(shard.count()));
+        }
+        if (runContext.getFingerprint() != null) {
+            headers.put(HEADER_FINGERPRINT, runContext.getFingerprint());
+        }
+        if (runContext.getVariantVersion() != null) {
+            headers.put(HEADER_VARIANT_VERSION, runContext.getVariantVersion());
         }
+        headers.put(HEADER_PUBLISH_TIMESTAMP, String.valueOf(System.currentTimeMillis()));
+        return headers;
     }
 }
@@ -6,9 +6,13 @@
  */
 package org.gridsuite.shortcircuit.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.extensions.Extension;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.shortcircuit.Fault;
 import com.powsybl.shortcircuit.ShortCircuitAnalysisProvider;
 import com.powsybl.shortcircuit.ShortCircuitParameters;
 import lombok.Builder;
@@ -19,7 +23,12 @@ import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.AbstractComputationRunContext;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitService.*;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
@@ -29,10 +38,45 @@ public class ShortCircuitRunContext extends AbstractComputationRunContext<ShortC
     @Setter
     private Map<String, ShortCircuitLimits> shortCircuitLimits = new HashMap<>();
     private final String busId;
+    /** buses of a multi-bus analysis, empty for the other analyses */
+    @Setter
+    private List<String> busIds = List.of();
     @Setter
     private List<String> voltageLevelsWithWrongIsc = new ArrayList<>();
+    /** buses of the node cluster, resolved from its filters before the run, null if not resolved */
+    @Setter
+    private Set<String> nodeClusterBusIds;
+    /** power electronics clusters with their equipments, resolved from their filters before the run, null if not resolved */
+    @Setter
+    private List<Map<String, Object>> powerElectronicsClusters;
+    /** faults of an all-buses analysis, prepared before the run */
+    @Setter
+    private List<Fault> faults = new ArrayList<>();
     private final UUID parametersUuid;
     private final UUID resultUuid;
+    /** shard of the faults computed by this run, null if the faults are not sharded */
+    @Setter
+    private FaultShard shard;
+    /** results of the other shards, merged into the result of the coordinator run */
+    @Setter
+    private List<UUID> shardResultUuids = List.of();
+    /** whether one of the other shards computed faults with short-circuit data */
+    @Setter
+    private boolean shardsWithShortCircuitData;
+    /**
+     * version of the content of the variant, given by the caller as the network store does not version the variants,
+     * null if unknown: the results and the networks of a variant without version are never reused
+     */
+    @Setter
+    private String variantVersion;
+    /** saved with the result, null if the result must not be reused */
+    @Setter
+    private String fingerprint;
+    /** mapping and upload of the report of the run, concurrent with the saving of the result and awaited before its notification */
+    @Setter
+    private CompletableFuture<Void> reportUpload = CompletableFuture.completedFuture(null);
+    /** @see org.gridsuite.shortcircuit.server.report.ReportBudget */
+    private final Set<ReportNode> trimmedReportNodes = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /** @see org.gridsuite.shortcircuit.server.report.mappers.AdnSummarizeMapper */
     private final MutableLong adnSummarizeCounterGenerator = new MutableLong();
@@ -52,21 +96,39 @@ public class ShortCircuitRunContext extends AbstractComputationRunContext<ShortC
         this.resultUuid = resultUuid;
     }
 
-    public ShortCircuitParameters buildParameters() {
+    public ShortCircuitParameters buildParameters(ObjectMapper objectMapper, ShortCircuitProviderRegistry providerRegistry) {
         ShortCircuitParameters params = getParameters() == null || getParameters().getCommonParameters() == null ?
-                ShortCircuitParameters.load() : getParameters().getCommonParameters();
+                providerRegistry.newDefaultParameters() : getParameters().getCommonParameters();
         if (getParameters() == null || getParameters().getSpecificParameters() == null || getParameters().getSpecificParameters().isEmpty()) {
             return params; // no specific ShortCircuit params
         }
-        ShortCircuitAnalysisProvider scProvider = ShortCircuitAnalysisProvider.findAll().stream()
-                .filter(p -> p.getName().equals(getProvider()))
-                .findFirst().orElseThrow(() -> new PowsyblException("ShortCircuit provider not found " + getProvider()));
+        ShortCircuitAnalysisProvider scProvider = providerRegistry.findProvider(getProvider())
+                .orElseThrow(() -> new PowsyblException("ShortCircuit provider not found " + getProvider()));
 
         Extension<ShortCircuitParameters> specificParametersExtension = scProvider.loadSpecificParameters(PlatformConfig.defaultConfig())
                 .orElseThrow(() -> new PowsyblException("Cannot add specific shortcircuit parameters with provider " + getProvider()));
         params.addExtension((Class) specificParametersExtension.getClass(), specificParametersExtension);
-        scProvider.updateSpecificParameters(specificParametersExtension, getParameters().getSpecificParameters());
+        scProvider.updateSpecificParameters(specificParametersExtension, getProviderSpecificParameters(objectMapper));
 
         return params;
     }
+
+    /**
+     * Specific parameters in the format of the provider, with the resolved clusters in place of their filters.
+     */
+    Map<String, String> getProviderSpecificParameters(ObjectMapper objectMapper) {
+        Map<String, String> specificParameters = new HashMap<>(getParameters().getSpecificParameters());
+        if (nodeClusterBusIds != null) {
+            specificParameters.remove(NODE_CLUSTER_FILTER_IDS);
+            specificParameters.put(NODE_CLUSTER, String.join(", ", nodeClusterBusIds));
+        }
+        if (powerElectronicsClusters != null) {
+            try {
+                specificParameters.put(POWER_ELECTRONICS_CLUSTERS, objectMapper.writeValueAsString(powerElectronicsClusters));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return specificParameters;
+    }
 }
@@ -6,7 +6,6 @@
  */
 package org.gridsuite.shortcircuit.server.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.contingency.violations.LimitViolationType;
 import com.powsybl.iidm.network.ThreeSides;
@@ -16,6 +15,7 @@ import com.univocity.parsers.csv.CsvWriter;
 import com.univocity.parsers.csv.CsvWriterSettings;
 import org.apache.commons.lang3.StringUtils;
 import org.gridsuite.computation.dto.GlobalFilter;
+import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.error.ComputationException;
 import org.gridsuite.computation.s3.ComputationS3Service;
@@ -23,24 +23,27 @@ import org.gridsuite.computation.service.AbstractComputationService;
 import org.gridsuite.computation.service.NotificationService;
 import org.gridsuite.computation.service.UuidGeneratorService;
 import org.gridsuite.computation.utils.FilterUtils;
-import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
-import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
 import org.gridsuite.shortcircuit.server.dto.*;
-import org.gridsuite.shortcircuit.server.dto.powsyblprivate.AbstractPowerElectronicsData;
-import org.gridsuite.shortcircuit.server.dto.powsyblprivate.PowerElectronicsCluster;
 import org.gridsuite.shortcircuit.server.entities.*;
+import org.gridsuite.shortcircuit.server.repositories.specifications.FaultResultSpecificationBuilder;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.VariantRun;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -49,8 +52,6 @@ import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import static org.gridsuite.computation.error.ComputationBusinessErrorCode.INVALID_EXPORT_PARAMS;
 import static org.gridsuite.computation.error.ComputationBusinessErrorCode.RESULT_NOT_FOUND;
@@ -69,143 +70,199 @@ public class ShortCircuitService extends AbstractComputationService<ShortCircuit
     public static final String POWER_ELECTRONICS_CLUSTERS = "powerElectronicsClusters";
     public static final String NODE_CLUSTER = "nodeCluster";
     public static final String NODE_CLUSTER_FILTER_IDS = "nodeClusterFilterIds";
+    private static final String CSV_RESULT_FILE_NAME = "shortCircuit_result.csv";
+    static final String PUBLISH_ONE_BUS_RUN_BINDING = "publishOneBusRun-out-0";
 
     private final FilterService filterService;
 
+    private final GlobalFilterCache globalFilterCache;
+
+    private final CacheInvalidations cacheInvalidations;
+
     private final ShortCircuitParametersService parametersService;
 
+    private final ExportCompressionService exportCompressionService;
+
+    private final ShortCircuitObserver shortCircuitObserver;
+
+    private final boolean resultMemoizationEnabled;
+
+    private final StreamBridge streamBridge;
+
+    private final boolean oneBusLaneEnabled;
+
     public ShortCircuitService(final NotificationService notificationService,
                                final UuidGeneratorService uuidGeneratorService,
                                final ShortCircuitAnalysisResultService resultService,
                                @Autowired(required = false)
                                ComputationS3Service computationS3Service,
                                final FilterService filterService,
+                               final GlobalFilterCache globalFilterCache,
+                               final CacheInvalidations cacheInvalidations,
                                final ShortCircuitParametersService parametersService,
+                               final ExportCompressionService exportCompressionService,
+                               final ShortCircuitObserver shortCircuitObserver,
                                @Value("${shortcircuit-analysis.default-provider}") String defaultProvider,
+                               @Value("${shortcircuit-analysis.result-memoization.enabled:false}") boolean resultMemoizationEnabled,
+                               final StreamBridge streamBridge,
+                               @Value("${shortcircuit-analysis.one-bus-lane.enabled:true}") boolean oneBusLaneEnabled,
                                final ObjectMapper objectMapper) {
         super(notificationService, resultService, computationS3Service, objectMapper, uuidGeneratorService, defaultProvider);
         this.filterService = filterService;
+        this.globalFilterCache = globalFilterCache;
+        this.cacheInvalidations = cacheInvalidations;
         this.parametersService = parametersService;
+        this.exportCompressionService = exportCompressionService;
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.resultMemoizationEnabled = resultMemoizationEnabled;
+        this.streamBridge = streamBridge;
+        this.oneBusLaneEnabled = oneBusLaneEnabled;
     }
 
-    private List<Object> deserializePowerElectronicsClusters(String powerElectronicsClustersValue, UUID networkUuid, String variantId) throws IOException {
-        // Normalize specific parameters: for "powerElectronicsClusters" convert objects that contain a
-        // "filterUuids" entry (List<UUID>) into objects containing "equipmentIds" (String[]).
-        if (powerElectronicsClustersValue == null) {
-            return Collections.emptyList();
+    @Override
+    @Transactional
+    public UUID runAndSaveResult(ShortCircuitRunContext runContext) {
+        Objects.requireNonNull(runContext);
+        resolveParameters(runContext);
+        final UUID resultUuid = runContext.getResultUuid();
+        // the variant may have been modified since its values were cached
+        cacheInvalidations.invalidateVariant(runContext.getNetworkUuid(), runContext.getVariantId());
+
+        if (isMemoizable(runContext)) {
+            runContext.setFingerprint(ResultFingerprint.of(runContext, objectMapper));
+            if (copyMemoizedResult(runContext)) {
+                return resultUuid;
+            }
         }
 
-        // parse into typed list
-        List<PowerElectronicsCluster> clusters = objectMapper.readValue(powerElectronicsClustersValue, new TypeReference<List<PowerElectronicsCluster>>() { });
-
-        // filter by active one only and get all filterUuids
-        List<PowerElectronicsCluster> activeClusters = clusters.stream()
-            .filter(AbstractPowerElectronicsData::isActive)
-            .toList();
-        List<UUID> filterUuids = activeClusters.stream()
-            .flatMap(item -> item.getFilters().stream().map(FilterElements::getFilterId))
-            .toList();
-
-        // Apply filters using filterService
-        List<FilterEquipments> filterEquipments = filterService.getFilterEquipments(filterUuids, networkUuid, variantId);
-
-        // regroup by filterIds in clusters list to get equipmentIds
-        Map<UUID, List<String>> filterIdToEquipmentIds = filterEquipments.stream()
-                .collect(Collectors.toMap(
-                        FilterEquipments::getFilterId,
-                        fe -> fe.getIdentifiableAttributes()
-                                .stream()
-                                .map(IdentifiableAttributes::getId)
-                                .toList()
-                ));
-        // replace filterUuids by equipmentIds in clusters
-        List<Object> normalizedClusters = new ArrayList<>();
-        int index = 0;
-        for (PowerElectronicsCluster cluster : activeClusters) {
-            Map<String, Object> normalizedCluster = new HashMap<>();
-            normalizedCluster.put("id", Integer.toString(index++));
-            normalizedCluster.put("alpha", cluster.getAlpha());
-            normalizedCluster.put("u0", cluster.getU0());
-            normalizedCluster.put("usMin", cluster.getUsMin());
-            normalizedCluster.put("usMax", cluster.getUsMax());
-            normalizedCluster.put("type", cluster.getType());
-            // get equipmentIds from filterIds
-            Set<String> equipmentIds = cluster.getFilters().stream()
-                .map(FilterElements::getFilterId)
-                .map(filterIdToEquipmentIds::get)
-                .filter(Objects::nonNull)
-                .flatMap(List::stream)
-                .collect(Collectors.toSet());
-            normalizedCluster.put("equipmentIds", equipmentIds);
-            // serialize the normalizedCluster map to a JSON string
-            normalizedClusters.add(normalizedCluster);
+        // update status to running status
+        setStatus(List.of(resultUuid), ShortCircuitAnalysisStatus.RUNNING);
+
+        Message<String> runMessage = new ShortCircuitResultContext(resultUuid, runContext).toMessage(objectMapper);
+        if (oneBusLaneEnabled && (StringUtils.isNotBlank(runContext.getBusId()) || !runContext.getBusIds().isEmpty())) {
+            // one-bus and multi-bus runs are interactive: they have their own queue, never behind the long all-buses runs
+            streamBridge.send(PUBLISH_ONE_BUS_RUN_BINDING, runMessage);
+        } else {
+            notificationService.sendRunMessage(runMessage);
         }
-        // Replace single quotes with double quotes
-        return normalizedClusters;
-    }
-
-    private List<String> deserializeBusIdsForNodeCluster(String inCalculationClusterFiltersValue, UUID networkUuid, String variantId) throws IOException {
-        List<FilterElements> filterData = objectMapper.readValue(inCalculationClusterFiltersValue, new TypeReference<List<FilterElements>>() { });
-        List<UUID> filterUuids = filterData.stream()
-                .map(FilterElements::getFilterId)
-                .toList();
-        // Apply filters using filterService
-        List<FilterEquipments> filteredBuses = filterService.getFilterBusIds(filterUuids, networkUuid, variantId);
-        return filteredBuses.stream()
-                .flatMap(filterBus -> filterBus.getIdentifiableAttributes().stream())
-                .map(IdentifiableAttributes::getId)
-                .distinct()
-                .toList();
-    }
-
-    private Map<String, String> deserializeSpecificParameters(Map<String, String> specificParameters, ShortCircuitRunContext runContext) {
-        // This is defensive: we check types at runtime and only transform when the expected shape is present.
-        try {
-            if (specificParameters != null) {
-                if (specificParameters.containsKey(POWER_ELECTRONICS_CLUSTERS)) {
-                    List<Object> powerElectronicsClustersValue = deserializePowerElectronicsClusters(specificParameters.get(POWER_ELECTRONICS_CLUSTERS),
-                            runContext.getNetworkUuid(), runContext.getVariantId());
-                    specificParameters.put(POWER_ELECTRONICS_CLUSTERS, objectMapper.writeValueAsString(powerElectronicsClustersValue));
-                }
-                if (specificParameters.containsKey(NODE_CLUSTER_FILTER_IDS)) {
-                    List<String> busIdsInNodeCluster = deserializeBusIdsForNodeCluster(specificParameters.get(NODE_CLUSTER_FILTER_IDS), runContext.getNetworkUuid(), runContext.getVariantId());
-                    String rawBusIdsInNodeCluster = busIdsInNodeCluster.toString();
-                    // remove brackets
-                    rawBusIdsInNodeCluster = rawBusIdsInNodeCluster.substring(1, rawBusIdsInNodeCluster.length() - 1);
-                    specificParameters.put(NODE_CLUSTER, rawBusIdsInNodeCluster);
-                    specificParameters.remove(NODE_CLUSTER_FILTER_IDS);
+        return resultUuid;
+    }
+
+    /**
+     * Run an all-buses analysis on several variants of a network with a single run message: the worker loads the
+     * network once and computes the variants one after the other, each under its own result.
+     * <p>
+     * The parameters are loaded once for the batch, their filters are resolved by the worker on each variant. The
+     * variants with an identical completed result are copied like single runs, the other ones are batched.
+     *
+     * @param variantRuns the run of each variant, in the order of computation
+     * @return the result uuid of each variant
+     */
+    @Transactional
+    public Map<String, UUID> runAndSaveVariantsResult(ShortCircuitRunContext runContext, Map<String, VariantRun> variantRuns) {
+        Objects.requireNonNull(runContext);
+        if (variantRuns.isEmpty()) {
+            throw new IllegalArgumentException("A multi-variant run needs at least one variant");
+        }
+        resolveParameters(runContext);
+        variantRuns.keySet().forEach(variantId -> cacheInvalidations.invalidateVariant(runContext.getNetworkUuid(), variantId));
+
+        Map<String, VariantRun> batchedVariantRuns = new LinkedHashMap<>();
+        variantRuns.forEach((variantId, variantRun) -> {
+            ShortCircuitRunContext variantRunContext = toVariantRunContext(runContext, variantId, variantRun);
+            if (isMemoizable(variantRunContext)) {
+                variantRunContext.setFingerprint(ResultFingerprint.of(variantRunContext, objectMapper));
+                if (copyMemoizedResult(variantRunContext)) {
+                    return;
                 }
             }
-        } catch (Exception ex) {
-            // avoid breaking the run flow for unexpected shapes; log if you have a logger available
-            LOGGER.info("Could not normalize specific parameters for powerElectronicsClusters", ex);
+            batchedVariantRuns.put(variantId, variantRun.withFingerprint(variantRunContext.getFingerprint()));
+        });
+
+        if (!batchedVariantRuns.isEmpty()) {
+            setStatus(batchedVariantRuns.values().stream().map(VariantRun::resultUuid).toList(), ShortCircuitAnalysisStatus.RUNNING);
+            Message<String> runMessage = new ShortCircuitResultContext(runContext.getResultUuid(), runContext).toMessage(objectMapper);
+            notificationService.sendRunMessage(ShortCircuitResultContext.toVariantBatchMessage(runMessage, batchedVariantRuns, objectMapper));
         }
-        return specificParameters;
+        Map<String, UUID> variantResultUuids = new LinkedHashMap<>();
+        variantRuns.forEach((variantId, variantRun) -> variantResultUuids.put(variantId, variantRun.resultUuid()));
+        return variantResultUuids;
     }
 
-    @Override
-    @Transactional
-    public UUID runAndSaveResult(ShortCircuitRunContext runContext) {
-        Objects.requireNonNull(runContext);
+    private static ShortCircuitRunContext toVariantRunContext(ShortCircuitRunContext runContext, String variantId, VariantRun variantRun) {
+        ReportInfos reportInfos = runContext.getReportInfos();
+        ShortCircuitRunContext variantRunContext = ShortCircuitRunContext.builder()
+            .resultUuid(variantRun.resultUuid())
+            .networkUuid(runContext.getNetworkUuid())
+            .variantId(variantId)
+            .receiver(runContext.getReceiver())
+            .parameters(runContext.getParameters())
+            .parametersUuid(runContext.getParametersUuid())
+            .reportInfos(new ReportInfos(variantRun.reportUuid(), reportInfos.reporterId(), reportInfos.computationType()))
+            .userId(runContext.getUserId())
+            .provider(runContext.getProvider())
+            .debug(runContext.getDebug())
+            .build();
+        variantRunContext.setVariantVersion(variantRun.variantVersion());
+        return variantRunContext;
+    }
+
+    /**
+     * The filters are resolved by the worker: the fingerprint of parameters with filters does not identify their content.
+     * The report of a run is only built by its computation: a copied result would leave the requested report empty.
+     */
+    private boolean isMemoizable(ShortCircuitRunContext runContext) {
+        return resultMemoizationEnabled && runContext.getVariantVersion() != null && !Boolean.TRUE.equals(runContext.getDebug())
+            && !SpecificParametersResolver.hasFilters(runContext.getParameters()) && runContext.getReportInfos().reportUuid() == null;
+    }
+
+    private void resolveParameters(ShortCircuitRunContext runContext) {
         ShortCircuitParametersValues parameters = runContext.getParametersUuid() != null
             ? parametersService.getParametersValues(runContext.getParametersUuid())
             : parametersService.getDefaultParametersValues();
-        parameters.getCommonParameters().setWithFortescueResult(StringUtils.isNotBlank(runContext.getBusId()));
+        parameters.getCommonParameters().setWithFortescueResult(StringUtils.isNotBlank(runContext.getBusId()) || !runContext.getBusIds().isEmpty());
         parameters.getCommonParameters().setDetailedReport(false);
 
-        Map<String, String> translatedSpecificParameters = deserializeSpecificParameters(parameters.getSpecificParameters(), runContext);
-        parameters.setSpecificParameters(translatedSpecificParameters);
-
         // set provider and parameters
         runContext.setParameters(parameters);
         runContext.setProvider(parameters.getProvider() != null ? parameters.getProvider() : getDefaultProvider());
-        final UUID resultUuid = runContext.getResultUuid();
+    }
 
-        // update status to running status
-        setStatus(List.of(resultUuid), ShortCircuitAnalysisStatus.RUNNING);
+    /**
+     * Copy the last completed result of an identical run instead of computing it again. The result message is sent once
+     * the copy is committed, for the receiver not to read the result before.
+     *
+     * @return false if there is no such result
+     */
+    private boolean copyMemoizedResult(ShortCircuitRunContext runContext) {
+        UUID resultUuid = runContext.getResultUuid();
+        Optional<UUID> memoizedResultUuid = resultService.findCompletedResultUuid(runContext.getFingerprint())
+            .filter(uuid -> !uuid.equals(resultUuid));
+        boolean hit = memoizedResultUuid.isPresent() && resultService.copyResult(memoizedResultUuid.get(), resultUuid);
+        shortCircuitObserver.observeResultMemoization(hit);
+        if (hit) {
+            LOGGER.info("Short-circuit analysis {} copied from the identical analysis {}", resultUuid, memoizedResultUuid.get());
+            Map<String, Object> additionalData = new HashMap<>();
+            additionalData.put(ShortCircuitResultContext.HEADER_BUS_ID, runContext.getBusId());
+            if (!runContext.getBusIds().isEmpty()) {
+                additionalData.put(ShortCircuitResultContext.HEADER_BUS_IDS, runContext.getBusIds());
+            }
+            afterCommit(() -> notificationService.sendResultMessage(resultUuid, runContext.getReceiver(), runContext.getUserId(), additionalData));
+        }
+        return hit;
+    }
 
-        notificationService.sendRunMessage(new ShortCircuitResultContext(resultUuid, runContext).toMessage(objectMapper));
-        return resultUuid;
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private static ShortCircuitAnalysisResult fromEntity(ShortCircuitAnalysisResultEntity resultEntity, FaultResultsMode mode) {
@@ -379,23 +436,26 @@ public class ShortCircuitService extends AbstractComputationService<ShortCircuit
     }
 
     public byte[] getZippedCsvExportResult(List<FaultResult> faultResults, CsvExportParams csvExportParams) {
+        return getCsvExportResult(faultResults, csvExportParams, ExportCompressionCodec.DEFLATE);
+    }
+
+    public byte[] getCsvExportResult(List<FaultResult> faultResults, CsvExportParams csvExportParams, ExportCompressionCodec codec) {
         if (Objects.isNull(csvExportParams) || Objects.isNull(csvExportParams.csvHeader()) || Objects.isNull(csvExportParams.enumValueTranslations())) {
             throw new ComputationException(INVALID_EXPORT_PARAMS, "Missing information to export short-circuit result as csv: file headers and enum translation must be provided");
         }
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-             ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
-
-            zipOutputStream.putNextEntry(new ZipEntry("shortCircuit_result.csv"));
-            // This code is for writing the UTF-8 Byte Order Mark (BOM) to a ZipOutputStream
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // the csv is compressed while it is written
+        try (OutputStream exportStream = exportCompressionService.compress(codec, CSV_RESULT_FILE_NAME, outputStream)) {
+            // This code is for writing the UTF-8 Byte Order Mark (BOM) to the csv file
             // by adding BOM to the beginning of file to help excel in some versions to detect this is UTF-8 encoding bytes
-            zipOutputStream.write(0xEF);
-            zipOutputStream.write(0xBB);
-            zipOutputStream.write(0xBF);
+            exportStream.write(0xEF);
+            exportStream.write(0xBB);
+            exportStream.write(0xBF);
 
             CsvWriterSettings settings = new CsvWriterSettings();
             setFormat(settings.getFormat(), csvExportParams.language());
-            CsvWriter csvWriter = new CsvWriter(zipOutputStream, StandardCharsets.UTF_8, settings);
+            CsvWriter csvWriter = new CsvWriter(exportStream, StandardCharsets.UTF_8, settings);
             csvWriter.writeHeaders(csvExportParams.csvHeader());
 
             // Write data to the CSV file.
@@ -404,10 +464,14 @@ public class ShortCircuitService extends AbstractComputationService<ShortCircuit
                 addFeedersRows(csvWriter, faultResult, csvExportParams, faultResults.size());
             }
             csvWriter.close();
-            return outputStream.toByteArray();
         } catch (IOException e) {
             throw new UncheckedIOException("Error occurred while writing data to csv file", e);
         }
+        return outputStream.toByteArray();
+    }
+
+    public static String getCsvExportFileName(ExportCompressionCodec codec) {
+        return CSV_RESULT_FILE_NAME + codec.getFileExtension();
     }
 
     @Transactional(readOnly = true)
@@ -447,16 +511,6 @@ public class ShortCircuitService extends AbstractComputationService<ShortCircuit
         String decodedStringGlobalFilters = globalFilters != null ? URLDecoder.decode(globalFilters, StandardCharsets.UTF_8) : null;
         GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
         List<ResourceFilterDTO> resourceFilters = fromStringFiltersToDTO(stringFilters, objectMapper);
-        List<ResourceFilterDTO> resourceGlobalFilters = new ArrayList<>();
-        if (globalFilter != null && !globalFilter.isEmpty()) {
-            Optional<ResourceFilterDTO> resourceGlobalFilter = filterService.getResourceFilter(networkUuid, variantId, globalFilter);
-            // No equipment verify global filters : no result
-            if (resourceGlobalFilter.isEmpty()) {
-                return Page.empty();
-            } else {
-                resourceGlobalFilters.add(resourceGlobalFilter.get());
-            }
-        }
         AtomicReference<Long> startTime = new AtomicReference<>();
         startTime.set(System.nanoTime());
         Optional<ShortCircuitAnalysisResultEntity> result;
@@ -465,6 +519,22 @@ public class ShortCircuitService extends AbstractComputationService<ShortCircuit
         if (result.isEmpty()) {
             throw new ComputationException(RESULT_NOT_FOUND, "The short circuit analysis result '" + resultUuid + "' does not exist");
         }
+        List<ResourceFilterDTO> resourceGlobalFilters = new ArrayList<>();
+        if (globalFilter != null && !globalFilter.isEmpty()) {
+            if (result.get().isWithVoltageLevelAttributes() && FaultResultSpecificationBuilder.isEvaluableOnFaults(globalFilter)) {
+                // evaluated on the voltage level attributes saved with the faults, without resolving their voltage levels
+                resourceGlobalFilters.addAll(FaultResultSpecificationBuilder.toFaultGlobalFilters(globalFilter));
+            } else {
+                Optional<ResourceFilterDTO> resourceGlobalFilter = globalFilterCache.get(networkUuid, variantId, globalFilter,
+                    () -> filterService.getResourceFilter(networkUuid, variantId, globalFilter));
+                // No equipment verify global filters : no result
+                if (resourceGlobalFilter.isEmpty()) {
+                    return Page.empty();
+                } else {
+                    resourceGlobalFilters.add(resourceGlobalFilter.get());
+                }
+            }
+        }
         Page<FaultResultEntity> faultResultEntitiesPage = Page.empty();
         switch (mode) {
             case BASIC, FULL:
@@ -530,6 +600,13 @@ public class ShortCircuitService extends AbstractComputationService<ShortCircuit
         return faultResult;
     }
 
+    @Transactional(readOnly = true)
+    public FaultResult getBusFaultResult(UUID resultUuid, String busId) {
+        return resultService.findBusFaultResult(resultUuid, busId)
+            .map(faultResultEntity -> fromEntity(faultResultEntity, FaultResultsMode.FULL))
+            .orElse(null);
+    }
+
     @Override
     public List<String> getProviders() {
         return List.of();
@@ -21,29 +21,58 @@ import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
 import org.gridsuite.shortcircuit.server.error.ShortCircuitException;
 import org.gridsuite.shortcircuit.server.report.ReportMapperService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import static org.gridsuite.computation.service.AbstractResultContext.VARIANT_ID_HEADER;
+import static org.gridsuite.computation.service.NotificationService.HEADER_RESULT_UUID;
+import static org.gridsuite.computation.utils.MessageUtils.getNonNullHeader;
 import static org.gridsuite.shortcircuit.server.error.ShortcircuitBusinessErrorCode.*;
 import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.HEADER_BUS_ID;
-import static org.gridsuite.shortcircuit.server.service.ShortCircuitService.NODE_CLUSTER;
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.HEADER_BUS_IDS;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
 @Service
 public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircuitAnalysisResult, ShortCircuitRunContext, ShortCircuitParametersValues, ShortCircuitAnalysisResultService> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShortCircuitWorkerService.class);
     public static final String COMPUTATION_TYPE = "Short circuit analysis";
+    public static final String ALL_BUSES_LANE = "all-buses";
+    public static final String ONE_BUS_LANE = "one-bus";
+    public static final String SHARD_LANE = "shard";
     private final ReportMapperService reportMapper;
+    private final FaultBatchRunner faultBatchRunner;
+    private final FaultShardCoordinator faultShardCoordinator;
+    private final NetworkCache networkCache;
+    private final ShortCircuitObserver shortCircuitObserver;
+    private final WorkerIoExecutor workerIoExecutor;
+    private final RunAdmissionController runAdmissionController;
+    private final CancellationCheckpoints cancellationCheckpoints;
+    private final SpecificParametersResolver specificParametersResolver;
+    private final ShortCircuitProviderRegistry providerRegistry;
+    private final ReportUploader reportUploader;
+
+    /** network loaded by the first variant of the batch run of each consumer thread, reused by the next variants */
+    private final ThreadLocal<AtomicReference<Network>> variantBatchNetwork = new ThreadLocal<>();
+
+    /** version of the content of the variant of the run of each consumer thread, the key of its network in the cache */
+    private final ThreadLocal<String> runVariantVersion = new ThreadLocal<>();
+
+    /** network instances of the other lanes of fault batches of the run of each consumer thread, by lane */
+    private final ThreadLocal<Map<Integer, Network>> runLaneNetworks = new ThreadLocal<>();
 
     public ShortCircuitWorkerService(NetworkStoreService networkStoreService,
                                      ReportService reportService,
@@ -54,10 +83,29 @@ public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircui
                                      ComputationS3Service computationS3Service,
                                      ObjectMapper objectMapper,
                                      ReportMapperService reportMapper,
+                                     FaultBatchRunner faultBatchRunner,
+                                     FaultShardCoordinator faultShardCoordinator,
+                                     NetworkCache networkCache,
+                                     WorkerIoExecutor workerIoExecutor,
+                                     RunAdmissionController runAdmissionController,
+                                     CancellationCheckpoints cancellationCheckpoints,
+                                     SpecificParametersResolver specificParametersResolver,
+                                     ShortCircuitProviderRegistry providerRegistry,
+                                     ReportUploader reportUploader,
                                      ShortCircuitObserver shortCircuitObserver,
                                      PropertyServerNameProvider propertyServerNameProvider) {
         super(networkStoreService, notificationService, reportService, resultService, computationS3Service, executionService, shortCircuitObserver, objectMapper, propertyServerNameProvider);
         this.reportMapper = reportMapper;
+        this.faultBatchRunner = faultBatchRunner;
+        this.faultShardCoordinator = faultShardCoordinator;
+        this.networkCache = networkCache;
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.workerIoExecutor = workerIoExecutor;
+        this.runAdmissionController = runAdmissionController;
+        this.cancellationCheckpoints = cancellationCheckpoints;
+        this.specificParametersResolver = specificParametersResolver;
+        this.providerRegistry = providerRegistry;
+        this.reportUploader = reportUploader;
     }
 
     @Override
@@ -65,46 +113,196 @@ public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircui
         return PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW;
     }
 
+    /**
+     * Load the network of the run, out of the network cache if possible.
+     */
+    @Override
+    protected Network getNetwork(UUID networkUuid, String variantId) {
+        AtomicReference<Network> batchNetwork = variantBatchNetwork.get();
+        if (batchNetwork != null && batchNetwork.get() != null) {
+            batchNetwork.get().getVariantManager().setWorkingVariant(variantId != null ? variantId : VariantManagerConstants.INITIAL_VARIANT_ID);
+            return batchNetwork.get();
+        }
+        Network network = networkCache.isEnabled()
+            ? networkCache.acquire(networkUuid, variantId, runVariantVersion.get(), () -> loadNetwork(networkUuid, variantId))
+            : loadNetwork(networkUuid, variantId);
+        if (batchNetwork != null) {
+            batchNetwork.set(network);
+        }
+        return network;
+    }
+
+    private Network loadNetwork(UUID networkUuid, String variantId) {
+        Network network = super.getNetwork(networkUuid, variantId);
+        runAdmissionController.recordNetworkSize(networkUuid, network);
+        return network;
+    }
+
+    /**
+     * Reserve the heap of a run before it is consumed, estimated from the size of its network. A run cancelled while
+     * waiting for its reservation is stopped like a run cancelled while saving its result, a run not admitted fails like
+     * a run failing to compute.
+     *
+     * @return true if the run is admitted
+     */
+    private boolean admit(Message<String> message) {
+        if (!runAdmissionController.isEnabled()) {
+            return true;
+        }
+        ShortCircuitResultContext resultContext = ShortCircuitResultContext.fromMessage(message, objectMapper);
+        UUID resultUuid = resultContext.getResultUuid();
+        ShortCircuitRunContext runContext = resultContext.getRunContext();
+        try {
+            runAdmissionController.admit(resultUuid, runContext.getNetworkUuid(), networkSize -> countFaults(runContext, networkSize),
+                faultBatchRunner::lanes, isWithFeederResult(runContext));
+            return true;
+        } catch (CancellationException e) {
+            LOGGER.info("Run {} stopped while waiting for its admission", resultUuid);
+            resultService.delete(resultUuid);
+            notificationService.publishStop(resultUuid, runContext.getReceiver(), getComputationType());
+        } catch (ShortCircuitException e) {
+            LOGGER.error("Run {} not admitted", resultUuid, e);
+            notificationService.publishFail(resultUuid, runContext.getReceiver(), e.getMessage(), runContext.getUserId(), getComputationType(), Map.of());
+            handleNonCancellationException(resultContext, e, new AtomicReference<>(ReportNode.NO_OP));
+        }
+        return false;
+    }
+
+    /**
+     * Number of faults of a run before its network is loaded. The shards of an all-buses analysis are planned once the
+     * network is loaded, the faults of a coordinator are then counted as all the buses.
+     */
+    private static int countFaults(ShortCircuitRunContext runContext, RunAdmissionController.NetworkSize networkSize) {
+        if (runContext.getBusId() != null) {
+            return 1;
+        }
+        if (!runContext.getBusIds().isEmpty()) {
+            return runContext.getBusIds().size();
+        }
+        int busCount = (int) Math.min(Integer.MAX_VALUE, networkSize.busCount());
+        FaultShard shard = runContext.getShard();
+        return shard != null ? (busCount + shard.count() - 1) / shard.count() : busCount;
+    }
+
+    private static boolean isWithFeederResult(ShortCircuitRunContext runContext) {
+        return runContext.getParameters() == null || runContext.getParameters().getCommonParameters() == null
+            || runContext.getParameters().getCommonParameters().isWithFeederResult();
+    }
+
     @Override
     protected ShortCircuitResultContext fromMessage(Message<String> message) {
         return ShortCircuitResultContext.fromMessage(message, objectMapper);
     }
 
+    /**
+     * Saved while the report is mapped and uploaded by the task forked in {@link #postRun}, the task being awaited
+     * before the failure of the saving is handled.
+     * <p>
+     * A failed upload fails the run once its result is saved: the result is deleted, for the run to only leave its
+     * failed status.
+     */
     @Override
     protected void saveResult(Network network, AbstractResultContext<ShortCircuitRunContext> resultContext, ShortCircuitAnalysisResult result) {
-        resultService.insert(resultContext.getResultUuid(),
-                result,
-                resultContext.getRunContext(),
-                ShortCircuitAnalysisStatus.COMPLETED.name());
+        try {
+            insertResult(network, resultContext, result);
+        } catch (RuntimeException e) {
+            resultContext.getRunContext().getReportUpload().exceptionally(uploadException -> {
+                LOGGER.warn("Could not upload the report of the analysis {}", resultContext.getResultUuid(), uploadException);
+                return null;
+            }).join();
+            throw e;
+        }
+        try {
+            awaitReportUpload(resultContext.getRunContext());
+        } catch (RuntimeException e) {
+            resultService.delete(resultContext.getResultUuid());
+            throw e;
+        }
+    }
+
+    private void insertResult(Network network, AbstractResultContext<ShortCircuitRunContext> resultContext, ShortCircuitAnalysisResult result) {
+        UUID resultUuid = resultContext.getResultUuid();
+        cancellationCheckpoints.begin(resultUuid);
+        try {
+            FaultShard shard = resultContext.getRunContext().getShard();
+            if (shard != null && shard.isCoordinator()) {
+                resultService.insertWithShards(resultUuid,
+                        result,
+                        resultContext.getRunContext(),
+                        ShortCircuitAnalysisStatus.COMPLETED.name());
+            } else {
+                resultService.insert(resultUuid,
+                        result,
+                        resultContext.getRunContext(),
+                        ShortCircuitAnalysisStatus.COMPLETED.name());
+            }
+            // cancelled after the last checkpoint of the insertion
+            cancellationCheckpoints.check(resultUuid);
+        } catch (CancellationException e) {
+            LOGGER.info("Saving of the result {} stopped", resultUuid);
+            // the cancelled insertion has been rolled back, only its status or a result committed meanwhile remain
+            resultService.delete(resultUuid);
+            notificationService.publishStop(resultUuid, resultContext.getRunContext().getReceiver(), getComputationType());
+            throw e;
+        } finally {
+            cancellationCheckpoints.end(resultUuid);
+        }
+        networkCache.complete(network);
+        Map<Integer, Network> laneNetworks = runLaneNetworks.get();
+        if (laneNetworks != null) {
+            laneNetworks.values().forEach(networkCache::complete);
+        }
     }
 
     @Override
     public void preRun(ShortCircuitRunContext resultContext) {
-        checkInconsistentVoltageLevels(resultContext);
+        // resolved here rather than on the run request, the filter server calls do not make the user wait
+        specificParametersResolver.resolve(resultContext);
+        buildBusFaultPlan(resultContext);
         super.preRun(resultContext);
     }
 
-    private void checkInconsistentVoltageLevels(ShortCircuitRunContext resultContext) {
-        List<String> inconsistentVoltageLevels = new ArrayList<>();
-        resultContext.getNetwork().getVoltageLevelStream().forEach(vl -> {
-            IdentifiableShortCircuit<VoltageLevel> shortCircuitExtension = vl.getExtension(IdentifiableShortCircuit.class);
-            if (shortCircuitExtension != null && shortCircuitExtension.getIpMin() > shortCircuitExtension.getIpMax()) {
-                inconsistentVoltageLevels.add(vl.getId());
-            }
-        });
-        if (!inconsistentVoltageLevels.isEmpty()) {
-            resultContext.setVoltageLevelsWithWrongIsc(inconsistentVoltageLevels);
+    /**
+     * Check the voltage levels short-circuit limits and, for an all-buses analysis, prepare the faults to compute,
+     * in the same pass over the network.
+     */
+    private void buildBusFaultPlan(ShortCircuitRunContext resultContext) {
+        boolean allBuses = isAllBuses(resultContext);
+        BusFaultPlan busFaultPlan = BusFaultPlanBuilder.build(resultContext.getNetwork(),
+                allBuses ? getNodeClusterBusIds(resultContext) : Set.of(), allBuses);
+        if (!busFaultPlan.inconsistentVoltageLevels().isEmpty()) {
+            resultContext.setVoltageLevelsWithWrongIsc(busFaultPlan.inconsistentVoltageLevels());
             throw new ShortCircuitException(INCONSISTENT_VOLTAGE_LEVELS, "Some voltage levels have wrong isc values. Check out the logs to find which ones");
         }
+        if (allBuses) {
+            resultContext.setShortCircuitLimits(busFaultPlan.shortCircuitLimits());
+            resultContext.setFaults(busFaultPlan.faults());
+        }
     }
 
+    /**
+     * Sent once the report of the run is uploaded, a failed upload failing the run like the other steps.
+     */
     @Override
     protected void sendResultMessage(AbstractResultContext<ShortCircuitRunContext> resultContext, ShortCircuitAnalysisResult result) {
+        awaitReportUpload(resultContext.getRunContext());
+        FaultShard shard = resultContext.getRunContext().getShard();
+        boolean withShortCircuitData = result != null
+                && !result.getFaultResults().stream().map(FaultResult::getStatus).allMatch(FaultResult.Status.NO_SHORT_CIRCUIT_DATA::equals);
+        if (shard != null && !shard.isCoordinator()) {
+            // only the coordinator of the shard notifies the analysis result
+            faultShardCoordinator.publishShardResult(resultContext.getResultUuid(), shard, withShortCircuitData, null);
+            return;
+        }
+
         Map<String, Object> additionalData = new HashMap<>();
         additionalData.put(HEADER_BUS_ID, resultContext.getRunContext().getBusId());
+        if (!resultContext.getRunContext().getBusIds().isEmpty()) {
+            additionalData.put(HEADER_BUS_IDS, resultContext.getRunContext().getBusIds());
+        }
 
-        if (result != null && !result.getFaultResults().isEmpty() && resultContext.getRunContext().getBusId() == null &&
-                result.getFaultResults().stream().map(FaultResult::getStatus).allMatch(FaultResult.Status.NO_SHORT_CIRCUIT_DATA::equals)) {
+        if (result != null && !result.getFaultResults().isEmpty() && isAllBuses(resultContext.getRunContext()) &&
+                !withShortCircuitData && !resultContext.getRunContext().isShardsWithShortCircuitData()) {
             throw new ShortCircuitException(MISSING_EXTENSION_DATA, "Missing short-circuit extension data");
         }
 
@@ -112,6 +310,17 @@ public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircui
                 resultContext.getRunContext().getUserId(), additionalData);
     }
 
+    private static void awaitReportUpload(ShortCircuitRunContext runContext) {
+        try {
+            runContext.getReportUpload().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     @Override
     protected Map<String, Object> getDebugHeaders(AbstractResultContext<ShortCircuitRunContext> resultContext, String messageError) {
         Map<String, Object> debugHeaders = super.getDebugHeaders(resultContext, messageError);
@@ -123,49 +332,84 @@ public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircui
 
     @Override
     protected CompletableFuture<ShortCircuitAnalysisResult> getCompletableFuture(ShortCircuitRunContext runContext, String provider, UUID resultUuid) {
-        List<Fault> faults = runContext.getBusId() == null ? getAllBusFaults(runContext) : getBusFaultFromBusId(runContext);
-        ShortCircuitParameters parameters = runContext.buildParameters();
+        List<Fault> faults = isAllBuses(runContext) ? runContext.getFaults() : getBusFaults(runContext);
+        ShortCircuitParameters parameters = runContext.buildParameters(objectMapper, providerRegistry);
         if (runContext.getDebugDir() != null) {
             parameters.setDebugDir(runContext.getDebugDir().toString());
         }
-        return ShortCircuitAnalysis.runAsync(runContext.getNetwork(), faults, parameters, executionService.getComputationManager(), List.of(), runContext.getReportNode());
+        if (isAllBuses(runContext) && runContext.getShard() == null) {
+            faultShardCoordinator.planShards(resultUuid, faults.size()).ifPresent(runContext::setShard);
+        }
+        FaultShard shard = runContext.getShard();
+        if (shard == null) {
+            return faultBatchRunner.runAsync(runContext.getNetwork(), lane -> getLaneNetwork(runContext, lane), faults, parameters,
+                executionService.getComputationManager(), runContext.getReportNode());
+        }
+        List<Fault> shardFaults = shard.select(faults);
+        if (!shard.isCoordinator()) {
+            return faultBatchRunner.runAsync(runContext.getNetwork(), lane -> getLaneNetwork(runContext, lane), shardFaults, parameters,
+                executionService.getComputationManager(), runContext.getReportNode());
+        }
+        return faultShardCoordinator.dispatch(runContext,
+            () -> faultBatchRunner.runAsync(runContext.getNetwork(), lane -> getLaneNetwork(runContext, lane), shardFaults, parameters,
+                executionService.getComputationManager(), runContext.getReportNode()));
     }
 
-    private List<String> deserializeNodeClusters(ShortCircuitRunContext context) {
-        String rawNodeClusters = context.getParameters().getSpecificParameters().get(NODE_CLUSTER);
-        if (Objects.equals(rawNodeClusters, "") || rawNodeClusters == null) {
-            return Collections.emptyList();
+    /**
+     * Another instance of the network of the run, for a lane of fault batches, out of the network cache if possible. Its
+     * heap is reserved by the admission of the run. The instances are kept until the end of the run message, so that the
+     * next variants of a batch run reuse them.
+     */
+    private Network getLaneNetwork(ShortCircuitRunContext runContext, int lane) {
+        UUID networkUuid = runContext.getNetworkUuid();
+        String variantId = runContext.getVariantId();
+        Map<Integer, Network> laneNetworks = runLaneNetworks.get();
+        Network network = laneNetworks != null ? laneNetworks.get(lane) : null;
+        if (network != null) {
+            network.getVariantManager().setWorkingVariant(variantId != null ? variantId : VariantManagerConstants.INITIAL_VARIANT_ID);
+            return network;
         }
-        return Arrays.stream(rawNodeClusters.split(", ")).map(String::trim).toList();
+        network = networkCache.isEnabled()
+            ? networkCache.acquire(networkUuid, variantId, runVariantVersion.get(), lane, () -> super.getNetwork(networkUuid, variantId))
+            : super.getNetwork(networkUuid, variantId);
+        if (laneNetworks != null) {
+            laneNetworks.put(lane, network);
+        }
+        return network;
+    }
+
+    private static Set<String> getNodeClusterBusIds(ShortCircuitRunContext context) {
+        return Objects.requireNonNullElse(context.getNodeClusterBusIds(), Set.of());
+    }
+
+    private static boolean isAllBuses(ShortCircuitRunContext context) {
+        return context.getBusId() == null && context.getBusIds().isEmpty();
     }
 
-    private List<Fault> getAllBusFaults(ShortCircuitRunContext context) {
+    /**
+     * Faults of a one-bus or multi-bus analysis. The faults of a multi-bus analysis are identified by the requested
+     * bus ids, so that their results can be queried per bus.
+     */
+    private List<Fault> getBusFaults(ShortCircuitRunContext context) {
         Map<String, ShortCircuitLimits> shortCircuitLimits = new HashMap<>();
-        Stream<Bus> busesStream = context.getNetwork().getBusView().getBusStream();
-        // If there is a configured ZI, then only BusFault for this ZI are returned, it returns all the network otherwise
-        if (context.getParameters().getSpecificParameters().containsKey(NODE_CLUSTER)) {
-            List<String> nodeClusters = deserializeNodeClusters(context);
-            if (!nodeClusters.isEmpty()) {
-                busesStream = busesStream.filter(bus -> nodeClusters.contains(bus.getId()));
+        List<Fault> faults = new ArrayList<>();
+        if (context.getBusId() != null) {
+            Bus bus = getBusViewBus(context, context.getBusId());
+            shortCircuitLimits.put(bus.getId(), getShortCircuitLimits(bus));
+            faults.add(new BusFault(bus.getId(), bus.getId()));
+        } else {
+            for (String busId : new LinkedHashSet<>(context.getBusIds())) {
+                Bus bus = getBusViewBus(context, busId);
+                shortCircuitLimits.put(busId, getShortCircuitLimits(bus));
+                faults.add(new BusFault(busId, bus.getId()));
             }
         }
-        List<Fault> faults = busesStream.map(bus -> {
-            IdentifiableShortCircuit<VoltageLevel> shortCircuitExtension = bus.getVoltageLevel().getExtension(IdentifiableShortCircuit.class);
-            if (shortCircuitExtension != null) {
-                shortCircuitLimits.put(bus.getId(), new ShortCircuitLimits(bus.getVoltageLevel().getId(), shortCircuitExtension.getIpMin(), shortCircuitExtension.getIpMax()));
-            } else {
-                shortCircuitLimits.put(bus.getId(), new ShortCircuitLimits(bus.getVoltageLevel().getId(), Double.NaN, Double.NaN));
-            }
-            return new BusFault(bus.getId(), bus.getId());
-        }).collect(Collectors.toList());
         context.setShortCircuitLimits(shortCircuitLimits);
         return faults;
     }
 
-    private List<Fault> getBusFaultFromBusId(ShortCircuitRunContext context) {
-        String busId = context.getBusId();
+    private Bus getBusViewBus(ShortCircuitRunContext context, String busId) {
         Identifiable<?> identifiable = context.getNetwork().getIdentifiable(busId);
-        Map<String, ShortCircuitLimits> shortCircuitLimits = new HashMap<>();
 
         if (identifiable instanceof BusbarSection busbarSection) {
             Bus bus = busbarSection.getTerminal().getBusView().getBus();
@@ -173,38 +417,28 @@ public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircui
             if (bus == null) {
                 throw new ShortCircuitException(BUS_OUT_OF_VOLTAGE, "Selected bus is out of voltage");
             }
-            IdentifiableShortCircuit<VoltageLevel> shortCircuitExtension = ((BusbarSection) identifiable).getTerminal().getBusView().getBus().getVoltageLevel().getExtension(
-                    IdentifiableShortCircuit.class);
-            if (shortCircuitExtension != null) {
-                shortCircuitLimits.put(bus.getId(), new ShortCircuitLimits(bus.getVoltageLevel().getId(), shortCircuitExtension.getIpMin(), shortCircuitExtension.getIpMax()));
-            } else {
-                shortCircuitLimits.put(bus.getId(), new ShortCircuitLimits(bus.getVoltageLevel().getId(), Double.NaN, Double.NaN));
-            }
-            context.setShortCircuitLimits(shortCircuitLimits);
-            return List.of(new BusFault(bus.getId(), bus.getId()));
+            return bus;
         }
 
         if (identifiable instanceof Bus bus) {
             throwIfBusIsOutsideNodeCluster(context, bus);
-            String busIdFromBusView = bus.getVoltageLevel().getBusView().getMergedBus(busId).getId();
-            IdentifiableShortCircuit<VoltageLevel> shortCircuitExtension = bus.getVoltageLevel().getBusView().getMergedBus(busId).getVoltageLevel().getExtension(IdentifiableShortCircuit.class);
-            if (shortCircuitExtension != null) {
-                shortCircuitLimits.put(busIdFromBusView, new ShortCircuitLimits(bus.getVoltageLevel().getId(), shortCircuitExtension.getIpMin(), shortCircuitExtension.getIpMax()));
-            } else {
-                shortCircuitLimits.put(busIdFromBusView, new ShortCircuitLimits(bus.getVoltageLevel().getId(), Double.NaN, Double.NaN));
-            }
-            context.setShortCircuitLimits(shortCircuitLimits);
-            return List.of(new BusFault(busIdFromBusView, busIdFromBusView));
+            return bus.getVoltageLevel().getBusView().getMergedBus(busId);
         }
         throw new NoSuchElementException("No bus found for bus id " + busId);
     }
 
-    private void throwIfBusIsOutsideNodeCluster(ShortCircuitRunContext context, Bus bus) {
-        if (context.getParameters().getSpecificParameters().containsKey(NODE_CLUSTER)) {
-            List<String> nodeClusters = deserializeNodeClusters(context);
-            if (!nodeClusters.isEmpty() && !nodeClusters.contains(bus.getId())) {
-                throw new ShortCircuitException(BUS_OUT_OF_NODE_CLUSTER, "Selected bus is outside node cluster");
-            }
+    private static ShortCircuitLimits getShortCircuitLimits(Bus bus) {
+        IdentifiableShortCircuit<VoltageLevel> shortCircuitExtension = bus.getVoltageLevel().getExtension(IdentifiableShortCircuit.class);
+        if (shortCircuitExtension != null) {
+            return new ShortCircuitLimits(bus.getVoltageLevel().getId(), shortCircuitExtension.getIpMin(), shortCircuitExtension.getIpMax());
+        }
+        return new ShortCircuitLimits(bus.getVoltageLevel().getId(), Double.NaN, Double.NaN);
+    }
+
+    private static void throwIfBusIsOutsideNodeCluster(ShortCircuitRunContext context, Bus bus) {
+        Set<String> nodeClusterBusIds = getNodeClusterBusIds(context);
+        if (!nodeClusterBusIds.isEmpty() && !nodeClusterBusIds.contains(bus.getId())) {
+            throw new ShortCircuitException(BUS_OUT_OF_NODE_CLUSTER, "Selected bus is outside node cluster");
         }
     }
 
@@ -212,32 +446,152 @@ public class ShortCircuitWorkerService extends AbstractWorkerService<ShortCircui
         return COMPUTATION_TYPE;
     }
 
+    /**
+     * Consumer of the runs, its number of threads is the worker pool concurrency.
+     */
     @Bean
-    public Consumer<Message<String>> consumeRun1() {
-        return super.consumeRun();
+    @Override
+    public Consumer<Message<String>> consumeRun() {
+        return consumeLaneRun(ALL_BUSES_LANE, super.consumeRun());
     }
 
+    /**
+     * Consumer of the one-bus runs, on their own queue so that they never wait for the all-buses runs.
+     */
     @Bean
-    public Consumer<Message<String>> consumeRun2() {
-        return super.consumeRun();
+    public Consumer<Message<String>> consumeOneBusRun() {
+        return consumeLaneRun(ONE_BUS_LANE, super.consumeRun());
+    }
+
+    /**
+     * Consumer of the fault shards sub-jobs, on their own queue so that the coordinator runs waiting for their shards
+     * never hold the threads computing them. A shard cancelled by its coordinator while queued is skipped.
+     */
+    @Bean
+    public Consumer<Message<String>> consumeShardRun() {
+        Consumer<Message<String>> consumeShardRun = consumeLaneRun(SHARD_LANE, super.consumeRun());
+        return message -> {
+            UUID resultUuid = UUID.fromString(getNonNullHeader(message.getHeaders(), HEADER_RESULT_UUID));
+            if (faultShardCoordinator.isCancelled(resultUuid)) {
+                LOGGER.info("Fault shard {} cancelled by its coordinator, skipped", resultUuid);
+                resultService.delete(resultUuid);
+                faultShardCoordinator.publishShardResult(resultUuid, ShortCircuitResultContext.fromMessage(message, objectMapper).getRunContext().getShard(),
+                    false, "Cancelled");
+                return;
+            }
+            consumeShardRun.accept(message);
+        };
+    }
+
+    /**
+     * Measure the wait of the run in the queue of its lane, admit it, then release its heap reservation and give its
+     * network back to the cache once it is over.
+     */
+    private Consumer<Message<String>> consumeLaneRun(String lane, Consumer<Message<String>> consumeRun) {
+        return message -> {
+            Object publishTimestamp = message.getHeaders().get(ShortCircuitResultContext.HEADER_PUBLISH_TIMESTAMP);
+            if (publishTimestamp != null) {
+                long waitMillis = System.currentTimeMillis() - Long.parseLong(publishTimestamp.toString());
+                shortCircuitObserver.observeQueueWait(lane, Duration.ofMillis(Math.max(waitMillis, 0)));
+            }
+            // restored after the run: a run may consume a nested message
+            String previousVariantVersion = runVariantVersion.get();
+            Map<Integer, Network> previousLaneNetworks = runLaneNetworks.get();
+            runVariantVersion.set((String) message.getHeaders().get(ShortCircuitResultContext.HEADER_VARIANT_VERSION));
+            runLaneNetworks.set(new HashMap<>());
+            try {
+                if (ShortCircuitResultContext.isVariantBatchMessage(message)) {
+                    consumeVariantBatch(message, consumeRun);
+                } else if (admit(message)) {
+                    consumeRun.accept(message);
+                }
+            } finally {
+                runAdmissionController.release();
+                // the lane networks were leased after the network of the run
+                for (int i = 0; i < runLaneNetworks.get().size(); i++) {
+                    networkCache.release();
+                }
+                networkCache.release();
+                runVariantVersion.set(previousVariantVersion);
+                runLaneNetworks.set(previousLaneNetworks);
+            }
+        };
     }
 
+    /**
+     * Compute the variants of a batch run one after the other, on the network loaded by the first one. Each variant is
+     * admitted, saved and notified under its own result as soon as it is computed.
+     */
+    private void consumeVariantBatch(Message<String> message, Consumer<Message<String>> consumeRun) {
+        List<Message<String>> variantMessages = ShortCircuitResultContext.splitVariantBatchMessage(message, objectMapper);
+        variantBatchNetwork.set(new AtomicReference<>());
+        try {
+            for (int i = 0; i < variantMessages.size(); i++) {
+                Message<String> variantMessage = variantMessages.get(i);
+                Object variantId = variantMessage.getHeaders().get(VARIANT_ID_HEADER);
+                LOGGER.info("Run of the variant {} of the batch ({}/{})", variantId, i + 1, variantMessages.size());
+                runVariantVersion.set((String) variantMessage.getHeaders().get(ShortCircuitResultContext.HEADER_VARIANT_VERSION));
+                try {
+                    if (admit(variantMessage)) {
+                        consumeRun.accept(variantMessage);
+                    }
+                } catch (RuntimeException e) {
+                    // the failure is stored with the result of the variant, the next variants are still computed
+                    LOGGER.error("Run of the variant {} of the batch failed", variantId, e);
+                } finally {
+                    runAdmissionController.release();
+                }
+            }
+        } finally {
+            variantBatchNetwork.remove();
+        }
+    }
+
+    /**
+     * Stop the saving of the result of a run at its next checkpoint, or its wait for its admission, or cancel its
+     * computation if it is neither being saved nor waiting.
+     */
     @Bean
     @Override
     public Consumer<Message<String>> consumeCancel() {
-        return super.consumeCancel();
+        Consumer<Message<String>> consumeCancel = super.consumeCancel();
+        return message -> {
+            UUID resultUuid = UUID.fromString(getNonNullHeader(message.getHeaders(), HEADER_RESULT_UUID));
+            if (!cancellationCheckpoints.requestCancel(resultUuid) && !runAdmissionController.cancel(resultUuid)) {
+                consumeCancel.accept(message);
+            }
+        };
     }
 
+    @Bean
+    public Consumer<Message<String>> consumeShardResult() {
+        return faultShardCoordinator::consumeShardResult;
+    }
+
+    /**
+     * Fork the mapping and the upload of the report on a virtual thread, concurrently with the saving of the result.
+     * The task is awaited by {@link #sendResultMessage} or, if the saving fails, by {@link #saveResult}.
+     */
     @Override
     public void postRun(ShortCircuitRunContext runContext, AtomicReference<ReportNode> rootReportNode, ShortCircuitAnalysisResult ignoredResult) {
         if (runContext.getReportInfos().reportUuid() != null) {
-            final ReportNode report = this.reportMapper.map(rootReportNode.get(), runContext);
-            observer.observe("report.send", runContext, () -> reportService.sendReport(runContext.getReportInfos().reportUuid(), report));
+            final ReportNode rootReport = rootReportNode.get();
+            runContext.setReportUpload(CompletableFuture.runAsync(() -> {
+                final ReportNode report = this.reportMapper.map(rootReport, runContext);
+                observer.observe("report.send", runContext, () -> reportUploader.upload(runContext.getReportInfos().reportUuid(), report,
+                    runContext.getTrimmedReportNodes()));
+            }, workerIoExecutor));
         }
     }
 
     @Override
     protected void handleNonCancellationException(AbstractResultContext<ShortCircuitRunContext> resultContext, Exception exception, AtomicReference<ReportNode> rootReporter) {
+        FaultShard shard = resultContext.getRunContext().getShard();
+        if (shard != null && !shard.isCoordinator()) {
+            faultShardCoordinator.publishShardResult(resultContext.getResultUuid(), shard, false, Objects.toString(exception.getMessage(), exception.getClass().getName()));
+            resultService.insertStatus(Collections.singletonList(resultContext.getResultUuid()), ShortCircuitAnalysisStatus.FAILED);
+            return;
+        }
         if (exception instanceof ShortCircuitException shortCircuitException && shortCircuitException.getBusinessErrorCode() == INCONSISTENT_VOLTAGE_LEVELS) {
             postRun(resultContext.getRunContext(), rootReporter, null);
             sendResultMessage(resultContext, null);
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.shortcircuit.server.dto.FilterElements;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.gridsuite.shortcircuit.server.dto.powsyblprivate.AbstractPowerElectronicsData;
+import org.gridsuite.shortcircuit.server.dto.powsyblprivate.PowerElectronicsCluster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitService.*;
+
+/**
+ * Resolution, by the worker before the run, of the filters of the specific parameters: the equipments of the power
+ * electronics clusters and the buses of the node cluster, on the network and variant of the run.
+ * <p>
+ * The two are exported concurrently by the filter server.
+ */
+@Service
+public class SpecificParametersResolver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecificParametersResolver.class);
+
+    private final FilterService filterService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor executor;
+
+    @Autowired
+    public SpecificParametersResolver(FilterService filterService, ObjectMapper objectMapper, WorkerIoExecutor workerIoExecutor) {
+        this(filterService, objectMapper, (Executor) workerIoExecutor);
+    }
+
+    SpecificParametersResolver(FilterService filterService, ObjectMapper objectMapper, Executor executor) {
+        this.filterService = filterService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    /**
+     * @return whether the specific parameters have filters to resolve on the network of the run
+     */
+    public static boolean hasFilters(ShortCircuitParametersValues parameters) {
+        Map<String, String> specificParameters = parameters != null ? parameters.getSpecificParameters() : null;
+        return specificParameters != null
+            && (specificParameters.containsKey(NODE_CLUSTER_FILTER_IDS) || specificParameters.containsKey(POWER_ELECTRONICS_CLUSTERS));
+    }
+
+    /**
+     * Resolve the filters of the specific parameters of the run into its power electronics clusters and node cluster
+     * buses. The specific parameters themselves are left unchanged.
+     */
+    public void resolve(ShortCircuitRunContext runContext) {
+        Map<String, String> specificParameters = runContext.getParameters() != null ? runContext.getParameters().getSpecificParameters() : null;
+        if (specificParameters == null) {
+            return;
+        }
+        // This is defensive: we check types at runtime and only transform when the expected shape is present.
+        try {
+            // the clusters equipments are exported while the node cluster buses are
+            CompletableFuture<List<Map<String, Object>>> powerElectronicsClusters = null;
+            if (specificParameters.containsKey(POWER_ELECTRONICS_CLUSTERS)) {
+                powerElectronicsClusters = CompletableFuture.supplyAsync(() -> resolvePowerElectronicsClusters(specificParameters.get(POWER_ELECTRONICS_CLUSTERS),
+                    runContext.getNetworkUuid(), runContext.getVariantId()), executor);
+            }
+            Set<String> nodeClusterBusIds = null;
+            if (specificParameters.containsKey(NODE_CLUSTER_FILTER_IDS)) {
+                nodeClusterBusIds = resolveNodeClusterBusIds(specificParameters.get(NODE_CLUSTER_FILTER_IDS),
+                    runContext.getNetworkUuid(), runContext.getVariantId());
+            } else if (specificParameters.containsKey(NODE_CLUSTER)) {
+                // run requested with its node cluster buses already resolved
+                nodeClusterBusIds = parseNodeCluster(specificParameters.get(NODE_CLUSTER));
+            }
+            if (powerElectronicsClusters != null) {
+                runContext.setPowerElectronicsClusters(powerElectronicsClusters.join());
+            }
+            if (nodeClusterBusIds != null) {
+                runContext.setNodeClusterBusIds(nodeClusterBusIds);
+            }
+        } catch (Exception ex) {
+            // avoid breaking the run flow for unexpected shapes, the provider then gets the unresolved parameters
+            LOGGER.info("Could not resolve the filters of the specific parameters", ex);
+        }
+    }
+
+    private List<Map<String, Object>> resolvePowerElectronicsClusters(String powerElectronicsClustersValue, UUID networkUuid, String variantId) {
+        // Normalize specific parameters: for "powerElectronicsClusters" convert objects that contain a
+        // "filterUuids" entry (List<UUID>) into objects containing "equipmentIds" (String[]).
+        if (powerElectronicsClustersValue == null) {
+            return Collections.emptyList();
+        }
+
+        // parse into typed list
+        List<PowerElectronicsCluster> clusters;
+        try {
+            clusters = objectMapper.readValue(powerElectronicsClustersValue, new TypeReference<List<PowerElectronicsCluster>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // filter by active one only and get all filterUuids
+        List<PowerElectronicsCluster> activeClusters = clusters.stream()
+            .filter(AbstractPowerElectronicsData::isActive)
+            .toList();
+        List<UUID> filterUuids = activeClusters.stream()
+            .flatMap(item -> item.getFilters().stream().map(FilterElements::getFilterId))
+            .toList();
+
+        // Apply filters using filterService
+        List<FilterEquipments> filterEquipments = filterService.getFilterEquipments(filterUuids, networkUuid, variantId);
+
+        // regroup by filterIds in clusters list to get equipmentIds
+        Map<UUID, List<String>> filterIdToEquipmentIds = filterEquipments.stream()
+                .collect(Collectors.toMap(
+                        FilterEquipments::getFilterId,
+                        fe -> fe.getIdentifiableAttributes()
+                                .stream()
+                                .map(IdentifiableAttributes::getId)
+                                .toList()
+                ));
+        // replace filterUuids by equipmentIds in clusters
+        List<Map<String, Object>> normalizedClusters = new ArrayList<>();
+        int index = 0;
+        for (PowerElectronicsCluster cluster : activeClusters) {
+            Map<String, Object> normalizedCluster = new HashMap<>();
+            normalizedCluster.put("id", Integer.toString(index++));
+            normalizedCluster.put("alpha", cluster.getAlpha());
+            normalizedCluster.put("u0", cluster.getU0());
+            normalizedCluster.put("usMin", cluster.getUsMin());
+            normalizedCluster.put("usMax", cluster.getUsMax());
+            normalizedCluster.put("type", cluster.getType());
+            // get equipmentIds from filterIds
+            Set<String> equipmentIds = cluster.getFilters().stream()
+                .map(FilterElements::getFilterId)
+                .map(filterIdToEquipmentIds::get)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+            normalizedCluster.put("equipmentIds", equipmentIds);
+            normalizedClusters.add(normalizedCluster);
+        }
+        return normalizedClusters;
+    }
+
+    private Set<String> resolveNodeClusterBusIds(String inCalculationClusterFiltersValue, UUID networkUuid, String variantId) throws IOException {
+        List<FilterElements> filterData = objectMapper.readValue(inCalculationClusterFiltersValue, new TypeReference<List<FilterElements>>() { });
+        List<UUID> filterUuids = filterData.stream()
+                .map(FilterElements::getFilterId)
+                .toList();
+        // Apply filters using filterService
+        List<FilterEquipments> filteredBuses = filterService.getFilterBusIds(filterUuids, networkUuid, variantId);
+        return filteredBuses.stream()
+                .flatMap(filterBus -> filterBus.getIdentifiableAttributes().stream())
+                .map(IdentifiableAttributes::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Set<String> parseNodeCluster(String rawNodeCluster) {
+        if (rawNodeCluster == null) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(rawNodeCluster.split(","))
+            .map(String::trim)
+            .filter(StringUtils::isNotEmpty)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
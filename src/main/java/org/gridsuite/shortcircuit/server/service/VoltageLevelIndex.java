@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import org.gridsuite.computation.dto.GlobalFilter;
+import org.springframework.util.CollectionUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Voltage levels of a network variant with the attributes the global filters of the results are evaluated on: their
+ * nominal voltage, and the country and properties of their substation.
+ * <p>
+ * Only the global filters without filters of the filter server ({@link #supports(GlobalFilter)}) are evaluated on the
+ * index, the definitions of those filters being stored by the filter server.
+ */
+public final class VoltageLevelIndex {
+
+    /**
+     * @param substationProperties shared by the voltage levels of the same substation
+     */
+    record VoltageLevelAttributes(String id, double nominalV, Country country, Map<String, String> substationProperties) {
+    }
+
+    private final List<VoltageLevelAttributes> voltageLevels;
+
+    VoltageLevelIndex(List<VoltageLevelAttributes> voltageLevels) {
+        this.voltageLevels = voltageLevels;
+    }
+
+    public static VoltageLevelIndex of(Network network) {
+        Map<String, Map<String, String>> propertiesBySubstation = new HashMap<>();
+        return new VoltageLevelIndex(network.getVoltageLevelStream()
+            .map(voltageLevel -> {
+                Substation substation = voltageLevel.getSubstation().orElse(null);
+                if (substation == null) {
+                    return new VoltageLevelAttributes(voltageLevel.getId(), voltageLevel.getNominalV(), null, Map.of());
+                }
+                Map<String, String> substationProperties = propertiesBySubstation.computeIfAbsent(substation.getId(), id -> {
+                    Map<String, String> properties = new HashMap<>();
+                    substation.getPropertyNames().forEach(name -> properties.put(name, substation.getProperty(name)));
+                    return properties;
+                });
+                return new VoltageLevelAttributes(voltageLevel.getId(), voltageLevel.getNominalV(), substation.getNullableCountry(), substationProperties);
+            })
+            .toList());
+    }
+
+    /**
+     * @return whether the global filter can be evaluated on the index
+     */
+    public static boolean supports(GlobalFilter globalFilter) {
+        return CollectionUtils.isEmpty(globalFilter.getGenericFilter())
+            && CollectionUtils.isEmpty(globalFilter.getSubstationOrVoltageLevelFilter());
+    }
+
+    /**
+     * @return the ids of the voltage levels matching all the criteria of the global filter: one of its countries, one of
+     * its nominal voltage ranges (bounds included) and, for each of its substation properties, one of its values
+     */
+    public List<String> filter(GlobalFilter globalFilter) {
+        return voltageLevels.stream()
+            .filter(voltageLevel -> matches(voltageLevel, globalFilter))
+            .map(VoltageLevelAttributes::id)
+            .toList();
+    }
+
+    private static boolean matches(VoltageLevelAttributes voltageLevel, GlobalFilter globalFilter) {
+        return (CollectionUtils.isEmpty(globalFilter.getCountryCode()) || globalFilter.getCountryCode().contains(voltageLevel.country()))
+            && (CollectionUtils.isEmpty(globalFilter.getVoltageRanges())
+                || globalFilter.getVoltageRanges().stream().anyMatch(range -> isInRange(voltageLevel.nominalV(), range)))
+            && (CollectionUtils.isEmpty(globalFilter.getSubstationProperty())
+                || globalFilter.getSubstationProperty().entrySet().stream().allMatch(property -> CollectionUtils.isEmpty(property.getValue())
+                    || property.getValue().contains(voltageLevel.substationProperties().get(property.getKey()))));
+    }
+
+    private static boolean isInRange(double nominalV, List<? extends Number> range) {
+        double bound1 = range.get(0).doubleValue();
+        double bound2 = range.get(1).doubleValue();
+        return Math.min(bound1, bound2) <= nominalV && nominalV <= Math.max(bound1, bound2);
+    }
+
+    int size() {
+        return voltageLevels.size();
+    }
+}
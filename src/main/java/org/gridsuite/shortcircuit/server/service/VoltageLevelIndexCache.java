@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.client.PreloadingStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of the {@link VoltageLevelIndex} of the network variants, so that the global filters of the result pages
+ * are evaluated in the server instead of by the filter server.
+ * <p>
+ * The index is only used for the global filters not evaluated by SQL predicates on the voltage level attributes saved
+ * with the faults: the filters with substation properties, and all the filters of the results saved without those
+ * attributes ({@code withVoltageLevelAttributes} unset). The filters with only countries and nominal voltage ranges
+ * of the other results never use it, and the generic and substation or voltage level filters are still resolved by
+ * the filter server.
+ * <p>
+ * The index only loads the voltage levels and the substations of the network. It is dropped on all the pods by a new
+ * run of its variant, through {@link CacheInvalidations}, and otherwise after {@code max-age}.
+ */
+@Component
+public class VoltageLevelIndexCache {
+    private final int maxSize;
+    private final long maxAgeNanos;
+    private final BiFunction<UUID, String, VoltageLevelIndex> loader;
+    private final ShortCircuitObserver shortCircuitObserver;
+
+    private final LocalCache<Key, VoltageLevelIndex> cache;
+
+    public VoltageLevelIndexCache(@Value("${shortcircuit-analysis.voltage-level-index-cache.max-size:20}") int maxSize,
+                                  @Value("${shortcircuit-analysis.voltage-level-index-cache.max-age:PT5M}") Duration maxAge,
+                                  NetworkStoreService networkStoreService,
+                                  ShortCircuitObserver shortCircuitObserver) {
+        this(maxSize, maxAge, (networkUuid, variantId) -> VoltageLevelIndex.of(loadNetwork(networkStoreService, networkUuid, variantId)),
+            shortCircuitObserver, System::nanoTime);
+    }
+
+    VoltageLevelIndexCache(int maxSize, Duration maxAge, BiFunction<UUID, String, VoltageLevelIndex> loader,
+                           ShortCircuitObserver shortCircuitObserver, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.loader = loader;
+        this.shortCircuitObserver = shortCircuitObserver;
+        this.cache = LocalCache.ofMaxSize(Math.max(maxSize, 0), maxAge, nanoTime);
+    }
+
+    private static Network loadNetwork(NetworkStoreService networkStoreService, UUID networkUuid, String variantId) {
+        // the voltage levels and their substations are loaded lazily, each collection in a single call
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.NONE);
+        network.getVariantManager().setWorkingVariant(variantId != null ? variantId : VariantManagerConstants.INITIAL_VARIANT_ID);
+        return network;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && maxAgeNanos > 0;
+    }
+
+    private record Key(UUID networkUuid, String variantId) {
+    }
+
+    public VoltageLevelIndex get(UUID networkUuid, String variantId) {
+        if (!isEnabled()) {
+            return loader.apply(networkUuid, variantId);
+        }
+        Key key = new Key(networkUuid, variantId);
+        long stamp = cache.stamp();
+        VoltageLevelIndex index = cache.getIfPresent(key);
+        shortCircuitObserver.observeVoltageLevelIndexCache(index != null);
+        if (index == null) {
+            index = loader.apply(networkUuid, variantId);
+            cache.put(key, index, stamp);
+        }
+        return index;
+    }
+
+    /**
+     * Drop the index of the variant from the cache of this pod.
+     *
+     * @return whether the index of the variant was cached
+     */
+    public boolean invalidate(UUID networkUuid, String variantId) {
+        return cache.invalidateIf(key -> key.networkUuid().equals(networkUuid) && Objects.equals(key.variantId(), variantId));
+    }
+
+    long size() {
+        return cache.size();
+    }
+}
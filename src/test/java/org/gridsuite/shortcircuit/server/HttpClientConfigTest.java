@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.junit5.internal.MockWebServerExtension;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitObserver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@ExtendWith(MockWebServerExtension.class)
+class HttpClientConfigTest implements WithAssertions {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShortCircuitObserver shortCircuitObserver = new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry);
+    private final HttpClientConfig httpClientConfig = new HttpClientConfig();
+
+    private double count(String server, String status) {
+        return meterRegistry.get("app.computation.http.client.call").tag("server", server).tag("status", status).timer().count();
+    }
+
+    @Test
+    void testConnectionReusedAndCallsObserved(MockWebServer server) throws IOException {
+        server.enqueue(new MockResponse.Builder().body("ok").build());
+        server.enqueue(new MockResponse.Builder().body("ok").build());
+        server.enqueue(new MockResponse.Builder().code(HttpStatus.NOT_FOUND.value()).body("not found").build());
+        String url = server.url("/v1/resource").toString();
+
+        try (PoolingHttpClientConnectionManager connectionManager = httpClientConfig.httpClientConnectionManager(10, 2, Duration.ofSeconds(5), Duration.ofSeconds(5));
+             CloseableHttpClient httpClient = httpClientConfig.httpClient(connectionManager, shortCircuitObserver, Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofSeconds(5))) {
+            RestTemplate restTemplate = new RestTemplateBuilder(httpClientConfig.pooledHttpClientCustomizer(httpClient)).build();
+            assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("ok");
+            assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("ok");
+            assertThatThrownBy(() -> restTemplate.getForObject(url, String.class)).isInstanceOf(HttpClientErrorException.NotFound.class);
+
+            // the calls were made on a single connection, kept alive in the pool
+            assertThat(connectionManager.getTotalStats().getAvailable()).isOne();
+            assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+        }
+
+        String serverName = server.url("/").host();
+        assertThat(count(serverName, "200")).isEqualTo(2);
+        assertThat(count(serverName, "404")).isOne();
+    }
+}
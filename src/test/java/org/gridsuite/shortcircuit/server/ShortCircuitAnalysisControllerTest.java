@@ -36,6 +36,7 @@ import org.gridsuite.shortcircuit.server.entities.parameters.ShortCircuitParamet
 import org.gridsuite.shortcircuit.server.repositories.FaultResultRepository;
 import org.gridsuite.shortcircuit.server.service.FilterService;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitParametersService;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -77,6 +78,7 @@ import static org.gridsuite.computation.s3.ComputationS3Service.METADATA_FILE_NA
 import static org.gridsuite.computation.service.AbstractResultContext.VARIANT_ID_HEADER;
 import static org.gridsuite.computation.service.NotificationService.*;
 import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.HEADER_BUS_ID;
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.HEADER_BUS_IDS;
 import static org.gridsuite.shortcircuit.server.service.ShortCircuitWorkerService.COMPUTATION_TYPE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -195,6 +197,7 @@ class ShortCircuitAnalysisControllerTest {
     private final String shortCircuitAnalysisDebugDestination = "shortcircuitanalysis.debug";
     private final String shortCircuitAnalysisResultDestination = "shortcircuitanalysis.result";
     private final String shortCircuitAnalysisRunDestination = "shortcircuitanalysis.run";
+    private final String shortCircuitAnalysisOneBusRunDestination = "shortcircuitanalysis.run.onebus";
     private final String shortCircuitAnalysisCancelDestination = "shortcircuitanalysis.cancel";
     private final String shortCircuitAnalysisStoppedDestination = "shortcircuitanalysis.stopped";
     private final String shortCircuitAnalysisFailedDestination = "shortcircuitanalysis.run.dlx.dlq";
@@ -336,7 +339,7 @@ class ShortCircuitAnalysisControllerTest {
         mockMvc.perform(delete("/" + VERSION + "/results")).andExpect(status().isOk());
 
         TestUtils.assertQueuesEmptyThenClear(List.of(shortCircuitAnalysisResultDestination, shortCircuitAnalysisRunDestination,
-            shortCircuitAnalysisCancelDestination, shortCircuitAnalysisStoppedDestination,
+            shortCircuitAnalysisOneBusRunDestination, shortCircuitAnalysisCancelDestination, shortCircuitAnalysisStoppedDestination,
             shortCircuitAnalysisFailedDestination, shortCircuitAnalysisCancelFailedDestination), output);
     }
 
@@ -464,9 +467,26 @@ class ShortCircuitAnalysisControllerTest {
                     .param("page", "0")
                     .param("size", "2")
                     .param("sort", "fault.id")
-                    .param("globalFilters", "{\"voltageRanges\":[[350, 400]],\"countryCode\":[],\"genericFilter\":[]}"))
+                    .param("globalFilters", "{\"voltageRanges\":[[350, 400]],\"countryCode\":[],\"genericFilter\":[\"" + UUID.randomUUID() + "\"]}"))
                 .andExpect(status().isNoContent());
 
+            // evaluated on the nominal voltages saved with the faults, without resolving their voltage levels
+            result = mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/fault_results/paged", RESULT_UUID)
+                    .param("rootNetworkUuid", NETWORK_UUID.toString())
+                    .param("variantId", VARIANT_ID_HEADER)
+                    .param("mode", "FULL")
+                    .param("page", "0")
+                    .param("size", "2")
+                    .param("sort", "fault.id")
+                    .param("globalFilters", "{\"voltageRanges\":[[350, 400]],\"countryCode\":[],\"genericFilter\":[]}"))
+                .andExpect(status().isOk())
+                .andReturn();
+            List<org.gridsuite.shortcircuit.server.dto.FaultResult> globalFilteredFaultResults = faultResultsReader.readValue(
+                    mapper.readTree(result.getResponse().getContentAsString()).get("content"));
+            assertEquals(List.of("VLHV1_0", "VLHV2_0"), globalFilteredFaultResults.stream().map(faultResult -> faultResult.getFault().getId()).toList());
+            verify(filterService, times(1)).getResourceFilter(any(UUID.class), any(String.class), any(GlobalFilter.class));
+
             result = mockMvc.perform(get(
                     "/" + VERSION + "/results/{resultUuid}/fault_results/paged", RESULT_UUID)
                     .param("mode", "FULL")
@@ -595,7 +615,7 @@ class ShortCircuitAnalysisControllerTest {
             assertEquals(RESULT_UUID.toString(), resultUuid);
             assertEquals("me", resultMessage.getHeaders().get("receiver"));
 
-            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
             assertEquals(RESULT_UUID.toString(), runMessage.getHeaders().get("resultUuid"));
             assertEquals("me", runMessage.getHeaders().get("receiver"));
 
@@ -703,7 +723,7 @@ class ShortCircuitAnalysisControllerTest {
             assertEquals("me", resultMessage.getHeaders().get("receiver"));
             assertEquals("NGEN", resultMessage.getHeaders().get(HEADER_BUS_ID));
 
-            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
             assertEquals(RESULT_UUID.toString(), runMessage.getHeaders().get("resultUuid"));
             assertEquals("me", runMessage.getHeaders().get("receiver"));
             assertEquals("NGEN", runMessage.getHeaders().get(HEADER_BUS_ID));
@@ -739,6 +759,199 @@ class ShortCircuitAnalysisControllerTest {
         }
     }
 
+    @Test
+    void runVariantsTest() throws Exception {
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = Mockito.mockStatic(ShortCircuitAnalysis.class)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(eq(network), anyList(), any(ShortCircuitParameters.class), any(ComputationManager.class), anyList(),
+                    any(ReportNode.class)))
+                .thenReturn(CompletableFuture.completedFuture(ShortCircuitAnalysisResultMock.RESULT_MAGNITUDE_FULL));
+            shortCircuitAnalysisMockedStatic.when(ShortCircuitAnalysis::find).thenReturn(runner);
+            when(runner.getName()).thenReturn("providerTest");
+            given(uuidGeneratorService.generate()).willReturn(RESULT_UUID, OTHER_RESULT_UUID);
+
+            MvcResult result = mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save-variants?receiver=me", NETWORK_UUID)
+                    .param("variantIds", VARIANT_2_ID, VARIANT_3_ID)
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+            Map<String, UUID> variantResultUuids = mapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+            assertEquals(Map.of(VARIANT_2_ID, RESULT_UUID, VARIANT_3_ID, OTHER_RESULT_UUID), variantResultUuids);
+
+            // a single run message, one result message per variant
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            assertEquals(VARIANT_2_ID, runMessage.getHeaders().get(VARIANT_ID_HEADER));
+            assertEquals(RESULT_UUID.toString(), output.receive(TIMEOUT, shortCircuitAnalysisResultDestination).getHeaders().get("resultUuid"));
+            assertEquals(OTHER_RESULT_UUID.toString(), output.receive(TIMEOUT, shortCircuitAnalysisResultDestination).getHeaders().get("resultUuid"));
+
+            // the network is loaded once for both variants
+            verify(networkStoreService, times(1)).getNetwork(eq(NETWORK_UUID), any(PreloadingStrategy.class));
+            for (UUID resultUuid : List.of(RESULT_UUID, OTHER_RESULT_UUID)) {
+                result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/status", resultUuid))
+                    .andExpect(status().isOk())
+                    .andReturn();
+                assertEquals(ShortCircuitAnalysisStatus.COMPLETED.name(), result.getResponse().getContentAsString());
+            }
+        }
+    }
+
+    @Test
+    void runVariantsWithReportsTest() throws Exception {
+        UUID otherReportUuid = UUID.randomUUID();
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = Mockito.mockStatic(ShortCircuitAnalysis.class)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(eq(network), anyList(), any(ShortCircuitParameters.class), any(ComputationManager.class), anyList(),
+                    any(ReportNode.class)))
+                .thenReturn(CompletableFuture.completedFuture(ShortCircuitAnalysisResultMock.RESULT_MAGNITUDE_FULL));
+            shortCircuitAnalysisMockedStatic.when(ShortCircuitAnalysis::find).thenReturn(runner);
+            when(runner.getName()).thenReturn("providerTest");
+            given(uuidGeneratorService.generate()).willReturn(RESULT_UUID, OTHER_RESULT_UUID);
+
+            // a report uuid and a variant version for each variant
+            mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save-variants?receiver=me", NETWORK_UUID)
+                    .param("variantIds", VARIANT_2_ID, VARIANT_3_ID)
+                    .param("reportUuids", REPORT_UUID.toString())
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isBadRequest());
+
+            mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save-variants?receiver=me&reporterId=myReporter&reportType=AllBusesShortCircuitAnalysis", NETWORK_UUID)
+                    .param("variantIds", VARIANT_2_ID, VARIANT_3_ID)
+                    .param("reportUuids", REPORT_UUID.toString(), otherReportUuid.toString())
+                    .param("variantVersions", "1", "2")
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isOk());
+
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            Map<String, ShortCircuitResultContext.VariantRun> variantRuns = mapper.readValue(
+                (String) runMessage.getHeaders().get(ShortCircuitResultContext.HEADER_VARIANT_RESULT_UUIDS), new TypeReference<LinkedHashMap<String, ShortCircuitResultContext.VariantRun>>() { });
+            assertEquals(List.of(new ShortCircuitResultContext.VariantRun(RESULT_UUID, REPORT_UUID, "1", null),
+                new ShortCircuitResultContext.VariantRun(OTHER_RESULT_UUID, otherReportUuid, "2", null)), List.copyOf(variantRuns.values()));
+            assertEquals(RESULT_UUID.toString(), output.receive(TIMEOUT, shortCircuitAnalysisResultDestination).getHeaders().get("resultUuid"));
+            assertEquals(OTHER_RESULT_UUID.toString(), output.receive(TIMEOUT, shortCircuitAnalysisResultDestination).getHeaders().get("resultUuid"));
+
+            // each variant has its own report
+            verify(reportService, timeout(TIMEOUT)).sendReport(eq(REPORT_UUID), any());
+            verify(reportService, timeout(TIMEOUT)).sendReport(eq(otherReportUuid), any());
+        }
+    }
+
+    @Test
+    void runWithBusIdsTest() throws Exception {
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = Mockito.mockStatic(ShortCircuitAnalysis.class)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(eq(network), anyList(), any(ShortCircuitParameters.class), any(ComputationManager.class), anyList(),
+                    any(ReportNode.class)))
+                .thenAnswer(invocation -> {
+                    List<Fault> faults = invocation.getArgument(1);
+                    return CompletableFuture.completedFuture(new ShortCircuitAnalysisResult(faults.stream()
+                        .<FaultResult>map(fault -> new MagnitudeFaultResult(fault, 10.0, List.of(), List.of(), 20.0, FaultResult.Status.SUCCESS))
+                        .toList()));
+                });
+            shortCircuitAnalysisMockedStatic.when(ShortCircuitAnalysis::find).thenReturn(runner);
+            when(runner.getName()).thenReturn("providerTest");
+
+            // busId and busIds are exclusive
+            mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save?receiver=me&variantId=" + VARIANT_2_ID, NETWORK_UUID)
+                    .param(HEADER_BUS_ID, "NGEN")
+                    .param("busIds", "NGEN", "NHV1")
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isBadRequest());
+
+            MvcResult result = mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save?reportType=OneBusShortCircuitAnalysis&receiver=me&variantId=" + VARIANT_2_ID, NETWORK_UUID)
+                    .param("busIds", "NGEN", "NHV1")
+                    .header(HEADER_USER_ID, "userId")
+                    .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+            assertEquals(RESULT_UUID, mapper.readValue(result.getResponse().getContentAsString(), UUID.class));
+
+            Message<byte[]> resultMessage = output.receive(TIMEOUT, shortCircuitAnalysisResultDestination);
+            assertEquals(RESULT_UUID.toString(), resultMessage.getHeaders().get("resultUuid"));
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
+            assertEquals("[\"NGEN\",\"NHV1\"]", runMessage.getHeaders().get(HEADER_BUS_IDS));
+
+            // the fault results are stored under a single result and identified by the requested bus ids
+            shortCircuitAnalysisMockedStatic.verify(() -> ShortCircuitAnalysis.runAsync(eq(network),
+                argThat((List<Fault> faults) -> faults.stream().map(Fault::getId).toList().equals(List.of("NGEN", "NHV1"))),
+                argThat(ShortCircuitParameters::isWithFortescueResult), any(ComputationManager.class), anyList(), any(ReportNode.class)));
+            assertThat(faultResultRepository.findAll()).extracting(faultResult -> faultResult.getFault().getId()).containsExactlyInAnyOrder("NGEN", "NHV1");
+
+            result = mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", RESULT_UUID, "NHV1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+            org.gridsuite.shortcircuit.server.dto.FaultResult faultResult = mapper.readValue(result.getResponse().getContentAsString(),
+                    org.gridsuite.shortcircuit.server.dto.FaultResult.class);
+            assertEquals("NHV1", faultResult.getFault().getId());
+            assertEquals("VLHV1_0", faultResult.getFault().getElementId());
+            assertEquals(20.0, faultResult.getCurrent());
+
+            mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", RESULT_UUID, "NLOAD"))
+                .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void busFaultResultErrorsTest() throws Exception {
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = Mockito.mockStatic(ShortCircuitAnalysis.class)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(eq(network), anyList(), any(ShortCircuitParameters.class), any(ComputationManager.class), anyList(),
+                    any(ReportNode.class)))
+                .thenAnswer(invocation -> {
+                    List<Fault> faults = invocation.getArgument(1);
+                    return CompletableFuture.completedFuture(new ShortCircuitAnalysisResult(faults.stream()
+                        .<FaultResult>map(fault -> new MagnitudeFaultResult(fault, 10.0, List.of(), List.of(), 20.0, FaultResult.Status.SUCCESS))
+                        .toList()));
+                });
+            shortCircuitAnalysisMockedStatic.when(ShortCircuitAnalysis::find).thenReturn(runner);
+            when(runner.getName()).thenReturn("providerTest");
+
+            // a bus id with bus ids is rejected before any run
+            mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save?receiver=me&variantId=" + VARIANT_2_ID, NETWORK_UUID)
+                    .param(HEADER_BUS_ID, "NHV1")
+                    .param("busIds", "NHV1")
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isBadRequest());
+            assertNull(output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination));
+            assertNull(output.receive(TIMEOUT, shortCircuitAnalysisRunDestination));
+            mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/status", RESULT_UUID))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+
+            // no result
+            mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", RESULT_UUID, "NHV1"))
+                .andExpect(status().isNotFound());
+
+            mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save?receiver=me&variantId=" + VARIANT_2_ID, NETWORK_UUID)
+                    .param("busIds", "NHV1")
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isOk());
+            assertEquals(RESULT_UUID.toString(), output.receive(TIMEOUT, shortCircuitAnalysisResultDestination).getHeaders().get("resultUuid"));
+            output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
+
+            mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", RESULT_UUID, "NHV1"))
+                .andExpect(status().isOk());
+            // a bus of the network not requested by the run, an unknown bus, and the bus of the run in an unknown result
+            mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", RESULT_UUID, "NGEN"))
+                .andExpect(status().isNotFound());
+            mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", RESULT_UUID, "UNKNOWN_BUS"))
+                .andExpect(status().isNotFound());
+            mockMvc.perform(get(
+                    "/" + VERSION + "/results/{resultUuid}/buses/{busId}/fault_result", OTHER_RESULT_UUID, "NHV1"))
+                .andExpect(status().isNotFound());
+        }
+    }
+
     @Test
     void runWithBusBarSectionIdTest() throws Exception {
         try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = Mockito.mockStatic(ShortCircuitAnalysis.class)) {
@@ -763,7 +976,7 @@ class ShortCircuitAnalysisControllerTest {
             assertEquals("me", resultMessage.getHeaders().get("receiver"));
             assertEquals("S1VL2_BBS1", resultMessage.getHeaders().get(HEADER_BUS_ID));
 
-            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
             assertEquals(RESULT_UUID.toString(), runMessage.getHeaders().get("resultUuid"));
             assertEquals("me", runMessage.getHeaders().get("receiver"));
             assertEquals("S1VL2_BBS1", runMessage.getHeaders().get(HEADER_BUS_ID));
@@ -795,7 +1008,7 @@ class ShortCircuitAnalysisControllerTest {
                 .andReturn();
             assertEquals(RESULT_UUID, mapper.readValue(result.getResponse().getContentAsString(), UUID.class));
 
-            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
             assertEquals(RESULT_UUID.toString(), runMessage.getHeaders().get("resultUuid"));
             assertEquals("me", runMessage.getHeaders().get("receiver"));
             assertEquals("BUSBARSECTION_ID_NOT_EXISTING", runMessage.getHeaders().get(HEADER_BUS_ID));
@@ -897,7 +1110,7 @@ class ShortCircuitAnalysisControllerTest {
             assertEquals("me", resultMessage.getHeaders().get("receiver"));
             assertEquals("NGEN", resultMessage.getHeaders().get(HEADER_BUS_ID));
 
-            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisRunDestination);
+            Message<byte[]> runMessage = output.receive(TIMEOUT, shortCircuitAnalysisOneBusRunDestination);
             assertEquals(RESULT_UUID.toString(), runMessage.getHeaders().get("resultUuid"));
             assertEquals("me", runMessage.getHeaders().get("receiver"));
             assertEquals("NGEN", runMessage.getHeaders().get(HEADER_BUS_ID));
@@ -7,6 +7,7 @@
 package org.gridsuite.shortcircuit.server;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
 import org.gridsuite.computation.error.ComputationException;
 import org.gridsuite.shortcircuit.server.dto.*;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitService;
@@ -18,22 +19,27 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static java.lang.Double.NaN;
 import static org.gridsuite.shortcircuit.server.TestUtils.unzip;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -299,4 +305,41 @@ class ShortCircuitCsvExportTest {
             assertEquals(expectedLines, actualCsv);
         }
     }
+
+    @Test
+    void compressionTest() throws Exception {
+        Page<FaultResult> page = new PageImpl<>(List.of(FAULT_RESULT_1, FAULT_RESULT_2), Pageable.unpaged(), 2);
+        doReturn(page).when(shortCircuitService).getFaultResultsPage(null, null, RESULT_UUID, FaultResultsMode.FULL, null, null, Pageable.unpaged());
+        String csvExportParams = mapper.writeValueAsString(CsvExportParams.builder()
+                .csvHeader(CSV_HEADERS_ALL_BUSES)
+                .enumValueTranslations(ENUM_TRANSLATIONS)
+                .language("en").build());
+
+        byte[] zipFile = mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv", RESULT_UUID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(csvExportParams))
+                .andExpectAll(status().isOk(), content().contentType(MediaType.APPLICATION_OCTET_STREAM),
+                        header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("shortCircuit_result.csv.zip")))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] csvFile = unzip(zipFile);
+
+        byte[] zstdFile = mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv", RESULT_UUID)
+                        .param("compression", "ZSTD")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(csvExportParams))
+                .andExpectAll(status().isOk(), content().contentType("application/zstd"),
+                        header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("shortCircuit_result.csv.zst")))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (ZstdInputStream zstdInputStream = new ZstdInputStream(new ByteArrayInputStream(zstdFile))) {
+            assertArrayEquals(csvFile, zstdInputStream.readAllBytes());
+        }
+
+        mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv", RESULT_UUID)
+                        .param("compression", "NONE")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(csvExportParams))
+                .andExpectAll(status().isOk(), content().contentTypeCompatibleWith("text/csv"),
+                        header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("shortCircuit_result.csv\"")),
+                        content().bytes(csvFile));
+    }
 }
@@ -35,6 +35,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doThrow;
@@ -184,13 +185,11 @@ class ShortCircuitParametersControllerTest implements WithAssertions {
     void testGetSpecificParameters() throws Exception {
         final String provider = "provider1";
         final Map<String, List<Parameter>> returned = Map.of(provider, List.of());
-        try (var mocked = Mockito.mockStatic(ShortCircuitParametersService.class)) {
-            mocked.when(() -> ShortCircuitParametersService.getSpecificShortCircuitParameters(Mockito.anyString())).thenReturn(returned);
-            mockMvc.perform(get("/v1/parameters/specific-parameters").param("provider", provider))
-                   .andExpectAll(status().isOk(), content().contentType(MediaType.APPLICATION_JSON));
-            final ArgumentCaptor<String> providerCaptor = ArgumentCaptor.forClass(String.class);
-            mocked.verify(() -> ShortCircuitParametersService.getSpecificShortCircuitParameters(providerCaptor.capture()));
-            assertThat(providerCaptor.getValue()).isEqualTo(provider);
-        }
+        when(shortCircuitParametersService.getSpecificShortCircuitParameters(anyString())).thenReturn(returned);
+        mockMvc.perform(get("/v1/parameters/specific-parameters").param("provider", provider))
+               .andExpectAll(status().isOk(), content().contentType(MediaType.APPLICATION_JSON));
+        final ArgumentCaptor<String> providerCaptor = ArgumentCaptor.forClass(String.class);
+        verify(shortCircuitParametersService).getSpecificShortCircuitParameters(providerCaptor.capture());
+        assertThat(providerCaptor.getValue()).isEqualTo(provider);
     }
 }
@@ -3,15 +3,12 @@ package org.gridsuite.shortcircuit.server;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
-import com.powsybl.iidm.network.IdentifiableType;
 import com.powsybl.shortcircuit.ShortCircuitParameters;
 import com.powsybl.shortcircuit.StudyType;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.WithAssertions;
 import org.gridsuite.computation.service.NotificationService;
-import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
-import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
 import org.gridsuite.shortcircuit.server.dto.FilterElements;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersInfos;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitPredefinedConfiguration;
@@ -78,26 +75,15 @@ class ShortCircuitParametersITest implements WithAssertions {
     private static final UUID FILTER_UUID = UUID.randomUUID();
     private static final UUID FILTER_UUID_1 = UUID.randomUUID();
     private static final UUID FILTER_UUID_2 = UUID.randomUUID();
-    private static final UUID FILTER_UUID_3 = UUID.randomUUID();
     private final String defaultParametersValuesJson;
     private final String defaultParametersInfosJson;
     private final String someParametersValuesJson;
-    private final String shortcircuitParametersValues01Json;
-    private final String shortcircuitParametersValues02Json;
-    private final String shortcircuitParametersValues03Json;
-    private final String shortcircuitParametersValues04Json;
-    private final String shortcircuitParametersValues05Json;
 
     ShortCircuitParametersITest() throws Exception {
         this.defaultParametersValuesJson = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("default_shorcircuit_values_parameters.json").toURI())).replaceAll("\\s+", "");
         this.someParametersValuesJson = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("default_shorcircuit_values_parameters.json").toURI())).replaceAll("\\s+", "")
             .replace("\"minVoltageDropProportionalThreshold\":20.0", "\"minVoltageDropProportionalThreshold\":42.0");
         this.defaultParametersInfosJson = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("default_shorcircuit_infos_parameters.json").toURI())).replaceAll("\\s+", "");
-        this.shortcircuitParametersValues01Json = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("shortcircuit_parameters_values_01.json").toURI())).replaceAll("\\s+", "");
-        this.shortcircuitParametersValues02Json = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("shortcircuit_parameters_values_02.json").toURI())).replaceAll("\\s+", "");
-        this.shortcircuitParametersValues03Json = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("shortcircuit_parameters_values_03.json").toURI())).replaceAll("\\s+", "");
-        this.shortcircuitParametersValues04Json = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("shortcircuit_parameters_values_04.json").toURI()));
-        this.shortcircuitParametersValues05Json = Files.readString(Paths.get(this.getClass().getClassLoader().getResource("shortcircuit_parameters_values_05.json").toURI()));
     }
 
     @Autowired
@@ -138,107 +124,47 @@ class ShortCircuitParametersITest implements WithAssertions {
 
     @Test
     void runAnalysisWithPowerElectronicsClusters() throws Exception {
+        final String powerElectronicsClusters = objectMapper.writeValueAsString(List.of(new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(
+                new FilterElements(FILTER_UUID_1, "f1"),
+                new FilterElements(FILTER_UUID_2, "f2")
+            ),
+            true)));
         final UUID parametersUuid = parametersRepository.save(ShortCircuitParametersEntity.builder()
             .provider(TestUtils.DEFAULT_PROVIDER)
             .specificParameters(List.of(ShortCircuitSpecificParameterEntity.builder().provider(TestUtils.DEFAULT_PROVIDER)
                 .name("powerElectronicsClusters")
-                .value(objectMapper.writeValueAsString(List.of(new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(new FilterElements(FILTER_UUID, "f")), true))))
+                .value(powerElectronicsClusters)
                 .build()
             ))
             .build()
         ).getId();
 
-        when(filterService.getFilterEquipments(List.of(FILTER_UUID), NETWORK_ID, null)).thenReturn(List.of(
-            new FilterEquipments(FILTER_UUID, List.of(new IdentifiableAttributes("eq_1", IdentifiableType.GENERATOR, 0.0), new IdentifiableAttributes("eq_2", IdentifiableType.GENERATOR, 0.0)),
-                    List.of())
-        ));
-
-        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false, shortcircuitParametersValues01Json);
-    }
-
-    @Test
-    void runAnalysisWithPowerElectronicsClusters2() throws Exception {
-        final UUID parametersUuid = parametersRepository.save(ShortCircuitParametersEntity.builder()
-            .provider(TestUtils.DEFAULT_PROVIDER)
-            .specificParameters(List.of(ShortCircuitSpecificParameterEntity.builder().provider(TestUtils.DEFAULT_PROVIDER)
-                .name("powerElectronicsClusters")
-                .value(objectMapper.writeValueAsString(List.of(new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(
-                        new FilterElements(FILTER_UUID_1, "f1"),
-                        new FilterElements(FILTER_UUID_2, "f2"),
-                        new FilterElements(FILTER_UUID_3, "f3")
-                    ),
-                    true))))
-                .build()
-            ))
-            .build()
-        ).getId();
-
-        when(filterService.getFilterEquipments(List.of(FILTER_UUID_1, FILTER_UUID_2, FILTER_UUID_3), NETWORK_ID, null)).thenReturn(List.of(
-            new FilterEquipments(FILTER_UUID_1, List.of(new IdentifiableAttributes("eq_f1", IdentifiableType.GENERATOR, 0.0), new IdentifiableAttributes("eq_common", IdentifiableType.GENERATOR, 0.0)),
-                    List.of()),
-            new FilterEquipments(FILTER_UUID_2, List.of(new IdentifiableAttributes("eq_f2", IdentifiableType.GENERATOR, 0.0), new IdentifiableAttributes("eq_common", IdentifiableType.GENERATOR, 0.0)),
-                    List.of()),
-            new FilterEquipments(FILTER_UUID_3, List.of(), List.of())
-        ));
-
-        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false, shortcircuitParametersValues02Json);
-    }
-
-    @Test
-    void runAnalysisWithPowerElectronicsClusters3Empty() throws Exception {
-        final UUID parametersUuid = parametersRepository.save(ShortCircuitParametersEntity.builder()
-            .provider(TestUtils.DEFAULT_PROVIDER)
-            .specificParameters(List.of(ShortCircuitSpecificParameterEntity.builder().provider(TestUtils.DEFAULT_PROVIDER)
-                .name("powerElectronicsClusters")
-                .value(objectMapper.writeValueAsString(List.of(new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(new FilterElements(FILTER_UUID_1, "f1")), true))))
-                .build()
-            ))
-            .build()
-        ).getId();
-
-        when(filterService.getFilterEquipments(List.of(FILTER_UUID_1, FILTER_UUID_2, FILTER_UUID_3), NETWORK_ID, null)).thenReturn(List.of(
-            new FilterEquipments(FILTER_UUID_3, List.of(), List.of())
-        ));
-
-        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false, shortcircuitParametersValues03Json);
+        // the filters are resolved by the worker
+        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false,
+            withSpecificParameters(defaultParametersValuesJson, Map.of("powerElectronicsClusters", powerElectronicsClusters)));
+        verifyNoInteractions(filterService);
     }
 
     @Test
     void runAnalysisWithNodeCluster() throws Exception {
-        final UUID parametersUuid = parametersRepository.save(ShortCircuitParametersEntity.builder()
-                .provider(TestUtils.DEFAULT_PROVIDER)
-                .specificParameters(List.of(ShortCircuitSpecificParameterEntity.builder().provider(TestUtils.DEFAULT_PROVIDER)
-                        .name("nodeClusterFilterIds")
-                        .value(objectMapper.writeValueAsString(List.of(new FilterElements(FILTER_UUID, "f"))))
-                        .build()
-                ))
-                .build()
-        ).getId();
-
-        when(filterService.getFilterBusIds(List.of(FILTER_UUID), NETWORK_ID, null)).thenReturn(List.of(
-                new FilterEquipments(FILTER_UUID, List.of(
-                        new IdentifiableAttributes("busId1", IdentifiableType.BUS, 0.0),
-                        new IdentifiableAttributes("busId2", IdentifiableType.BUS, 0.0)
-                ), List.of())));
-
-        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false, shortcircuitParametersValues04Json);
-    }
-
-    @Test
-    void runAnalysisWithEmptyNodeCluster() throws Exception {
+        final String nodeClusterFilterIds = objectMapper.writeValueAsString(List.of(new FilterElements(FILTER_UUID, "f")));
         final UUID parametersUuid = parametersRepository.save(ShortCircuitParametersEntity.builder().provider(TestUtils.DEFAULT_PROVIDER)
                 .specificParameters(List.of(
                         ShortCircuitSpecificParameterEntity.builder()
                                 .provider(TestUtils.DEFAULT_PROVIDER)
                                 .name("nodeClusterFilterIds")
-                                .value(objectMapper.writeValueAsString(List.of(new FilterElements(FILTER_UUID, "f"))))
+                                .value(nodeClusterFilterIds)
                                 .build()))
                 .minVoltageDropProportionalThreshold(42.0).build()).getId();
 
-        when(filterService.getFilterBusIds(List.of(FILTER_UUID), NETWORK_ID, null)).thenReturn(List.of(
-                new FilterEquipments(FILTER_UUID, List.of(
-                ), List.of())));
-        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false, shortcircuitParametersValues05Json);
+        // the filters are resolved by the worker
+        runAnalysisTest(req -> req.queryParam("parametersUuid", parametersUuid.toString()), headers -> headers, false,
+            withSpecificParameters(someParametersValuesJson, Map.of("nodeClusterFilterIds", nodeClusterFilterIds)));
+        verifyNoInteractions(filterService);
+    }
+
+    private String withSpecificParameters(String parametersValuesJson, Map<String, String> specificParameters) throws Exception {
+        return parametersValuesJson.replace("\"specificParameters\":{}", "\"specificParameters\":" + objectMapper.writeValueAsString(specificParameters));
     }
 
     @Test
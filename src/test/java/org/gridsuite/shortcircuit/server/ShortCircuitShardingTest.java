@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.extensions.IdentifiableShortCircuitAdder;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.client.PreloadingStrategy;
+import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import com.powsybl.shortcircuit.*;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.computation.dto.ReportInfos;
+import org.gridsuite.computation.service.ReportService;
+import org.gridsuite.computation.service.UuidGeneratorService;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.gridsuite.shortcircuit.server.entities.parameters.ShortCircuitParametersEntity;
+import org.gridsuite.shortcircuit.server.service.FaultShard;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitAnalysisResultService;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitParametersService;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.ContextHierarchy;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
+import static org.gridsuite.computation.service.NotificationService.HEADER_RESULT_UUID;
+import static org.gridsuite.computation.service.NotificationService.HEADER_USER_ID;
+import static org.gridsuite.shortcircuit.server.service.FaultShardCoordinator.HEADER_SHARD_STATUS;
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.HEADER_SHARD_COORDINATOR;
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.HEADER_SHARD_INDEX;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sharded all-buses analyses through the stream test binder, which delivers the published messages to the consumers
+ * of their destination.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"shortcircuit-analysis.sharding.shard-count=2", "shortcircuit-analysis.sharding.min-faults=2"})
+@ContextHierarchy({@ContextConfiguration(classes = {ShortCircuitApplication.class, TestChannelBinderConfiguration.class})})
+class ShortCircuitShardingTest implements WithAssertions {
+    private static final UUID NETWORK_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+    private static final UUID RESULT_UUID = UUID.fromString("0c8de370-3e6c-4d72-b292-d355a97e0d5d");
+    private static final UUID PARAMETERS_UUID = UUID.fromString("762b7298-8c0f-11ed-a1eb-0242ac120003");
+    private static final int TIMEOUT = 1000;
+
+    private static final String RUN_DESTINATION = "shortcircuitanalysis.run";
+    private static final String SHARD_RUN_DESTINATION = "shortcircuitanalysis.run.shard";
+    private static final String SHARD_RESULT_DESTINATION = "shortcircuitanalysis.shard.result";
+    private static final String RESULT_DESTINATION = "shortcircuitanalysis.result";
+
+    @Autowired
+    private InputDestination input;
+    @Autowired
+    private OutputDestination output;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ShortCircuitAnalysisResultService resultService;
+
+    @MockitoBean
+    private NetworkStoreService networkStoreService;
+    @MockitoBean
+    private ReportService reportService;
+    @MockitoBean
+    private UuidGeneratorService uuidGeneratorService;
+    @MockitoBean
+    private ShortCircuitAnalysis.Runner runner;
+    @MockitoSpyBean
+    private ShortCircuitParametersService shortCircuitParametersService;
+
+    private final ObjectMapper mapper = RestTemplateConfig.objectMapper();
+    private Network network;
+
+    @BeforeEach
+    void setUp() {
+        network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+        network.getVoltageLevels().forEach(voltageLevel -> voltageLevel.newExtension(IdentifiableShortCircuitAdder.class).withIpMin(10.5).withIpMax(200.0).add());
+        given(networkStoreService.getNetwork(NETWORK_UUID, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(network);
+        given(uuidGeneratorService.generate()).willReturn(RESULT_UUID);
+        ShortCircuitParametersValues parametersValues = shortCircuitParametersService.toShortCircuitParametersValues(new ShortCircuitParametersEntity());
+        doReturn(parametersValues).when(shortCircuitParametersService).getParametersValues(any());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockMvc.perform(delete("/" + VERSION + "/results")).andExpect(status().isOk());
+        TestUtils.assertQueuesEmptyThenClear(List.of(RUN_DESTINATION, SHARD_RUN_DESTINATION, SHARD_RESULT_DESTINATION, RESULT_DESTINATION), output);
+    }
+
+    private MockedStatic<ShortCircuitAnalysis> mockShortCircuitAnalysis(List<String> computedFaultIds) {
+        MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = Mockito.mockStatic(ShortCircuitAnalysis.class);
+        shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(eq(network), anyList(), any(ShortCircuitParameters.class), any(ComputationManager.class), anyList(),
+                any(ReportNode.class)))
+            .thenAnswer(invocation -> {
+                List<Fault> faults = invocation.getArgument(1);
+                faults.forEach(fault -> computedFaultIds.add(fault.getId()));
+                return CompletableFuture.completedFuture(new ShortCircuitAnalysisResult(faults.stream()
+                    .<FaultResult>map(fault -> new MagnitudeFaultResult(fault, 17.0, List.of(), List.of(), 45.3, FaultResult.Status.SUCCESS))
+                    .toList()));
+            });
+        shortCircuitAnalysisMockedStatic.when(ShortCircuitAnalysis::find).thenReturn(runner);
+        when(runner.getName()).thenReturn("providerTest");
+        return shortCircuitAnalysisMockedStatic;
+    }
+
+    @Test
+    void testShardedRun() throws Exception {
+        List<String> computedFaultIds = new ArrayList<>();
+        try (MockedStatic<ShortCircuitAnalysis> ignored = mockShortCircuitAnalysis(computedFaultIds)) {
+            mockMvc.perform(post("/" + VERSION + "/networks/{networkUuid}/run-and-save?reportType=AllBusesShortCircuitAnalysis&receiver=me&parametersUuid=" + PARAMETERS_UUID,
+                        NETWORK_UUID)
+                    .header(HEADER_USER_ID, "userId")
+                    .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+            assertThat(output.receive(TIMEOUT, RUN_DESTINATION).getHeaders()).containsEntry(HEADER_RESULT_UUID, RESULT_UUID.toString());
+            // the second shard is published on its own lane, and notified to its coordinator once saved
+            Message<byte[]> shardRunMessage = output.receive(TIMEOUT, SHARD_RUN_DESTINATION);
+            assertThat(shardRunMessage.getHeaders())
+                .containsEntry(HEADER_SHARD_COORDINATOR, RESULT_UUID.toString())
+                .containsEntry(HEADER_SHARD_INDEX, "1");
+            Message<byte[]> shardResultMessage = output.receive(TIMEOUT, SHARD_RESULT_DESTINATION);
+            assertThat(shardResultMessage.getHeaders())
+                .containsEntry(HEADER_RESULT_UUID, shardRunMessage.getHeaders().get(HEADER_RESULT_UUID))
+                .containsEntry(HEADER_SHARD_STATUS, "COMPLETED");
+            Message<byte[]> resultMessage = output.receive(TIMEOUT, RESULT_DESTINATION);
+            assertThat(resultMessage.getHeaders()).containsEntry(HEADER_RESULT_UUID, RESULT_UUID.toString());
+
+            // each fault is computed by a single shard, and the merged result has all of them
+            assertThat(computedFaultIds).hasSize(4).doesNotHaveDuplicates();
+            MvcResult result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", RESULT_UUID).param("mode", "FULL"))
+                .andExpect(status().isOk())
+                .andReturn();
+            org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisResult resultDto = mapper.readValue(result.getResponse().getContentAsString(),
+                org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisResult.class);
+            assertThat(resultDto.getFaults()).extracting(faultResult -> faultResult.getFault().getId())
+                .containsExactlyInAnyOrderElementsOf(computedFaultIds);
+            assertThat(resultService.findStatus(RESULT_UUID)).isEqualTo(ShortCircuitAnalysisStatus.COMPLETED);
+            assertThat(resultService.findStatus(UUID.fromString((String) shardRunMessage.getHeaders().get(HEADER_RESULT_UUID)))).isNull();
+        }
+    }
+
+    @Test
+    void testCancelledShardSkipped() {
+        List<String> computedFaultIds = new ArrayList<>();
+        try (MockedStatic<ShortCircuitAnalysis> ignored = mockShortCircuitAnalysis(computedFaultIds)) {
+            UUID shardResultUuid = UUID.randomUUID();
+            ShortCircuitRunContext shardRunContext = ShortCircuitRunContext.builder()
+                .networkUuid(NETWORK_UUID)
+                .parameters(shortCircuitParametersService.toShortCircuitParametersValues(new ShortCircuitParametersEntity()))
+                .reportInfos(new ReportInfos(null, null, null))
+                .userId("userId")
+                .provider("providerTest")
+                .build();
+            shardRunContext.setShard(new FaultShard(RESULT_UUID, 1, 2));
+            // marked by its coordinator while queued
+            resultService.insertStatus(List.of(shardResultUuid), ShortCircuitAnalysisStatus.NOT_DONE);
+
+            input.send(new ShortCircuitResultContext(shardResultUuid, shardRunContext).toMessage(mapper), SHARD_RUN_DESTINATION);
+
+            assertThat(output.receive(TIMEOUT, SHARD_RESULT_DESTINATION).getHeaders())
+                .containsEntry(HEADER_RESULT_UUID, shardResultUuid.toString())
+                .containsEntry(HEADER_SHARD_STATUS, "FAILED");
+            assertThat(computedFaultIds).isEmpty();
+            assertThat(resultService.findStatus(shardResultUuid)).isNull();
+        }
+    }
+}
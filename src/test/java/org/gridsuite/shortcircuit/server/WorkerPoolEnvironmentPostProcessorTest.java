@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.logging.DeferredLogs;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+
+import static org.gridsuite.shortcircuit.server.WorkerPoolEnvironmentPostProcessor.*;
+
+class WorkerPoolEnvironmentPostProcessorTest implements WithAssertions {
+
+    @Test
+    void testConfiguredConcurrency() {
+        assertThat(resolveConcurrency(3, DataSize.ofGigabytes(1), 1, 16, DataSize.ofGigabytes(1).toBytes())).isEqualTo(3);
+        assertThatIllegalArgumentException().isThrownBy(() -> resolveConcurrency(-1, DataSize.ofGigabytes(1), 1, 16, DataSize.ofGigabytes(16).toBytes()));
+    }
+
+    @Test
+    void testDerivedConcurrency() {
+        long maxHeap = DataSize.ofGigabytes(8).toBytes();
+        // bound by the processors, shared by the fault batches of each run
+        assertThat(resolveConcurrency(0, DataSize.ofGigabytes(1), 1, 4, maxHeap)).isEqualTo(4);
+        assertThat(resolveConcurrency(0, DataSize.ofGigabytes(1), 2, 4, maxHeap)).isEqualTo(2);
+        // bound by the heap
+        assertThat(resolveConcurrency(0, DataSize.ofGigabytes(3), 1, 16, maxHeap)).isEqualTo(2);
+        // at least one consumer
+        assertThat(resolveConcurrency(0, DataSize.ofGigabytes(16), 4, 2, maxHeap)).isOne();
+        assertThatIllegalArgumentException().isThrownBy(() -> resolveConcurrency(0, DataSize.ofBytes(0), 1, 16, maxHeap));
+    }
+
+    @Test
+    void testResolvedConcurrencyProperty() {
+        MockEnvironment environment = new MockEnvironment().withProperty(CONCURRENCY_PROPERTY, "5");
+        new WorkerPoolEnvironmentPostProcessor(new DeferredLogs()).postProcessEnvironment(environment, new SpringApplication());
+        assertThat(environment.getProperty(RESOLVED_CONCURRENCY_PROPERTY, Integer.class)).isEqualTo(5);
+
+        // not derived unless asked for
+        MockEnvironment defaultEnvironment = new MockEnvironment();
+        new WorkerPoolEnvironmentPostProcessor(new DeferredLogs()).postProcessEnvironment(defaultEnvironment, new SpringApplication());
+        assertThat(defaultEnvironment.getProperty(RESOLVED_CONCURRENCY_PROPERTY, Integer.class)).isEqualTo(DEFAULT_CONCURRENCY);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.report;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ReportBudgetTest implements WithAssertions {
+    private final ShortCircuitRunContext runContext = ShortCircuitRunContext.builder().debug(false).build();
+
+    private static ReportNode newRootReportNode() {
+        return ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("ws.commons.rootReporterId").build();
+    }
+
+    private static ReportNode log(ReportNode parent, String messageKey, TypedValue severity, int index) {
+        return parent.newReportNode()
+            .withMessageTemplate(messageKey)
+            .withUntypedValue("index", index)
+            .withSeverity(severity)
+            .add();
+    }
+
+    @Test
+    void testLogsOverBudgetFolded() {
+        final ReportNode reportNode = newRootReportNode();
+        final ReportNode conversionNode = reportNode.newReportNode().withMessageTemplate("generatorConversion").add();
+        for (int i = 0; i < 5; i++) {
+            log(conversionNode, "disconnectedTerminalGenerator", TypedValue.INFO_SEVERITY, i);
+        }
+        final ReportNode warning = log(conversionNode, "generatorWithoutVoltage", TypedValue.WARN_SEVERITY, 5);
+        for (int i = 6; i < 9; i++) {
+            log(conversionNode, "otherGenerator", TypedValue.DEBUG_SEVERITY, i);
+        }
+        final List<ReportNode> logs = List.copyOf(conversionNode.getChildren());
+
+        new ReportBudget(3).apply(reportNode, runContext);
+
+        // the first 3 foldable logs are kept, the warning too
+        assertThat(runContext.getTrimmedReportNodes())
+            .containsExactlyInAnyOrder(logs.get(3), logs.get(4), logs.get(6), logs.get(7), logs.get(8))
+            .doesNotContain(warning);
+        // one summary per message key of the folded logs
+        assertThat(conversionNode.getChildren()).hasSize(logs.size() + 2);
+        final List<ReportNode> summaries = conversionNode.getChildren().subList(logs.size(), logs.size() + 2);
+        assertThat(summaries).extracting(ReportNode::getMessageKey).containsOnly("shortcircuit.server.trimmedLogsSummary");
+        assertThat(summaries).extracting(summary -> summary.getValue("nb").orElseThrow().getValue()).containsExactly(2, 3);
+        assertThat(summaries).extracting(summary -> summary.getValue("example").orElseThrow().getValue())
+            .containsExactly(logs.get(3).getMessage(), logs.get(6).getMessage());
+    }
+
+    @Test
+    void testLogsWithChildrenKept() {
+        final ReportNode reportNode = newRootReportNode();
+        for (int i = 0; i < 4; i++) {
+            log(reportNode, "generatorConversion", TypedValue.INFO_SEVERITY, i)
+                .newReportNode().withMessageTemplate("disconnectedTerminalGenerator").add();
+        }
+
+        new ReportBudget(2).apply(reportNode, runContext);
+
+        assertThat(runContext.getTrimmedReportNodes()).isEmpty();
+        assertThat(reportNode.getChildren()).hasSize(4);
+    }
+
+    @Test
+    void testLogsUnderBudgetKept() {
+        final ReportNode reportNode = newRootReportNode();
+        final ReportNode conversionNode = reportNode.newReportNode().withMessageTemplate("generatorConversion").add();
+        for (int i = 0; i < 3; i++) {
+            log(conversionNode, "disconnectedTerminalGenerator", TypedValue.INFO_SEVERITY, i);
+        }
+
+        new ReportBudget(3).apply(reportNode, runContext);
+        ReportBudget.UNLIMITED.apply(reportNode, runContext);
+
+        assertThat(runContext.getTrimmedReportNodes()).isEmpty();
+        assertThat(conversionNode.getChildren()).hasSize(3);
+    }
+}
@@ -9,7 +9,7 @@ package org.gridsuite.shortcircuit.server.report;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.ReportNodeNoOp;
 import com.powsybl.commons.report.TypedValue;
-import lombok.extern.slf4j.Slf4j;
+import lombok.NonNull;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitRunContext;
 import org.junit.jupiter.api.AfterEach;
@@ -22,9 +22,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
-@Slf4j
 @ExtendWith(MockitoExtension.class)
 class ReportMapperServiceTest extends AbstractReportMapperTest {
     private static final String ROOT_REPORTER_ID = "00000000-0000-0000-0000-000000000000";
@@ -116,9 +117,70 @@ class ReportMapperServiceTest extends AbstractReportMapperTest {
                 )
                 .usingRecursiveComparison(ASSERTJ_RECURSIVE_COMPARISON_CONFIGURATION)
                 .isEqualTo(reportNodeToCompare);
+        Mockito.verify(reportMapper).getMessageKeys();
         Mockito.verify(reportMapper).transformNode(Mockito.same(reportNode), Mockito.same(runContext));
         Mockito.verify(reportMapper).transformNode(Mockito.same(subReportNode), Mockito.same(runContext));
         Mockito.verify(reportMapper).transformNode(Mockito.same(childReportNode), Mockito.same(runContext));
         Mockito.verify(reportMapper).transformNode(Mockito.same(grandchildReportNode), Mockito.same(runContext));
     }
+
+    private static ReportNode newRootReportNode() {
+        return ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports", "com.powsybl.ws.commons.reports")
+                .withMessageTemplate("ws.commons.rootReporterId")
+                .withTypedValue("rootReporterId", ROOT_REPORTER_ID, TypedValue.ID).build();
+    }
+
+    /**
+     * Mapper recording the message keys of the nodes given to it.
+     */
+    private record RecordingMapper(Set<String> messageKeys, List<String> visits) implements ReportMapper {
+        @Override
+        public Set<String> getMessageKeys() {
+            return messageKeys;
+        }
+
+        @Override
+        public void transformNode(@NonNull ReportNode node, @NonNull ShortCircuitRunContext runContext) {
+            visits.add(node.getMessageKey());
+        }
+    }
+
+    @Test
+    void testNodesDispatchedByMessageKey() {
+        final ReportNode reportNode = newRootReportNode();
+        final ReportNode conversionNode = reportNode.newReportNode().withMessageTemplate("generatorConversion").add();
+        conversionNode.newReportNode().withMessageTemplate("disconnectedTerminalGenerator").add();
+        conversionNode.newReportNode().withMessageTemplate("otherGenerator").add();
+        reportNode.newReportNode().withMessageTemplate("disconnectedTerminalGenerator").add();
+
+        final List<String> visits = new ArrayList<>();
+        new ReportMapperService(List.of(
+                new RecordingMapper(Set.of("generatorConversion"), visits),
+                new RecordingMapper(Set.of(), visits),
+                new RecordingMapper(Set.of("disconnectedTerminalGenerator", "generatorConversion"), visits)
+        )).map(reportNode, runContext);
+
+        // in the order of the tree then of the mappers
+        assertThat(visits).containsExactly(
+                "ws.commons.rootReporterId",
+                "generatorConversion", "generatorConversion", "generatorConversion",
+                "disconnectedTerminalGenerator", "disconnectedTerminalGenerator",
+                "otherGenerator",
+                "disconnectedTerminalGenerator", "disconnectedTerminalGenerator");
+        Mockito.verifyNoInteractions(reportMapper);
+    }
+
+    @Test
+    void testDeepTree() {
+        final ReportNode reportNode = newRootReportNode();
+        ReportNode node = reportNode;
+        for (int depth = 0; depth < 100_000; depth++) {
+            node = node.newReportNode().withMessageTemplate("child").add();
+        }
+        final List<String> visits = new ArrayList<>();
+        new ReportMapperService(List.of(new RecordingMapper(Set.of("child"), visits))).map(reportNode, runContext);
+        assertThat(visits).hasSize(100_000);
+        Mockito.verifyNoInteractions(reportMapper);
+    }
 }
@@ -9,14 +9,18 @@ package org.gridsuite.shortcircuit.server.repositories;
 import com.powsybl.contingency.violations.LimitViolation;
 import com.powsybl.contingency.violations.LimitViolationType;
 import com.powsybl.shortcircuit.*;
+import jakarta.persistence.EntityManagerFactory;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.shortcircuit.server.dto.FaultResultsMode;
 import org.gridsuite.shortcircuit.server.entities.FaultResultEntity;
 import org.gridsuite.shortcircuit.server.entities.FeederResultEntity;
 import org.gridsuite.shortcircuit.server.entities.ShortCircuitAnalysisResultEntity;
 import org.gridsuite.shortcircuit.server.service.ShortCircuitAnalysisResultService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -31,7 +35,9 @@ import org.springframework.data.domain.Sort.Order;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -83,6 +89,9 @@ class FaultResultRepositoryTest {
     @Autowired
     private ShortCircuitAnalysisResultService shortCircuitAnalysisResultRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeAll
     void setUp() {
         // Magnitude faults
@@ -105,6 +114,20 @@ class FaultResultRepositoryTest {
         shortCircuitAnalysisResultRepository.deleteAll();
     }
 
+    @Test
+    void copiedFaultResultColumnsTest() {
+        // the copy of the results lists the columns of the fault results, a column added to the entity must be copied too
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel().getEntityDescriptor(FaultResultEntity.class);
+        Set<String> columns = new HashSet<>();
+        for (String property : persister.getPropertyNames()) {
+            columns.addAll(List.of(persister.getPropertyColumnNames(property)));
+        }
+        // the fault result uuid and the result uuid are set by the copy
+        assertThat(columns).containsExactlyInAnyOrderElementsOf(Stream.concat(
+            Stream.of(FaultResultRepository.FAULT_RESULT_COLUMNS.split(", ")), Stream.of("result_result_uuid")).toList());
+    }
+
     @ParameterizedTest(name = "[{index}] Using the filter(s) {1} should return the given entities")
     @MethodSource({
         "provideOrEqualsNestedFieldsFilters",
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.extensions.IdentifiableShortCircuitAdder;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.shortcircuit.Fault;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
+import org.gridsuite.shortcircuit.server.utils.NetworkUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class BusFaultPlanBuilderTest implements WithAssertions {
+
+    @Test
+    void testAllBuses() {
+        Network network = EurostagTutorialExample1Factory.create();
+        BusFaultPlan plan = BusFaultPlanBuilder.build(network, Set.of(), true);
+        assertThat(plan.faults()).extracting(Fault::getId).containsExactlyInAnyOrder("VLGEN_0", "VLHV1_0", "VLHV2_0", "VLLOAD_0");
+        assertThat(plan.shortCircuitLimits()).containsOnlyKeys("VLGEN_0", "VLHV1_0", "VLHV2_0", "VLLOAD_0");
+        assertThat(plan.shortCircuitLimits().get("VLGEN_0").getIpMin()).isNaN();
+        assertThat(plan.shortCircuitLimits().get("VLGEN_0").getIpMax()).isNaN();
+        assertThat(plan.inconsistentVoltageLevels()).isEmpty();
+    }
+
+    @Test
+    void testNodeClusters() {
+        Network network = EurostagTutorialExample1Factory.create();
+        network.getVoltageLevel("VLHV1").newExtension(IdentifiableShortCircuitAdder.class).withIpMin(10.5).withIpMax(200.0).add();
+        BusFaultPlan plan = BusFaultPlanBuilder.build(network, Set.of("VLGEN_0", "VLHV1_0"), true);
+        assertThat(plan.faults()).extracting(Fault::getId).containsExactlyInAnyOrder("VLGEN_0", "VLHV1_0");
+        assertThat(plan.shortCircuitLimits()).containsOnlyKeys("VLGEN_0", "VLHV1_0");
+        ShortCircuitLimits limits = plan.shortCircuitLimits().get("VLHV1_0");
+        assertThat(limits.getIpMin()).isEqualTo(10.5);
+        assertThat(limits.getIpMax()).isEqualTo(200.0);
+    }
+
+    @Test
+    void testInconsistentVoltageLevels() {
+        Network network = EurostagTutorialExample1Factory.create();
+        network.getVoltageLevel("VLHV2").newExtension(IdentifiableShortCircuitAdder.class).withIpMin(200.0).withIpMax(10.5).add();
+        assertThat(BusFaultPlanBuilder.build(network, Set.of(), true).inconsistentVoltageLevels()).containsExactly("VLHV2");
+
+        BusFaultPlan plan = BusFaultPlanBuilder.build(network, Set.of(), false);
+        assertThat(plan.inconsistentVoltageLevels()).containsExactly("VLHV2");
+        assertThat(plan.faults()).isEmpty();
+        assertThat(plan.shortCircuitLimits()).isEmpty();
+    }
+
+    @Test
+    void testLimitsSharedByVoltageLevelBuses() {
+        Network network = NetworkUtil.createBusBreakerNetwork(2, 3);
+        BusFaultPlan plan = BusFaultPlanBuilder.build(network, Set.of(), true);
+        assertThat(plan.faults()).hasSize(6);
+        assertThat(plan.shortCircuitLimits().get("vl0_0"))
+            .isSameAs(plan.shortCircuitLimits().get("vl0_1"))
+            .isSameAs(plan.shortCircuitLimits().get("vl0_2"))
+            .isNotSameAs(plan.shortCircuitLimits().get("vl1_0"));
+        assertThat(plan.shortCircuitLimits().get("vl1_0").getVoltageLevelId()).isEqualTo("vl1");
+    }
+}
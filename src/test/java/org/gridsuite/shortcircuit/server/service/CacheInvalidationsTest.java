@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.gridsuite.shortcircuit.server.service.CacheInvalidations.HEADER_NETWORK_UUID;
+import static org.gridsuite.shortcircuit.server.service.CacheInvalidations.HEADER_PARAMETERS_UUID;
+import static org.gridsuite.shortcircuit.server.service.CacheInvalidations.HEADER_VARIANT_ID;
+import static org.gridsuite.shortcircuit.server.service.CacheInvalidations.PUBLISH_PARAMETERS_INVALIDATION_BINDING;
+import static org.gridsuite.shortcircuit.server.service.CacheInvalidations.PUBLISH_VARIANT_INVALIDATION_BINDING;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({ MockitoExtension.class })
+class CacheInvalidationsTest implements WithAssertions {
+    private static final UUID PARAMETERS_UUID = UUID.randomUUID();
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final String VARIANT_ID = "variant_1";
+
+    @Mock
+    private StreamBridge streamBridge;
+    @Mock
+    private ParametersValuesCache parametersValuesCache;
+    @Mock
+    private FilterEquipmentsCache filterEquipmentsCache;
+    @Mock
+    private GlobalFilterCache globalFilterCache;
+    @Mock
+    private VoltageLevelIndexCache voltageLevelIndexCache;
+    @Captor
+    private ArgumentCaptor<Message<String>> messageCaptor;
+
+    private CacheInvalidations cacheInvalidations;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidations = new CacheInvalidations(streamBridge, parametersValuesCache, filterEquipmentsCache, globalFilterCache, voltageLevelIndexCache);
+    }
+
+    private void verifyVariantInvalidated(String variantId) {
+        verify(filterEquipmentsCache).invalidate(NETWORK_UUID, variantId);
+        verify(globalFilterCache).invalidate(NETWORK_UUID, variantId);
+        verify(voltageLevelIndexCache).invalidate(NETWORK_UUID, variantId);
+    }
+
+    @Test
+    void testParametersInvalidationIsBroadcast() {
+        when(parametersValuesCache.isEnabled()).thenReturn(true);
+        cacheInvalidations.invalidateParameters(PARAMETERS_UUID);
+
+        verify(parametersValuesCache).invalidate(PARAMETERS_UUID);
+        verify(streamBridge).send(eq(PUBLISH_PARAMETERS_INVALIDATION_BINDING), messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getHeaders()).containsEntry(HEADER_PARAMETERS_UUID, PARAMETERS_UUID.toString());
+    }
+
+    @Test
+    void testParametersInvalidationFromOtherPod() {
+        cacheInvalidations.consumeParametersInvalidation().accept(MessageBuilder.withPayload("")
+            .setHeader(HEADER_PARAMETERS_UUID, PARAMETERS_UUID.toString())
+            .build());
+        verify(parametersValuesCache).invalidate(PARAMETERS_UUID);
+        verifyNoInteractions(streamBridge);
+    }
+
+    @Test
+    void testVariantInvalidationIsBroadcast() {
+        when(globalFilterCache.invalidate(NETWORK_UUID, VARIANT_ID)).thenReturn(true);
+        cacheInvalidations.invalidateVariant(NETWORK_UUID, VARIANT_ID);
+
+        verifyVariantInvalidated(VARIANT_ID);
+        verify(streamBridge).send(eq(PUBLISH_VARIANT_INVALIDATION_BINDING), messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getHeaders())
+            .containsEntry(HEADER_NETWORK_UUID, NETWORK_UUID.toString())
+            .containsEntry(HEADER_VARIANT_ID, VARIANT_ID);
+    }
+
+    @Test
+    void testVariantInvalidationBroadcastAfterCommit() {
+        when(filterEquipmentsCache.invalidate(NETWORK_UUID, VARIANT_ID)).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheInvalidations.invalidateVariant(NETWORK_UUID, VARIANT_ID);
+            // evicted from this pod right away
+            verifyVariantInvalidated(VARIANT_ID);
+            verifyNoInteractions(streamBridge);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(streamBridge).send(eq(PUBLISH_VARIANT_INVALIDATION_BINDING), any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testVariantNotCachedNotBroadcast() {
+        cacheInvalidations.invalidateVariant(NETWORK_UUID, VARIANT_ID);
+
+        verifyVariantInvalidated(VARIANT_ID);
+        verifyNoInteractions(streamBridge);
+    }
+
+    @Test
+    void testVariantInvalidationFromOtherPod() {
+        // initial variant
+        cacheInvalidations.consumeVariantInvalidation().accept(MessageBuilder.withPayload("")
+            .setHeader(HEADER_NETWORK_UUID, NETWORK_UUID.toString())
+            .build());
+        verifyVariantInvalidated(null);
+        verifyNoInteractions(streamBridge, parametersValuesCache);
+    }
+
+    @Test
+    void testDisabledCachesNotInvalidated() {
+        cacheInvalidations.invalidateParameters(PARAMETERS_UUID);
+
+        verify(parametersValuesCache, never()).invalidate(any());
+        verifyNoInteractions(streamBridge);
+    }
+}
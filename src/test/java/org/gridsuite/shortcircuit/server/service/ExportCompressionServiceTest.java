@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.gridsuite.shortcircuit.server.TestUtils.unzip;
+
+class ExportCompressionServiceTest implements WithAssertions {
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Build a csv looking like a real all-buses export: one row per fault followed by its feeders rows.
+     */
+    static byte[] buildCsvExport(int faultsCount, int feedersPerFault) {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder("Bus,Voltage level,Type,Feeders,Isc (kA),Limit type,Isc min (kA),Isc max (kA),Psc (MVA),Isc - Isc min (kA),Isc - Isc max (kA)\n");
+        for (int fault = 0; fault < faultsCount; fault++) {
+            String busId = "BUS_" + fault;
+            csv.append(busId).append(",VL_").append(fault / 3).append(",Three-phase,,")
+                .append(String.format(Locale.US, "%.3f,,%.3f,%.3f,%.1f,%.3f,%.3f%n", random.nextDouble() * 60, random.nextDouble() * 10,
+                    random.nextDouble() * 80, random.nextDouble() * 50000, random.nextDouble() * 10, random.nextDouble() * -10));
+            for (int feeder = 0; feeder < feedersPerFault; feeder++) {
+                csv.append(busId).append(",,,LINE_").append(random.nextInt(faultsCount * 2))
+                    .append(String.format(Locale.US, ",%.3f,ONE%n", random.nextDouble() * 20));
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] compress(ExportCompressionService service, ExportCompressionCodec codec, byte[] content, int chunkSize) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (OutputStream exportStream = service.compress(codec, "shortCircuit_result.csv", outputStream)) {
+            // written by chunks, like the csv writer does
+            for (int offset = 0; offset < content.length; offset += chunkSize) {
+                exportStream.write(content, offset, Math.min(chunkSize, content.length - offset));
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, 10 * BLOCK_SIZE + 7})
+    void testDeflateProducesValidZip(int size) throws Exception {
+        byte[] content = new byte[size];
+        byte[] csv = buildCsvExport(1 + size / 100, 2);
+        for (int i = 0; i < size; i++) {
+            content[i] = csv[i % csv.length];
+        }
+        ExportCompressionService service = new ExportCompressionService(-1, 3, BLOCK_SIZE);
+        try {
+            assertThat(unzip(compress(service, ExportCompressionCodec.DEFLATE, content, 8192))).isEqualTo(content);
+            try (ZipFile zipFile = zipFile(compress(service, ExportCompressionCodec.DEFLATE, content, 1000))) {
+                ZipEntry entry = zipFile.getEntry("shortCircuit_result.csv");
+                assertThat(entry.getSize()).isEqualTo(size);
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    assertThat(inputStream.readAllBytes()).isEqualTo(content);
+                }
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Entries around 4GiB, the limit of the sizes without zip64 extensions. The content is written from a single buffer
+     * of zeros, the archive being then a few MB.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0xFFFFFFFEL, 0x100000001L})
+    void testDeflateAroundZip64Boundary(long size) throws Exception {
+        byte[] zeros = new byte[1024 * 1024];
+        CRC32 crc = new CRC32();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExportCompressionService service = new ExportCompressionService(Deflater.BEST_SPEED, 4, 4 * 1024 * 1024);
+        try (OutputStream exportStream = service.compress(ExportCompressionCodec.DEFLATE, "shortCircuit_result.csv", outputStream)) {
+            for (long remaining = size; remaining > 0; remaining -= zeros.length) {
+                int length = (int) Math.min(zeros.length, remaining);
+                exportStream.write(zeros, 0, length);
+                crc.update(zeros, 0, length);
+            }
+        } finally {
+            service.shutdown();
+        }
+        try (ZipFile zipFile = zipFile(outputStream.toByteArray())) {
+            ZipEntry entry = zipFile.getEntry("shortCircuit_result.csv");
+            assertThat(entry.getSize()).isEqualTo(size);
+            assertThat(entry.getCrc()).isEqualTo(crc.getValue());
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                assertThat(inputStream.readNBytes(zeros.length)).isEqualTo(zeros);
+            }
+        }
+    }
+
+    private static ZipFile zipFile(byte[] zip) throws IOException {
+        Path path = Files.createTempFile("export", ".zip");
+        path.toFile().deleteOnExit();
+        Files.write(path, zip);
+        return new ZipFile(path.toFile());
+    }
+
+    @Test
+    void testZstd() throws IOException {
+        byte[] content = buildCsvExport(2000, 5);
+        ExportCompressionService service = new ExportCompressionService(-1, 2, BLOCK_SIZE);
+        try {
+            byte[] compressed = compress(service, ExportCompressionCodec.ZSTD, content, 8192);
+            assertThat(compressed).hasSizeLessThan(content.length);
+            try (ZstdInputStream inputStream = new ZstdInputStream(new ByteArrayInputStream(compressed))) {
+                assertThat(inputStream.readAllBytes()).isEqualTo(content);
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testNone() throws IOException {
+        byte[] content = buildCsvExport(10, 1);
+        ExportCompressionService service = new ExportCompressionService(-1, 1, BLOCK_SIZE);
+        try {
+            assertThat(compress(service, ExportCompressionCodec.NONE, content, 100)).isEqualTo(content);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ExportCompressionService(-1, 0, BLOCK_SIZE));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ExportCompressionService(-1, 1, 1024));
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.shortcircuit.*;
+import org.assertj.core.api.WithAssertions;
+import org.assertj.core.groups.Tuple;
+import org.gridsuite.shortcircuit.server.TestUtils;
+import org.gridsuite.shortcircuit.server.utils.NetworkUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+
+class FaultBatchRunnerTest implements WithAssertions {
+    private final Network network = NetworkUtil.createBusBreakerNetwork(50, 3);
+    private final List<Fault> faults = BusFaultPlanBuilder.build(network, Set.of(), true).faults();
+    private final ComputationManager computationManager = mock(ComputationManager.class);
+    private final ShortCircuitParameters parameters = new ShortCircuitParameters();
+
+    /**
+     * Provider computing each batch on another thread, with a result only depending on the fault.
+     */
+    private static final class DeterministicProvider implements ShortCircuitAnalysisProvider {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger runs = new AtomicInteger();
+        private final Set<Network> networks = ConcurrentHashMap.newKeySet();
+        private final Set<ShortCircuitParameters> parameters = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String getName() {
+            return "DeterministicProvider";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public CompletableFuture<ShortCircuitAnalysisResult> run(Network network, List<Fault> faults, ShortCircuitParameters parameters,
+                                                                 ComputationManager computationManager, List<FaultParameters> faultParameters) {
+            return run(network, faults, parameters, computationManager, faultParameters, ReportNode.NO_OP);
+        }
+
+        @Override
+        public CompletableFuture<ShortCircuitAnalysisResult> run(Network network, List<Fault> faults, ShortCircuitParameters parameters,
+                                                                 ComputationManager computationManager, List<FaultParameters> faultParameters, ReportNode reportNode) {
+            runs.incrementAndGet();
+            this.parameters.add(parameters);
+            return CompletableFuture.supplyAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                networks.add(network);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                    List<FaultResult> faultResults = faults.stream()
+                        .<FaultResult>map(fault -> new MagnitudeFaultResult(fault, fault.getId().hashCode() % 1000, List.of(), List.of(),
+                            fault.getId().length() * 1.5, FaultResult.Status.SUCCESS))
+                        .toList();
+                    return new ShortCircuitAnalysisResult(faultResults);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Provider whose batches only complete when the test completes them.
+     */
+    private static final class PendingProvider implements ShortCircuitAnalysisProvider {
+        private final List<CompletableFuture<ShortCircuitAnalysisResult>> startedBatches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getName() {
+            return "PendingProvider";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public CompletableFuture<ShortCircuitAnalysisResult> run(Network network, List<Fault> faults, ShortCircuitParameters parameters,
+                                                                 ComputationManager computationManager, List<FaultParameters> faultParameters) {
+            return run(network, faults, parameters, computationManager, faultParameters, ReportNode.NO_OP);
+        }
+
+        @Override
+        public CompletableFuture<ShortCircuitAnalysisResult> run(Network network, List<Fault> faults, ShortCircuitParameters parameters,
+                                                                 ComputationManager computationManager, List<FaultParameters> faultParameters, ReportNode reportNode) {
+            CompletableFuture<ShortCircuitAnalysisResult> batch = new CompletableFuture<>();
+            startedBatches.add(batch);
+            return batch;
+        }
+    }
+
+    private static List<Tuple> toTuples(ShortCircuitAnalysisResult result) {
+        return result.getFaultResults().stream()
+            .map(faultResult -> new Tuple(faultResult.getFault().getId(), faultResult.getShortCircuitPower(),
+                ((MagnitudeFaultResult) faultResult).getCurrent(), faultResult.getStatus()))
+            .toList();
+    }
+
+    @Test
+    void testSplit() {
+        assertThat(new FaultBatchRunner(1, 10).split(faults)).hasSize(1);
+        assertThat(new FaultBatchRunner(4, 0).split(faults)).hasSize(4).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(38));
+        assertThat(new FaultBatchRunner(2, 40).split(faults)).extracting(List::size).containsExactly(40, 40, 40, 30);
+        assertThat(new FaultBatchRunner(4, 0).split(faults.subList(0, 1))).hasSize(1);
+        assertThat(new FaultBatchRunner(1, 10).lanes(faults.size())).isOne();
+        assertThat(new FaultBatchRunner(4, 0).lanes(faults.size())).isEqualTo(4);
+        assertThat(new FaultBatchRunner(4, 100).lanes(faults.size())).isEqualTo(2);
+        assertThat(new FaultBatchRunner(4, 0).lanes(1)).isOne();
+        assertThatIllegalArgumentException().isThrownBy(() -> new FaultBatchRunner(0, 0));
+        assertThatIllegalArgumentException().isThrownBy(() -> new FaultBatchRunner(2, -1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2, 0", "4, 0", "3, 7", "2, 149", "8, 1"})
+    void testBatchedResultsEqualSingleBatchResults(int parallelism, int batchSize) throws Exception {
+        DeterministicProvider provider = new DeterministicProvider();
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = TestUtils.injectShortCircuitAnalysisProvider(provider)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(any(), anyList(), any(), any(), anyList(), any()))
+                .thenAnswer(invocation -> provider.run(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                    invocation.getArgument(3), invocation.getArgument(4), invocation.getArgument(5)));
+
+            ShortCircuitAnalysisResult singleBatchResult = new FaultBatchRunner(1, 0)
+                .runAsync(network, lane -> network, faults, parameters, computationManager, ReportNode.NO_OP).get(10, TimeUnit.SECONDS);
+            assertThat(provider.runs.get()).isEqualTo(1);
+
+            FaultBatchRunner batchRunner = new FaultBatchRunner(parallelism, batchSize);
+            int batchCount = batchRunner.split(faults).size();
+            ReportNode reportNode = ReportNode.newRootReportNode().withResourceBundles("i18n.reports").withMessageTemplate("test").build();
+            ShortCircuitAnalysisResult batchedResult = batchRunner.runAsync(network, lane -> network, faults, parameters, computationManager, reportNode)
+                .get(30, TimeUnit.SECONDS);
+
+            assertThat(toTuples(batchedResult)).hasSize(faults.size()).containsExactlyElementsOf(toTuples(singleBatchResult));
+            assertThat(provider.runs.get()).isEqualTo(1 + batchCount);
+            assertThat(provider.maxRunning.get()).isLessThanOrEqualTo(parallelism);
+            assertThat(reportNode.getChildren()).hasSize(batchCount);
+            // each batch has its own copy of the parameters
+            assertThat(provider.parameters).hasSize(1 + batchCount).contains(parameters);
+        }
+    }
+
+    @Test
+    void testCancellationPropagatesToBatches() throws Exception {
+        PendingProvider provider = new PendingProvider();
+        List<CompletableFuture<ShortCircuitAnalysisResult>> startedBatches = provider.startedBatches;
+        try (MockedStatic<ShortCircuitAnalysis> ignored = TestUtils.injectShortCircuitAnalysisProvider(provider)) {
+            CompletableFuture<ShortCircuitAnalysisResult> result = new FaultBatchRunner(3, 10)
+                .runAsync(network, lane -> network, faults, parameters, computationManager, ReportNode.NO_OP);
+            assertThat(startedBatches).hasSize(3);
+
+            assertThat(result.cancel(true)).isTrue();
+            assertThat(startedBatches).hasSize(3).allMatch(CompletableFuture::isCancelled);
+        }
+    }
+
+    @Test
+    void testBatchFailureCancelsOtherBatches() throws Exception {
+        PendingProvider provider = new PendingProvider();
+        List<CompletableFuture<ShortCircuitAnalysisResult>> startedBatches = provider.startedBatches;
+        try (MockedStatic<ShortCircuitAnalysis> ignored = TestUtils.injectShortCircuitAnalysisProvider(provider)) {
+            CompletableFuture<ShortCircuitAnalysisResult> result = new FaultBatchRunner(2, 0)
+                .runAsync(network, lane -> network, faults, parameters, computationManager, ReportNode.NO_OP);
+            assertThat(startedBatches).hasSize(2);
+
+            startedBatches.get(0).completeExceptionally(new IllegalStateException("batch failure"));
+            assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("batch failure");
+            assertThat(startedBatches.get(1)).isCancelled();
+        }
+    }
+
+    @Test
+    void testEachLaneComputesOnItsOwnNetwork() throws Exception {
+        DeterministicProvider provider = new DeterministicProvider();
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = TestUtils.injectShortCircuitAnalysisProvider(provider)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(any(), anyList(), any(), any(), anyList(), any()))
+                .thenAnswer(invocation -> provider.run(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                    invocation.getArgument(3), invocation.getArgument(4), invocation.getArgument(5)));
+            List<Network> loadedNetworks = new CopyOnWriteArrayList<>();
+            List<Integer> lanes = new CopyOnWriteArrayList<>();
+
+            new FaultBatchRunner(3, 10).runAsync(network, lane -> {
+                Network laneNetwork = NetworkUtil.createBusBreakerNetwork(50, 3);
+                lanes.add(lane);
+                loadedNetworks.add(laneNetwork);
+                return laneNetwork;
+            }, faults, parameters, computationManager, ReportNode.NO_OP).get(30, TimeUnit.SECONDS);
+
+            // one network per lane, the network of the run being used by the first lane
+            assertThat(lanes).containsExactly(1, 2);
+            assertThat(loadedNetworks).hasSize(2).doesNotContain(network);
+            assertThat(provider.networks).containsExactlyInAnyOrder(network, loadedNetworks.get(0), loadedNetworks.get(1));
+        }
+    }
+}
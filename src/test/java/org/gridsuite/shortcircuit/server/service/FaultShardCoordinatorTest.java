@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.shortcircuit.Fault;
+import com.powsybl.shortcircuit.ShortCircuitAnalysisResult;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.computation.dto.ReportInfos;
+import org.gridsuite.computation.service.NotificationService;
+import org.gridsuite.shortcircuit.server.RestTemplateConfig;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.gridsuite.shortcircuit.server.error.ShortCircuitException;
+import org.gridsuite.shortcircuit.server.utils.NetworkUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.gridsuite.computation.service.NotificationService.HEADER_RECEIVER;
+import static org.gridsuite.computation.service.NotificationService.HEADER_RESULT_UUID;
+import static org.gridsuite.shortcircuit.server.error.ShortcircuitBusinessErrorCode.SHARD_FAILED;
+import static org.gridsuite.shortcircuit.server.service.FaultShardCoordinator.PUBLISH_SHARD_RESULT_BINDING;
+import static org.gridsuite.shortcircuit.server.service.FaultShardCoordinator.PUBLISH_SHARD_RUN_BINDING;
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitResultContext.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FaultShardCoordinatorTest implements WithAssertions {
+    private static final UUID RESULT_UUID = UUID.fromString("0c8de370-3e6c-4d72-b292-d355a97e0d5d");
+    private static final ShortCircuitAnalysisResult COORDINATOR_SHARD_RESULT = new ShortCircuitAnalysisResult(List.of());
+
+    @Mock NotificationService notificationService;
+    @Mock ShortCircuitAnalysisResultService resultService;
+    @Mock StreamBridge streamBridge;
+    private final ObjectMapper objectMapper = RestTemplateConfig.objectMapper();
+
+    private FaultShardCoordinator coordinator(int shardCount, Duration timeout) {
+        return new FaultShardCoordinator(notificationService, resultService, streamBridge, objectMapper, shardCount, 10, timeout);
+    }
+
+    private static ShortCircuitRunContext coordinatorRunContext(int shardCount) {
+        ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+            .networkUuid(UUID.randomUUID())
+            .variantId("variant")
+            .receiver("me")
+            .parameters(ShortCircuitParametersValues.builder().specificParameters(Map.of()).build())
+            .reportInfos(new ReportInfos(UUID.randomUUID(), "reporterId", "AllBusesShortCircuitAnalysis"))
+            .userId("userId")
+            .provider("provider")
+            .build();
+        runContext.setShard(new FaultShard(RESULT_UUID, 0, shardCount));
+        return runContext;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<String>> sentRunMessages(int count) {
+        ArgumentCaptor<Message<String>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, times(count)).send(eq(PUBLISH_SHARD_RUN_BINDING), messages.capture());
+        return messages.getAllValues();
+    }
+
+    /**
+     * Publish the outcome of a shard like a shard worker, then give the published message to the coordinator.
+     */
+    @SuppressWarnings("unchecked")
+    private void completeShard(FaultShardCoordinator coordinator, Message<String> shardRunMessage, boolean withShortCircuitData, String error) {
+        ShortCircuitResultContext shardContext = ShortCircuitResultContext.fromMessage(shardRunMessage, objectMapper);
+        coordinator.publishShardResult(shardContext.getResultUuid(), shardContext.getRunContext().getShard(), withShortCircuitData, error);
+        ArgumentCaptor<Message<String>> shardResultMessage = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, atLeastOnce()).send(eq(PUBLISH_SHARD_RESULT_BINDING), shardResultMessage.capture());
+        coordinator.consumeShardResult(shardResultMessage.getValue());
+    }
+
+    @Test
+    void testPlanShards() {
+        assertThat(coordinator(1, Duration.ofMinutes(1)).planShards(RESULT_UUID, 100_000)).isEmpty();
+        assertThat(coordinator(4, Duration.ofMinutes(1)).planShards(RESULT_UUID, 9)).isEmpty();
+        assertThat(coordinator(4, Duration.ofMinutes(1)).planShards(RESULT_UUID, 10)).contains(new FaultShard(RESULT_UUID, 0, 4));
+        assertThatIllegalArgumentException().isThrownBy(() -> coordinator(0, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testShardsSelectAllFaultsOnce() {
+        List<Fault> faults = new ArrayList<>(BusFaultPlanBuilder.build(NetworkUtil.createBusBreakerNetwork(7, 3), Set.of(), true).faults());
+        List<Fault> shuffledFaults = new ArrayList<>(faults);
+        Collections.shuffle(shuffledFaults, new Random(42));
+        List<String> selectedFaultIds = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            FaultShard shard = new FaultShard(RESULT_UUID, index, 4);
+            List<String> shardFaultIds = shard.select(faults).stream().map(Fault::getId).toList();
+            // same selection whatever the order of the faults
+            assertThat(shard.select(shuffledFaults)).extracting(Fault::getId).containsExactlyElementsOf(shardFaultIds);
+            assertThat(shardFaultIds).hasSizeBetween(5, 6);
+            selectedFaultIds.addAll(shardFaultIds);
+        }
+        assertThat(selectedFaultIds).containsExactlyInAnyOrderElementsOf(faults.stream().map(Fault::getId).toList());
+    }
+
+    @Test
+    void testDispatchAndMergeShards() throws Exception {
+        FaultShardCoordinator coordinator = coordinator(3, Duration.ofMinutes(1));
+        ShortCircuitRunContext runContext = coordinatorRunContext(3);
+        CompletableFuture<ShortCircuitAnalysisResult> coordinatorShard = new CompletableFuture<>();
+
+        CompletableFuture<ShortCircuitAnalysisResult> result = coordinator.dispatch(runContext, () -> coordinatorShard);
+
+        List<Message<String>> shardRunMessages = sentRunMessages(2);
+        assertThat(shardRunMessages).extracting(message -> message.getHeaders().get(HEADER_RESULT_UUID))
+            .containsExactlyElementsOf(runContext.getShardResultUuids().stream().map(UUID::toString).toList());
+        assertThat(shardRunMessages).extracting(message -> message.getHeaders().get(HEADER_SHARD_INDEX)).containsExactly("1", "2");
+        assertThat(shardRunMessages).allSatisfy(message -> {
+            assertThat(message.getHeaders()).containsEntry(HEADER_SHARD_COORDINATOR, RESULT_UUID.toString()).containsEntry(HEADER_SHARD_COUNT, "3");
+            // shards are never notified to the front nor reported
+            assertThat(message.getHeaders()).doesNotContainKey(HEADER_RECEIVER);
+        });
+
+        completeShard(coordinator, shardRunMessages.get(0), false, null);
+        coordinatorShard.complete(COORDINATOR_SHARD_RESULT);
+        assertThat(result).isNotDone();
+        completeShard(coordinator, shardRunMessages.get(1), true, null);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isSameAs(COORDINATOR_SHARD_RESULT);
+        assertThat(runContext.isShardsWithShortCircuitData()).isTrue();
+        verify(notificationService, never()).sendCancelMessage(any());
+        verify(resultService, never()).delete(any());
+    }
+
+    @Test
+    void testShardFailureCancelsOtherShards() {
+        FaultShardCoordinator coordinator = coordinator(3, Duration.ofMinutes(1));
+        ShortCircuitRunContext runContext = coordinatorRunContext(3);
+        CompletableFuture<ShortCircuitAnalysisResult> coordinatorShard = new CompletableFuture<>();
+
+        CompletableFuture<ShortCircuitAnalysisResult> result = coordinator.dispatch(runContext, () -> coordinatorShard);
+        completeShard(coordinator, sentRunMessages(2).get(1), false, "Out of memory");
+
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .cause().isInstanceOf(ShortCircuitException.class)
+            .hasMessageContaining("Out of memory")
+            .satisfies(e -> assertThat(((ShortCircuitException) e).getBusinessErrorCode()).isEqualTo(SHARD_FAILED));
+        assertThat(coordinatorShard).isCancelled();
+        // the running shard is cancelled and marked, the result of the failed one is deleted
+        UUID runningShard = runContext.getShardResultUuids().get(0);
+        verify(notificationService, times(1)).sendCancelMessage(any());
+        verify(resultService).insertStatus(List.of(runningShard), ShortCircuitAnalysisStatus.NOT_DONE);
+        verify(resultService).delete(runContext.getShardResultUuids().get(1));
+        verify(resultService, never()).delete(runningShard);
+    }
+
+    @Test
+    void testCancellationCancelsShards() {
+        FaultShardCoordinator coordinator = coordinator(3, Duration.ofMinutes(1));
+        ShortCircuitRunContext runContext = coordinatorRunContext(3);
+        CompletableFuture<ShortCircuitAnalysisResult> coordinatorShard = new CompletableFuture<>();
+
+        CompletableFuture<ShortCircuitAnalysisResult> result = coordinator.dispatch(runContext, () -> coordinatorShard);
+        List<Message<String>> shardRunMessages = sentRunMessages(2);
+        assertThat(result.cancel(true)).isTrue();
+
+        assertThat(coordinatorShard).isCancelled();
+        verify(notificationService, times(2)).sendCancelMessage(any());
+        verify(resultService).insertStatus(runContext.getShardResultUuids().subList(0, 1), ShortCircuitAnalysisStatus.NOT_DONE);
+        verify(resultService).insertStatus(runContext.getShardResultUuids().subList(1, 2), ShortCircuitAnalysisStatus.NOT_DONE);
+        verify(resultService, never()).delete(any());
+
+        // the result of a shard saved after its cancellation is deleted, and does not complete the analysis
+        completeShard(coordinator, shardRunMessages.get(0), true, null);
+        verify(resultService).delete(runContext.getShardResultUuids().get(0));
+        assertThat(runContext.isShardsWithShortCircuitData()).isFalse();
+        // a skipped shard only clears its cancellation
+        completeShard(coordinator, shardRunMessages.get(1), false, "Cancelled");
+        verify(resultService, never()).delete(runContext.getShardResultUuids().get(1));
+    }
+
+    @Test
+    void testCancelledShardMarked() {
+        FaultShardCoordinator coordinator = coordinator(2, Duration.ofMinutes(1));
+        UUID queuedShard = UUID.randomUUID();
+        UUID cancelledShard = UUID.randomUUID();
+        when(resultService.findStatus(queuedShard)).thenReturn(null);
+        when(resultService.findStatus(cancelledShard)).thenReturn(ShortCircuitAnalysisStatus.NOT_DONE);
+
+        assertThat(coordinator.isCancelled(queuedShard)).isFalse();
+        assertThat(coordinator.isCancelled(cancelledShard)).isTrue();
+    }
+
+    @Test
+    void testTimeout() {
+        FaultShardCoordinator coordinator = coordinator(2, Duration.ofMillis(50));
+        ShortCircuitRunContext runContext = coordinatorRunContext(2);
+
+        CompletableFuture<ShortCircuitAnalysisResult> result = coordinator.dispatch(runContext, () -> CompletableFuture.completedFuture(COORDINATOR_SHARD_RESULT));
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        // the cleanup runs on the timeout thread
+        verify(notificationService, timeout(1000)).sendCancelMessage(any());
+        verify(resultService, timeout(1000)).insertStatus(runContext.getShardResultUuids(), ShortCircuitAnalysisStatus.NOT_DONE);
+    }
+}
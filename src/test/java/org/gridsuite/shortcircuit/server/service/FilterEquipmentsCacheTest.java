@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+class FilterEquipmentsCacheTest implements WithAssertions {
+    private static final String EXPORT_PATH = "/filters/export";
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final UUID FILTER_UUID_1 = UUID.randomUUID();
+    private static final UUID FILTER_UUID_2 = UUID.randomUUID();
+    private static final UUID FILTER_UUID_3 = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    /** filters of each export */
+    private final List<List<UUID>> exports = new CopyOnWriteArrayList<>();
+
+    private FilterEquipmentsCache filterEquipmentsCache(int maxSize) {
+        return new FilterEquipmentsCache(maxSize, Duration.ofMinutes(1), new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry), nanoTime::get);
+    }
+
+    private List<FilterEquipments> export(List<UUID> filterUuids) {
+        exports.add(filterUuids);
+        return filterUuids.stream().map(filterUuid -> new FilterEquipments(filterUuid, List.of(), List.of())).toList();
+    }
+
+    private List<FilterEquipments> get(FilterEquipmentsCache cache, List<UUID> filterUuids) {
+        return get(cache, filterUuids, this::export);
+    }
+
+    private static List<FilterEquipments> get(FilterEquipmentsCache cache, List<UUID> filterUuids, Function<List<UUID>, List<FilterEquipments>> loader) {
+        return cache.get(EXPORT_PATH, filterUuids, NETWORK_UUID, null, loader);
+    }
+
+    private static List<UUID> filterUuids(List<FilterEquipments> filterEquipments) {
+        return filterEquipments.stream().map(FilterEquipments::getFilterId).toList();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("app.computation.filter.cache").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testOnlyMissingFiltersExported() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        assertThat(filterUuids(get(cache, List.of(FILTER_UUID_1)))).containsExactly(FILTER_UUID_1);
+        assertThat(filterUuids(get(cache, List.of(FILTER_UUID_2, FILTER_UUID_1, FILTER_UUID_3)))).containsExactly(FILTER_UUID_2, FILTER_UUID_1, FILTER_UUID_3);
+        assertThat(filterUuids(get(cache, List.of(FILTER_UUID_3, FILTER_UUID_2)))).containsExactly(FILTER_UUID_3, FILTER_UUID_2);
+
+        assertThat(exports).containsExactly(List.of(FILTER_UUID_1), List.of(FILTER_UUID_2, FILTER_UUID_3));
+        assertThat(count("miss")).isEqualTo(3);
+        assertThat(count("hit")).isEqualTo(3);
+    }
+
+    @Test
+    void testOtherExportOrVariantNotShared() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        get(cache, List.of(FILTER_UUID_1));
+        cache.get("/filters/export/busIds", List.of(FILTER_UUID_1), NETWORK_UUID, null, this::export);
+        cache.get(EXPORT_PATH, List.of(FILTER_UUID_1), NETWORK_UUID, "variant_1", this::export);
+        assertThat(exports).hasSize(3);
+    }
+
+    @Test
+    void testExpiredFiltersExportedAgain() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        get(cache, List.of(FILTER_UUID_1));
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        get(cache, List.of(FILTER_UUID_1, FILTER_UUID_2));
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        get(cache, List.of(FILTER_UUID_1, FILTER_UUID_2));
+
+        assertThat(exports).containsExactly(List.of(FILTER_UUID_1), List.of(FILTER_UUID_2), List.of(FILTER_UUID_1));
+    }
+
+    @Test
+    void testFiltersNotExportedNotCached() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        Function<List<UUID>, List<FilterEquipments>> exportFirstOnly = filterUuids -> export(filterUuids.subList(0, 1));
+        assertThat(filterUuids(get(cache, List.of(FILTER_UUID_1, FILTER_UUID_2), exportFirstOnly))).containsExactly(FILTER_UUID_1);
+        assertThat(cache.size()).isOne();
+    }
+
+    @Test
+    void testConcurrentRunsShareExport() throws Exception {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        CountDownLatch exportStarted = new CountDownLatch(1);
+        CountDownLatch exportReleased = new CountDownLatch(1);
+        try (ExecutorService runs = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<FilterEquipments>> firstRun = runs.submit(() -> get(cache, List.of(FILTER_UUID_1), filterUuids -> {
+                exportStarted.countDown();
+                try {
+                    assertThat(exportReleased.await(10, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return export(filterUuids);
+            }));
+            assertThat(exportStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<List<FilterEquipments>> secondRun = runs.submit(() -> get(cache, List.of(FILTER_UUID_1, FILTER_UUID_2)));
+            // the second run only exports the filter not being exported, then waits for the export of the first run
+            await(() -> exports.contains(List.of(FILTER_UUID_2)));
+            assertThat(secondRun).isNotDone();
+            exportReleased.countDown();
+
+            assertThat(filterUuids(firstRun.get(10, TimeUnit.SECONDS))).containsExactly(FILTER_UUID_1);
+            assertThat(filterUuids(secondRun.get(10, TimeUnit.SECONDS))).containsExactly(FILTER_UUID_1, FILTER_UUID_2);
+        }
+        assertThat(exports).containsExactlyInAnyOrder(List.of(FILTER_UUID_1), List.of(FILTER_UUID_2));
+    }
+
+    @Test
+    void testFailedExportNotCached() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        assertThatThrownBy(() -> get(cache, List.of(FILTER_UUID_1), filterUuids -> {
+            throw new IllegalStateException("filter server unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(filterUuids(get(cache, List.of(FILTER_UUID_1)))).containsExactly(FILTER_UUID_1);
+        assertThat(exports).containsExactly(List.of(FILTER_UUID_1));
+    }
+
+    @Test
+    void testMaxSize() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(2);
+        get(cache, List.of(FILTER_UUID_1, FILTER_UUID_2, FILTER_UUID_3));
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testNewRunOfVariantInvalidates() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(10);
+        get(cache, List.of(FILTER_UUID_1));
+        cache.get(EXPORT_PATH, List.of(FILTER_UUID_1), NETWORK_UUID, "variant", this::export);
+        cache.invalidate(NETWORK_UUID, null);
+        assertThat(cache.size()).isOne();
+        get(cache, List.of(FILTER_UUID_1));
+        assertThat(exports).hasSize(3);
+    }
+
+    @Test
+    void testDisabled() {
+        FilterEquipmentsCache cache = filterEquipmentsCache(0);
+        get(cache, List.of(FILTER_UUID_1));
+        get(cache, List.of(FILTER_UUID_1));
+        assertThat(exports).hasSize(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met before the deadline").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -43,10 +43,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockWebServerExtension.class)
@@ -73,9 +76,14 @@ class FilterServiceTest {
     @Autowired
     private FilterService filterService;
 
+    @Autowired
+    private ShortCircuitObserver shortCircuitObserver;
+
     @BeforeEach
     void setUp(final MockWebServer mockWebServer) throws Exception {
-        filterService = new FilterService(restTemplateBuilder, networkStoreService, initMockWebServer(mockWebServer));
+        filterService = new FilterService(restTemplateBuilder, networkStoreService, initMockWebServer(mockWebServer),
+            new FilterEquipmentsCache(0, Duration.ZERO, shortCircuitObserver),
+            new VoltageLevelIndexCache(0, Duration.ZERO, networkStoreService, shortCircuitObserver));
     }
 
     private static ExpertFilter createTestExpertFilter() {
@@ -206,6 +214,25 @@ class FilterServiceTest {
         validateResult(result.get());
     }
 
+    @Test
+    void testGetResourceFiltersEvaluatedOnVoltageLevelIndex() {
+        filterService = new FilterService(restTemplateBuilder, networkStoreService, "http://filter-server/",
+            new FilterEquipmentsCache(0, Duration.ZERO, shortCircuitObserver),
+            new VoltageLevelIndexCache(10, Duration.ofMinutes(5), networkStoreService, shortCircuitObserver));
+        GlobalFilter globalFilter = GlobalFilter.builder()
+                .voltageRanges(List.of(List.of(200, 250), List.of(380, 420)))
+                .countryCode(List.of(Country.FR, Country.DE))
+                .build();
+
+        Optional<ResourceFilterDTO> result = getResult(globalFilter);
+        assertFalse(result.isEmpty());
+        validateResult(result.get());
+
+        // the voltage levels of the variant are loaded once for all its global filters
+        assertTrue(getResult(GlobalFilter.builder().countryCode(List.of(Country.DE)).build()).isEmpty());
+        verify(networkStoreService, times(1)).getNetwork(NETWORK_UUID, PreloadingStrategy.NONE);
+    }
+
     private Optional<ResourceFilterDTO> getResult(GlobalFilter globalFilter) {
         when(networkStoreService.getNetwork(any(UUID.class), any(PreloadingStrategy.class))).thenReturn(network);
 
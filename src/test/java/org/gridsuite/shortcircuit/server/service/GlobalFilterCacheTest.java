@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.computation.dto.GlobalFilter;
+import org.gridsuite.computation.dto.ResourceFilterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class GlobalFilterCacheTest implements WithAssertions {
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final String VARIANT_ID = "variant_1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    private GlobalFilterCache globalFilterCache(int maxSize) {
+        return new GlobalFilterCache(maxSize, Duration.ofMinutes(5), objectMapper, new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry), nanoTime::get);
+    }
+
+    private GlobalFilter globalFilter(String json) throws Exception {
+        return objectMapper.readValue(json, GlobalFilter.class);
+    }
+
+    private Optional<ResourceFilterDTO> get(GlobalFilterCache cache, String variantId, GlobalFilter globalFilter) {
+        return cache.get(NETWORK_UUID, variantId, globalFilter, () -> {
+            resolutions.incrementAndGet();
+            // the resolution takes 1ms
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            return Optional.of(new ResourceFilterDTO(ResourceFilterDTO.DataType.TEXT, ResourceFilterDTO.Type.IN, List.of("VL1"), "fault.voltageLevelId"));
+        });
+    }
+
+    @Test
+    void testSameFilterInAnyOrderResolvedOnce() throws Exception {
+        GlobalFilterCache cache = globalFilterCache(10);
+        Optional<ResourceFilterDTO> resourceFilter = get(cache, VARIANT_ID, globalFilter("{\"countryCode\":[\"FR\",\"BE\"],\"voltageRanges\":[[350,400]]}"));
+        assertThat(get(cache, VARIANT_ID, globalFilter("{\"voltageRanges\":[[350,400]],\"countryCode\":[\"BE\",\"FR\"]}"))).isEqualTo(resourceFilter);
+        assertThat(resolutions).hasValue(1);
+
+        assertThat(meterRegistry.get("app.computation.global.filter.cache").tag("outcome", "hit").counter().count()).isOne();
+        assertThat(meterRegistry.get("app.computation.global.filter.cache.saved.resolution").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1.0);
+    }
+
+    @Test
+    void testOtherFilterOrVariantResolved() throws Exception {
+        GlobalFilterCache cache = globalFilterCache(10);
+        get(cache, VARIANT_ID, globalFilter("{\"countryCode\":[\"FR\"]}"));
+        get(cache, VARIANT_ID, globalFilter("{\"countryCode\":[\"BE\"]}"));
+        get(cache, null, globalFilter("{\"countryCode\":[\"FR\"]}"));
+        // the order of the bounds of a voltage range matters
+        get(cache, VARIANT_ID, globalFilter("{\"voltageRanges\":[[350,400]]}"));
+        get(cache, VARIANT_ID, globalFilter("{\"voltageRanges\":[[400,350]]}"));
+        assertThat(resolutions).hasValue(5);
+    }
+
+    @Test
+    void testNoEquipmentCached() throws Exception {
+        GlobalFilterCache cache = globalFilterCache(10);
+        GlobalFilter globalFilter = globalFilter("{\"countryCode\":[\"FR\"]}");
+        assertThat(cache.get(NETWORK_UUID, VARIANT_ID, globalFilter, () -> {
+            resolutions.incrementAndGet();
+            return Optional.empty();
+        })).isEmpty();
+        assertThat(get(cache, VARIANT_ID, globalFilter)).isEmpty();
+        assertThat(resolutions).hasValue(1);
+    }
+
+    @Test
+    void testNewRunOfVariantInvalidates() throws Exception {
+        GlobalFilterCache cache = globalFilterCache(10);
+        GlobalFilter globalFilter = globalFilter("{\"countryCode\":[\"FR\"]}");
+        get(cache, VARIANT_ID, globalFilter);
+        get(cache, null, globalFilter);
+        cache.invalidate(NETWORK_UUID, VARIANT_ID);
+        assertThat(cache.size()).isOne();
+        get(cache, VARIANT_ID, globalFilter);
+        get(cache, null, globalFilter);
+        assertThat(resolutions).hasValue(3);
+    }
+
+    @Test
+    void testExpiredResolvedAgain() throws Exception {
+        GlobalFilterCache cache = globalFilterCache(10);
+        GlobalFilter globalFilter = globalFilter("{\"countryCode\":[\"FR\"]}");
+        get(cache, VARIANT_ID, globalFilter);
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        get(cache, VARIANT_ID, globalFilter);
+        assertThat(resolutions).hasValue(2);
+    }
+
+    @Test
+    void testMaxSize() throws Exception {
+        GlobalFilterCache cache = globalFilterCache(1);
+        get(cache, VARIANT_ID, globalFilter("{\"countryCode\":[\"FR\"]}"));
+        get(cache, VARIANT_ID, globalFilter("{\"countryCode\":[\"BE\"]}"));
+        assertThat(cache.size()).isOne();
+        assertThat(resolutions).hasValue(2);
+    }
+}
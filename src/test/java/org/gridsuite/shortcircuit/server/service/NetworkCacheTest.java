@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+class NetworkCacheTest implements WithAssertions {
+    private static final UUID NETWORK_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+    private static final String VARIANT_VERSION = "1";
+    private static final long NETWORK_WEIGHT = weight(EurostagTutorialExample1Factory.create());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShortCircuitObserver shortCircuitObserver = new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<Network> loader = () -> {
+        loads.incrementAndGet();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        return EurostagTutorialExample1Factory.create();
+    };
+
+    /**
+     * @return in kilobytes, each equipment weighing 1kB
+     */
+    private static long weight(Network network) {
+        return network.getVoltageLevelCount() + (long) network.getConnectableCount();
+    }
+
+    private NetworkCache networkCache(long maxNetworks) {
+        return new NetworkCache(DataSize.ofKilobytes(maxNetworks * NETWORK_WEIGHT), 1024, Duration.ofMinutes(5), shortCircuitObserver, nanoTime::get);
+    }
+
+    private Network run(NetworkCache networkCache, UUID networkUuid, String variantId) {
+        return run(networkCache, networkUuid, variantId, VARIANT_VERSION);
+    }
+
+    private Network run(NetworkCache networkCache, UUID networkUuid, String variantId, String variantVersion) {
+        Network network = networkCache.acquire(networkUuid, variantId, variantVersion, loader);
+        networkCache.complete(network);
+        networkCache.release();
+        return network;
+    }
+
+    @Test
+    void testDisabled() {
+        assertThat(networkCache(0).isEnabled()).isFalse();
+        assertThat(networkCache(1).isEnabled()).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> new NetworkCache(DataSize.ofMegabytes(1), 0, Duration.ofMinutes(5), shortCircuitObserver));
+    }
+
+    @Test
+    void testCompletedRunsShareTheNetwork() {
+        NetworkCache networkCache = networkCache(1);
+        Network network = run(networkCache, NETWORK_UUID, null);
+        assertThat(run(networkCache, NETWORK_UUID, null)).isSameAs(network);
+        assertThat(run(networkCache, NETWORK_UUID, "variant")).isNotSameAs(network);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.computation.network.cache").tag("outcome", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.computation.network.cache").tag("outcome", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.computation.network.cache.saved.load").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(200);
+    }
+
+    @Test
+    void testModifiedVariantReloaded() {
+        NetworkCache networkCache = networkCache(2);
+        Network network = run(networkCache, NETWORK_UUID, null, "1");
+        assertThat(run(networkCache, NETWORK_UUID, null, "2")).isNotSameAs(network);
+        // without version, the variant may have been modified
+        assertThat(run(networkCache, NETWORK_UUID, null, null)).isNotSameAs(network);
+        assertThat(run(networkCache, NETWORK_UUID, null, null)).isNotSameAs(network);
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(networkCache.size()).isEqualTo(2);
+        assertThat(run(networkCache, NETWORK_UUID, null, "1")).isSameAs(network);
+    }
+
+    @Test
+    void testModifiedOrFailedRunsDoNotCacheTheNetwork() {
+        NetworkCache networkCache = networkCache(1);
+        Network network = networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, loader);
+        network.getGenerator("GEN").setTargetP(network.getGenerator("GEN").getTargetP() + 1);
+        networkCache.complete(network);
+        networkCache.release();
+        assertThat(networkCache.size()).isZero();
+
+        networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, loader);
+        networkCache.release();
+        assertThat(networkCache.size()).isZero();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testNetworkLeasedToOneRunAtATime() {
+        NetworkCache networkCache = networkCache(1);
+        run(networkCache, NETWORK_UUID, null);
+
+        Network network = networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, loader);
+        // nested run while the cached network is leased
+        Network nestedRunNetwork = run(networkCache, NETWORK_UUID, null);
+        assertThat(nestedRunNetwork).isNotSameAs(network);
+        networkCache.complete(network);
+        networkCache.release();
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(networkCache.size()).isOne();
+        assertThat(run(networkCache, NETWORK_UUID, null)).isSameAs(network);
+    }
+
+    @Test
+    void testLaneInstancesCachedApart() {
+        NetworkCache networkCache = networkCache(2);
+        Network network = networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, loader);
+        Network laneNetwork = networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, 1, loader);
+        assertThat(laneNetwork).isNotSameAs(network);
+        networkCache.complete(network);
+        networkCache.complete(laneNetwork);
+        networkCache.release();
+        networkCache.release();
+        assertThat(networkCache.size()).isEqualTo(2);
+
+        // the next batched run reuses both instances
+        assertThat(networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, loader)).isSameAs(network);
+        assertThat(networkCache.acquire(NETWORK_UUID, null, VARIANT_VERSION, 1, loader)).isSameAs(laneNetwork);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testMaxSize() {
+        NetworkCache networkCache = networkCache(2);
+        run(networkCache, NETWORK_UUID, null);
+        run(networkCache, UUID.randomUUID(), null);
+        run(networkCache, UUID.randomUUID(), null);
+
+        assertThat(networkCache.size()).isEqualTo(2);
+        assertThat(networkCache.weight()).isEqualTo(2 * NETWORK_WEIGHT);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testExpiredNetworkReloaded() {
+        NetworkCache networkCache = networkCache(1);
+        Network network = run(networkCache, NETWORK_UUID, null);
+        nanoTime.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThat(run(networkCache, NETWORK_UUID, null)).isNotSameAs(network);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.shortcircuit.ShortCircuitParameters;
+import com.powsybl.shortcircuit.StudyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.TestUtils;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ParametersValuesCacheTest implements WithAssertions {
+    private static final UUID PARAMETERS_UUID = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ParametersValuesCache parametersValuesCache(int maxSize) {
+        return new ParametersValuesCache(maxSize, new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry));
+    }
+
+    private ShortCircuitParametersValues load() {
+        loads.incrementAndGet();
+        return ShortCircuitParametersValues.builder()
+            .provider(TestUtils.DEFAULT_PROVIDER)
+            .commonParameters(new ShortCircuitParameters().setStudyType(StudyType.TRANSIENT))
+            .specificParameters(new HashMap<>(Map.of("param", "value")))
+            .build();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("app.computation.parameters.cache").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testHitReturnsCopy() {
+        ParametersValuesCache cache = parametersValuesCache(10);
+        ShortCircuitParametersValues values = cache.get(PARAMETERS_UUID, this::load);
+        values.getCommonParameters().setWithFortescueResult(true).setStudyType(StudyType.STEADY_STATE);
+        values.getSpecificParameters().put("other", "value");
+
+        ShortCircuitParametersValues cachedValues = cache.get(PARAMETERS_UUID, this::load);
+        assertThat(loads).hasValue(1);
+        assertThat(cachedValues).isNotSameAs(values);
+        assertThat(cachedValues.getCommonParameters().isWithFortescueResult()).isFalse();
+        assertThat(cachedValues.getCommonParameters().getStudyType()).isEqualTo(StudyType.TRANSIENT);
+        assertThat(cachedValues.getSpecificParameters()).containsExactly(Map.entry("param", "value"));
+        assertThat(count("miss")).isOne();
+        assertThat(count("hit")).isOne();
+    }
+
+    @Test
+    void testInvalidation() {
+        ParametersValuesCache cache = parametersValuesCache(10);
+        cache.get(PARAMETERS_UUID, this::load);
+        cache.invalidate(PARAMETERS_UUID);
+        assertThat(cache.size()).isZero();
+        cache.get(PARAMETERS_UUID, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testParametersLoadedBeforeInvalidationNotCached() {
+        ParametersValuesCache cache = parametersValuesCache(10);
+        cache.get(PARAMETERS_UUID, () -> {
+            // modified by another pod while loaded
+            cache.invalidate(PARAMETERS_UUID);
+            return load();
+        });
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testMaxSize() {
+        ParametersValuesCache cache = parametersValuesCache(2);
+        cache.get(PARAMETERS_UUID, this::load);
+        cache.get(UUID.randomUUID(), this::load);
+        cache.get(UUID.randomUUID(), this::load);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testDisabled() {
+        ParametersValuesCache cache = parametersValuesCache(0);
+        cache.get(PARAMETERS_UUID, this::load);
+        cache.get(PARAMETERS_UUID, this::load);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+}
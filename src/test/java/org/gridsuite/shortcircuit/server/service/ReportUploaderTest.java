@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.report.ReportNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.computation.service.ReportService;
+import org.gridsuite.shortcircuit.server.RestTemplateConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ExtendWith(MockitoExtension.class)
+class ReportUploaderTest implements WithAssertions {
+    private static final UUID REPORT_UUID = UUID.randomUUID();
+    private static final String TRANSFERRED_METER_NAME = "app.computation.report.upload.transferred";
+    private static final String UNCOMPRESSED_METER_NAME = "app.computation.report.upload.uncompressed";
+
+    private final ObjectMapper objectMapper = RestTemplateConfig.objectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockServerRestTemplateCustomizer mockServer = new MockServerRestTemplateCustomizer();
+
+    @Mock
+    private ReportService reportService;
+
+    private ReportUploader reportUploader(DataSize compressionThreshold) {
+        return new ReportUploader(reportService, new RestTemplateBuilder(mockServer), objectMapper, compressionThreshold, new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry));
+    }
+
+    private static ReportNode report(int lineCount) {
+        ReportNode report = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test").build();
+        for (int i = 0; i < lineCount; i++) {
+            report.newReportNode().withMessageTemplate("test").withUntypedValue("line", i).add();
+        }
+        return report;
+    }
+
+    private double bytes(String meterName, String encoding) {
+        return meterRegistry.get(meterName).tag("encoding", encoding).summary().totalAmount();
+    }
+
+    @Test
+    void testSmallReportSentUncompressed() throws IOException {
+        ReportNode report = report(1);
+        byte[] json = objectMapper.writeValueAsBytes(report);
+        when(reportService.getReportServerBaseUri()).thenReturn("http://report-server/");
+        ReportUploader reportUploader = reportUploader(DataSize.ofMegabytes(1));
+        mockServer.getServer().expect(requestTo("http://report-server/v1/reports/" + REPORT_UUID))
+            .andExpect(method(HttpMethod.PUT))
+            .andExpect(request -> assertThat(request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse())
+            .andExpect(content().bytes(json))
+            .andRespond(withSuccess());
+
+        reportUploader.upload(REPORT_UUID, report, Set.of());
+
+        mockServer.getServer().verify();
+        verify(reportService, never()).sendReport(any(), any());
+        assertThat(bytes(TRANSFERRED_METER_NAME, "identity")).isEqualTo(json.length);
+        assertThat(bytes(UNCOMPRESSED_METER_NAME, "identity")).isEqualTo(json.length);
+    }
+
+    @Test
+    void testBigReportStreamedCompressed() throws IOException {
+        ReportNode report = report(1000);
+        byte[] json = objectMapper.writeValueAsBytes(report);
+        when(reportService.getReportServerBaseUri()).thenReturn("http://report-server/");
+        ReportUploader reportUploader = reportUploader(DataSize.ofKilobytes(1));
+        mockServer.getServer().expect(requestTo("http://report-server/v1/reports/" + REPORT_UUID))
+            .andExpect(method(HttpMethod.PUT))
+            .andExpect(header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(request -> {
+                try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(((MockClientHttpRequest) request).getBodyAsBytes()))) {
+                    assertThat(body.readAllBytes()).isEqualTo(json);
+                }
+            })
+            .andRespond(withSuccess());
+
+        reportUploader.upload(REPORT_UUID, report, Set.of());
+
+        mockServer.getServer().verify();
+        verify(reportService, never()).sendReport(any(), any());
+        assertThat(bytes(UNCOMPRESSED_METER_NAME, "gzip")).isEqualTo(json.length);
+        assertThat(bytes(TRANSFERRED_METER_NAME, "gzip")).isPositive().isLessThan(json.length);
+    }
+
+    @Test
+    void testCompressionDisabled() {
+        ReportNode report = report(1000);
+        reportUploader(DataSize.ofBytes(0)).upload(REPORT_UUID, report, Set.of());
+
+        verify(reportService).sendReport(REPORT_UUID, report);
+        assertThat(meterRegistry.find(TRANSFERRED_METER_NAME).summary()).isNull();
+    }
+
+    @Test
+    void testTrimmedNodesLeftOut() throws IOException {
+        ReportNode report = report(3);
+        ReportNode trimmed = report.getChildren().get(1);
+        // same report without the trimmed node
+        ReportNode expectedTrimmed = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test").build();
+        expectedTrimmed.newReportNode().withMessageTemplate("test").withUntypedValue("line", 0).add();
+        expectedTrimmed.newReportNode().withMessageTemplate("test").withUntypedValue("line", 2).add();
+        when(reportService.getReportServerBaseUri()).thenReturn("http://report-server/");
+        mockServer.getServer().expect(requestTo("http://report-server/v1/reports/" + REPORT_UUID))
+            .andExpect(method(HttpMethod.PUT))
+            .andExpect(content().json(objectMapper.writeValueAsString(expectedTrimmed), true))
+            .andRespond(withSuccess());
+
+        reportUploader(DataSize.ofBytes(0)).upload(REPORT_UUID, report, Set.of(trimmed));
+
+        mockServer.getServer().verify();
+        verify(reportService, never()).sendReport(any(), any());
+        assertThat(bytes(UNCOMPRESSED_METER_NAME, "identity")).isEqualTo(bytes(TRANSFERRED_METER_NAME, "identity")).isPositive();
+    }
+}
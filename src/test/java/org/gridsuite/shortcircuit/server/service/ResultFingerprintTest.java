@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.shortcircuit.ShortCircuitParameters;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.RestTemplateConfig;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+class ResultFingerprintTest implements WithAssertions {
+    private static final UUID NETWORK_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+
+    private final ObjectMapper objectMapper = RestTemplateConfig.objectMapper();
+
+    private static ShortCircuitRunContext runContext(String variantId, String busId, double minVoltageDropProportionalThreshold,
+                                                     Map<String, String> specificParameters) {
+        return runContext(variantId, busId, minVoltageDropProportionalThreshold, specificParameters, "receiver");
+    }
+
+    private static ShortCircuitRunContext runContext(String variantId, String busId, double minVoltageDropProportionalThreshold,
+                                                     Map<String, String> specificParameters, String receiver) {
+        ShortCircuitParameters commonParameters = new ShortCircuitParameters()
+            .setMinVoltageDropProportionalThreshold(minVoltageDropProportionalThreshold);
+        return ShortCircuitRunContext.builder()
+            .networkUuid(NETWORK_UUID)
+            .variantId(variantId)
+            .receiver(receiver)
+            .userId("userId")
+            .provider("provider")
+            .busId(busId)
+            .parameters(ShortCircuitParametersValues.builder()
+                .provider("provider")
+                .commonParameters(commonParameters)
+                .specificParameters(specificParameters)
+                .build())
+            .build();
+    }
+
+    @Test
+    void testSameInputsSameFingerprint() {
+        Map<String, String> specificParameters = new LinkedHashMap<>();
+        specificParameters.put("a", "1");
+        specificParameters.put("b", "2");
+        Map<String, String> reorderedSpecificParameters = new LinkedHashMap<>();
+        reorderedSpecificParameters.put("b", "2");
+        reorderedSpecificParameters.put("a", "1");
+
+        String fingerprint = ResultFingerprint.of(runContext("variant", null, 20, specificParameters), objectMapper);
+        assertThat(fingerprint).hasSize(64);
+        // neither the receiver nor the order of the specific parameters are inputs of the analysis
+        ShortCircuitRunContext otherRunContext = runContext("variant", null, 20, reorderedSpecificParameters, "other receiver");
+        assertThat(ResultFingerprint.of(otherRunContext, objectMapper)).isEqualTo(fingerprint);
+    }
+
+    @Test
+    void testDifferentInputsDifferentFingerprints() {
+        Map<String, String> specificParameters = Map.of("a", "1");
+        assertThat(ResultFingerprint.of(runContext("variant", null, 20, specificParameters), objectMapper))
+            .isNotEqualTo(ResultFingerprint.of(runContext("other variant", null, 20, specificParameters), objectMapper))
+            .isNotEqualTo(ResultFingerprint.of(runContext("variant", "bus", 20, specificParameters), objectMapper))
+            .isNotEqualTo(ResultFingerprint.of(runContext("variant", null, 30, specificParameters), objectMapper))
+            .isNotEqualTo(ResultFingerprint.of(runContext("variant", null, 20, Map.of("a", "2")), objectMapper));
+
+        // a modified variant has another version
+        ShortCircuitRunContext runContext = runContext("variant", null, 20, specificParameters);
+        runContext.setVariantVersion("1");
+        ShortCircuitRunContext modifiedVariantRunContext = runContext("variant", null, 20, specificParameters);
+        modifiedVariantRunContext.setVariantVersion("2");
+        assertThat(ResultFingerprint.of(runContext, objectMapper)).isNotEqualTo(ResultFingerprint.of(modifiedVariantRunContext, objectMapper));
+    }
+}
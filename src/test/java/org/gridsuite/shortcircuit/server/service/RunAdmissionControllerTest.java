@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.error.ShortCircuitException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.gridsuite.shortcircuit.server.error.ShortcircuitBusinessErrorCode.RUN_NOT_ADMITTED;
+
+class RunAdmissionControllerTest implements WithAssertions {
+    private static final long BYTES_PER_FAULT = 1024;
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final DataSize DEFAULT_ESTIMATE = DataSize.ofBytes(2 * BYTES_PER_FAULT);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShortCircuitObserver shortCircuitObserver = new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry);
+    private final Network network = EurostagTutorialExample1Factory.create();
+
+    private RunAdmissionController admissionController(long budgetFaults, Duration maxWait) {
+        RunAdmissionController admissionController = new RunAdmissionController(DataSize.ofBytes(budgetFaults * BYTES_PER_FAULT), 0, 0,
+            BYTES_PER_FAULT, 512, DEFAULT_ESTIMATE, 10, maxWait, shortCircuitObserver);
+        admissionController.recordNetworkSize(NETWORK_UUID, network);
+        return admissionController;
+    }
+
+    private static void admit(RunAdmissionController admissionController, int faultsCount) {
+        admissionController.admit(UUID.randomUUID(), NETWORK_UUID, networkSize -> faultsCount, faults -> 1, false);
+    }
+
+    private double reservedHeap() {
+        return meterRegistry.get("app.computation.admission.reserved.heap").gauge().value();
+    }
+
+    @Test
+    void testEstimate() {
+        RunAdmissionController admissionController = new RunAdmissionController(DataSize.ofBytes(10 * BYTES_PER_FAULT), 100, 50,
+            BYTES_PER_FAULT, 512, DEFAULT_ESTIMATE, 10, Duration.ZERO, shortCircuitObserver);
+        assertThat(admissionController.isEnabled()).isTrue();
+        RunAdmissionController.NetworkSize networkSize = RunAdmissionController.NetworkSize.of(network);
+        // 4 buses and 6 connectables, held by the network and by its export
+        assertThat(networkSize).isEqualTo(new RunAdmissionController.NetworkSize(4, 6, 4));
+        assertThat(admissionController.estimate(networkSize, 4, 1, false)).isEqualTo(10 * 150 + 4 * BYTES_PER_FAULT);
+        // 4 voltage levels and 6 connectables: 1 feeder result per fault
+        assertThat(admissionController.estimate(networkSize, 4, 1, true)).isEqualTo(10 * 150 + 4 * (BYTES_PER_FAULT + 512));
+        // one network instance and its export per lane of fault batches
+        assertThat(admissionController.estimate(networkSize, 4, 3, false)).isEqualTo(3 * 10 * 150 + 4 * BYTES_PER_FAULT);
+        assertThat(admissionController(0, Duration.ZERO).isEnabled()).isFalse();
+    }
+
+    @Test
+    void testRunsAdmittedWithinBudget() {
+        RunAdmissionController admissionController = admissionController(10, Duration.ZERO);
+        admissionController.admit(UUID.randomUUID(), NETWORK_UUID, networkSize -> (int) networkSize.busCount(), faults -> 1, false);
+        assertThat(reservedHeap()).isEqualTo(4 * BYTES_PER_FAULT);
+        admissionController.release();
+        assertThat(reservedHeap()).isZero();
+        // a run bigger than the budget runs alone
+        admit(admissionController, 100);
+        assertThat(reservedHeap()).isEqualTo(10 * BYTES_PER_FAULT);
+        admissionController.release();
+        assertThat(meterRegistry.get("app.computation.admission").tag("outcome", "admitted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testUnknownNetworkSize() {
+        RunAdmissionController admissionController = new RunAdmissionController(DataSize.ofBytes(10 * BYTES_PER_FAULT), 0, 0,
+            BYTES_PER_FAULT, 512, DEFAULT_ESTIMATE, 10, Duration.ZERO, shortCircuitObserver);
+        // a network never loaded: the default estimate, whatever the other networks loaded
+        admissionController.recordNetworkSize(UUID.randomUUID(), network);
+        admissionController.admit(UUID.randomUUID(), NETWORK_UUID, networkSize -> (int) networkSize.busCount(), faults -> 1, false);
+        assertThat(reservedHeap()).isEqualTo(2 * BYTES_PER_FAULT);
+        admissionController.release();
+
+        admissionController.recordNetworkSize(NETWORK_UUID, network);
+        admissionController.admit(UUID.randomUUID(), NETWORK_UUID, networkSize -> (int) networkSize.busCount(), faults -> 1, false);
+        assertThat(reservedHeap()).isEqualTo(4 * BYTES_PER_FAULT);
+        admissionController.release();
+    }
+
+    @Test
+    void testRunWaitsForReservationThenRejected() throws Exception {
+        RunAdmissionController admissionController = admissionController(10, Duration.ofMillis(100));
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherRun = CompletableFuture.runAsync(() -> {
+            admit(admissionController, 8);
+            admitted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            admissionController.release();
+        });
+        assertThat(admitted.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> admit(admissionController, 4))
+            .isInstanceOf(ShortCircuitException.class)
+            .satisfies(e -> assertThat(((ShortCircuitException) e).getBusinessErrorCode()).isEqualTo(RUN_NOT_ADMITTED));
+        assertThat(meterRegistry.get("app.computation.admission").tag("outcome", "rejected").counter().count()).isOne();
+        assertThat(meterRegistry.get("app.computation.admission.wait").timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+
+        release.countDown();
+        otherRun.get(1, TimeUnit.SECONDS);
+        admit(admissionController, 4);
+        assertThat(reservedHeap()).isEqualTo(4 * BYTES_PER_FAULT);
+        admissionController.release();
+    }
+
+    @Test
+    void testRunCancelledWhileWaiting() throws Exception {
+        RunAdmissionController admissionController = admissionController(10, Duration.ofMinutes(10));
+        admit(admissionController, 8);
+        UUID resultUuid = UUID.randomUUID();
+        assertThat(admissionController.cancel(resultUuid)).isFalse();
+        CompletableFuture<Boolean> waitingRun = CompletableFuture.supplyAsync(() -> {
+            try {
+                admissionController.admit(resultUuid, NETWORK_UUID, networkSize -> 4, faults -> 1, false);
+                return false;
+            } catch (CancellationException e) {
+                // the interruption of the cancellation is cleared
+                return !Thread.currentThread().isInterrupted();
+            }
+        });
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!admissionController.cancel(resultUuid)) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(waitingRun.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(reservedHeap()).isEqualTo(8 * BYTES_PER_FAULT);
+        admissionController.release();
+        assertThat(reservedHeap()).isZero();
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.extensions.IdentifiableShortCircuit;
+import com.powsybl.shortcircuit.*;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.computation.dto.ResourceFilterDTO;
+import org.gridsuite.shortcircuit.server.TestUtils;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.gridsuite.shortcircuit.server.entities.FaultResultEntity;
+import org.gridsuite.shortcircuit.server.report.MapperBeans;
+import org.gridsuite.shortcircuit.server.report.ReportMapper;
+import org.gridsuite.shortcircuit.server.report.ReportMapperService;
+import org.gridsuite.shortcircuit.server.report.mappers.VoltageLevelsWithWrongIpValuesMapper;
+import org.gridsuite.shortcircuit.server.repositories.FaultResultRepository;
+import org.gridsuite.shortcircuit.server.repositories.specifications.FaultResultSpecificationBuilder;
+import org.gridsuite.shortcircuit.server.utils.NetworkUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of the server, excluded from the build: each compares an implementation to the one it replaced, and logs
+ * their durations after a warm-up.
+ * Run with {@code mvn test -Dtest=ShortCircuitBenchmark}, or {@code -Dtest=ShortCircuitBenchmark#<benchmark>}.
+ */
+@Slf4j
+@SpringBootTest
+class ShortCircuitBenchmark implements WithAssertions {
+    private static final ShortCircuitProviderRegistry PROVIDER_REGISTRY = new ShortCircuitProviderRegistry();
+    private static final UUID RESULT_UUID = UUID.fromString("0c8de370-3e6c-4d72-b292-d355a97e0d5d");
+
+    @Autowired
+    private ShortCircuitAnalysisResultService resultService;
+
+    @Autowired
+    private FaultResultRepository faultResultRepository;
+
+    /**
+     * Fault plan of a 20k buses network, compared to the previous per-bus extension lookup with a node cluster list.
+     */
+    @Test
+    void benchmarkBusFaultPlan() {
+        Network network = NetworkUtil.createBusBreakerNetwork(10_000, 2);
+        List<String> nodeClusters = network.getBusView().getBusStream().map(Bus::getId).filter(id -> id.hashCode() % 2 == 0).toList();
+        int iterations = 10;
+        for (int i = 0; i < 2; i++) { // warm-up then measure
+            long start = System.nanoTime();
+            int count = 0;
+            for (int j = 0; j < iterations; j++) {
+                count += perBusLookup(network, nodeClusters).size();
+            }
+            long perBusMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / iterations;
+
+            start = System.nanoTime();
+            Set<String> nodeClustersSet = new HashSet<>(nodeClusters);
+            for (int j = 0; j < iterations; j++) {
+                count -= BusFaultPlanBuilder.build(network, nodeClustersSet, true).shortCircuitLimits().size();
+            }
+            long planMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / iterations;
+            assertThat(count).isZero();
+            log.info("{} buses in {} node clusters: per bus lookup {}ms, single pass plan {}ms", network.getBusView().getBusStream().count(),
+                nodeClusters.size(), perBusMs, planMs);
+        }
+    }
+
+    /**
+     * Per-run parameters build: default parameters and provider lookup, compared to the previous loading on each run.
+     */
+    @Test
+    void benchmarkParametersBuild() {
+        int iterations = 10_000;
+        for (int i = 0; i < 2; i++) { // warm-up then measure
+            long start = System.nanoTime();
+            for (int j = 0; j < iterations; j++) {
+                ShortCircuitParameters.load();
+                ShortCircuitAnalysisProvider.findAll().stream().filter(p -> p.getName().equals(TestUtils.DEFAULT_PROVIDER)).findFirst();
+            }
+            long loadUs = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / iterations;
+
+            start = System.nanoTime();
+            for (int j = 0; j < iterations; j++) {
+                PROVIDER_REGISTRY.newDefaultParameters();
+                PROVIDER_REGISTRY.findProvider(TestUtils.DEFAULT_PROVIDER);
+            }
+            long registryUs = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / iterations;
+            log.info("Parameters build per run: loaded {}us, from the registry {}us", loadUs, registryUs);
+        }
+    }
+
+    /**
+     * Duration of the count of the faults of a 20k faults result matching a global filter of 10, 1k and 20k voltage
+     * levels, bound as an IN list or as a single array parameter.
+     */
+    @Test
+    void benchmarkGlobalFilterPushdown() {
+        resultService.deleteAll();
+        insertVoltageLevelFaults(20_000);
+        Map<String, FaultResultSpecificationBuilder> pushdowns = Map.of(
+            "IN list", new FaultResultSpecificationBuilder(0),
+            "array parameter", new FaultResultSpecificationBuilder(1));
+        for (int globalFilterSize : new int[] {10, 1_000, 20_000}) {
+            List<ResourceFilterDTO> globalFilters = voltageLevelGlobalFilter(globalFilterSize / 2, globalFilterSize);
+            pushdowns.forEach((pushdown, specificationBuilder) -> {
+                countWithGlobalFilters(specificationBuilder, globalFilters); // warm-up
+                int iterations = 10;
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    assertThat(countWithGlobalFilters(specificationBuilder, globalFilters)).isEqualTo(globalFilterSize / 2);
+                }
+                log.info("{} voltage levels as {}: {}us per query", globalFilterSize, pushdown,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / iterations);
+            });
+        }
+    }
+
+    /**
+     * Synthetic ADN conversion report of 1M nodes mapped by the mappers of the server, compared to giving each node to
+     * all the mappers.
+     */
+    @Test
+    void benchmarkMapping() {
+        final MapperBeans beansInit = new MapperBeans();
+        final List<ReportMapper> mappers = List.of(
+            beansInit.powsyblAdnGeneratorsAndBatteriesSeverity(),
+            beansInit.powsyblAdnLinesSeverity(),
+            beansInit.powsyblAdnTwoWindingsTransformersSeverity(),
+            beansInit.powsyblAdnGeneratorsSummary(),
+            beansInit.powsyblAdnBatteriesSummary(),
+            beansInit.powsyblAdnLinesSummary(),
+            beansInit.powsyblAdnTwoWindingsTransformersSummary(),
+            new VoltageLevelsWithWrongIpValuesMapper());
+        final ReportMapperService indexedMapperService = new ReportMapperService(mappers);
+        final ReportMapperService allMappersService = new ReportMapperService(mappers.stream()
+            .<ReportMapper>map(mapper -> mapper::transformNode)
+            .toList());
+        for (int i = 0; i < 3; i++) {
+            Map.of("indexed", indexedMapperService, "all mappers", allMappersService).forEach((dispatch, service) -> {
+                final ReportNode reportNode = newAdnReport(1_000_000);
+                final ShortCircuitRunContext context = ShortCircuitRunContext.builder().debug(false).build();
+                final long start = System.nanoTime();
+                service.map(reportNode, context);
+                log.info("1M nodes mapped with {}: {}ms", dispatch, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                assertThat(context.getAdnSummarizeCounterGenerator().longValue()).isEqualTo(250_000);
+            });
+        }
+    }
+
+    /**
+     * Throughput of each codec on an export of 20k faults with 10 feeders each (~60MB of csv).
+     */
+    @Test
+    void benchmarkCodecs() throws IOException {
+        byte[] content = ExportCompressionServiceTest.buildCsvExport(20_000, 10);
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        for (ExportCompressionCodec codec : ExportCompressionCodec.values()) {
+            for (int threads : new int[] {1, parallelism}) {
+                ExportCompressionService service = new ExportCompressionService(-1, threads, 1024 * 1024);
+                try {
+                    ExportCompressionServiceTest.compress(service, codec, content, 8192); // warm-up
+                    int iterations = 5;
+                    long compressedSize = 0;
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) {
+                        compressedSize = ExportCompressionServiceTest.compress(service, codec, content, 8192).length;
+                    }
+                    long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / iterations);
+                    log.info("{} with {} thread(s): {} bytes -> {} bytes in {}ms ({} MB/s)", codec, threads, content.length, compressedSize,
+                        elapsedMs, content.length / 1000 / elapsedMs);
+                } finally {
+                    service.shutdown();
+                }
+            }
+        }
+    }
+
+    private static Map<String, ShortCircuitLimits> perBusLookup(Network network, List<String> nodeClusters) {
+        Map<String, ShortCircuitLimits> limits = new HashMap<>();
+        network.getBusView().getBusStream()
+            .filter(bus -> nodeClusters.isEmpty() || nodeClusters.contains(bus.getId()))
+            .forEach(bus -> {
+                VoltageLevel voltageLevel = bus.getVoltageLevel();
+                IdentifiableShortCircuit<VoltageLevel> extension = voltageLevel.getExtension(IdentifiableShortCircuit.class);
+                limits.put(bus.getId(), new ShortCircuitLimits(voltageLevel.getId(), extension.getIpMin(), extension.getIpMax()));
+            });
+        return limits;
+    }
+
+    /**
+     * Insert a result with a fault on each of the voltage levels VL_0 to VL_{count - 1}.
+     */
+    private void insertVoltageLevelFaults(int count) {
+        ShortCircuitAnalysisResult result = new ShortCircuitAnalysisResult(IntStream.range(0, count)
+            .<FaultResult>mapToObj(i -> new MagnitudeFaultResult(new BusFault("VL_" + i + "_0", "VL_" + i), 17.0,
+                List.of(), List.of(), 45.3, FaultResult.Status.SUCCESS))
+            .toList());
+        ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+            .networkUuid(UUID.randomUUID())
+            .parameters(ShortCircuitParametersValues.builder().build())
+            .build();
+        runContext.setShortCircuitLimits(IntStream.range(0, count).boxed()
+            .collect(Collectors.toMap(i -> "VL_" + i + "_0", i -> new ShortCircuitLimits("VL_" + i, 1.0, 2.0))));
+        resultService.insert(RESULT_UUID, result, runContext, ShortCircuitAnalysisStatus.COMPLETED.name());
+    }
+
+    /**
+     * Global filter on the voltage levels VL_0 to VL_{matching - 1}, padded with voltage levels without fault.
+     */
+    private static List<ResourceFilterDTO> voltageLevelGlobalFilter(int matching, int size) {
+        List<String> voltageLevelIds = Stream.concat(IntStream.range(0, matching).mapToObj(i -> "VL_" + i),
+            IntStream.range(matching, size).mapToObj(i -> "OTHER_VL_" + i)).toList();
+        return List.of(new ResourceFilterDTO(ResourceFilterDTO.DataType.TEXT, ResourceFilterDTO.Type.IN, voltageLevelIds, "fault.voltageLevelId"));
+    }
+
+    private long countWithGlobalFilters(FaultResultSpecificationBuilder specificationBuilder, List<ResourceFilterDTO> globalFilters) {
+        Specification<FaultResultEntity> specification = specificationBuilder.buildSpecification(RESULT_UUID, List.of());
+        return faultResultRepository.count(specificationBuilder.appendGlobalFiltersToSpecification(specification, globalFilters));
+    }
+
+    private static ReportNode newAdnReport(int nodeCount) {
+        final ReportNode reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports", "com.powsybl.ws.commons.reports")
+            .withMessageTemplate("ws.commons.rootReporterId")
+            .withTypedValue("rootReporterId", "00000000-0000-0000-0000-000000000000", TypedValue.ID).build();
+        final ReportNode typeNode = reportNode.newReportNode()
+            .withMessageTemplate("ws.commons.reportType")
+            .withUntypedValue("reportType", "ShortCircuitAnalysis")
+            .add();
+        final String[] conversions = {"rte.iidm.export.adn.generatorConversion", "rte.iidm.export.adn.batteryConversion",
+            "rte.iidm.export.adn.lineConversion", "rte.iidm.export.adn.twoWindingsTransformerConversion"};
+        final String[] traces = {"rte.iidm.export.adn.disconnectedTerminalGenerator", "rte.iidm.export.adn.disconnectedTerminalGenerator",
+            "rte.iidm.export.adn.addConstantRatio", "rte.iidm.export.adn.addConstantRatio"};
+        for (int i = 0; i < conversions.length; i++) {
+            final ReportNode conversionNode = typeNode.newReportNode().withMessageTemplate(conversions[i]).add();
+            for (int j = 0; j < nodeCount / conversions.length; j++) {
+                conversionNode.newReportNode().withMessageTemplate(traces[i]).add();
+            }
+        }
+        return reportNode;
+    }
+}
@@ -10,6 +10,8 @@ import com.powsybl.commons.parameters.Parameter;
 import com.powsybl.shortcircuit.InitialVoltageProfileMode;
 import com.powsybl.shortcircuit.ShortCircuitParameters;
 import com.powsybl.shortcircuit.StudyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.assertj.core.api.WithAssertions;
 import org.gridsuite.shortcircuit.server.TestUtils;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersInfos;
@@ -49,11 +51,14 @@ class ShortCircuitParametersServiceTest implements WithAssertions {
 
     private ShortCircuitParametersService parametersService;
     private ParametersRepository parametersRepository;
+    private final ParametersValuesCache parametersValuesCache = new ParametersValuesCache(0,
+        new ShortCircuitObserver(ObservationRegistry.create(), new SimpleMeterRegistry()));
 
     @BeforeAll
     void setup() {
         this.parametersRepository = mock(ParametersRepository.class);
-        this.parametersService = new ShortCircuitParametersService(parametersRepository, TestUtils.DEFAULT_PROVIDER);
+        this.parametersService = new ShortCircuitParametersService(parametersRepository, parametersValuesCache,
+            mock(CacheInvalidations.class), new ShortCircuitProviderRegistry(), TestUtils.DEFAULT_PROVIDER);
     }
 
     @AfterEach
@@ -73,7 +78,7 @@ class ShortCircuitParametersServiceTest implements WithAssertions {
         verify(pEntity).getProvider();
         verify(pEntity).getPredefinedParameters();
         verify(pEntity).getSpecificParameters();
-        verify(pEntity).toShortCircuitParameters();
+        verify(pEntity).toShortCircuitParameters(any(ShortCircuitParameters.class));
     }
 
     private void checkParametersEntityHasBeenUpdate(final ShortCircuitParametersEntity pEntity,
@@ -364,7 +369,7 @@ class ShortCircuitParametersServiceTest implements WithAssertions {
     @Test
     void testGetSpecificShortCircuitParametersNoProvider() {
         final String randomProvider = "non_existing_provider_" + UUID.randomUUID();
-        final Map<String, List<Parameter>> result = ShortCircuitParametersService.getSpecificShortCircuitParameters(randomProvider);
+        final Map<String, List<Parameter>> result = parametersService.getSpecificShortCircuitParameters(randomProvider);
         assertThat(result).as("no provider must match a random name").isEmpty();
     }
 
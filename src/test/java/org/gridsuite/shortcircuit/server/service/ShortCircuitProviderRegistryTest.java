@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.shortcircuit.InitialVoltageProfileMode;
+import com.powsybl.shortcircuit.ShortCircuitAnalysisProvider;
+import com.powsybl.shortcircuit.ShortCircuitParameters;
+import com.powsybl.shortcircuit.StudyType;
+import com.powsybl.shortcircuit.json.JsonShortCircuitParameters;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.shortcircuit.server.entities.parameters.ShortCircuitParametersConstants;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+class ShortCircuitProviderRegistryTest implements WithAssertions {
+    private final ShortCircuitProviderRegistry providerRegistry = new ShortCircuitProviderRegistry();
+
+    @Test
+    void testNewDefaultParametersAreCopies() {
+        ShortCircuitParameters parameters = providerRegistry.newDefaultParameters();
+        assertThat(parameters).usingRecursiveComparison().isEqualTo(ShortCircuitParameters.load());
+
+        parameters.setStudyType(StudyType.STEADY_STATE).setWithFortescueResult(true).setMinVoltageDropProportionalThreshold(42.0);
+        assertThat(providerRegistry.newDefaultParameters())
+            .isNotSameAs(parameters)
+            .usingRecursiveComparison().isEqualTo(ShortCircuitParameters.load());
+    }
+
+    @Test
+    void testCopyOf() {
+        ShortCircuitParameters parameters = new ShortCircuitParameters()
+            .setWithLimitViolations(false)
+            .setWithFeederResult(false)
+            .setStudyType(StudyType.STEADY_STATE)
+            .setMinVoltageDropProportionalThreshold(20.0)
+            .setWithNeutralPosition(true)
+            .setInitialVoltageProfileMode(InitialVoltageProfileMode.CONFIGURED)
+            .setVoltageRanges(ShortCircuitParametersConstants.CEI909_VOLTAGE_PROFILE)
+            .setDetailedReport(false);
+        ShortCircuitParameters copy = ShortCircuitProviderRegistry.copyOf(parameters);
+        assertThat(copy).isNotSameAs(parameters).usingRecursiveComparison().isEqualTo(parameters);
+        // nothing shared with the copied parameters
+        assertThat(copy.getVoltageRanges()).isNotSameAs(parameters.getVoltageRanges());
+    }
+
+    @Test
+    void testCopyOfAllFields() {
+        ShortCircuitParameters parameters = new ShortCircuitParameters()
+            .setWithLimitViolations(false)
+            .setWithVoltageResult(false)
+            .setWithFeederResult(false)
+            .setStudyType(StudyType.STEADY_STATE)
+            .setMinVoltageDropProportionalThreshold(20.0)
+            .setWithFortescueResult(true)
+            .setSubTransientCoefficient(0.8)
+            .setWithLoads(false)
+            .setWithShuntCompensators(false)
+            .setWithVSCConverterStations(false)
+            .setWithNeutralPosition(true)
+            .setInitialVoltageProfileMode(InitialVoltageProfileMode.CONFIGURED)
+            .setVoltageRanges(ShortCircuitParametersConstants.CEI909_VOLTAGE_PROFILE)
+            .setDetailedReport(false);
+        // the field copy gives the same parameters as the JSON copy
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        JsonShortCircuitParameters.write(parameters, json);
+        assertThat(ShortCircuitProviderRegistry.copyOf(parameters))
+            .usingRecursiveComparison().isEqualTo(JsonShortCircuitParameters.read(new ByteArrayInputStream(json.toByteArray())));
+    }
+
+    @Test
+    void testProviders() {
+        assertThat(providerRegistry.findProvider("non_existing_provider")).isEmpty();
+        assertThat(providerRegistry.getFunctionalSpecificParameters()).doesNotContainKey("non_existing_provider");
+        ShortCircuitAnalysisProvider.findAll().forEach(provider ->
+            assertThat(providerRegistry.findProvider(provider.getName())).isPresent());
+    }
+}
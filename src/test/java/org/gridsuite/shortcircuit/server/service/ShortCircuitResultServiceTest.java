@@ -8,18 +8,49 @@ package org.gridsuite.shortcircuit.server.service;
 
 import com.powsybl.contingency.violations.LimitViolation;
 import com.powsybl.contingency.violations.LimitViolationType;
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.TopologyKind;
 import com.powsybl.shortcircuit.*;
 import com.vladmihalcea.sql.SQLStatementCountValidator;
+import org.gridsuite.computation.dto.GlobalFilter;
+import org.gridsuite.computation.dto.ResourceFilterDTO;
+import org.gridsuite.shortcircuit.server.dto.FaultResultsMode;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitLimits;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.gridsuite.shortcircuit.server.entities.FaultResultEntity;
+import org.gridsuite.shortcircuit.server.entities.ShortCircuitAnalysisResultEntity;
+import org.gridsuite.shortcircuit.server.repositories.FaultResultRepository;
+import org.gridsuite.shortcircuit.server.repositories.specifications.FaultResultSpecificationBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.gridsuite.shortcircuit.server.TestUtils.MOCK_RUN_CONTEXT;
 import static org.gridsuite.shortcircuit.server.TestUtils.assertRequestsCount;
+import static org.gridsuite.shortcircuit.server.utils.NetworkUtil.createVoltageLevel;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 
 /**
  * @author Etienne HOMER <etienne.homer at rte-france.com>
@@ -32,10 +63,17 @@ class ShortCircuitResultServiceTest {
     private static final LimitViolation LIMIT_VIOLATION_2 = new LimitViolation("SUBJECT_2", LimitViolationType.LOW_SHORT_CIRCUIT_CURRENT, 12.17, 2f, 10.56);
 
     private static final UUID RESULT_UUID = UUID.fromString("0c8de370-3e6c-4d72-b292-d355a97e0d5d");
+    private static final UUID COPY_RESULT_UUID = UUID.fromString("0c8de370-3e6c-4d72-b292-d355a97e0d5e");
 
     @Autowired
     private ShortCircuitAnalysisResultService shortCircuitAnalysisResultRepository;
 
+    @Autowired
+    private FaultResultRepository faultResultRepository;
+
+    @MockitoSpyBean
+    private CancellationCheckpoints cancellationCheckpoints;
+
     @BeforeEach
     void setUp() {
         shortCircuitAnalysisResultRepository.deleteAll();
@@ -68,4 +106,183 @@ class ShortCircuitResultServiceTest {
         // - the result itself
         assertRequestsCount(4, 0, 0, 5);
     }
+
+    @Test
+    void copyCompletedResultWithSameFingerprintTest() {
+        final FaultResult fault1 = new MagnitudeFaultResult(new BusFault("VLHV1_0", "ELEMENT_ID_1"), 17.0,
+                List.of(), List.of(LIMIT_VIOLATION_1, LIMIT_VIOLATION_2),
+                45.3, FaultResult.Status.SUCCESS);
+        final FaultResult fault2 = new MagnitudeFaultResult(new BusFault("VLHV2_0", "ELEMENT_ID_2"), 18.0,
+                List.of(FEEDER_RESULT_1, FEEDER_RESULT_2), List.of(LIMIT_VIOLATION_1),
+                47.3, FaultResult.Status.SUCCESS);
+        ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+                .networkUuid(UUID.randomUUID())
+                .parameters(ShortCircuitParametersValues.builder().build())
+                .build();
+        runContext.setFingerprint("fingerprint");
+        shortCircuitAnalysisResultRepository.insert(RESULT_UUID, new ShortCircuitAnalysisResult(List.of(fault1, fault2)), runContext,
+                ShortCircuitAnalysisStatus.RUNNING.name());
+
+        // only completed results are reused
+        assertThat(shortCircuitAnalysisResultRepository.findCompletedResultUuid("fingerprint")).isEmpty();
+        shortCircuitAnalysisResultRepository.insertStatus(List.of(RESULT_UUID), ShortCircuitAnalysisStatus.COMPLETED);
+        assertThat(shortCircuitAnalysisResultRepository.findCompletedResultUuid("fingerprint")).contains(RESULT_UUID);
+        assertThat(shortCircuitAnalysisResultRepository.findCompletedResultUuid("other fingerprint")).isEmpty();
+
+        assertThat(shortCircuitAnalysisResultRepository.copyResult(RESULT_UUID, COPY_RESULT_UUID)).isTrue();
+        assertThat(shortCircuitAnalysisResultRepository.findStatus(COPY_RESULT_UUID)).isEqualTo(ShortCircuitAnalysisStatus.COMPLETED);
+        ShortCircuitAnalysisResultEntity copy = shortCircuitAnalysisResultRepository.findFullResults(COPY_RESULT_UUID).orElseThrow();
+        assertThat(copy.getFingerprint()).isEqualTo("fingerprint");
+        assertThat(copy.getFaultResults())
+                .extracting(faultResult -> faultResult.getFault().getId(), FaultResultEntity::getCurrent, FaultResultEntity::getNbLimitViolations,
+                    faultResult -> faultResult.getLimitViolations().size(), faultResult -> faultResult.getFeederResults().size())
+                .containsExactlyInAnyOrder(
+                    tuple("VLHV1_0", 17.0, 2, 2, 0),
+                    tuple("VLHV2_0", 18.0, 1, 1, 2));
+
+        // the copy is independent of its source
+        assertThat(copy.getFaultResults()).extracting(FaultResultEntity::getFaultResultUuid)
+                .doesNotContainAnyElementsOf(shortCircuitAnalysisResultRepository.findFullResults(RESULT_UUID).orElseThrow().getFaultResults().stream()
+                    .map(FaultResultEntity::getFaultResultUuid).toList());
+        shortCircuitAnalysisResultRepository.delete(RESULT_UUID);
+        assertThat(shortCircuitAnalysisResultRepository.findFullResults(COPY_RESULT_UUID)).isPresent();
+        assertThat(shortCircuitAnalysisResultRepository.findCompletedResultUuid("fingerprint")).contains(COPY_RESULT_UUID);
+        assertThat(shortCircuitAnalysisResultRepository.copyResult(RESULT_UUID, UUID.randomUUID())).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1000})
+    void cancelledInsertStopsAtNextCheckpointTest(int faultsCount) {
+        doReturn(2).when(cancellationCheckpoints).getChunkSize();
+        AtomicInteger checkpoints = new AtomicInteger();
+        doAnswer(invocation -> {
+            // cancelled while the first chunk is saved
+            if (checkpoints.incrementAndGet() == 2) {
+                cancellationCheckpoints.requestCancel(RESULT_UUID);
+            }
+            return invocation.callRealMethod();
+        }).when(cancellationCheckpoints).check(RESULT_UUID);
+        ShortCircuitAnalysisResult result = new ShortCircuitAnalysisResult(IntStream.range(0, faultsCount)
+                .<FaultResult>mapToObj(i -> new MagnitudeFaultResult(new BusFault("BUS_" + i, "ELEMENT_ID_" + i), 17.0,
+                        List.of(FEEDER_RESULT_1), List.of(LIMIT_VIOLATION_1), 45.3, FaultResult.Status.SUCCESS))
+                .toList());
+
+        cancellationCheckpoints.begin(RESULT_UUID);
+        try {
+            assertThatThrownBy(() -> shortCircuitAnalysisResultRepository.insert(RESULT_UUID, result, MOCK_RUN_CONTEXT,
+                    ShortCircuitAnalysisStatus.COMPLETED.name()))
+                    .isInstanceOf(CancellationException.class);
+        } finally {
+            cancellationCheckpoints.end(RESULT_UUID);
+        }
+
+        // the saving stops after one chunk whatever the size of the result, and the chunk already saved is rolled back
+        assertThat(checkpoints).hasValue(2);
+        assertThat(shortCircuitAnalysisResultRepository.find(RESULT_UUID)).isEmpty();
+        assertThat(shortCircuitAnalysisResultRepository.findStatus(RESULT_UUID)).isNull();
+    }
+
+    /**
+     * Insert a result with a fault on each of the voltage levels VL_0 to VL_{count - 1}.
+     */
+    private void insertVoltageLevelFaults(int count) {
+        ShortCircuitAnalysisResult result = new ShortCircuitAnalysisResult(IntStream.range(0, count)
+                .<FaultResult>mapToObj(i -> new MagnitudeFaultResult(new BusFault("VL_" + i + "_0", "VL_" + i), 17.0,
+                        List.of(), List.of(), 45.3, FaultResult.Status.SUCCESS))
+                .toList());
+        ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+                .networkUuid(UUID.randomUUID())
+                .parameters(ShortCircuitParametersValues.builder().build())
+                .build();
+        runContext.setShortCircuitLimits(IntStream.range(0, count).boxed()
+                .collect(Collectors.toMap(i -> "VL_" + i + "_0", i -> new ShortCircuitLimits("VL_" + i, 1.0, 2.0))));
+        shortCircuitAnalysisResultRepository.insert(RESULT_UUID, result, runContext, ShortCircuitAnalysisStatus.COMPLETED.name());
+    }
+
+    /**
+     * Global filter on the voltage levels VL_0 to VL_{matching - 1}, padded with voltage levels without fault.
+     */
+    private static List<ResourceFilterDTO> voltageLevelGlobalFilter(int matching, int size) {
+        List<String> voltageLevelIds = Stream.concat(IntStream.range(0, matching).mapToObj(i -> "VL_" + i),
+                IntStream.range(matching, size).mapToObj(i -> "OTHER_VL_" + i)).toList();
+        return List.of(new ResourceFilterDTO(ResourceFilterDTO.DataType.TEXT, ResourceFilterDTO.Type.IN, voltageLevelIds, "fault.voltageLevelId"));
+    }
+
+    private long countWithGlobalFilters(FaultResultSpecificationBuilder specificationBuilder, List<ResourceFilterDTO> globalFilters) {
+        Specification<FaultResultEntity> specification = specificationBuilder.buildSpecification(RESULT_UUID, List.of());
+        return faultResultRepository.count(specificationBuilder.appendGlobalFiltersToSpecification(specification, globalFilters));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 150, 2000})
+    void globalFilterPushdownTest(int globalFilterSize) {
+        insertVoltageLevelFaults(200);
+        int matching = Math.min(globalFilterSize / 2, 200);
+        List<ResourceFilterDTO> globalFilters = voltageLevelGlobalFilter(matching, globalFilterSize);
+
+        // the small global filters are IN lists, the others a single array parameter (100 values by default)
+        ShortCircuitAnalysisResultEntity resultEntity = shortCircuitAnalysisResultRepository.find(RESULT_UUID).orElseThrow();
+        assertThat(shortCircuitAnalysisResultRepository.findFaultResultsPage(resultEntity, List.of(), globalFilters, Pageable.unpaged(), FaultResultsMode.BASIC)
+                .getContent())
+                .extracting(faultResult -> faultResult.getFault().getVoltageLevelId())
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, matching).mapToObj(i -> "VL_" + i).toList());
+
+        // both pushdowns select the same faults
+        assertThat(countWithGlobalFilters(new FaultResultSpecificationBuilder(0), globalFilters)).isEqualTo(matching);
+        assertThat(countWithGlobalFilters(new FaultResultSpecificationBuilder(1), globalFilters)).isEqualTo(matching);
+    }
+
+    @Test
+    void voltageLevelAttributesSavedWithFaultsTest() {
+        Network network = Network.create("network", "test");
+        Substation s1 = network.newSubstation().setId("s1").setCountry(Country.FR).add();
+        createVoltageLevel(s1, "vl1_400", "vl1_400", TopologyKind.BUS_BREAKER, 400.0);
+        createVoltageLevel(s1, "vl1_225", "vl1_225", TopologyKind.BUS_BREAKER, 225.0);
+        Substation s2 = network.newSubstation().setId("s2").setCountry(Country.BE).add();
+        createVoltageLevel(s2, "vl2_400", "vl2_400", TopologyKind.BUS_BREAKER, 400.0);
+        List<String> voltageLevelIds = List.of("vl1_400", "vl1_225", "vl2_400");
+        ShortCircuitAnalysisResult result = new ShortCircuitAnalysisResult(voltageLevelIds.stream()
+                .<FaultResult>map(voltageLevelId -> new MagnitudeFaultResult(new BusFault(voltageLevelId + "_0", voltageLevelId), 17.0,
+                        List.of(), List.of(), 45.3, FaultResult.Status.SUCCESS))
+                .toList());
+        ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+                .networkUuid(UUID.randomUUID())
+                .parameters(ShortCircuitParametersValues.builder().build())
+                .build();
+        runContext.setNetwork(network);
+        runContext.setShortCircuitLimits(voltageLevelIds.stream()
+                .collect(Collectors.toMap(voltageLevelId -> voltageLevelId + "_0", voltageLevelId -> new ShortCircuitLimits(voltageLevelId, 1.0, 2.0))));
+        shortCircuitAnalysisResultRepository.insert(RESULT_UUID, result, runContext, ShortCircuitAnalysisStatus.COMPLETED.name());
+
+        ShortCircuitAnalysisResultEntity resultEntity = shortCircuitAnalysisResultRepository.findFullResults(RESULT_UUID).orElseThrow();
+        assertThat(resultEntity.isWithVoltageLevelAttributes()).isTrue();
+        assertThat(resultEntity.getFaultResults())
+                .extracting(faultResult -> faultResult.getFault().getVoltageLevelId(), faultResult -> faultResult.getFault().getNominalV(),
+                    faultResult -> faultResult.getFault().getCountry())
+                .containsExactlyInAnyOrder(
+                    tuple("vl1_400", 400.0, "FR"),
+                    tuple("vl1_225", 225.0, "FR"),
+                    tuple("vl2_400", 400.0, "BE"));
+
+        // the global filters are evaluated on the saved attributes
+        FaultResultSpecificationBuilder specificationBuilder = new FaultResultSpecificationBuilder(100);
+        assertThat(countWithGlobalFilters(specificationBuilder, FaultResultSpecificationBuilder.toFaultGlobalFilters(
+                GlobalFilter.builder().voltageRanges(List.of(List.of(380, 420))).build()))).isEqualTo(2);
+        assertThat(countWithGlobalFilters(specificationBuilder, FaultResultSpecificationBuilder.toFaultGlobalFilters(
+                GlobalFilter.builder().voltageRanges(List.of(List.of(380, 420), List.of(200, 250))).countryCode(List.of(Country.FR)).build()))).isEqualTo(2);
+        assertThat(countWithGlobalFilters(specificationBuilder, FaultResultSpecificationBuilder.toFaultGlobalFilters(
+                GlobalFilter.builder().voltageRanges(List.of(List.of(200, 250))).countryCode(List.of(Country.BE)).build()))).isZero();
+
+        // the copies of the result keep them
+        assertThat(shortCircuitAnalysisResultRepository.copyResult(RESULT_UUID, COPY_RESULT_UUID)).isTrue();
+        assertThat(shortCircuitAnalysisResultRepository.find(COPY_RESULT_UUID).orElseThrow().isWithVoltageLevelAttributes()).isTrue();
+    }
+
+    @Test
+    void isEvaluableOnFaultsTest() {
+        assertThat(FaultResultSpecificationBuilder.isEvaluableOnFaults(GlobalFilter.builder()
+                .voltageRanges(List.of(List.of(380, 420))).countryCode(List.of(Country.FR)).genericFilter(List.of()).build())).isTrue();
+        assertThat(FaultResultSpecificationBuilder.isEvaluableOnFaults(GlobalFilter.builder().genericFilter(List.of(UUID.randomUUID())).build())).isFalse();
+        assertThat(FaultResultSpecificationBuilder.isEvaluableOnFaults(GlobalFilter.builder().substationProperty(Map.of("region", List.of("north"))).build())).isFalse();
+    }
 }
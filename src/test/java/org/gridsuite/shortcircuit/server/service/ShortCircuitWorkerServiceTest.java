@@ -7,6 +7,7 @@
 package org.gridsuite.shortcircuit.server.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.iidm.network.*;
@@ -28,25 +29,33 @@ import org.gridsuite.computation.service.NotificationService;
 import org.gridsuite.computation.service.ReportService;
 import org.gridsuite.shortcircuit.server.PropertyServerNameProvider;
 import org.gridsuite.shortcircuit.server.TestUtils;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitAnalysisStatus;
 import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
 import org.gridsuite.shortcircuit.server.report.ReportMapperService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestClientException;
 import software.amazon.awssdk.services.s3.S3Client;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
+import static org.gridsuite.computation.service.AbstractResultContext.VARIANT_ID_HEADER;
 import static org.gridsuite.shortcircuit.server.service.ShortCircuitService.NODE_CLUSTER;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
@@ -63,12 +72,15 @@ class ShortCircuitWorkerServiceTest implements WithAssertions {
     @Mock ComputationS3Service computationS3Service;
     @Mock ObjectMapper objectMapper;
     @Mock ReportMapperService reportMapperService;
+    @Mock FaultShardCoordinator faultShardCoordinator;
+    @Mock FilterService filterService;
     @Mock Network network;
     @Mock VariantManager variantManager;
     @MockitoSpyBean
     private S3Client s3Client;
 
     private ShortCircuitWorkerService workerService;
+    private final ShortCircuitObserver shortCircuitObserver = new ShortCircuitObserver(ObservationRegistry.create(), new SimpleMeterRegistry());
 
     @BeforeEach
     void init() {
@@ -81,7 +93,17 @@ class ShortCircuitWorkerServiceTest implements WithAssertions {
                 computationS3Service,
                 objectMapper,
                 reportMapperService,
-                new ShortCircuitObserver(ObservationRegistry.create(), new SimpleMeterRegistry()),
+                new FaultBatchRunner(1, 0),
+                faultShardCoordinator,
+                new NetworkCache(DataSize.ofBytes(0), 4096, Duration.ofMinutes(5), shortCircuitObserver),
+                new WorkerIoExecutor(),
+                new RunAdmissionController(DataSize.ofBytes(0), 4096, 2048, 16384, 1024, DataSize.ofGigabytes(1), 1000, Duration.ofMinutes(10),
+                    shortCircuitObserver),
+                new CancellationCheckpoints(1000),
+                new SpecificParametersResolver(filterService, objectMapper, Runnable::run),
+                new ShortCircuitProviderRegistry(),
+                new ReportUploader(reportService, new RestTemplateBuilder(), objectMapper, DataSize.ofBytes(0), shortCircuitObserver),
+                shortCircuitObserver,
                 new PropertyServerNameProvider("server-name")
         );
     }
@@ -102,7 +124,6 @@ class ShortCircuitWorkerServiceTest implements WithAssertions {
             .debug(false)
             .build();
         final ShortCircuitResultContext resultContext = new ShortCircuitResultContext(resultUuid, runContext);
-        final Network.BusView busViewMocked = Mockito.mock(Network.BusView.class);
         ReportNode reportNode = ReportNode.newRootReportNode()
                 .withResourceBundles("i18n.reports")
                 .withMessageTemplate("test").build();
@@ -114,12 +135,201 @@ class ShortCircuitWorkerServiceTest implements WithAssertions {
             shortCircuitResultContextMockedStatic.when(() -> ShortCircuitResultContext.fromMessage(message, objectMapper)).thenReturn(resultContext);
             when(networkStoreService.getNetwork(eq(networkUuid), any(PreloadingStrategy.class))).thenReturn(network);
             when(network.getVariantManager()).thenReturn(variantManager);
-            when(network.getBusView()).thenReturn(busViewMocked);
-            when(busViewMocked.getBusStream()).thenAnswer(invocation -> Stream.empty());
+            when(network.getVoltageLevelStream()).thenAnswer(invocation -> Stream.empty());
             when(reportMapperService.map(any(ReportNode.class), any(ShortCircuitRunContext.class))).thenReturn(reportNode);
             workerService.consumeRun().accept(message);
             verify(reportMapperService, times(1)).map(any(ReportNode.class), any(ShortCircuitRunContext.class));
+            // uploaded on a virtual thread, before the result is notified
             verify(reportService, times(1)).sendReport(reportUuid, reportNode);
+            verify(notificationService, times(1)).sendResultMessage(eq(resultUuid), any(), any(), anyMap());
+        }
+    }
+
+    @Test
+    void testReportUploadFailureFailsRun() throws Exception {
+        final ShortCircuitAnalysisResult analysisResult = new ShortCircuitAnalysisResult(List.of());
+        final ShortCircuitAnalysisProvider providerMock = spy(new ShortCircuitAnalysisProviderMock(analysisResult));
+        final Message<String> message = new GenericMessage<>("test");
+        final UUID networkUuid = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        final UUID reportUuid = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        final UUID resultUuid = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        final ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+            .networkUuid(networkUuid)
+            .parameters(ShortCircuitParametersValues.builder().build())
+            .reportInfos(new ReportInfos(reportUuid, "44444444-4444-4444-4444-444444444444", "AllBusesShortCircuitAnalysis"))
+            .debug(false)
+            .build();
+        final ShortCircuitResultContext resultContext = new ShortCircuitResultContext(resultUuid, runContext);
+        ReportNode reportNode = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("test").build();
+
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = TestUtils.injectShortCircuitAnalysisProvider(providerMock);
+             MockedStatic<ShortCircuitResultContext> shortCircuitResultContextMockedStatic = mockStatic(ShortCircuitResultContext.class)) {
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(any(), anyList(), any(), any(), anyList(), any()))
+                    .thenAnswer(invocation -> CompletableFuture.completedFuture(analysisResult));
+            shortCircuitResultContextMockedStatic.when(() -> ShortCircuitResultContext.fromMessage(message, objectMapper)).thenReturn(resultContext);
+            when(networkStoreService.getNetwork(eq(networkUuid), any(PreloadingStrategy.class))).thenReturn(network);
+            when(network.getVariantManager()).thenReturn(variantManager);
+            when(network.getVoltageLevelStream()).thenAnswer(invocation -> Stream.empty());
+            when(reportMapperService.map(any(ReportNode.class), any(ShortCircuitRunContext.class))).thenReturn(reportNode);
+            doThrow(new RestClientException("report server unavailable")).when(reportService).sendReport(reportUuid, reportNode);
+            final var run = workerService.consumeRun();
+            catchThrowable(() -> run.accept(message));
+            // the result is saved concurrently, then deleted and not notified
+            InOrder inOrder = inOrder(resultService);
+            inOrder.verify(resultService, times(1)).insert(eq(resultUuid), eq(analysisResult), eq(runContext), anyString());
+            inOrder.verify(resultService).delete(resultUuid);
+            inOrder.verify(resultService, atLeastOnce()).insertStatus(List.of(resultUuid), ShortCircuitAnalysisStatus.FAILED);
+            verify(notificationService, never()).sendResultMessage(any(), any(), any(), anyMap());
+        }
+    }
+
+    @Test
+    void testVariantBatch() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final ShortCircuitObserver batchObserver = new ShortCircuitObserver(ObservationRegistry.create(), meterRegistry);
+        final NetworkCache networkCache = spy(new NetworkCache(DataSize.ofMegabytes(1), 4096, Duration.ofMinutes(5), batchObserver));
+        final ShortCircuitWorkerService batchWorkerService = new ShortCircuitWorkerService(
+                networkStoreService,
+                reportService,
+                executionService,
+                notificationService,
+                resultService,
+                computationS3Service,
+                objectMapper,
+                reportMapperService,
+                new FaultBatchRunner(1, 0),
+                faultShardCoordinator,
+                networkCache,
+                new WorkerIoExecutor(),
+                new RunAdmissionController(DataSize.ofMegabytes(1), 0, 0, 1024, 0, DataSize.ofKilobytes(512), 1000, Duration.ofSeconds(1), batchObserver),
+                new CancellationCheckpoints(1000),
+                new SpecificParametersResolver(filterService, objectMapper, Runnable::run),
+                new ShortCircuitProviderRegistry(),
+                new ReportUploader(reportService, new RestTemplateBuilder(), objectMapper, DataSize.ofBytes(0), batchObserver),
+                batchObserver,
+                new PropertyServerNameProvider("server-name")
+        );
+        final UUID networkUuid = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        final List<String> variantIds = List.of("variant_1", "variant_2", "variant_3");
+        final List<UUID> resultUuids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        final List<ShortCircuitAnalysisResult> analysisResults = List.of(new ShortCircuitAnalysisResult(List.of()), new ShortCircuitAnalysisResult(List.of()),
+            new ShortCircuitAnalysisResult(List.of()));
+        final ShortCircuitAnalysisProvider providerMock = spy(new ShortCircuitAnalysisProviderMock(analysisResults.getFirst()));
+        final Message<String> batchMessage = new GenericMessage<>("batch");
+        final Network.BusView networkBusView = mock(Network.BusView.class);
+        final List<Double> reservedHeaps = new ArrayList<>();
+
+        try (MockedStatic<ShortCircuitAnalysis> shortCircuitAnalysisMockedStatic = TestUtils.injectShortCircuitAnalysisProvider(providerMock);
+             MockedStatic<ShortCircuitResultContext> shortCircuitResultContextMockedStatic = mockStatic(ShortCircuitResultContext.class)) {
+            List<Message<String>> variantMessages = new ArrayList<>();
+            for (int i = 0; i < variantIds.size(); i++) {
+                Message<String> variantMessage = new GenericMessage<>("variant", Map.of(VARIANT_ID_HEADER, variantIds.get(i)));
+                ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+                    .networkUuid(networkUuid)
+                    .variantId(variantIds.get(i))
+                    .parameters(ShortCircuitParametersValues.builder().build())
+                    .reportInfos(ReportInfos.builder().build())
+                    .debug(false)
+                    .build();
+                shortCircuitResultContextMockedStatic.when(() -> ShortCircuitResultContext.fromMessage(variantMessage, objectMapper))
+                    .thenReturn(new ShortCircuitResultContext(resultUuids.get(i), runContext));
+                variantMessages.add(variantMessage);
+            }
+            shortCircuitResultContextMockedStatic.when(() -> ShortCircuitResultContext.isVariantBatchMessage(batchMessage)).thenReturn(true);
+            shortCircuitResultContextMockedStatic.when(() -> ShortCircuitResultContext.splitVariantBatchMessage(batchMessage, objectMapper)).thenReturn(variantMessages);
+            // the second variant fails
+            shortCircuitAnalysisMockedStatic.when(() -> ShortCircuitAnalysis.runAsync(any(), anyList(), any(), any(), anyList(), any()))
+                .thenAnswer(invocation -> {
+                    reservedHeaps.add(meterRegistry.get("app.computation.admission.reserved.heap").gauge().value());
+                    return switch (reservedHeaps.size()) {
+                        case 2 -> CompletableFuture.failedFuture(new PowsyblException("variant_2 failure"));
+                        default -> CompletableFuture.completedFuture(analysisResults.get(reservedHeaps.size() - 1));
+                    };
+                });
+            when(networkStoreService.getNetwork(eq(networkUuid), any(PreloadingStrategy.class))).thenReturn(network);
+            when(network.getVariantManager()).thenReturn(variantManager);
+            when(network.getVoltageLevelStream()).thenAnswer(invocation -> Stream.empty());
+            when(network.getBusView()).thenReturn(networkBusView);
+            when(networkBusView.getBusStream()).thenAnswer(invocation -> Stream.empty());
+
+            batchWorkerService.consumeRun().accept(batchMessage);
+
+            // each variant is saved and notified under its own result, the failure of the second one does not stop the third one
+            verify(resultService).insert(eq(resultUuids.get(0)), eq(analysisResults.get(0)), any(ShortCircuitRunContext.class), anyString());
+            verify(resultService).insert(eq(resultUuids.get(2)), eq(analysisResults.get(2)), any(ShortCircuitRunContext.class), anyString());
+            verify(resultService, never()).insert(eq(resultUuids.get(1)), any(), any(), anyString());
+            verify(resultService).insertStatus(List.of(resultUuids.get(1)), ShortCircuitAnalysisStatus.FAILED);
+            verify(resultService, never()).insertStatus(List.of(resultUuids.get(0)), ShortCircuitAnalysisStatus.FAILED);
+            verify(resultService, never()).insertStatus(List.of(resultUuids.get(2)), ShortCircuitAnalysisStatus.FAILED);
+            verify(notificationService).sendResultMessage(eq(resultUuids.get(0)), any(), any(), anyMap());
+            verify(notificationService).sendResultMessage(eq(resultUuids.get(2)), any(), any(), anyMap());
+            verify(notificationService, never()).sendResultMessage(eq(resultUuids.get(1)), any(), any(), anyMap());
+
+            // each variant is admitted on its own: the first one with the default estimate, its network size being unknown,
+            // the next ones with the size of the network, the reservation of a variant being released before the next one
+            assertThat(reservedHeaps).containsExactly((double) DataSize.ofKilobytes(512).toBytes(), 1024.0, 1024.0);
+            assertThat(meterRegistry.get("app.computation.admission").tag("outcome", "admitted").counter().count()).isEqualTo(3);
+            assertThat(meterRegistry.get("app.computation.admission.reserved.heap").gauge().value()).isZero();
+
+            // the network is loaded once, leased to the whole batch and released after its last variant
+            verify(networkStoreService, times(1)).getNetwork(eq(networkUuid), any(PreloadingStrategy.class));
+            verify(networkCache, times(1)).acquire(eq(networkUuid), eq("variant_1"), isNull(), any());
+            verify(variantManager).setWorkingVariant("variant_2");
+            verify(variantManager).setWorkingVariant("variant_3");
+            verify(networkCache, times(1)).release();
+            verify(network, times(1)).removeListener(any());
+        }
+    }
+
+    @Test
+    void testRunNotAdmittedFails() throws Exception {
+        final RunAdmissionController runAdmissionController = new RunAdmissionController(DataSize.ofMegabytes(1), 0, 0, 1024, 0,
+            DataSize.ofMegabytes(1), 1000, Duration.ZERO, shortCircuitObserver);
+        final ShortCircuitWorkerService admissionWorkerService = new ShortCircuitWorkerService(
+                networkStoreService,
+                reportService,
+                executionService,
+                notificationService,
+                resultService,
+                computationS3Service,
+                objectMapper,
+                reportMapperService,
+                new FaultBatchRunner(1, 0),
+                faultShardCoordinator,
+                new NetworkCache(DataSize.ofBytes(0), 4096, Duration.ofMinutes(5), shortCircuitObserver),
+                new WorkerIoExecutor(),
+                runAdmissionController,
+                new CancellationCheckpoints(1000),
+                new SpecificParametersResolver(filterService, objectMapper, Runnable::run),
+                new ShortCircuitProviderRegistry(),
+                new ReportUploader(reportService, new RestTemplateBuilder(), objectMapper, DataSize.ofBytes(0), shortCircuitObserver),
+                shortCircuitObserver,
+                new PropertyServerNameProvider("server-name")
+        );
+        final Message<String> message = new GenericMessage<>("test");
+        final UUID networkUuid = UUID.randomUUID();
+        final UUID resultUuid = UUID.randomUUID();
+        final ShortCircuitRunContext runContext = ShortCircuitRunContext.builder()
+            .networkUuid(networkUuid)
+            .parameters(ShortCircuitParametersValues.builder().build())
+            .reportInfos(ReportInfos.builder().build())
+            .receiver("receiver")
+            .userId("user")
+            .build();
+        // the whole budget is reserved by another run
+        CompletableFuture.runAsync(() -> runAdmissionController.admit(UUID.randomUUID(), networkUuid, networkSize -> 1, faults -> 1, false)).get();
+
+        try (MockedStatic<ShortCircuitResultContext> shortCircuitResultContextMockedStatic = mockStatic(ShortCircuitResultContext.class)) {
+            shortCircuitResultContextMockedStatic.when(() -> ShortCircuitResultContext.fromMessage(message, objectMapper))
+                .thenReturn(new ShortCircuitResultContext(resultUuid, runContext));
+            admissionWorkerService.consumeRun().accept(message);
+
+            // admitted before its network is loaded
+            verifyNoInteractions(networkStoreService);
+            verify(notificationService).publishFail(eq(resultUuid), eq("receiver"), anyString(), eq("user"), eq(ShortCircuitWorkerService.COMPUTATION_TYPE), anyMap());
+            verify(resultService).insertStatus(List.of(resultUuid), ShortCircuitAnalysisStatus.FAILED);
         }
     }
 
@@ -196,6 +406,7 @@ class ShortCircuitWorkerServiceTest implements WithAssertions {
         when(runContext.getParameters())
                 .thenReturn(ShortCircuitParametersValues.builder().specificParameters(Map.of(NODE_CLUSTER, "bus1, bus2"))
                         .build());
+        when(runContext.getNodeClusterBusIds()).thenReturn(Set.of("bus1", "bus2"));
         doReturn(busbarSection).when(network).getIdentifiable(busId);
         doReturn(terminal).when(busbarSection).getTerminal();
         doReturn(busView).when(terminal).getBusView();
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.iidm.network.IdentifiableType;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.shortcircuit.server.dto.FilterElements;
+import org.gridsuite.shortcircuit.server.dto.ShortCircuitParametersValues;
+import org.gridsuite.shortcircuit.server.dto.powsyblprivate.PowerElectronicsCluster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.gridsuite.shortcircuit.server.dto.powsyblprivate.PowerElectronicsCluster.Type.HVDC;
+import static org.gridsuite.shortcircuit.server.service.ShortCircuitService.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({ MockitoExtension.class })
+class SpecificParametersResolverTest implements WithAssertions {
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final String VARIANT_ID = "variant_1";
+    private static final UUID FILTER_UUID_1 = UUID.randomUUID();
+    private static final UUID FILTER_UUID_2 = UUID.randomUUID();
+    private static final UUID FILTER_UUID_3 = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Mock
+    private FilterService filterService;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ShortCircuitRunContext runContext(Map<String, String> specificParameters) {
+        return ShortCircuitRunContext.builder()
+            .networkUuid(NETWORK_UUID)
+            .variantId(VARIANT_ID)
+            .parameters(ShortCircuitParametersValues.builder().specificParameters(new HashMap<>(specificParameters)).build())
+            .build();
+    }
+
+    private static FilterEquipments filterEquipments(UUID filterUuid, IdentifiableType type, String... ids) {
+        return new FilterEquipments(filterUuid, Arrays.stream(ids).map(id -> new IdentifiableAttributes(id, type, 0.0)).toList(), List.of());
+    }
+
+    @Test
+    void testPowerElectronicsClusters() throws Exception {
+        String clusters = objectMapper.writeValueAsString(List.of(
+            new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(new FilterElements(FILTER_UUID_1, "f1"), new FilterElements(FILTER_UUID_2, "f2")), true),
+            new PowerElectronicsCluster(1.0, 80.0, 5.0, 30.0, HVDC, List.of(new FilterElements(FILTER_UUID_3, "f3")), false)));
+        when(filterService.getFilterEquipments(List.of(FILTER_UUID_1, FILTER_UUID_2), NETWORK_UUID, VARIANT_ID)).thenReturn(List.of(
+            filterEquipments(FILTER_UUID_1, IdentifiableType.GENERATOR, "eq_f1", "eq_common"),
+            filterEquipments(FILTER_UUID_2, IdentifiableType.GENERATOR, "eq_f2", "eq_common")));
+
+        ShortCircuitRunContext runContext = runContext(Map.of(POWER_ELECTRONICS_CLUSTERS, clusters));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        // only the active clusters are resolved
+        assertThat(runContext.getPowerElectronicsClusters()).singleElement().satisfies(cluster -> assertThat(cluster)
+            .containsEntry("id", "0")
+            .containsEntry("alpha", 2.0)
+            .containsEntry("type", HVDC)
+            .containsEntry("equipmentIds", Set.of("eq_f1", "eq_f2", "eq_common")));
+        // the parameters are unchanged, the provider gets the resolved clusters
+        assertThat(runContext.getParameters().getSpecificParameters()).containsExactly(Map.entry(POWER_ELECTRONICS_CLUSTERS, clusters));
+        assertThat(objectMapper.readTree(runContext.getProviderSpecificParameters(objectMapper).get(POWER_ELECTRONICS_CLUSTERS)))
+            .isEqualTo(objectMapper.valueToTree(runContext.getPowerElectronicsClusters()));
+    }
+
+    @Test
+    void testPowerElectronicsClustersWithoutEquipments() throws Exception {
+        String clusters = objectMapper.writeValueAsString(List.of(
+            new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(new FilterElements(FILTER_UUID_1, "f1")), true)));
+        when(filterService.getFilterEquipments(List.of(FILTER_UUID_1), NETWORK_UUID, VARIANT_ID)).thenReturn(List.of(
+            filterEquipments(FILTER_UUID_3, IdentifiableType.GENERATOR)));
+
+        ShortCircuitRunContext runContext = runContext(Map.of(POWER_ELECTRONICS_CLUSTERS, clusters));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        assertThat(runContext.getPowerElectronicsClusters()).singleElement()
+            .satisfies(cluster -> assertThat(cluster).containsEntry("equipmentIds", Set.of()));
+    }
+
+    @Test
+    void testNodeCluster() throws Exception {
+        when(filterService.getFilterBusIds(List.of(FILTER_UUID_1), NETWORK_UUID, VARIANT_ID)).thenReturn(List.of(
+            filterEquipments(FILTER_UUID_1, IdentifiableType.BUS, "busId1", "busId2", "busId1")));
+
+        ShortCircuitRunContext runContext = runContext(Map.of(NODE_CLUSTER_FILTER_IDS, objectMapper.writeValueAsString(List.of(new FilterElements(FILTER_UUID_1, "f")))));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        assertThat(runContext.getNodeClusterBusIds()).containsExactly("busId1", "busId2");
+        assertThat(runContext.getProviderSpecificParameters(objectMapper)).containsExactly(Map.entry(NODE_CLUSTER, "busId1, busId2"));
+    }
+
+    @Test
+    void testEmptyNodeCluster() throws Exception {
+        when(filterService.getFilterBusIds(List.of(FILTER_UUID_1), NETWORK_UUID, VARIANT_ID)).thenReturn(List.of(
+            filterEquipments(FILTER_UUID_1, IdentifiableType.BUS)));
+
+        ShortCircuitRunContext runContext = runContext(Map.of(NODE_CLUSTER_FILTER_IDS, objectMapper.writeValueAsString(List.of(new FilterElements(FILTER_UUID_1, "f")))));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        assertThat(runContext.getNodeClusterBusIds()).isEmpty();
+        assertThat(runContext.getProviderSpecificParameters(objectMapper)).containsExactly(Map.entry(NODE_CLUSTER, ""));
+    }
+
+    @Test
+    void testFiltersExportedConcurrently() throws Exception {
+        String clusters = objectMapper.writeValueAsString(List.of(
+            new PowerElectronicsCluster(2.0, 90.0, 10.0, 40.0, HVDC, List.of(new FilterElements(FILTER_UUID_1, "f1")), true)));
+        // each export only completes once the other one has started
+        CountDownLatch exportsStarted = new CountDownLatch(2);
+        when(filterService.getFilterEquipments(List.of(FILTER_UUID_1), NETWORK_UUID, VARIANT_ID)).thenAnswer(invocation -> {
+            exportsStarted.countDown();
+            assertThat(exportsStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            return List.of(filterEquipments(FILTER_UUID_1, IdentifiableType.GENERATOR, "eq_f1"));
+        });
+        when(filterService.getFilterBusIds(List.of(FILTER_UUID_2), NETWORK_UUID, VARIANT_ID)).thenAnswer(invocation -> {
+            exportsStarted.countDown();
+            assertThat(exportsStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            return List.of(filterEquipments(FILTER_UUID_2, IdentifiableType.BUS, "busId1"));
+        });
+
+        ShortCircuitRunContext runContext = runContext(Map.of(POWER_ELECTRONICS_CLUSTERS, clusters,
+            NODE_CLUSTER_FILTER_IDS, objectMapper.writeValueAsString(List.of(new FilterElements(FILTER_UUID_2, "f2")))));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        assertThat(runContext.getPowerElectronicsClusters()).singleElement()
+            .satisfies(cluster -> assertThat(cluster).containsEntry("equipmentIds", Set.of("eq_f1")));
+        assertThat(runContext.getNodeClusterBusIds()).containsExactly("busId1");
+    }
+
+    @Test
+    void testResolvedNodeCluster() {
+        ShortCircuitRunContext runContext = runContext(Map.of(NODE_CLUSTER, "busId1, busId2"));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        assertThat(runContext.getNodeClusterBusIds()).containsExactly("busId1", "busId2");
+        verifyNoInteractions(filterService);
+    }
+
+    @Test
+    void testUnexpectedShapeLeftUnresolved() {
+        ShortCircuitRunContext runContext = runContext(Map.of(NODE_CLUSTER_FILTER_IDS, "not a filter list"));
+        new SpecificParametersResolver(filterService, objectMapper, executor).resolve(runContext);
+
+        assertThat(runContext.getNodeClusterBusIds()).isNull();
+        assertThat(runContext.getProviderSpecificParameters(objectMapper)).containsExactly(Map.entry(NODE_CLUSTER_FILTER_IDS, "not a filter list"));
+        verifyNoInteractions(filterService);
+    }
+
+    @Test
+    void testHasFilters() {
+        assertThat(SpecificParametersResolver.hasFilters(null)).isFalse();
+        assertThat(SpecificParametersResolver.hasFilters(ShortCircuitParametersValues.builder().build())).isFalse();
+        assertThat(SpecificParametersResolver.hasFilters(ShortCircuitParametersValues.builder().specificParameters(Map.of(NODE_CLUSTER, "busId1")).build())).isFalse();
+        assertThat(SpecificParametersResolver.hasFilters(ShortCircuitParametersValues.builder().specificParameters(Map.of(NODE_CLUSTER_FILTER_IDS, "[]")).build())).isTrue();
+        assertThat(SpecificParametersResolver.hasFilters(ShortCircuitParametersValues.builder().specificParameters(Map.of(POWER_ELECTRONICS_CLUSTERS, "[]")).build())).isTrue();
+    }
+}
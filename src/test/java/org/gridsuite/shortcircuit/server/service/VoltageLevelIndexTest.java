@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.shortcircuit.server.service;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.TopologyKind;
+import org.assertj.core.api.WithAssertions;
+import org.gridsuite.computation.dto.GlobalFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.gridsuite.shortcircuit.server.utils.NetworkUtil.createVoltageLevel;
+
+class VoltageLevelIndexTest implements WithAssertions {
+
+    private static VoltageLevelIndex index() {
+        Network network = Network.create("network", "test");
+        Substation s1 = network.newSubstation().setId("s1").setCountry(Country.FR).add();
+        s1.setProperty("region", "north");
+        createVoltageLevel(s1, "vl1_400", "vl1_400", TopologyKind.BUS_BREAKER, 400.0);
+        createVoltageLevel(s1, "vl1_225", "vl1_225", TopologyKind.BUS_BREAKER, 225.0);
+        Substation s2 = network.newSubstation().setId("s2").setCountry(Country.BE).add();
+        s2.setProperty("region", "south");
+        createVoltageLevel(s2, "vl2_400", "vl2_400", TopologyKind.BUS_BREAKER, 400.0);
+        Substation s3 = network.newSubstation().setId("s3").add();
+        createVoltageLevel(s3, "vl3_63", "vl3_63", TopologyKind.BUS_BREAKER, 63.0);
+        return VoltageLevelIndex.of(network);
+    }
+
+    @Test
+    void testCountries() {
+        assertThat(index().filter(GlobalFilter.builder().countryCode(List.of(Country.FR)).build()))
+            .containsExactlyInAnyOrder("vl1_400", "vl1_225");
+        assertThat(index().filter(GlobalFilter.builder().countryCode(List.of(Country.FR, Country.BE)).build()))
+            .containsExactlyInAnyOrder("vl1_400", "vl1_225", "vl2_400");
+    }
+
+    @Test
+    void testVoltageRanges() {
+        // bounds included, the voltage levels of any of the ranges
+        assertThat(index().filter(GlobalFilter.builder().voltageRanges(List.of(List.of(380, 400), List.of(50, 63))).build()))
+            .containsExactlyInAnyOrder("vl1_400", "vl2_400", "vl3_63");
+        assertThat(index().filter(GlobalFilter.builder().voltageRanges(List.of(List.of(100, 200))).build())).isEmpty();
+    }
+
+    @Test
+    void testSubstationProperties() {
+        assertThat(index().filter(GlobalFilter.builder().substationProperty(Map.of("region", List.of("south", "west"))).build()))
+            .containsExactly("vl2_400");
+        assertThat(index().filter(GlobalFilter.builder().substationProperty(Map.of("owner", List.of("rte"))).build())).isEmpty();
+    }
+
+    @Test
+    void testCriteriaCombined() {
+        assertThat(index().filter(GlobalFilter.builder()
+                .countryCode(List.of(Country.FR, Country.BE))
+                .voltageRanges(List.of(List.of(380, 420)))
+                .substationProperty(Map.of("region", List.of("north")))
+                .build()))
+            .containsExactly("vl1_400");
+    }
+
+    @Test
+    void testSupports() {
+        assertThat(VoltageLevelIndex.supports(GlobalFilter.builder().countryCode(List.of(Country.FR)).genericFilter(List.of()).build())).isTrue();
+        assertThat(VoltageLevelIndex.supports(GlobalFilter.builder().genericFilter(List.of(UUID.randomUUID())).build())).isFalse();
+        assertThat(VoltageLevelIndex.supports(GlobalFilter.builder().substationOrVoltageLevelFilter(List.of(UUID.randomUUID())).build())).isFalse();
+    }
+}
@@ -2,6 +2,7 @@ package org.gridsuite.shortcircuit.server.utils;
 
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.extensions.BusbarSectionPositionAdder;
+import com.powsybl.iidm.network.extensions.IdentifiableShortCircuitAdder;
 
 import java.util.UUID;
 
@@ -65,6 +66,31 @@ public final class NetworkUtil {
         return network;
     }
 
+    //Create a bus breaker network of given size, each bus having a load and each voltage level having short-circuit limits
+    public static Network createBusBreakerNetwork(int voltageLevelsCount, int busesPerVoltageLevel) {
+        Network network = Network.create("busBreakerNetwork", "test");
+        for (int i = 0; i < voltageLevelsCount; i++) {
+            Substation substation = network.newSubstation()
+                    .setId("s" + i)
+                    .setCountry(Country.FR)
+                    .add();
+            VoltageLevel vl = createVoltageLevel(substation, "vl" + i, "vl" + i, TopologyKind.BUS_BREAKER, 400.0);
+            vl.newExtension(IdentifiableShortCircuitAdder.class).withIpMin(10.5).withIpMax(200.0).add();
+            for (int j = 0; j < busesPerVoltageLevel; j++) {
+                String busId = "vl" + i + "_b" + j;
+                vl.getBusBreakerView().newBus().setId(busId).add();
+                vl.newLoad()
+                        .setId("load_" + busId)
+                        .setBus(busId)
+                        .setConnectableBus(busId)
+                        .setP0(10.0)
+                        .setQ0(0.0)
+                        .add();
+            }
+        }
+        return network;
+    }
+
     public static VoltageLevel createVoltageLevel(Substation s, String id, String name,
                                                    TopologyKind topology, double vNom) {
         return s.newVoltageLevel()